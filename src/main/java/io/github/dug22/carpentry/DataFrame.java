@@ -21,10 +21,12 @@ import io.github.dug22.carpentry.column.ColumnException;
 import io.github.dug22.carpentry.column.ColumnMap;
 import io.github.dug22.carpentry.column.ColumnTypes;
 import io.github.dug22.carpentry.column.impl.*;
+import io.github.dug22.carpentry.column.other.ColumnSummary;
 import io.github.dug22.carpentry.column.other.SkewnessFormula;
 import io.github.dug22.carpentry.column.other.Statistics;
 import io.github.dug22.carpentry.drop.DropFunction;
 import io.github.dug22.carpentry.drop.How;
+import io.github.dug22.carpentry.expression.Expr;
 import io.github.dug22.carpentry.fill.FillColumnValuePair;
 import io.github.dug22.carpentry.fill.FillFunction;
 import io.github.dug22.carpentry.filter.FilterFunction;
@@ -36,13 +38,15 @@ import io.github.dug22.carpentry.io.DataFrameWriter;
 import io.github.dug22.carpentry.io.string.DataFramePrinter;
 import io.github.dug22.carpentry.join.*;
 import io.github.dug22.carpentry.join.impl.*;
+import io.github.dug22.carpentry.optimize.TypeOptimization;
+import io.github.dug22.carpentry.optimize.TypeOptimizationFunction;
 import io.github.dug22.carpentry.query.QueryFunction;
 import io.github.dug22.carpentry.row.DataRow;
 import io.github.dug22.carpentry.row.DataRows;
 import io.github.dug22.carpentry.sorting.SortColumn;
 import io.github.dug22.carpentry.sorting.SortingFunction;
-import io.github.dug22.carpentry.utils.Nulls;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
@@ -140,6 +144,53 @@ public class DataFrame implements DataFrameInterface {
         return copy;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DataFrame slice(int fromRow, int toRow) {
+        DataFrame slice = new DataFrame();
+        for (Column<?> column : columnMap.values()) {
+            slice.addColumn(column.slice(fromRow, toRow));
+        }
+        return slice;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DataFrame materialize() {
+        DataFrame materialized = new DataFrame();
+        for (Column<?> column : columnMap.values()) {
+            materialized.addColumn(column.materialize());
+        }
+        return materialized;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DataFrame concat(DataFrameInterface other) {
+        if (other.getColumnCount() != getColumnCount()) {
+            throw new DataFrameException("DataFrames with " + getColumnCount() + " and " + other.getColumnCount() + " columns cannot be concatenated");
+        }
+        DataFrame concatenated = new DataFrame();
+        for (Column<?> column : columnMap.values()) {
+            if (!other.containsColumn(column.name())) {
+                throw new DataFrameException("Column " + column.name() + " is missing from the DataFrame being concatenated");
+            }
+            concatenated.addColumn(concatColumns(column, other.getColumn(column.name())));
+        }
+        return concatenated;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Column<T> concatColumns(Column<T> column, Column<?> other) {
+        return column.concat((Column<T>) other);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -235,6 +286,15 @@ public class DataFrame implements DataFrameInterface {
         return this;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DataFrame addDecimalColumn(String name, int scale, BigDecimal[] data) {
+        this.addColumn(DecimalColumn.create(name, scale, data));
+        return this;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -575,6 +635,16 @@ public class DataFrame implements DataFrameInterface {
         throw new ColumnException("Column " + name + " is not a Long Column");
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DecimalColumn decimalColumn(String name) {
+        Column<?> column = columnMap.get(name);
+        if (column.columnType() == ColumnTypes.DECIMAL_COLUMN_TYPE) return (DecimalColumn) column;
+        throw new ColumnException("Column " + name + " is not a Decimal Column");
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -758,6 +828,36 @@ public class DataFrame implements DataFrameInterface {
         return filterFunction.filter(filterPredicate);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DataFrame filter(BooleanColumn mask) {
+        FilterFunction filterFunction = new FilterFunction(this);
+        return filterFunction.filter(mask.toSelection());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DataFrame filter(Expr predicate) {
+        if (!predicate.isPredicate()) {
+            throw new IllegalArgumentException("Expression " + predicate + " is not a predicate");
+        }
+        return filter((BooleanColumn) predicate.evaluate(this, "mask"));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DataFrame withColumn(String columnName, Expr expression) {
+        Column<?> column = expression.evaluate(this, columnName);
+        int position = getColumnIndex(columnName);
+        return position < 0 ? addColumn(column) : replaceColumn(position, column);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -784,6 +884,15 @@ public class DataFrame implements DataFrameInterface {
         return fillFunction.fillNa();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<TypeOptimization> optimizeTypes() {
+        TypeOptimizationFunction typeOptimizationFunction = new TypeOptimizationFunction(this);
+        return typeOptimizationFunction.optimizeTypes();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -867,6 +976,16 @@ public class DataFrame implements DataFrameInterface {
         return columnMap.values();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        for (Column<?> column : getColumns()) {
+            column.close();
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -916,6 +1035,31 @@ public class DataFrame implements DataFrameInterface {
         return result;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DataFrame describe() {
+        List<NumericColumn<?>> numericColumns = new ArrayList<>();
+        for (Column<?> column : columnMap.values()) {
+            if (column instanceof NumericColumn<?> numericColumn) {
+                numericColumns.add(numericColumn);
+            }
+        }
+
+        if (numericColumns.isEmpty()) {
+            throw new IllegalArgumentException("Your DataFrame must contain at least one numeric column.");
+        }
+
+        List<ColumnSummary> summaries = numericColumns.parallelStream().map(Statistics::describe).toList();
+        DataFrame result = DataFrame.create(StringColumn.create("Statistic", ColumnSummary.STATISTICS.clone()));
+        for (ColumnSummary summary : summaries) {
+            result.addColumn(DoubleColumn.create(summary.name(), summary.toArray()));
+        }
+
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -940,6 +1084,40 @@ public class DataFrame implements DataFrameInterface {
         return columnMap.indexOfKey(columnName);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DataFrame memoryUsage() {
+        int columnCount = getColumnCount();
+        String[] names = new String[columnCount];
+        long[] shallowBytes = new long[columnCount];
+        long[] deepBytes = new long[columnCount];
+        int columnIndex = 0;
+        for (Column<?> column : getColumns()) {
+            names[columnIndex] = column.name();
+            shallowBytes[columnIndex] = column.memoryUsage(false);
+            deepBytes[columnIndex] = column.memoryUsage(true);
+            columnIndex++;
+        }
+        return DataFrame.create(
+                StringColumn.create("Column", names),
+                LongColumn.create("Shallow Bytes", shallowBytes),
+                LongColumn.create("Deep Bytes", deepBytes));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long memoryUsage(boolean deep) {
+        long bytes = 0;
+        for (Column<?> column : getColumns()) {
+            bytes += column.memoryUsage(deep);
+        }
+        return bytes;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -950,16 +1128,19 @@ public class DataFrame implements DataFrameInterface {
         int rowCount = getRowCount();
         System.out.println("Range Index: " + rowCount + " entries, 0 to " + (rowCount - 1));
         System.out.println("Data columns (total " + columnCount + " columns):");
-        System.out.printf("%-20s%-20s%-20s%-20s%n", "#", "Column", "Non-Null Count", "dType");
-        System.out.printf("%-20s%-20s%-20s%-20s%n", "---", "------", "--------------", "-----");
+        System.out.printf("%-20s%-20s%-20s%-20s%-20s%n", "#", "Column", "Non-Null Count", "dType", "Memory");
+        System.out.printf("%-20s%-20s%-20s%-20s%-20s%n", "---", "------", "--------------", "-----", "------");
         Collection<Column<?>> columns = getColumns();
         int columnIndex = 0;
+        long memoryUsage = 0;
         Map<String, Integer> dataTypesMap = new LinkedHashMap<>();
         for(Column<?> column : columns){
             String columnName = column.name();
-            long nonNullCount = Arrays.stream(column.getValues()).filter(i -> !Nulls.isNull(i)).count();
+            long nonNullCount = column.countNonNull();
             String dataType = column.columnType().getName();
-            System.out.printf("%-20d%-20s%-20d%-20s%n", columnIndex, columnName, nonNullCount, dataType);
+            long columnMemory = column.memoryUsage(true);
+            memoryUsage += columnMemory;
+            System.out.printf("%-20d%-20s%-20d%-20s%-20s%n", columnIndex, columnName, nonNullCount, dataType, formatBytes(columnMemory));
             dataTypesMap.put(dataType, dataTypesMap.getOrDefault(dataType, 0) + 1);
             columnIndex++;
         }
@@ -970,10 +1151,25 @@ public class DataFrame implements DataFrameInterface {
             typeSummary.setLength(typeSummary.length() - 2);
         }
         System.out.println(typeSummary);
+        System.out.println("memory usage: " + formatBytes(memoryUsage));
 
         System.out.println("DataFrame Shape: " + shape());
     }
 
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        String[] units = {"KB", "MB", "GB", "TB"};
+        double value = bytes;
+        int unit = -1;
+        while (value >= 1024 && unit < units.length - 1) {
+            value /= 1024;
+            unit++;
+        }
+        return String.format("%.1f %s", value, units[unit]);
+    }
+
     /**
      * Getter for columnMap
      *
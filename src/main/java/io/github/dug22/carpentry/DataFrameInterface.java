@@ -20,23 +20,26 @@ import io.github.dug22.carpentry.column.Column;
 import io.github.dug22.carpentry.column.impl.*;
 import io.github.dug22.carpentry.column.other.SkewnessFormula;
 import io.github.dug22.carpentry.drop.How;
+import io.github.dug22.carpentry.expression.Expr;
 import io.github.dug22.carpentry.fill.FillColumnValuePair;
 import io.github.dug22.carpentry.filter.FilterPredicate;
 import io.github.dug22.carpentry.filter.FilterPredicateCondition;
 import io.github.dug22.carpentry.grouping.GroupByFunction;
 import io.github.dug22.carpentry.join.JoinColumn;
 import io.github.dug22.carpentry.join.JoinType;
+import io.github.dug22.carpentry.optimize.TypeOptimization;
 import io.github.dug22.carpentry.row.DataRow;
 import io.github.dug22.carpentry.row.DataRows;
 import io.github.dug22.carpentry.sorting.SortColumn;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
-public interface DataFrameInterface {
+public interface DataFrameInterface extends AutoCloseable {
 
     /**
      * Copies a DataFrame instance
@@ -52,6 +55,34 @@ public interface DataFrameInterface {
      */
     DataFrameInterface copyEmpty();
 
+    /**
+     * Creates a view of a range of rows. The columns of the view reference the values of this DataFrame
+     * instead of copying them, so creating it takes constant time per column.
+     *
+     * @param fromRow the first row of the range, inclusive
+     * @param toRow   the last row of the range, exclusive
+     * @return a new DataFrame viewing the given rows
+     */
+    DataFrameInterface slice(int fromRow, int toRow);
+
+    /**
+     * Creates a compact copy of a DataFrame whose columns no longer reference the DataFrame they were
+     * sliced or filtered from
+     *
+     * @return a new compact copy of a DataFrame instance
+     */
+    DataFrameInterface materialize();
+
+    /**
+     * Creates a DataFrame holding the rows of this DataFrame followed by the rows of another DataFrame with the
+     * same columns. The rows are not copied: each column of the result links the chunks of the columns it was
+     * concatenated from.
+     *
+     * @param other the DataFrame whose rows follow the rows of this DataFrame
+     * @return a new DataFrame holding the rows of both DataFrames
+     */
+    DataFrameInterface concat(DataFrameInterface other);
+
     /**
      * Adds a boolean column to the given DataFrame
      *
@@ -152,6 +183,16 @@ public interface DataFrameInterface {
      */
     DataFrameInterface addLongColumn(String columnName, Long[] columnData);
 
+    /**
+     * Adds a fixed-point decimal column to the given DataFrame
+     *
+     * @param columnName the name of the column
+     * @param scale      the number of digits kept after the decimal point
+     * @param columnData the data of the given column
+     * @return a DataFrame with the added decimal column.
+     */
+    DataFrameInterface addDecimalColumn(String columnName, int scale, BigDecimal[] columnData);
+
     /**
      * Adds a byte column to the given DataFrame
      *
@@ -387,6 +428,14 @@ public interface DataFrameInterface {
      */
     LongColumn longColumn(String name);
 
+    /**
+     * Retrieves a fixed-point decimal column by its name.
+     *
+     * @param name the name of the decimal column.
+     * @return the DecimalColumn with the specified name.
+     */
+    DecimalColumn decimalColumn(String name);
+
     /**
      * Retrieves a short column by its name.
      *
@@ -536,6 +585,33 @@ public interface DataFrameInterface {
      */
     DataFrameInterface filter(FilterPredicate predicate);
 
+    /**
+     * Filters rows in the DataFrame based on a boolean mask column.
+     *
+     * @param mask a BooleanColumn with one value per row; rows holding true are kept.
+     * @return a new DataFrame containing the rows selected by the mask.
+     */
+    DataFrameInterface filter(BooleanColumn mask);
+
+    /**
+     * Filters rows in the DataFrame based on a predicate expression, such as {@code Expr.col("a").gt(5)}.
+     *
+     * @param predicate the predicate expression; rows where it is true are kept.
+     * @return a new DataFrame containing the rows selected by the predicate.
+     * @throws IllegalArgumentException if the expression is not a predicate.
+     */
+    DataFrameInterface filter(Expr predicate);
+
+    /**
+     * Adds a column computed from an expression in a single pass over the columns it references.
+     * A column of the same name is replaced in place.
+     *
+     * @param columnName the name of the derived column.
+     * @param expression the expression computing the column.
+     * @return This DataFrame with the derived column.
+     */
+    DataFrameInterface withColumn(String columnName, Expr expression);
+
 
     /**
      * Filters rows in the DataFrame based on a predicate.
@@ -562,6 +638,14 @@ public interface DataFrameInterface {
      */
     DataFrameInterface fillNa(FillColumnValuePair[] fillColumnValuePairs);
 
+    /**
+     * Replaces each numeric column with the narrowest of ByteColumn, ShortColumn, IntegerColumn and FloatColumn
+     * that holds all of its values exactly.
+     *
+     * @return the columns that were narrowed and the bytes each one saved.
+     */
+    List<TypeOptimization> optimizeTypes();
+
     /**
      * Groups the DataFrame by the specified columns.
      *
@@ -647,6 +731,13 @@ public interface DataFrameInterface {
      */
     Collection<Column<?>> getColumns();
 
+    /**
+     * Releases the memory held by every column of the DataFrame, as {@link Column#close()} does for one column,
+     * so off-heap columns can be freed through try-with-resources. The DataFrame can no longer be used once closed.
+     */
+    @Override
+    void close();
+
     /**
      * Returns an array representing the dimensionality of the dataframe.
      */
@@ -666,6 +757,14 @@ public interface DataFrameInterface {
      */
     DataFrame skew(SkewnessFormula formula);
 
+    /**
+     * Summarizes each numeric column: its count, null count, mean, standard deviation, minimum, quartiles, maximum
+     * and skewness. Columns are summarized in parallel, each in one pass plus one sort of its values.
+     *
+     * @return a DataFrame with one row per statistic and one column per numeric column
+     */
+    DataFrame describe();
+
     /**
      * Renames old column names with new column names
      * @param renameMap allows to instantiate what column name to replace with Key = old column name V = new column name
@@ -679,6 +778,22 @@ public interface DataFrameInterface {
      */
     int getColumnIndex(String columnName);
 
+    /**
+     * Estimates the bytes held by each column, both shallow (the buffers of the column) and deep (the buffers
+     * plus the objects they reference, such as boxed values and the characters of strings).
+     *
+     * @return a DataFrame with the name, shallow bytes and deep bytes of each column
+     */
+    DataFrame memoryUsage();
+
+    /**
+     * Estimates the bytes held by every column of the DataFrame
+     *
+     * @param deep if the objects referenced by the column buffers should be counted
+     * @return the estimated size of the DataFrame in bytes
+     */
+    long memoryUsage(boolean deep);
+
     /**
      * Provides important details/information about a dataframe (like its structure information, column data type, etc.)
      */
@@ -21,8 +21,13 @@ import io.github.dug22.carpentry.column.ColumnType;
 import io.github.dug22.carpentry.column.ColumnTypes;
 import io.github.dug22.carpentry.column.impl.DoubleColumn;
 import io.github.dug22.carpentry.column.impl.IntegerColumn;
+import io.github.dug22.carpentry.column.other.HyperLogLog;
+import io.github.dug22.carpentry.column.other.QuantileSketch;
+import io.github.dug22.carpentry.utils.Hashing;
 import io.github.dug22.carpentry.utils.Nulls;
 
+import java.math.BigDecimal;
+import java.math.MathContext;
 import java.util.List;
 import java.util.Objects;
 
@@ -55,6 +60,34 @@ public enum AggregationType {
         }
     },
 
+    APPROX_COUNT_DISTINCT {
+        @Override
+        public Object aggregate(List<Object> values) {
+            printNACount(getFunctionName(), values);
+            HyperLogLog sketch = HyperLogLog.create();
+            for (Object value : values) {
+                if (Nulls.isNull(value)) continue;
+                sketch.addHash(Hashing.hashObject(value));
+            }
+            return (int) Math.min(Integer.MAX_VALUE, sketch.estimate());
+        }
+
+        @Override
+        public String getFunctionName() {
+            return "approx_count_distinct";
+        }
+
+        @Override
+        public ColumnType columnType() {
+            return ColumnTypes.INTEGER_COLUMN_TYPE;
+        }
+
+        @Override
+        public Column<?> createEmptyAggregationColumn(String name) {
+            return new IntegerColumn(name);
+        }
+    },
+
     MAX {
         @Override
         public Object aggregate(List<Object> values) {
@@ -86,6 +119,11 @@ public enum AggregationType {
         @Override
         public Object aggregate(List<Object> values) {
             printNACount(getFunctionName(), values);
+            BigDecimal decimalSum = sumDecimals(values);
+            if (decimalSum != null) {
+                long count = values.stream().filter(i -> !Nulls.isNull(i)).count();
+                return count > 0 ? decimalSum.divide(BigDecimal.valueOf(count), MathContext.DECIMAL64).doubleValue() : Double.NaN;
+            }
             return values.stream()
                     .filter(i -> !Nulls.isNull(i))
                     .map(value -> ((Number) value).doubleValue())
@@ -137,6 +175,34 @@ public enum AggregationType {
         }
     },
 
+    APPROX_MEDIAN {
+        @Override
+        public Object aggregate(List<Object> values) {
+            printNACount(getFunctionName(), values);
+            QuantileSketch sketch = QuantileSketch.create();
+            for (Object value : values) {
+                if (Nulls.isNull(value)) continue;
+                sketch.update(((Number) value).doubleValue());
+            }
+            return sketch.quantile(0.5);
+        }
+
+        @Override
+        public String getFunctionName() {
+            return "approx_median";
+        }
+
+        @Override
+        public ColumnType columnType() {
+            return ColumnTypes.DOUBLE_COLUMN_TYPE;
+        }
+
+        @Override
+        public Column<?> createEmptyAggregationColumn(String name) {
+            return new DoubleColumn(name);
+        }
+    },
+
     STD(1) {
         @Override
         public Object aggregate(List<Object> values) {
@@ -185,6 +251,10 @@ public enum AggregationType {
         @Override
         public Object aggregate(List<Object> values) {
             printNACount(getFunctionName(), values);
+            BigDecimal decimalSum = sumDecimals(values);
+            if (decimalSum != null) {
+                return decimalSum.doubleValue();
+            }
             return values.stream()
                     .filter(i -> !Nulls.isNull(i))
                     .mapToDouble(value -> {
@@ -297,6 +367,23 @@ public enum AggregationType {
         }
     }
 
+    /**
+     * Sums decimal values exactly, so a sum of fixed-point values is only rounded once
+     * @param values the values to sum
+     * @return the exact sum, or null if the values are not decimals
+     */
+    private static BigDecimal sumDecimals(List<Object> values) {
+        BigDecimal sum = null;
+        for (Object value : values) {
+            if (value instanceof BigDecimal decimal) {
+                sum = sum == null ? decimal : sum.add(decimal);
+            } else if (!Nulls.isNull(value)) {
+                return null;
+            }
+        }
+        return sum;
+    }
+
     private static Object computeStandardDeviation(List<Object> values, int ddof, String functionName) {
         printNACount(functionName, values);
         List<Double> validValues = values.stream()
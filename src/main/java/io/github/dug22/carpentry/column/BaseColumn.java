@@ -16,30 +16,50 @@
 
 package io.github.dug22.carpentry.column;
 
+import io.github.dug22.carpentry.DataFrame;
+import io.github.dug22.carpentry.column.cursor.ObjCursor;
+import io.github.dug22.carpentry.column.cursor.StorageCursor;
+import io.github.dug22.carpentry.column.impl.IntegerColumn;
+import io.github.dug22.carpentry.column.other.DistinctValues;
+import io.github.dug22.carpentry.column.other.HyperLogLog;
+import io.github.dug22.carpentry.column.other.Moments;
+import io.github.dug22.carpentry.column.storage.ChunkedStorage;
+import io.github.dug22.carpentry.column.storage.ColumnStorage;
+import io.github.dug22.carpentry.column.storage.EncodedStorage;
+import io.github.dug22.carpentry.column.storage.ObjectStorage;
+import io.github.dug22.carpentry.column.storage.SparseStorage;
+import io.github.dug22.carpentry.column.storage.ValidityMask;
+import io.github.dug22.carpentry.column.storage.ViewStorage;
 import io.github.dug22.carpentry.utils.Nulls;
 
-import java.lang.reflect.Array;
 import java.util.*;
+import java.util.stream.IntStream;
 
 public abstract class BaseColumn<T> implements Column<T> {
 
     private String name;
     private final ColumnType columnType;
-    private T[] data;
+    private ColumnStorage<T> storage;
+    private static final int DISTINCT_SLICE_SIZE = 1 << 16;
+
+    private boolean viewed;
+    private int modificationCount;
     protected ColumnParser<T> columnParser;
 
     @SuppressWarnings("unchecked")
     public BaseColumn(final String name, ColumnType columnType, ColumnParser<T> columnParser) {
-        setName(name);
-        this.columnType = columnType;
-        this.data = (T[]) Array.newInstance(this.columnType.getClassType(), 0);
-        this.columnParser = columnParser;
+        this(name, columnType, new ObjectStorage<>((Class<T>) columnType.getClassType()), columnParser);
     }
 
+    @SuppressWarnings("unchecked")
     public BaseColumn(final String name, ColumnType columnType, T[] data, ColumnParser<T> columnParser) {
+        this(name, columnType, new ObjectStorage<>((Class<T>) columnType.getClassType(), data), columnParser);
+    }
+
+    public BaseColumn(final String name, ColumnType columnType, ColumnStorage<T> storage, ColumnParser<T> columnParser) {
         setName(name);
         this.columnType = columnType;
-        this.data = data != null ? data : (T[]) Array.newInstance(this.columnType.getClassType(), 0);
+        this.storage = storage;
         this.columnParser = columnParser;
     }
 
@@ -56,7 +76,12 @@ public abstract class BaseColumn<T> implements Column<T> {
      */
     @Override
     public void setData(T[] data) {
-        this.data = data;
+        if (viewed) {
+            storage = storage.emptyCopy();
+            viewed = false;
+        }
+        modificationCount++;
+        storage.setData(data);
     }
 
     /**
@@ -80,25 +105,38 @@ public abstract class BaseColumn<T> implements Column<T> {
      */
     @Override
     public int size() {
-        return data.length;
+        return storage.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long longSize() {
+        return storage.longSize();
     }
 
     /**
      * {@inheritDoc}
      */
     public T get(int index) {
-        return data[index];
+        return storage.get(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T get(long index) {
+        return storage.get(index);
     }
 
     /**
      * {@inheritDoc}
      */
-    @SuppressWarnings("unchecked")
     @Override
     public T[] getValues() {
-        T[] result = (T[]) Array.newInstance(columnType.getClassType(), size());
-        System.arraycopy(data, 0, result, 0, result.length);
-        return result;
+        return storage.toArray();
     }
 
     /**
@@ -106,9 +144,15 @@ public abstract class BaseColumn<T> implements Column<T> {
      */
     @Override
     public void append(T value) {
-        int currentSize = size();
-        data = Arrays.copyOf(data, currentSize + 1);
-        data[currentSize] = value;
+        storage.append(value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendNull() {
+        storage.appendNull();
     }
 
     /**
@@ -116,10 +160,137 @@ public abstract class BaseColumn<T> implements Column<T> {
      */
     @Override
     public void appendAll(T[] values) {
-        int currentSize = size();
-        int newSize = currentSize + values.length;
-        data = Arrays.copyOf(data, newSize);
-        System.arraycopy(values, 0, data, currentSize, values.length);
+        storage.appendAll(values);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void ensureCapacity(int minCapacity) {
+        storage.ensureCapacity(minCapacity);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void trimToSize() {
+        storage.trimToSize();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isOffHeap() {
+        return storage.isOffHeap();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        storage.close();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Column<T> slice(int fromIndex, int toIndex) {
+        return view(ViewStorage.range(storage, fromIndex, toIndex));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Column<T> select(int[] rows) {
+        return view(ViewStorage.select(storage, rows));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Column<T> concat(Column<T> other) {
+        if (other.getClass() != getClass()) {
+            throw new ColumnException("Column " + other.name() + " cannot be concatenated to column " + name() + " as their types differ");
+        }
+        BaseColumn<T> otherColumn = (BaseColumn<T>) other;
+        BaseColumn<T> concatenated = (BaseColumn<T>) emptyCopy();
+        concatenated.storage = ChunkedStorage.concat(storage, otherColumn.storage);
+        viewed = true;
+        otherColumn.viewed = true;
+        return concatenated;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isView() {
+        return storage instanceof ViewStorage<T> view && !view.isMaterialized();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isCompressed() {
+        return storage instanceof EncodedStorage<T> encoded && !encoded.isDecoded();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long memoryUsage(boolean deep) {
+        return storage.memoryUsage(deep);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isSparse() {
+        return storage instanceof SparseStorage;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Column<T> toSparse() {
+        BaseColumn<T> sparse = (BaseColumn<T>) emptyCopy();
+        sparse.storage = SparseStorage.of(storage);
+        return sparse;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Column<T> toDense() {
+        BaseColumn<T> dense = (BaseColumn<T>) emptyCopy();
+        dense.storage = storage instanceof SparseStorage<T> sparse ? sparse.toDense() : storage.copy();
+        return dense;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ValidityMask selectEqual(Object value) {
+        if (storage instanceof EncodedStorage<T> encoded && !encoded.isDecoded()) {
+            return encoded.selectEqual(value);
+        }
+        if (storage instanceof SparseStorage<T> sparse) {
+            return sparse.selectEqual(value);
+        }
+        return Column.super.selectEqual(value);
     }
 
     /**
@@ -131,8 +302,130 @@ public abstract class BaseColumn<T> implements Column<T> {
             return true;
         }
 
-        T value = get(index);
-        return isAbsent(value);
+        return storage.isNull(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setAbsent(int index) {
+        detachFromViews();
+        modificationCount++;
+        storage.setNull(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int countNull() {
+        return storage.countNull();
+    }
+
+    /**
+     * Finds the first position at or after the given one that holds a value. Sparse columns jump straight
+     * from one value to the next.
+     *
+     * @param from the position to start searching from
+     * @return the position of the next value, or -1 if there is none
+     */
+    public int nextPresent(int from) {
+        return storage.nextValid(from);
+    }
+
+    /**
+     * {@inheritDoc}
+     * A sparse column fills its missing regions at once and only visits the values it stores.
+     */
+    @Override
+    public void fillAbsent(T value) {
+        if (!(storage instanceof SparseStorage<T>)) {
+            Column.super.fillAbsent(value);
+            return;
+        }
+        detachFromViews();
+        modificationCount++;
+        ((SparseStorage<T>) storage).fill(value);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Values are hashed straight from the storage. Large columns are split into slices sketched in parallel, each
+     * in its own fixed-size sketch, then merged.
+     */
+    @Override
+    public HyperLogLog distinctSketch() {
+        ColumnStorage<T> source = storage;
+        int size = source.size();
+        if (size < Moments.PARALLEL_THRESHOLD) {
+            return distinctSketch(source, 0, size);
+        }
+        int slices = (size + DISTINCT_SLICE_SIZE - 1) / DISTINCT_SLICE_SIZE;
+        return IntStream.range(0, slices)
+                .parallel()
+                .mapToObj(slice -> distinctSketch(source, slice * DISTINCT_SLICE_SIZE,
+                        Math.min(size, (slice + 1) * DISTINCT_SLICE_SIZE)))
+                .reduce(HyperLogLog::merge)
+                .orElseGet(HyperLogLog::create);
+    }
+
+    private static <T> HyperLogLog distinctSketch(ColumnStorage<T> source, int from, int to) {
+        HyperLogLog sketch = HyperLogLog.create();
+        for (int index = from; index < to; index++) {
+            if (!source.isNull(index)) {
+                sketch.addHash(source.longHash(index));
+            }
+        }
+        return sketch;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The distinct values are found with a hash table and the unique column selects the first row of each of them.
+     */
+    @Override
+    public Column<T> unique() {
+        BaseColumn<T> unique = (BaseColumn<T>) select(distinctValues().uniqueRows());
+        unique.setName(name() + " (unique)");
+        unique.getOwnedStorage();
+        return unique;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int nunique() {
+        return distinctValues().size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DataFrame valueCounts() {
+        DistinctValues distinct = distinctValues();
+        int[] ids = distinct.idsByFrequency();
+        int[] rows = new int[ids.length];
+        int[] counts = new int[ids.length];
+        for (int rank = 0; rank < ids.length; rank++) {
+            rows[rank] = distinct.firstRow(ids[rank]);
+            counts[rank] = distinct.count(ids[rank]);
+        }
+        BaseColumn<T> values = (BaseColumn<T>) select(rows);
+        values.getOwnedStorage();
+        return DataFrame.create(values, IntegerColumn.create("count", counts));
+    }
+
+    /**
+     * Finds the distinct values of this column in one pass. Values are hashed as objects by default; columns with a
+     * primitive representation override this to hash their values without boxing them.
+     *
+     * @return the distinct values of this column
+     */
+    protected DistinctValues distinctValues() {
+        return DistinctValues.ofObjects(storage);
     }
 
     /**
@@ -140,8 +433,9 @@ public abstract class BaseColumn<T> implements Column<T> {
      */
     @Override
     public boolean contains(T value) {
-        for (int i = 0; i < size(); i++) {
-            if (getValues()[i] == value) return true;
+        ObjCursor<T> cursor = cursor();
+        while (cursor.hasNext()) {
+            if (Objects.equals(cursor.next(), value)) return true;
         }
         return false;
     }
@@ -151,7 +445,12 @@ public abstract class BaseColumn<T> implements Column<T> {
      */
     @Override
     public boolean containsAll(List<T> values) {
-        return values.stream().allMatch(this::contains);
+        Set<T> missingValues = new HashSet<>(values);
+        ObjCursor<T> cursor = cursor();
+        while (!missingValues.isEmpty() && cursor.hasNext()) {
+            missingValues.remove(cursor.next());
+        }
+        return missingValues.isEmpty();
     }
 
     /**
@@ -159,16 +458,22 @@ public abstract class BaseColumn<T> implements Column<T> {
      */
     @Override
     public void set(int index, T value) {
-        data[index] = value;
+        detachFromViews();
+        modificationCount++;
+        storage.set(index, value);
     }
 
     /**
      * {@inheritDoc}
      */
-    @SuppressWarnings("unchecked")
     @Override
     public void clear() {
-        data = (T[]) Array.newInstance(columnType.getClassType(), 0);
+        if (viewed) {
+            storage = storage.emptyCopy();
+            viewed = false;
+        }
+        modificationCount++;
+        storage.clear();
     }
 
     /**
@@ -176,7 +481,9 @@ public abstract class BaseColumn<T> implements Column<T> {
      */
     @Override
     public void sortAscending() {
-        Arrays.sort(data);
+        detachFromViews();
+        modificationCount++;
+        storage.sortAscending();
     }
 
     /**
@@ -184,7 +491,9 @@ public abstract class BaseColumn<T> implements Column<T> {
      */
     @Override
     public void sortDescending() {
-        Arrays.sort(data, Collections.reverseOrder());
+        detachFromViews();
+        modificationCount++;
+        storage.sortDescending();
     }
 
     /**
@@ -200,15 +509,22 @@ public abstract class BaseColumn<T> implements Column<T> {
      */
     @Override
     public void replace(T[] oldValues, T newValue) {
-        for (int i = 0; i < size(); i++) {
-            for (T oldValue : oldValues) {
-                if (oldValue != null && oldValue.equals(data[i])) {
-                    data[i] = newValue;
-                    break;
-                } else if (Nulls.isNull(oldValue) && data[i] == null) {
-                    data[i] = newValue;
-                    break;
-                }
+        detachFromViews();
+        modificationCount++;
+        Set<T> replacedValues = new HashSet<>();
+        boolean replacesNull = false;
+        for (T oldValue : oldValues) {
+            if (oldValue != null) {
+                replacedValues.add(oldValue);
+            }
+            replacesNull |= Nulls.isNull(oldValue);
+        }
+
+        ObjCursor<T> cursor = cursor();
+        while (cursor.hasNext()) {
+            T value = cursor.next();
+            if (value == null ? replacesNull : replacedValues.contains(value)) {
+                storage.set(cursor.position(), newValue);
             }
         }
     }
@@ -219,6 +535,9 @@ public abstract class BaseColumn<T> implements Column<T> {
      */
     @Override
     public Column<T> filter(ColumnPredicate<? super T> condition) {
+        if (storage instanceof SparseStorage<T> sparse) {
+            return select(sparse.select(condition::test));
+        }
         return Column.super.filter(condition);
     }
 
@@ -232,8 +551,8 @@ public abstract class BaseColumn<T> implements Column<T> {
 
     /**
      * Returns an iterator over the elements in this column's data array.
-     * The iterator traverses the column's values in order, but does not support
-     * removal of elements.
+     * The iterator reads the column's storage through a cursor, so iterating allocates nothing
+     * beyond the values themselves, and does not support removal of elements.
      *
      * @return an iterator for the column's data array
      * @throws UnsupportedOperationException if the remove operation is attempted
@@ -241,9 +560,8 @@ public abstract class BaseColumn<T> implements Column<T> {
      */
     @Override
     public Iterator<T> iterator() {
+        ObjCursor<T> cursor = cursor();
         return new Iterator<>() {
-            private int index = 0;
-
             @Override
             public void remove() {
                 throw new UnsupportedOperationException("Remove isn't supported by this given operator");
@@ -251,18 +569,24 @@ public abstract class BaseColumn<T> implements Column<T> {
 
             @Override
             public boolean hasNext() {
-                return index < size();
+                return cursor.hasNext();
             }
 
             @Override
             public T next() {
-                if (!hasNext()) throw new NoSuchElementException();
-                T[] values = getValues();
-                return values[index++];
+                return cursor.next();
             }
         };
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ObjCursor<T> cursor() {
+        return StorageCursor.of(storage);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -303,6 +627,62 @@ public abstract class BaseColumn<T> implements Column<T> {
         Column.super.tail(count);
     }
 
+    /**
+     * Counts the changes made to the values of this column in place, so data derived from the values can tell when
+     * it is stale. Appends are not counted: they change the size of the column instead.
+     *
+     * @return the number of in-place changes made to this column
+     */
+    public int modificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Gets the storage engine backing this column
+     *
+     * @return the storage engine backing this column
+     */
+    protected ColumnStorage<T> getStorage() {
+        return storage;
+    }
+
+    /**
+     * Gets the storage engine backing this column, first replacing a view, a chunked or a sparse storage with a
+     * compact copy of its values. Columns use this before relying on the concrete type of their storage.
+     *
+     * @return the storage engine backing this column
+     */
+    protected ColumnStorage<T> getOwnedStorage() {
+        if (storage instanceof ViewStorage<T> view) {
+            storage = view.materialize();
+        }
+        if (storage instanceof ChunkedStorage<T> chunked) {
+            storage = chunked.compact();
+        }
+        if (storage instanceof SparseStorage<T> sparse) {
+            storage = sparse.toDense();
+        }
+        return storage;
+    }
+
+    private Column<T> view(ColumnStorage<T> viewStorage) {
+        BaseColumn<T> view = (BaseColumn<T>) emptyCopy();
+        view.storage = viewStorage;
+        viewed = true;
+        return view;
+    }
+
+    /**
+     * Gives this column its own copy of its values before they are changed in place,
+     * so views created from this column keep seeing the values they were created from.
+     */
+    private void detachFromViews() {
+        if (viewed) {
+            storage = storage.copy();
+            viewed = false;
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -16,15 +16,19 @@
 
 package io.github.dug22.carpentry.column;
 
+import io.github.dug22.carpentry.DataFrame;
+import io.github.dug22.carpentry.column.cursor.ObjCursor;
+import io.github.dug22.carpentry.column.other.HyperLogLog;
+import io.github.dug22.carpentry.column.storage.ValidityMask;
 import io.github.dug22.carpentry.io.string.ColumnPrinter;
+import io.github.dug22.carpentry.utils.Hashing;
 import io.github.dug22.carpentry.utils.Nulls;
 
-import java.lang.reflect.Array;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.IntStream;
 
-public interface Column<T> extends Iterable<T> {
+public interface Column<T> extends Iterable<T>, AutoCloseable {
 
     /**
      * Sets a name for a column
@@ -61,6 +65,14 @@ public interface Column<T> extends Iterable<T> {
      */
     int size();
 
+    /**
+     * Gets the column size as a long. Concatenated columns may hold more than {@link Integer#MAX_VALUE} values,
+     * in which case only the long based methods can reach all of them.
+     *
+     * @return the size of a given column.
+     */
+    long longSize();
+
     /**
      * Retrieves a value from a column
      *
@@ -69,6 +81,14 @@ public interface Column<T> extends Iterable<T> {
      */
     T get(int index);
 
+    /**
+     * Retrieves a value from a column using a long position
+     *
+     * @param index the position of where a value is located within the column.
+     * @return the retrieved value from a column based off the passed index.
+     */
+    T get(long index);
+
     /**
      * Returns a column's entire data array
      *
@@ -119,6 +139,140 @@ public interface Column<T> extends Iterable<T> {
      */
     void set(int index, T value);
 
+    /**
+     * Grows the backing buffer of this column, if necessary, so it can hold at least the given number of values
+     * without reallocating.
+     *
+     * @param minCapacity the desired minimum capacity
+     */
+    void ensureCapacity(int minCapacity);
+
+    /**
+     * Shrinks the backing buffer of this column to its current size
+     */
+    void trimToSize();
+
+    /**
+     * Checks to see if the values of this column are held outside of the Java heap
+     *
+     * @return if this column is held off-heap
+     */
+    boolean isOffHeap();
+
+    /**
+     * Releases the memory held by this column, so an off-heap column can be freed through try-with-resources.
+     * Off-heap columns, and views of them, can no longer be read or written once closed; on-heap columns are left
+     * to the garbage collector.
+     */
+    @Override
+    void close();
+
+    /**
+     * Creates a view of a range of this column. The view references the values of this column instead of
+     * copying them, so creating it takes constant time.
+     *
+     * @param fromIndex the first position of the range, inclusive
+     * @param toIndex   the last position of the range, exclusive
+     * @return a view of the given range
+     */
+    Column<T> slice(int fromIndex, int toIndex);
+
+    /**
+     * Creates a view of selected positions of this column, in the order they are given. The view references
+     * the values of this column instead of copying them.
+     *
+     * @param rows the positions to select
+     * @return a view of the selected positions
+     */
+    Column<T> select(int[] rows);
+
+    /**
+     * Creates a column holding the values of this column followed by the values of another column of the same type.
+     * The values are not copied: the new column links the chunks of both columns, and each column copies its values
+     * before changing them in place from then on.
+     *
+     * @param other the column whose values follow the values of this column
+     * @return a new column holding the values of both columns
+     */
+    Column<T> concat(Column<T> other);
+
+    /**
+     * Checks to see if this column is a view of another column's values
+     *
+     * @return if this column is a view
+     */
+    boolean isView();
+
+    /**
+     * Checks to see if this column holds its values in a compressed encoding
+     *
+     * @return if this column is compressed
+     */
+    boolean isCompressed();
+
+    /**
+     * Checks to see if this column only stores the positions and values of its non-missing entries
+     *
+     * @return if this column is sparse
+     */
+    boolean isSparse();
+
+    /**
+     * Creates a sparse copy of this column. Mostly-missing columns take far less memory this way, and null counts,
+     * statistics, fills and filters skip over the missing regions.
+     *
+     * @return a sparse copy of this column
+     */
+    Column<T> toSparse();
+
+    /**
+     * Creates a copy of this column holding every value in its dense storage
+     *
+     * @return a dense copy of this column
+     */
+    Column<T> toDense();
+
+    /**
+     * Estimates the bytes held by this column. A shallow estimate counts the buffers of its storage; a deep one
+     * also counts the objects they reference, such as boxed values and the characters of strings.
+     *
+     * @param deep if the objects referenced by the buffers should be counted
+     * @return the estimated size of this column in bytes
+     */
+    long memoryUsage(boolean deep);
+
+    /**
+     * Selects the rows of this column holding a value equal to the given one
+     *
+     * @param value the value to look for
+     * @return a mask whose valid slots are the matching rows
+     */
+    default ValidityMask selectEqual(Object value) {
+        ValidityMask selection = new ValidityMask(size(), false);
+        for (int index = 0; index < size(); index++) {
+            if (value.equals(get(index))) {
+                selection.set(index, true);
+            }
+        }
+        return selection;
+    }
+
+    /**
+     * Creates a cursor reading the values of this column in order, directly from its storage
+     *
+     * @return a cursor positioned before the first value
+     */
+    ObjCursor<T> cursor();
+
+    /**
+     * Creates a compact copy of this column which no longer references the column it was sliced or filtered from
+     *
+     * @return a compact copy of this column
+     */
+    default Column<T> materialize() {
+        return copy();
+    }
+
     /**
      * Checks to see if a value is absent/missing within a column based on a passed index.
      *
@@ -144,6 +298,30 @@ public interface Column<T> extends Iterable<T> {
         set(index, (T) Nulls.getDefaultNullValue(columnType().getClassType()));
     }
 
+    /**
+     * Counts how many null values are within a column
+     *
+     * @return null count of values
+     */
+    default int countNull() {
+        int naCount = 0;
+        for (int index = 0; index < size(); index++) {
+            if (isAbsent(index)) {
+                naCount++;
+            }
+        }
+        return naCount;
+    }
+
+    /**
+     * Counts how many non-null values are within a column
+     *
+     * @return non-null count of values
+     */
+    default int countNonNull() {
+        return size() - countNull();
+    }
+
     /**
      * Checks to see if the given index is in bounds
      *
@@ -154,6 +332,19 @@ public interface Column<T> extends Iterable<T> {
         return index < 0 || index >= size();
     }
 
+    /**
+     * Replaces every missing value of this column with the given value, in place
+     *
+     * @param value the value you wish to replace null values with.
+     */
+    default void fillAbsent(T value) {
+        for (int index = 0; index < size(); index++) {
+            if (isAbsent(index)) {
+                set(index, value);
+            }
+        }
+    }
+
     /**
      * If a value is missing you can replace it with a default value of your choice.
      *
@@ -236,6 +427,46 @@ public interface Column<T> extends Iterable<T> {
      */
     Column<T> unique();
 
+    /**
+     * Counts the distinct values of this column. Missing values are not counted.
+     *
+     * @return the number of distinct values
+     */
+    int nunique();
+
+    /**
+     * Counts how many times each distinct value occurs in this column, skipping missing values
+     *
+     * @return a DataFrame of the distinct values and their counts, from the most to the least frequent
+     */
+    DataFrame valueCounts();
+
+    /**
+     * Builds a HyperLogLog sketch of the distinct values of this column, skipping missing values. Sketches of
+     * columns of the same type can be merged.
+     *
+     * @return a distinct count sketch of this column
+     */
+    default HyperLogLog distinctSketch() {
+        HyperLogLog sketch = HyperLogLog.create();
+        for (int index = 0; index < size(); index++) {
+            if (!isAbsent(index)) {
+                sketch.addHash(Hashing.hashObject(get(index)));
+            }
+        }
+        return sketch;
+    }
+
+    /**
+     * Estimates the number of distinct values of this column in bounded memory, without building the unique values.
+     * Missing values are not counted.
+     *
+     * @return the estimated number of distinct values
+     */
+    default long approxCountDistinct() {
+        return distinctSketch().estimate();
+    }
+
     /**
      * Creates a rolling window view of the column with the specified window size.
      *
@@ -250,29 +481,17 @@ public interface Column<T> extends Iterable<T> {
      * Filters the column based on a condition, keeping only values that satisfy the predicate.
      *
      * @param condition the predicate to test each element
-     * @return a new column containing only the elements that satisfy the condition
+     * @return a view of the elements that satisfy the condition
      */
-    @SuppressWarnings("unchecked")
     default Column<T> filter(ColumnPredicate<? super T> condition) {
-        List<Integer> keptIndexes = new ArrayList<>(copy().size());
-        int startingIndex = 0;
-        int overallSize = size();
-        for (int index = startingIndex; index < overallSize; index++) {
-            boolean passingCondition = !isAbsent(index) && condition.test(get(index));
-            if (passingCondition) {
-                keptIndexes.add(index);
+        int[] keptRows = new int[size()];
+        int keptCount = 0;
+        for (int index = 0; index < keptRows.length; index++) {
+            if (!isAbsent(index) && condition.test(get(index))) {
+                keptRows[keptCount++] = index;
             }
         }
-        Column<T> newColumn = emptyCopy();
-        T[] values = getValues();
-        T[] filteredData = (T[]) Array.newInstance(columnType().getClassType(), keptIndexes.size());
-
-        for (int i = 0; i < keptIndexes.size(); i++) {
-            filteredData[i] = values[keptIndexes.get(i)];
-        }
-
-        newColumn.setData(filteredData);
-        return newColumn;
+        return select(Arrays.copyOf(keptRows, keptCount));
     }
 
     /**
@@ -283,10 +502,20 @@ public interface Column<T> extends Iterable<T> {
      */
     default Column<T> apply(ColumnFunction<? super T, ? extends T> function) {
         Column<T> column = copy();
-        IntStream.range(0, size())
+        T[] values = getValues();
+        boolean[] applied = new boolean[values.length];
+        IntStream.range(0, values.length)
                 .parallel()
                 .filter(i -> !isAbsent(i))
-                .forEach(i -> column.set(i, function.apply(get(i))));
+                .forEach(i -> {
+                    values[i] = function.apply(values[i]);
+                    applied[i] = true;
+                });
+        for (int i = 0; i < values.length; i++) {
+            if (applied[i]) {
+                column.set(i, values[i]);
+            }
+        }
         return column;
     }
 
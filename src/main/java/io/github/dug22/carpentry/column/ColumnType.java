@@ -16,6 +16,7 @@
 
 package io.github.dug22.carpentry.column;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
@@ -30,6 +31,7 @@ public interface ColumnType {
         Character,
         Date,
         DateTime,
+        Decimal,
         Double,
         Float,
         Integer,
@@ -66,6 +68,7 @@ public interface ColumnType {
             case Class<?> charClazz when charClazz == Character.class -> ID.Character;
             case Class<?> localDateClazz when localDateClazz == LocalDate.class -> ID.Date;
             case Class<?> localDateTimeClazz when localDateTimeClazz == LocalDateTime.class -> ID.DateTime;
+            case Class<?> decimalClazz when decimalClazz == BigDecimal.class -> ID.Decimal;
             case Class<?> doubleClazz when doubleClazz == Double.class -> ID.Double;
             case Class<?> floatClazz when floatClazz == Float.class -> ID.Float;
             case Class<?> intClazz when intClazz == Integer.class -> ID.Integer;
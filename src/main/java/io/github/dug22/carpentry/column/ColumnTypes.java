@@ -25,6 +25,7 @@ public interface ColumnTypes {
     CharacterColumnType CHARACTER_COLUMN_TYPE = new CharacterColumnType();
     DateColumnType DATE_COLUMN_TYPE = new DateColumnType();
     DateTimeColumnType DATE_TIME_COLUMN_TYPE = new DateTimeColumnType();
+    DecimalColumnType DECIMAL_COLUMN_TYPE = new DecimalColumnType();
     DoubleColumnType DOUBLE_COLUMN_TYPE = new DoubleColumnType();
     FloatColumnType FLOAT_COLUMN_TYPE = new FloatColumnType();
     IntegerColumnType INTEGER_COLUMN_TYPE = new IntegerColumnType();
@@ -18,6 +18,7 @@ package io.github.dug22.carpentry.column;
 
 import io.github.dug22.carpentry.column.impl.*;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
@@ -44,6 +45,8 @@ public class ColumnUtils {
                 }
             }
 
+            case DecimalColumn ignored when cell instanceof BigDecimal decimal -> decimal.toPlainString();
+
             default -> String.valueOf(cell);
         };
     }
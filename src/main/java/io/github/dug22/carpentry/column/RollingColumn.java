@@ -17,57 +17,282 @@
 package io.github.dug22.carpentry.column;
 
 import io.github.dug22.carpentry.aggregation.AggregationType;
-import io.github.dug22.carpentry.utils.Nulls;
+import io.github.dug22.carpentry.column.impl.DoubleColumn;
+import io.github.dug22.carpentry.column.impl.IntegerColumn;
+import io.github.dug22.carpentry.column.other.Statistics;
+import io.github.dug22.carpentry.utils.DoubleHashTable;
+import io.github.dug22.carpentry.utils.ObjectHashTable;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
+import java.util.function.Function;
+import java.util.stream.IntStream;
 
+/**
+ * Rolling window calculations over a column. Each aggregation keeps the state of one window and updates it as values
+ * enter and leave the window, so a column is rolled in linear time whatever the window size: running compensated sums
+ * for sums and means, Welford updates for standard deviations, monotonic deques for minimums and maximums and a
+ * Fenwick tree over value ranks for medians and quantiles.
+ * <p>
+ * The windows are rolled in fixed-size chunks, each starting from an empty window, so chunks can be rolled in
+ * parallel and the results do not depend on whether they were.
+ */
 public class RollingColumn {
+
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    /**
+     * Reads a block of rows of the column as the doubles a rolling kernel works on, missing values as NaN
+     */
+    @FunctionalInterface
+    private interface BlockReader {
+
+        double[] read(int from, int to);
+    }
+
     private final Column<?> column;
     private final int window;
+    private int minPeriods = -1;
+    private boolean center;
+    private boolean parallel;
 
     /**
      * Constructs a RollingColumn instance for performing rolling window calculations.
      *
      * @param column the input column containing the data to process
      * @param window the size of the rolling window for calculations
+     * @throws IllegalArgumentException if the window size is not positive
      */
     public RollingColumn(Column<?> column, int window) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("The size of a rolling window must be positive, got " + window);
+        }
         this.column = column;
         this.window = window;
     }
 
+    /**
+     * Sets the minimum number of values a window must hold to have a result; missing values do not count. By default
+     * a window only has a result once it is complete, and the missing values within it are skipped.
+     *
+     * @param minPeriods the minimum number of values, between 0 and the window size
+     * @return this rolling column
+     * @throws IllegalArgumentException if the minimum is negative or larger than the window
+     */
+    public RollingColumn minPeriods(int minPeriods) {
+        if (minPeriods < 0 || minPeriods > window) {
+            throw new IllegalArgumentException("The minimum number of values of a window must be between 0 and "
+                    + window + ", got " + minPeriods);
+        }
+        this.minPeriods = minPeriods;
+        return this;
+    }
+
+    /**
+     * Centers each window on its row instead of ending it there. An even window extends one row further back than
+     * forward.
+     *
+     * @return this rolling column
+     */
+    public RollingColumn center() {
+        this.center = true;
+        return this;
+    }
+
+    /**
+     * Rolls the chunks of the column in parallel
+     *
+     * @return this rolling column
+     */
+    public RollingColumn parallel() {
+        this.parallel = true;
+        return this;
+    }
+
     /**
      * Performs a rolling aggregation on the column using the specified aggregation type.
      * @param <T>            the type of the column's data
      * @param aggregationType the type of aggregation to perform (e.g., sum, mean)
      * @return a new Column containing the results of the rolling aggregation
-     * @throws IllegalArgumentException if the aggregation result type does not match the expected column type
+     * @throws IllegalArgumentException if the aggregation needs numbers and the column does not hold any
      */
-    @SuppressWarnings("unchecked")
     public <T> Column<?> calc(AggregationType aggregationType) {
-        Column<T> result = (Column<T>) aggregationType.createEmptyAggregationColumn(
-                column.name() + "_" + window + "_" + aggregationType.getFunctionName()
-        );
-        for (int i = 0; i < window - 1; i++) {
-            result.appendNull();
+        double[] results = roll((from, to) -> read(aggregationType, from, to),
+                values -> RollingKernel.of(aggregationType, values));
+        String name = column.name() + "_" + window + "_" + aggregationType.getFunctionName();
+        if (aggregationType.columnType() == ColumnTypes.INTEGER_COLUMN_TYPE) {
+            int[] counts = new int[results.length];
+            for (int row = 0; row < results.length; row++) {
+                counts[row] = (int) results[row];
+            }
+            IntegerColumn result = IntegerColumn.create(name, counts);
+            for (int row = 0; row < results.length; row++) {
+                if (Double.isNaN(results[row])) {
+                    result.setAbsent(row);
+                }
+            }
+            return result;
         }
-        Object[] data = column.getValues();
-        for (int i = 0; i <= column.size() - window; i++) {
-            List<Object> windowValues = new ArrayList<>(Arrays.asList(data).subList(i, i + window));
-            Object aggResult = aggregationType.aggregate(windowValues);
-            if (Nulls.isNull(aggResult)) {
-                result.appendNull();
-            } else if (aggregationType.columnType().getClassType().isInstance(aggResult)) {
-                result.append((T) aggResult);
+        return DoubleColumn.create(name, results);
+    }
+
+    /**
+     * Calculates the exact rolling median of the column
+     *
+     * @return a new column containing the median of each window
+     */
+    public DoubleColumn median() {
+        double[] results = roll(this::readNumbers, values -> RollingKernel.quantile(values, 0.5));
+        return DoubleColumn.create(column.name() + "_" + window + "_median", results);
+    }
+
+    /**
+     * Calculates an exact rolling quantile of the column using linear interpolation
+     *
+     * @param quantile value between 0 and 1
+     * @return a new column containing the quantile of each window
+     * @throws IllegalArgumentException if the quantile is not between 0 and 1
+     */
+    public DoubleColumn quantile(double quantile) {
+        if (!(quantile >= 0 && quantile <= 1)) {
+            throw new IllegalArgumentException("The quantile must be between 0 and 1, got " + quantile);
+        }
+        double[] results = roll(this::readNumbers, values -> RollingKernel.quantile(values, quantile));
+        return DoubleColumn.create(column.name() + "_" + window + "_quantile", results);
+    }
+
+    /**
+     * Rolls the windows of the whole column chunk by chunk
+     *
+     * @param reader  reads the block of values the windows of a chunk cover
+     * @param kernels creates the kernel of a chunk from its block of values
+     * @return the result of each window, NaN where there is none
+     */
+    private double[] roll(BlockReader reader, Function<double[], RollingKernel> kernels) {
+        int size = column.size();
+        double[] results = new double[size];
+        int chunkSize = Math.max(CHUNK_SIZE, window);
+        int chunks = (int) ((size + (long) chunkSize - 1) / chunkSize);
+        IntStream chunkIndexes = IntStream.range(0, chunks);
+        if (parallel) {
+            chunkIndexes = chunkIndexes.parallel();
+        }
+        chunkIndexes.forEach(chunk -> rollChunk(reader, kernels, results, chunk * chunkSize,
+                (int) Math.min(size, (long) (chunk + 1) * chunkSize)));
+        return results;
+    }
+
+    /**
+     * Rolls the windows ending or centered on the rows of one chunk, reading the values they cover once and sliding
+     * a single kernel over them
+     */
+    private void rollChunk(BlockReader reader, Function<double[], RollingKernel> kernels,
+                           double[] results, int from, int to) {
+        int blockStart = windowStart(from);
+        int blockEnd = windowEnd(to - 1);
+        double[] values = reader.read(blockStart, blockEnd);
+        RollingKernel kernel = kernels.apply(values);
+        int start = 0;
+        int end = 0;
+        int count = 0;
+        for (int row = from; row < to; row++) {
+            for (int windowEnd = windowEnd(row) - blockStart; end < windowEnd; end++) {
+                if (!Double.isNaN(values[end])) {
+                    kernel.add(end);
+                    count++;
+                }
+            }
+            for (int windowStart = windowStart(row) - blockStart; start < windowStart; start++) {
+                if (!Double.isNaN(values[start])) {
+                    kernel.remove(start);
+                    count--;
+                }
+            }
+            results[row] = hasResult(row, count) ? kernel.result(count) : Double.NaN;
+        }
+    }
+
+    private int offset() {
+        return center ? (window - 1) / 2 : 0;
+    }
+
+    private int windowStart(int row) {
+        return (int) Math.max(0, (long) row + offset() + 1 - window);
+    }
+
+    private int windowEnd(int row) {
+        return (int) Math.min(column.size(), (long) row + offset() + 1);
+    }
+
+    private boolean hasResult(int row, int count) {
+        if (minPeriods >= 0) {
+            return count >= minPeriods;
+        }
+        long windowEnd = (long) row + offset() + 1;
+        return windowEnd - window >= 0 && windowEnd <= column.size();
+    }
+
+    /**
+     * Reads a block of the column as the doubles the aggregation works on: the values themselves, whether a boolean
+     * is counted, or ids telling distinct values apart. Missing values are read as NaN.
+     */
+    private double[] read(AggregationType aggregationType, int from, int to) {
+        double[] values = new double[to - from];
+        switch (aggregationType) {
+            case COUNT -> {
+                for (int row = from; row < to; row++) {
+                    values[row - from] = column.isAbsent(row) ? Double.NaN : 0;
+                }
+            }
+            case TRUE_COUNT, FALSE_COUNT -> {
+                Boolean counted = aggregationType == AggregationType.TRUE_COUNT;
+                for (int row = from; row < to; row++) {
+                    values[row - from] = column.isAbsent(row) ? Double.NaN : counted.equals(column.get(row)) ? 1 : 0;
+                }
+            }
+            case APPROX_COUNT_DISTINCT -> readIds(values, from, to);
+            default -> {
+                return readNumbers(from, to);
+            }
+        }
+        return values;
+    }
+
+    private double[] readNumbers(int from, int to) {
+        double[] values = new double[to - from];
+        if (column instanceof Statistics statistics) {
+            for (int row = from; row < to; row++) {
+                values[row - from] = statistics.getDouble(row);
+            }
+            return values;
+        }
+        for (int row = from; row < to; row++) {
+            Object value = column.isAbsent(row) ? null : column.get(row);
+            if (value == null) {
+                values[row - from] = Double.NaN;
+            } else if (value instanceof Number number) {
+                values[row - from] = number.doubleValue();
+            } else if (value instanceof Boolean bool) {
+                values[row - from] = bool ? 1 : 0;
             } else {
-                throw new IllegalArgumentException(
-                        "Aggregation result type " + aggResult.getClass() +
-                        " does not match expected type " + aggregationType.columnType().getClassType()
-                );
+                throw new IllegalArgumentException("Column " + column.name() + " holds " + value.getClass().getSimpleName()
+                        + " values, which cannot be aggregated as numbers");
             }
         }
-        return result;
+        return values;
+    }
+
+    private void readIds(double[] values, int from, int to) {
+        if (column instanceof Statistics statistics) {
+            DoubleHashTable table = DoubleHashTable.create();
+            for (int row = from; row < to; row++) {
+                double value = statistics.getDouble(row);
+                values[row - from] = Double.isNaN(value) ? Double.NaN : table.add(value);
+            }
+            return;
+        }
+        ObjectHashTable<Object> table = ObjectHashTable.create();
+        for (int row = from; row < to; row++) {
+            Object value = column.isAbsent(row) ? null : column.get(row);
+            values[row - from] = value == null ? Double.NaN : table.add(value);
+        }
     }
-}
\ No newline at end of file
+}
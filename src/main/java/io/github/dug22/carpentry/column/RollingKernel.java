@@ -0,0 +1,416 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+package io.github.dug22.carpentry.column;
+
+import io.github.dug22.carpentry.aggregation.AggregationType;
+
+import java.util.Arrays;
+
+/**
+ * The state of a rolling window, updated as values enter and leave the window instead of being recomputed for every
+ * window. Values are addressed by their position in the block of values read for a chunk of windows. Missing values
+ * are read as NaN and never enter a window.
+ */
+abstract class RollingKernel {
+
+    protected final double[] values;
+
+    RollingKernel(double[] values) {
+        this.values = values;
+    }
+
+    /**
+     * Creates the kernel computing an aggregation over the windows of a block of values
+     *
+     * @param aggregationType the aggregation to compute
+     * @param values          the block of values, NaN where missing
+     * @return a kernel over an empty window
+     */
+    static RollingKernel of(AggregationType aggregationType, double[] values) {
+        return switch (aggregationType) {
+            case COUNT -> new Count(values);
+            case APPROX_COUNT_DISTINCT -> new Distinct(values);
+            case MAX -> new Extreme(values, true);
+            case MIN -> new Extreme(values, false);
+            case MEAN -> new Sum(values, true);
+            case SUM, TRUE_COUNT, FALSE_COUNT -> new Sum(values, false);
+            case APPROX_MEDIAN -> new Quantile(values, 0.5);
+            case STD -> new Deviation(values, 1);
+            case STD_POPULATION -> new Deviation(values, 0);
+        };
+    }
+
+    /**
+     * Creates the kernel computing an exact quantile over the windows of a block of values
+     *
+     * @param values   the block of values, NaN where missing
+     * @param quantile value between 0 and 1
+     * @return a kernel over an empty window
+     */
+    static RollingKernel quantile(double[] values, double quantile) {
+        return new Quantile(values, quantile);
+    }
+
+    /**
+     * Adds the value at the given position to the window
+     *
+     * @param position the position of a present value in the block
+     */
+    abstract void add(int position);
+
+    /**
+     * Removes the value at the given position from the window. Values leave the window in the order they entered it.
+     *
+     * @param position the position of a present value in the block
+     */
+    abstract void remove(int position);
+
+    /**
+     * Computes the aggregation of the values in the window
+     *
+     * @param count the number of values in the window
+     * @return the aggregation of the window
+     */
+    abstract double result(int count);
+
+    /**
+     * Counts the values of the window
+     */
+    private static final class Count extends RollingKernel {
+
+        private Count(double[] values) {
+            super(values);
+        }
+
+        @Override
+        void add(int position) {
+        }
+
+        @Override
+        void remove(int position) {
+        }
+
+        @Override
+        double result(int count) {
+            return count;
+        }
+    }
+
+    /**
+     * Keeps a running sum compensated for rounding errors, as in Neumaier's algorithm, with infinities counted
+     * apart so one leaving the window does not leave a NaN behind. The sum restarts from zero whenever the window
+     * empties.
+     */
+    private static final class Sum extends RollingKernel {
+
+        private final boolean mean;
+        private double sum;
+        private double compensation;
+        private int count;
+        private int positiveInfinities;
+        private int negativeInfinities;
+
+        private Sum(double[] values, boolean mean) {
+            super(values);
+            this.mean = mean;
+        }
+
+        @Override
+        void add(int position) {
+            double value = values[position];
+            count++;
+            if (value == Double.POSITIVE_INFINITY) {
+                positiveInfinities++;
+            } else if (value == Double.NEGATIVE_INFINITY) {
+                negativeInfinities++;
+            } else {
+                accumulate(value);
+            }
+        }
+
+        @Override
+        void remove(int position) {
+            double value = values[position];
+            if (--count == 0) {
+                sum = 0;
+                compensation = 0;
+                positiveInfinities = 0;
+                negativeInfinities = 0;
+            } else if (value == Double.POSITIVE_INFINITY) {
+                positiveInfinities--;
+            } else if (value == Double.NEGATIVE_INFINITY) {
+                negativeInfinities--;
+            } else {
+                accumulate(-value);
+            }
+        }
+
+        private void accumulate(double value) {
+            double total = sum + value;
+            if (Math.abs(sum) >= Math.abs(value)) {
+                compensation += (sum - total) + value;
+            } else {
+                compensation += (value - total) + sum;
+            }
+            sum = total;
+        }
+
+        @Override
+        double result(int count) {
+            double total;
+            if (positiveInfinities > 0 && negativeInfinities > 0) {
+                total = Double.NaN;
+            } else if (positiveInfinities > 0) {
+                total = Double.POSITIVE_INFINITY;
+            } else if (negativeInfinities > 0) {
+                total = Double.NEGATIVE_INFINITY;
+            } else {
+                total = sum + compensation;
+            }
+            if (!mean) {
+                return total;
+            }
+            return count > 0 ? total / count : Double.NaN;
+        }
+    }
+
+    /**
+     * Keeps the mean and the sum of squared deviations of the window with Welford's updates, which also undo a value
+     * leaving the window. The run of equal values ending the window is tracked as well, so a window of equal values
+     * has a deviation of exactly zero rather than the rounding left over by the values that left it.
+     */
+    private static final class Deviation extends RollingKernel {
+
+        private final int ddof;
+        private int count;
+        private double mean;
+        private double m2;
+        private double lastValue;
+        private int run;
+
+        private Deviation(double[] values, int ddof) {
+            super(values);
+            this.ddof = ddof;
+        }
+
+        @Override
+        void add(int position) {
+            double value = values[position];
+            run = run > 0 && value == lastValue ? run + 1 : 1;
+            lastValue = value;
+            count++;
+            double delta = value - mean;
+            mean += delta / count;
+            m2 += delta * (value - mean);
+        }
+
+        @Override
+        void remove(int position) {
+            double value = values[position];
+            if (--count == 0) {
+                mean = 0;
+                m2 = 0;
+                run = 0;
+                return;
+            }
+            double delta = value - mean;
+            mean -= delta / count;
+            m2 -= delta * (value - mean);
+        }
+
+        @Override
+        double result(int count) {
+            if (this.count <= ddof) {
+                return Double.NaN;
+            }
+            return run >= this.count ? 0 : Math.sqrt(Math.max(m2, 0) / (this.count - ddof));
+        }
+    }
+
+    /**
+     * Keeps a monotonic deque of the positions that can still become the extreme of the window: each value removes
+     * the values it dominates as it enters, so the extreme is always at the head
+     */
+    private static final class Extreme extends RollingKernel {
+
+        private final boolean maximum;
+        private int[] deque = new int[16];
+        private int head;
+        private int size;
+
+        private Extreme(double[] values, boolean maximum) {
+            super(values);
+            this.maximum = maximum;
+        }
+
+        @Override
+        void add(int position) {
+            double value = values[position];
+            while (size > 0) {
+                double last = values[deque[(head + size - 1) & (deque.length - 1)]];
+                if (maximum ? last > value : last < value) {
+                    break;
+                }
+                size--;
+            }
+            if (size == deque.length) {
+                int[] grown = new int[deque.length << 1];
+                for (int i = 0; i < size; i++) {
+                    grown[i] = deque[(head + i) & (deque.length - 1)];
+                }
+                deque = grown;
+                head = 0;
+            }
+            deque[(head + size++) & (deque.length - 1)] = position;
+        }
+
+        @Override
+        void remove(int position) {
+            if (size > 0 && deque[head] == position) {
+                head = (head + 1) & (deque.length - 1);
+                size--;
+            }
+        }
+
+        @Override
+        double result(int count) {
+            return size > 0 ? values[deque[head]] : Double.NaN;
+        }
+    }
+
+    /**
+     * Keeps a Fenwick tree counting the values of the window by rank among the distinct values of the block, so a
+     * value enters or leaves the window and the k-th smallest value is found in logarithmic time
+     */
+    private static final class Quantile extends RollingKernel {
+
+        private final double quantile;
+        private final double[] distinct;
+        private final int[] ranks;
+        private final int[] tree;
+
+        private Quantile(double[] values, double quantile) {
+            super(values);
+            this.quantile = quantile;
+            double[] sorted = new double[values.length];
+            int count = 0;
+            for (double value : values) {
+                if (!Double.isNaN(value)) {
+                    sorted[count++] = value;
+                }
+            }
+            Arrays.sort(sorted, 0, count);
+            int distinctCount = 0;
+            for (int i = 0; i < count; i++) {
+                if (distinctCount == 0 || Double.compare(sorted[distinctCount - 1], sorted[i]) != 0) {
+                    sorted[distinctCount++] = sorted[i];
+                }
+            }
+            distinct = Arrays.copyOf(sorted, distinctCount);
+            ranks = new int[values.length];
+            for (int position = 0; position < values.length; position++) {
+                if (!Double.isNaN(values[position])) {
+                    ranks[position] = Arrays.binarySearch(distinct, values[position]);
+                }
+            }
+            tree = new int[distinctCount + 1];
+        }
+
+        @Override
+        void add(int position) {
+            for (int node = ranks[position] + 1; node < tree.length; node += node & -node) {
+                tree[node]++;
+            }
+        }
+
+        @Override
+        void remove(int position) {
+            for (int node = ranks[position] + 1; node < tree.length; node += node & -node) {
+                tree[node]--;
+            }
+        }
+
+        /**
+         * Finds the value of the given rank in the window by descending the tree
+         */
+        private double select(int rank) {
+            int node = 0;
+            for (int step = Integer.highestOneBit(tree.length - 1); step > 0; step >>= 1) {
+                int next = node + step;
+                if (next < tree.length && tree[next] <= rank) {
+                    node = next;
+                    rank -= tree[next];
+                }
+            }
+            return distinct[node];
+        }
+
+        @Override
+        double result(int count) {
+            if (count == 0) {
+                return Double.NaN;
+            }
+            double index = quantile * (count - 1);
+            int lower = (int) Math.floor(index);
+            double lowerValue = select(lower);
+            if (lower == index) {
+                return lowerValue;
+            }
+            return lowerValue + (index - lower) * (select(lower + 1) - lowerValue);
+        }
+    }
+
+    /**
+     * Counts the distinct values of the window from the ids the block was read as, keeping how many times each id is
+     * in the window
+     */
+    private static final class Distinct extends RollingKernel {
+
+        private final int[] counts;
+        private int distinct;
+
+        private Distinct(double[] values) {
+            super(values);
+            int ids = 0;
+            for (double value : values) {
+                if (!Double.isNaN(value)) {
+                    ids = Math.max(ids, (int) value + 1);
+                }
+            }
+            counts = new int[ids];
+        }
+
+        @Override
+        void add(int position) {
+            if (counts[(int) values[position]]++ == 0) {
+                distinct++;
+            }
+        }
+
+        @Override
+        void remove(int position) {
+            if (--counts[(int) values[position]] == 0) {
+                distinct--;
+            }
+        }
+
+        @Override
+        double result(int count) {
+            return distinct;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.column.conversion;
+
+import io.github.dug22.carpentry.column.ColumnConversion;
+import io.github.dug22.carpentry.column.impl.*;
+import io.github.dug22.carpentry.utils.Nulls;
+
+import java.math.BigDecimal;
+
+public interface DecimalColumnConversions extends ColumnConversion<BigDecimal> {
+
+    /**
+     * Converts a DecimalColumn to a DoubleColumn
+     * @return a DoubleColumn
+     */
+    default DoubleColumn asDoubleColumn() {
+        return convertToColumn(
+                DoubleColumn.create(name(), new Double[size()]),
+                (i) -> isAbsent(i) ? Nulls.getDefaultNullValue(Double.class) : get(i).doubleValue());
+    }
+
+    /**
+     * Converts a DecimalColumn to a LongColumn, dropping the fractional digits
+     * @return a LongColumn
+     */
+    default LongColumn asLongColumn() {
+        return convertToColumn(
+                LongColumn.create(name(), new Long[size()]),
+                (i) -> isAbsent(i) ? Nulls.getDefaultNullValue(Long.class) : get(i).longValue());
+    }
+
+    /**
+     * Converts a DecimalColumn to a StringColumn
+     * @return a StringColumn
+     */
+    default StringColumn asStringColumn() {
+        return convertToColumn(
+                StringColumn.create(name(), new String[size()]),
+                (i) -> isAbsent(i) ? Nulls.getDefaultNullValue(String.class) : get(i).toPlainString());
+    }
+}
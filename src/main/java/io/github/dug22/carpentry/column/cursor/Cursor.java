@@ -0,0 +1,46 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.column.cursor;
+
+/**
+ * A forward-only cursor over the values of a column. Cursors read the backing storage of a column directly,
+ * so stepping through a column allocates nothing.
+ */
+public interface Cursor {
+
+    /**
+     * Checks to see if the column has a value after the current position
+     *
+     * @return if {@code next()} can be called again
+     */
+    boolean hasNext();
+
+    /**
+     * Gets the position of the value most recently returned by {@code next()}
+     *
+     * @return the current position, or -1 before the first call to {@code next()}
+     */
+    int position();
+
+    /**
+     * Checks to see if the value most recently returned by {@code next()} is missing
+     *
+     * @return if the value at the current position is missing
+     */
+    boolean isNull();
+}
@@ -0,0 +1,32 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.column.cursor;
+
+/**
+ * A cursor reading the values of a column as longs
+ */
+public interface LongCursor extends Cursor {
+
+    /**
+     * Moves to the next position and reads its value. Missing values are returned as their null sentinel.
+     *
+     * @return the value at the next position
+     * @throws java.util.NoSuchElementException if there are no more values
+     */
+    long next();
+}
@@ -0,0 +1,164 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.column.cursor;
+
+import io.github.dug22.carpentry.column.storage.ColumnStorage;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Base class of the cursors reading a {@link ColumnStorage}. Each step reads a single slot of the storage
+ * through its primitive accessors, so numeric cursors never box a value.
+ *
+ * @param <T> the boxed type of the values held by the storage
+ */
+public abstract class StorageCursor<T> implements Cursor {
+
+    protected final ColumnStorage<T> storage;
+    private int position = -1;
+
+    protected StorageCursor(ColumnStorage<T> storage) {
+        this.storage = storage;
+    }
+
+    /**
+     * Creates a cursor reading a storage as ints
+     *
+     * @param storage the storage to read
+     * @return a cursor positioned before the first value
+     */
+    public static IntCursor ofInt(ColumnStorage<?> storage) {
+        return new StorageIntCursor<>(storage);
+    }
+
+    /**
+     * Creates a cursor reading a storage as longs
+     *
+     * @param storage the storage to read
+     * @return a cursor positioned before the first value
+     */
+    public static LongCursor ofLong(ColumnStorage<?> storage) {
+        return new StorageLongCursor<>(storage);
+    }
+
+    /**
+     * Creates a cursor reading a storage as doubles
+     *
+     * @param storage the storage to read
+     * @return a cursor positioned before the first value
+     */
+    public static DoubleCursor ofDouble(ColumnStorage<?> storage) {
+        return new StorageDoubleCursor<>(storage);
+    }
+
+    /**
+     * Creates a cursor reading a storage as objects
+     *
+     * @param storage the storage to read
+     * @param <T>     the type of the values of the storage
+     * @return a cursor positioned before the first value
+     */
+    public static <T> ObjCursor<T> of(ColumnStorage<T> storage) {
+        return new StorageObjCursor<>(storage);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasNext() {
+        return position + 1 < storage.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int position() {
+        return position;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isNull() {
+        return storage.isNull(position);
+    }
+
+    /**
+     * Moves this cursor to the next position
+     *
+     * @return the new position
+     * @throws NoSuchElementException if there are no more values
+     */
+    protected int advance() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return ++position;
+    }
+
+    private static final class StorageIntCursor<T> extends StorageCursor<T> implements IntCursor {
+
+        private StorageIntCursor(ColumnStorage<T> storage) {
+            super(storage);
+        }
+
+        @Override
+        public int next() {
+            return storage.getInt(advance());
+        }
+    }
+
+    private static final class StorageLongCursor<T> extends StorageCursor<T> implements LongCursor {
+
+        private StorageLongCursor(ColumnStorage<T> storage) {
+            super(storage);
+        }
+
+        @Override
+        public long next() {
+            return storage.getLong(advance());
+        }
+    }
+
+    private static final class StorageDoubleCursor<T> extends StorageCursor<T> implements DoubleCursor {
+
+        private StorageDoubleCursor(ColumnStorage<T> storage) {
+            super(storage);
+        }
+
+        @Override
+        public double next() {
+            return storage.getDouble(advance());
+        }
+    }
+
+    private static final class StorageObjCursor<T> extends StorageCursor<T> implements ObjCursor<T> {
+
+        private StorageObjCursor(ColumnStorage<T> storage) {
+            super(storage);
+        }
+
+        @Override
+        public T next() {
+            return storage.get(advance());
+        }
+    }
+}
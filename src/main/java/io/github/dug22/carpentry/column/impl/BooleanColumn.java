@@ -19,22 +19,25 @@ package io.github.dug22.carpentry.column.impl;
 import io.github.dug22.carpentry.column.*;
 import io.github.dug22.carpentry.column.conversion.BooleanColumnConversions;
 import io.github.dug22.carpentry.column.parser.BooleanParser;
+import io.github.dug22.carpentry.column.storage.BitStorage;
+import io.github.dug22.carpentry.column.storage.ColumnStorage;
+import io.github.dug22.carpentry.column.storage.ValidityMask;
 import io.github.dug22.carpentry.column.transformations.BooleanTransformations;
 import io.github.dug22.carpentry.column.type.BooleanColumnType;
 import io.github.dug22.carpentry.utils.Nulls;
 
-import java.util.Arrays;
-import java.util.LinkedHashSet;
-import java.util.Set;
-
 public class BooleanColumn extends BaseColumn<Boolean> implements BooleanTransformations, BooleanColumnConversions {
 
     public BooleanColumn(String name) {
-        super(name, ColumnTypes.BOOLEAN_COLUMN_TYPE, ColumnTypes.BOOLEAN_COLUMN_TYPE.getParser());
+        super(name, ColumnTypes.BOOLEAN_COLUMN_TYPE, new BitStorage(), ColumnTypes.BOOLEAN_COLUMN_TYPE.getParser());
     }
 
     public BooleanColumn(String columnName, Boolean[] data) {
-        super(columnName, ColumnTypes.BOOLEAN_COLUMN_TYPE, data, ColumnTypes.BOOLEAN_COLUMN_TYPE.getParser());
+        super(columnName, ColumnTypes.BOOLEAN_COLUMN_TYPE, new BitStorage(data), ColumnTypes.BOOLEAN_COLUMN_TYPE.getParser());
+    }
+
+    public BooleanColumn(String columnName, ColumnStorage<Boolean> storage) {
+        super(columnName, ColumnTypes.BOOLEAN_COLUMN_TYPE, storage, ColumnTypes.BOOLEAN_COLUMN_TYPE.getParser());
     }
 
     public static BooleanColumn create(String columnName) {
@@ -46,15 +49,9 @@ public class BooleanColumn extends BaseColumn<Boolean> implements BooleanTransfo
         return new BooleanColumn(columnName, data);
     }
 
-    @Override
-    public void appendNull(){
-        append(Nulls.getDefaultNullValue(Boolean.class));
-    }
-
     @Override
     public BooleanColumn copy() {
-        Boolean[] dataCopy = Arrays.copyOf(getValues(), size());
-        return create(name(), dataCopy);
+        return new BooleanColumn(name(), getStorage().copy());
     }
 
 
@@ -66,9 +63,7 @@ public class BooleanColumn extends BaseColumn<Boolean> implements BooleanTransfo
 
     @Override
     public BooleanColumn unique() {
-        Set<Boolean> uniqueValues = new LinkedHashSet<>(Arrays.asList(getValues()));
-        Boolean[] uniqueData = uniqueValues.toArray(new Boolean[0]);
-        return new BooleanColumn(name() + " (unique)", uniqueData);
+        return (BooleanColumn) super.unique();
     }
 
     @Override
@@ -100,4 +95,79 @@ public class BooleanColumn extends BaseColumn<Boolean> implements BooleanTransfo
     public void setColumnParser(ColumnParser<Boolean> columnParser) {
         super.setColumnParser(columnParser);
     }
-}
\ No newline at end of file
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BitStorage getBitStorage() {
+        return (BitStorage) getOwnedStorage();
+    }
+
+    /**
+     * Retrieves a value from this column without boxing it. Missing values are returned as {@code false}.
+     *
+     * @param index the position of the value
+     * @return the value at the given position
+     */
+    public boolean getBoolean(int index) {
+        return getBitStorage().getBoolean(index);
+    }
+
+    /**
+     * Adds a value to the end of this column without boxing it
+     *
+     * @param value the value to add
+     */
+    public void appendBoolean(boolean value) {
+        getBitStorage().appendBoolean(value);
+    }
+
+    /**
+     * Counts the values of this column that are {@code true}
+     *
+     * @return the number of {@code true} values
+     */
+    public int countTrue() {
+        return getBitStorage().countTrue();
+    }
+
+    /**
+     * Counts the values of this column that are {@code false}
+     *
+     * @return the number of {@code false} values
+     */
+    public int countFalse() {
+        return getBitStorage().countFalse();
+    }
+
+    /**
+     * Counts the {@code true} values among the selected rows
+     *
+     * @param selection the rows to count
+     * @return the number of selected {@code true} values
+     */
+    public int countTrue(ValidityMask selection) {
+        return getBitStorage().countTrue(selection);
+    }
+
+    /**
+     * Counts the {@code false} values among the selected rows
+     *
+     * @param selection the rows to count
+     * @return the number of selected {@code false} values
+     */
+    public int countFalse(ValidityMask selection) {
+        return getBitStorage().countFalse(selection);
+    }
+
+    /**
+     * Creates a row selection from this column. Rows holding {@code true} are selected; rows holding
+     * {@code false} or a missing value are not.
+     *
+     * @return a mask whose valid slots are the selected rows
+     */
+    public ValidityMask toSelection() {
+        return getBitStorage().toSelection();
+    }
+}
@@ -21,22 +21,30 @@ import io.github.dug22.carpentry.column.ColumnParser;
 import io.github.dug22.carpentry.column.ColumnPredicate;
 import io.github.dug22.carpentry.column.ColumnTypes;
 import io.github.dug22.carpentry.column.conversion.ByteColumnConversions;
+import io.github.dug22.carpentry.column.other.DistinctValues;
 import io.github.dug22.carpentry.column.parser.ByteParser;
+import io.github.dug22.carpentry.column.storage.ColumnStorage;
+import io.github.dug22.carpentry.column.storage.ByteStorage;
+import io.github.dug22.carpentry.column.storage.OffHeapByteStorage;
 import io.github.dug22.carpentry.column.type.ByteColumnType;
 import io.github.dug22.carpentry.utils.Nulls;
 
-import java.util.Arrays;
-import java.util.LinkedHashSet;
-import java.util.Set;
-
 public class ByteColumn extends NumberColumn<Byte> implements ByteColumnConversions {
 
     public ByteColumn(String name) {
-        super(name, ColumnTypes.BYTE_COLUMN_TYPE, ColumnTypes.BYTE_COLUMN_TYPE.getParser());
+        super(name, ColumnTypes.BYTE_COLUMN_TYPE, new ByteStorage(), ColumnTypes.BYTE_COLUMN_TYPE.getParser());
     }
 
     public ByteColumn(String name, Byte[] data) {
-        super(name, ColumnTypes.BYTE_COLUMN_TYPE, data, ColumnTypes.BYTE_COLUMN_TYPE.getParser());
+        super(name, ColumnTypes.BYTE_COLUMN_TYPE, new ByteStorage(data), ColumnTypes.BYTE_COLUMN_TYPE.getParser());
+    }
+
+    public ByteColumn(String name, byte[] data) {
+        super(name, ColumnTypes.BYTE_COLUMN_TYPE, new ByteStorage(data), ColumnTypes.BYTE_COLUMN_TYPE.getParser());
+    }
+
+    public ByteColumn(String name, ColumnStorage<Byte> storage) {
+        super(name, ColumnTypes.BYTE_COLUMN_TYPE, storage, ColumnTypes.BYTE_COLUMN_TYPE.getParser());
     }
 
     public static ByteColumn create(String columnName) {
@@ -47,27 +55,60 @@ public class ByteColumn extends NumberColumn<Byte> implements ByteColumnConversi
         return new ByteColumn(columnName, data);
     }
 
-    @Override
-    public void appendNull() {
-        append(Nulls.getDefaultNullValue(Byte.class));
+    public static ByteColumn create(String columnName, byte[] data) {
+        return new ByteColumn(columnName, data);
+    }
+
+    /**
+     * Creates an empty column whose values are stored off-heap. The column should be closed once it is no longer needed.
+     *
+     * @param columnName the name of the column
+     * @return an empty off-heap column
+     */
+    public static ByteColumn createOffHeap(String columnName) {
+        return new ByteColumn(columnName, new OffHeapByteStorage());
+    }
+
+    /**
+     * Creates a column whose values are stored off-heap. The column should be closed once it is no longer needed.
+     *
+     * @param columnName the name of the column
+     * @param data       the values of the column
+     * @return an off-heap column holding the given values
+     */
+    public static ByteColumn createOffHeap(String columnName, Byte[] data) {
+        return new ByteColumn(columnName, new OffHeapByteStorage(data));
+    }
+
+    /**
+     * Creates a column whose values are stored off-heap. The column should be closed once it is no longer needed.
+     *
+     * @param columnName the name of the column
+     * @param data       the values of the column
+     * @return an off-heap column holding the given values
+     */
+    public static ByteColumn createOffHeap(String columnName, byte[] data) {
+        return new ByteColumn(columnName, new OffHeapByteStorage(data));
     }
 
     @Override
     public ByteColumn copy() {
-        Byte[] dataCopy = Arrays.copyOf(getValues(), size());
-        return create(name(), dataCopy);
+        return new ByteColumn(name(), getStorage().copy());
     }
 
     @Override
     public ByteColumn emptyCopy() {
-        return create(name());
+        return new ByteColumn(name(), getStorage().emptyCopy());
     }
 
     @Override
     public ByteColumn unique() {
-        Set<Byte> uniqueValues = new LinkedHashSet<>(Arrays.asList(getValues()));
-        Byte[] uniqueData = uniqueValues.toArray(new Byte[0]);
-        return create(name() + " (unique)", uniqueData);
+        return (ByteColumn) super.unique();
+    }
+
+    @Override
+    protected DistinctValues distinctValues() {
+        return DistinctValues.ofInts(getStorage());
     }
 
     @Override
@@ -100,10 +141,35 @@ public class ByteColumn extends NumberColumn<Byte> implements ByteColumnConversi
         super.setColumnParser(columnParser);
     }
 
-    @Override
-    public Double getDouble(int index) {
-        Byte value = get(index);
-        if (isAbsent(index)) return Nulls.getDefaultNullValue(Double.class);
-        return value.doubleValue();
+    /**
+     * Retrieves a value from this column without boxing it. Missing values are returned as their null sentinel.
+     *
+     * @param index the position of the value
+     * @return the value at the given position
+     */
+    public byte getByte(int index) {
+        return (byte) getStorage().getInt(index);
+    }
+
+    /**
+     * Adds a value to the end of this column without boxing it
+     *
+     * @param value the value to add
+     */
+    public void appendByte(byte value) {
+        getStorage().appendInt(value);
+    }
+
+    /**
+     * Copies the values of this column into a new primitive array
+     *
+     * @return a primitive copy of the values of this column
+     */
+    public byte[] toByteArray() {
+        byte[] result = new byte[size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = getByte(i);
+        }
+        return result;
     }
 }
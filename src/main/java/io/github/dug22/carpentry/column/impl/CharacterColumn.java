@@ -24,8 +24,6 @@ import io.github.dug22.carpentry.column.type.CharacterColumnType;
 import io.github.dug22.carpentry.utils.Nulls;
 
 import java.util.Arrays;
-import java.util.LinkedHashSet;
-import java.util.Set;
 
 public class CharacterColumn extends BaseColumn<Character> implements CharacterTransformations, CharacterColumnConversions {
 
@@ -46,11 +44,6 @@ public class CharacterColumn extends BaseColumn<Character> implements CharacterT
         return new CharacterColumn(columnName, data);
     }
 
-    @Override
-    public void appendNull(){
-        append(Nulls.getDefaultNullValue(Character.class));
-    }
-
     @Override
     public CharacterColumn copy() {
         Character[] dataCopy = Arrays.copyOf(getValues(), size());
@@ -64,9 +57,7 @@ public class CharacterColumn extends BaseColumn<Character> implements CharacterT
 
     @Override
     public CharacterColumn unique() {
-        Set<Character> uniqueValues = new LinkedHashSet<>(Arrays.asList(getValues()));
-        Character[] uniqueData = uniqueValues.toArray(new Character[0]);
-        return create(name() + " (unique)", uniqueData);
+        return (CharacterColumn) super.unique();
     }
 
     @Override
@@ -19,7 +19,12 @@ package io.github.dug22.carpentry.column.impl;
 import io.github.dug22.carpentry.column.*;
 import io.github.dug22.carpentry.column.conversion.DateColumnConversions;
 import io.github.dug22.carpentry.column.format.temporal.DateColumnFormatter;
+import io.github.dug22.carpentry.column.other.DistinctValues;
 import io.github.dug22.carpentry.column.parser.DateParser;
+import io.github.dug22.carpentry.column.storage.ColumnStorage;
+import io.github.dug22.carpentry.column.storage.DateStorage;
+import io.github.dug22.carpentry.column.storage.EncodedStorage;
+import io.github.dug22.carpentry.column.storage.OffHeapDateStorage;
 import io.github.dug22.carpentry.column.transformations.DateTransformations;
 import io.github.dug22.carpentry.column.type.DateColumnType;
 import io.github.dug22.carpentry.utils.Nulls;
@@ -33,20 +38,25 @@ public class DateColumn extends BaseColumn<LocalDate> implements DateTransformat
     private DateColumnFormatter formatter;
 
     public DateColumn(String name) {
-        super(name, ColumnTypes.DATE_COLUMN_TYPE, ColumnTypes.DATE_COLUMN_TYPE.getParser());
+        super(name, ColumnTypes.DATE_COLUMN_TYPE, new DateStorage(), ColumnTypes.DATE_COLUMN_TYPE.getParser());
         this.formatter = DateColumnFormatter.getDefault();
     }
 
     public DateColumn(String name, LocalDate[] data) {
-        super(name, ColumnTypes.DATE_COLUMN_TYPE, data, ColumnTypes.DATE_COLUMN_TYPE.getParser());
+        super(name, ColumnTypes.DATE_COLUMN_TYPE, new DateStorage(data), ColumnTypes.DATE_COLUMN_TYPE.getParser());
         this.formatter = DateColumnFormatter.getDefault();
     }
 
     public DateColumn(String name, LocalDate[] data, DateColumnFormatter formatter) {
-        super(name, ColumnTypes.DATE_COLUMN_TYPE, data, ColumnTypes.DATE_COLUMN_TYPE.getParser());
+        super(name, ColumnTypes.DATE_COLUMN_TYPE, new DateStorage(data), ColumnTypes.DATE_COLUMN_TYPE.getParser());
         this.formatter = formatter;
     }
 
+    public DateColumn(String name, ColumnStorage<LocalDate> storage) {
+        super(name, ColumnTypes.DATE_COLUMN_TYPE, storage, ColumnTypes.DATE_COLUMN_TYPE.getParser());
+        this.formatter = DateColumnFormatter.getDefault();
+    }
+
     public static DateColumn create(String columnName) {
         return new DateColumn(columnName);
     }
@@ -59,6 +69,27 @@ public class DateColumn extends BaseColumn<LocalDate> implements DateTransformat
         return new DateColumn(columnName, data, formatter);
     }
 
+    /**
+     * Creates an empty column whose values are stored off-heap. The column should be closed once it is no longer needed.
+     *
+     * @param columnName the name of the column
+     * @return an empty off-heap column
+     */
+    public static DateColumn createOffHeap(String columnName) {
+        return new DateColumn(columnName, new OffHeapDateStorage());
+    }
+
+    /**
+     * Creates a column whose values are stored off-heap. The column should be closed once it is no longer needed.
+     *
+     * @param columnName the name of the column
+     * @param data       the values of the column
+     * @return an off-heap column holding the given values
+     */
+    public static DateColumn createOffHeap(String columnName, LocalDate[] data) {
+        return new DateColumn(columnName, new OffHeapDateStorage(data));
+    }
+
     public static DateColumn create(String columnName, String[] data) {
         DateColumn column = create(columnName);
         LocalDate[] parsedData = new LocalDate[data.length];
@@ -97,15 +128,9 @@ public class DateColumn extends BaseColumn<LocalDate> implements DateTransformat
         return parser.parse(value);
     }
 
-    @Override
-    public void appendNull() {
-        append(Nulls.getDefaultNullValue(LocalDate.class));
-    }
-
     @Override
     public DateColumn copy() {
-        LocalDate[] dataCopy = Arrays.copyOf(getValues(), size());
-        DateColumn copy = create(name(), dataCopy);
+        DateColumn copy = new DateColumn(name(), getStorage().copy());
         copy.parser = parser;
         copy.formatter = formatter;
         return copy;
@@ -113,30 +138,39 @@ public class DateColumn extends BaseColumn<LocalDate> implements DateTransformat
 
     @Override
     public DateColumn emptyCopy() {
-        DateColumn emptyCopy = create(name());
+        DateColumn emptyCopy = new DateColumn(name(), getStorage().emptyCopy());
         emptyCopy.parser = parser;
         emptyCopy.formatter = formatter;
         return emptyCopy;
     }
 
+    /**
+     * Creates a compressed copy of this column. Run-length, delta or frame-of-reference encoding is picked from the
+     * number of runs and the ranges of the epoch days and of their differences; the copy is left uncompressed if
+     * none of them would be smaller. Equality filters run on the encoded values.
+     *
+     * @return a compressed copy of this column
+     */
+    public DateColumn compress() {
+        DateColumn compressed = new DateColumn(name(), EncodedStorage.compress(getStorage(), LocalDate::ofEpochDay, true));
+        compressed.parser = parser;
+        compressed.formatter = formatter;
+        return compressed;
+    }
+
     @Override
     public DateColumn unique() {
-        Set<LocalDate> uniqueValues = new LinkedHashSet<>(Arrays.asList(getValues()));
-        LocalDate[] uniqueData = uniqueValues.toArray(new LocalDate[0]);
-        DateColumn unique = new DateColumn(name() + " (unique)", uniqueData);
-        unique.parser = parser;
-        unique.formatter = formatter;
-        return unique;
+        return (DateColumn) super.unique();
     }
 
     @Override
-    public boolean isAbsent(LocalDate value) {
-        return Nulls.isNull(value);
+    protected DistinctValues distinctValues() {
+        return DistinctValues.ofInts(getStorage());
     }
 
     @Override
-    public boolean isAbsent(int index) {
-        return isAbsent(getValues()[index]);
+    public boolean isAbsent(LocalDate value) {
+        return Nulls.isNull(value);
     }
 
     @Override
@@ -163,7 +197,7 @@ public class DateColumn extends BaseColumn<LocalDate> implements DateTransformat
     public String[] asStringArray() {
         String[] result = new String[size()];
         for (int i = 0; i < size(); i++) {
-            result[i] = formatter.format(getValues()[i]);
+            result[i] = formatter.format(get(i));
         }
         return result;
     }
@@ -172,7 +206,7 @@ public class DateColumn extends BaseColumn<LocalDate> implements DateTransformat
         DateColumnFormatter tempFormatter = formatter.withPattern(pattern);
         String[] result = new String[size()];
         for (int i = 0; i < size(); i++) {
-            result[i] = tempFormatter.format(getValues()[i]);
+            result[i] = tempFormatter.format(get(i));
         }
         return result;
     }
@@ -264,4 +298,24 @@ public class DateColumn extends BaseColumn<LocalDate> implements DateTransformat
     public void setColumnParser(ColumnParser<LocalDate> columnParser) {
         super.setColumnParser(columnParser);
     }
-}
\ No newline at end of file
+
+    /**
+     * Retrieves the value at the given position as a day number, without creating a {@link LocalDate}.
+     * Missing values are returned as the value of their null sentinel.
+     *
+     * @param index the position of the value
+     * @return the number of days between 1970-01-01 and the value
+     */
+    public int getEpochDay(int index) {
+        return getStorage().getInt(index);
+    }
+
+    /**
+     * Adds a value to the end of this column as a day number
+     *
+     * @param epochDay the number of days between 1970-01-01 and the value to add
+     */
+    public void appendEpochDay(int epochDay) {
+        getStorage().appendInt(epochDay);
+    }
+}
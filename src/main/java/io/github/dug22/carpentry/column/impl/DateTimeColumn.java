@@ -23,6 +23,8 @@ import io.github.dug22.carpentry.column.ColumnTypes;
 import io.github.dug22.carpentry.column.conversion.DateTimeColumnConversions;
 import io.github.dug22.carpentry.column.format.temporal.DateTimeColumnFormatter;
 import io.github.dug22.carpentry.column.parser.DateTimeParser;
+import io.github.dug22.carpentry.column.storage.ColumnStorage;
+import io.github.dug22.carpentry.column.storage.DateTimeStorage;
 import io.github.dug22.carpentry.column.transformations.DateTimeTransformation;
 import io.github.dug22.carpentry.column.type.DateTimeColumnType;
 import io.github.dug22.carpentry.utils.Nulls;
@@ -37,20 +39,25 @@ public class DateTimeColumn extends BaseColumn<LocalDateTime> implements DateTim
     private DateTimeColumnFormatter dateTimeColumnFormatter;
 
     public DateTimeColumn(String name) {
-        super(name, ColumnTypes.DATE_TIME_COLUMN_TYPE, ColumnTypes.DATE_TIME_COLUMN_TYPE.getParser());
+        super(name, ColumnTypes.DATE_TIME_COLUMN_TYPE, new DateTimeStorage(), ColumnTypes.DATE_TIME_COLUMN_TYPE.getParser());
         this.dateTimeColumnFormatter = DateTimeColumnFormatter.getDefault();
     }
 
     public DateTimeColumn(String name, LocalDateTime[] data) {
-        super(name, ColumnTypes.DATE_TIME_COLUMN_TYPE, data, ColumnTypes.DATE_TIME_COLUMN_TYPE.getParser());
+        super(name, ColumnTypes.DATE_TIME_COLUMN_TYPE, new DateTimeStorage(data), ColumnTypes.DATE_TIME_COLUMN_TYPE.getParser());
         this.dateTimeColumnFormatter = DateTimeColumnFormatter.getDefault();
     }
 
     public DateTimeColumn(String name, LocalDateTime[] data, DateTimeColumnFormatter formatter){
-        super(name, ColumnTypes.DATE_TIME_COLUMN_TYPE, data, ColumnTypes.DATE_TIME_COLUMN_TYPE.getParser());
+        super(name, ColumnTypes.DATE_TIME_COLUMN_TYPE, new DateTimeStorage(data), ColumnTypes.DATE_TIME_COLUMN_TYPE.getParser());
         this.dateTimeColumnFormatter = formatter;
     }
 
+    public DateTimeColumn(String name, ColumnStorage<LocalDateTime> storage) {
+        super(name, ColumnTypes.DATE_TIME_COLUMN_TYPE, storage, ColumnTypes.DATE_TIME_COLUMN_TYPE.getParser());
+        this.dateTimeColumnFormatter = DateTimeColumnFormatter.getDefault();
+    }
+
     public static DateTimeColumn create(String columnName) {
         return new DateTimeColumn(columnName);
     }
@@ -96,16 +103,9 @@ public class DateTimeColumn extends BaseColumn<LocalDateTime> implements DateTim
         return parser.parse(value);
     }
 
-    @Override
-    public void appendNull(){
-        append(Nulls.getDefaultNullValue(LocalDateTime.class));
-    }
-
-
     @Override
     public DateTimeColumn copy() {
-        LocalDateTime[] dataCopy = Arrays.copyOf(getValues(), size());
-        DateTimeColumn copy = create(name(), dataCopy);
+        DateTimeColumn copy = new DateTimeColumn(name(), getStorage().copy());
         copy.parser = parser;
         copy.dateTimeColumnFormatter = dateTimeColumnFormatter;
         return copy;
@@ -121,12 +121,7 @@ public class DateTimeColumn extends BaseColumn<LocalDateTime> implements DateTim
 
     @Override
     public DateTimeColumn unique() {
-        Set<LocalDateTime> uniqueValues = new LinkedHashSet<>(Arrays.asList(getValues()));
-        LocalDateTime[] uniqueData = uniqueValues.toArray(new LocalDateTime[0]);
-        DateTimeColumn unique = create(name() + " (unique)", uniqueData);
-        unique.parser = parser;
-        unique.dateTimeColumnFormatter = dateTimeColumnFormatter;
-        return unique;
+        return (DateTimeColumn) super.unique();
     }
 
     @Override
@@ -134,11 +129,6 @@ public class DateTimeColumn extends BaseColumn<LocalDateTime> implements DateTim
         return Nulls.isNull(value);
     }
 
-    @Override
-    public boolean isAbsent(int index) {
-        return isAbsent(getValues()[index]);
-    }
-
     @Override
     public DateTimeColumnType columnType() {
         return ColumnTypes.DATE_TIME_COLUMN_TYPE;
@@ -164,7 +154,7 @@ public class DateTimeColumn extends BaseColumn<LocalDateTime> implements DateTim
     public String[] asStringArray() {
         String[] result = new String[size()];
         for (int i = 0; i < size(); i++) {
-            result[i] = dateTimeColumnFormatter.format(getValues()[i]);
+            result[i] = dateTimeColumnFormatter.format(get(i));
         }
         return result;
     }
@@ -173,7 +163,7 @@ public class DateTimeColumn extends BaseColumn<LocalDateTime> implements DateTim
         DateTimeColumnFormatter tempFormatter = dateTimeColumnFormatter.withPattern(pattern);
         String[] result = new String[size()];
         for (int i = 0; i < size(); i++) {
-            result[i] = tempFormatter.format(getValues()[i]);
+            result[i] = tempFormatter.format(get(i));
         }
         return result;
     }
@@ -248,4 +238,39 @@ public class DateTimeColumn extends BaseColumn<LocalDateTime> implements DateTim
     public boolean isUsingOrdinal() {
         return dateTimeColumnFormatter.isUsingOrdinal();
     }
+
+    /**
+     * Retrieves the value at the given position as a second count, without creating a {@link LocalDateTime}.
+     * Missing values are returned as the value of their null sentinel.
+     *
+     * @param index the position of the value
+     * @return the number of seconds between 1970-01-01T00:00 and the value
+     */
+    public long getEpochSecond(int index) {
+        return getDateTimeStorage().getEpochSecond(index);
+    }
+
+    /**
+     * Retrieves the nano-of-second of the value at the given position. Missing values are returned as 0.
+     *
+     * @param index the position of the value
+     * @return the nano-of-second of the value, from 0 to 999,999,999
+     */
+    public int getNano(int index) {
+        return getDateTimeStorage().getNano(index);
+    }
+
+    /**
+     * Adds a value to the end of this column as a second count and nano-of-second
+     *
+     * @param epochSecond the number of seconds between 1970-01-01T00:00 and the value to add
+     * @param nano        the nano-of-second of the value to add, from 0 to 999,999,999
+     */
+    public void appendEpochSecond(long epochSecond, int nano) {
+        getDateTimeStorage().appendEpochSecond(epochSecond, nano);
+    }
+
+    private DateTimeStorage getDateTimeStorage() {
+        return (DateTimeStorage) getOwnedStorage();
+    }
 }
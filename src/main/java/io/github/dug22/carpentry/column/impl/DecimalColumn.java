@@ -0,0 +1,410 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.column.impl;
+
+import io.github.dug22.carpentry.column.ColumnException;
+import io.github.dug22.carpentry.column.ColumnFunction;
+import io.github.dug22.carpentry.column.ColumnParser;
+import io.github.dug22.carpentry.column.ColumnPredicate;
+import io.github.dug22.carpentry.column.ColumnTypes;
+import io.github.dug22.carpentry.column.conversion.DecimalColumnConversions;
+import io.github.dug22.carpentry.column.parser.DecimalParser;
+import io.github.dug22.carpentry.column.storage.ColumnStorage;
+import io.github.dug22.carpentry.column.storage.DecimalStorage;
+import io.github.dug22.carpentry.column.type.DecimalColumnType;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+/**
+ * A column of fixed-point decimals. Values are held as unscaled {@code long}s sharing the scale of the column, so
+ * sums and the arithmetic of {@link #plus(DecimalColumn)}, {@link #minus(DecimalColumn)} and
+ * {@link #times(DecimalColumn)} are exact and run without allocating a {@link BigDecimal} per value.
+ */
+public class DecimalColumn extends NumberColumn<BigDecimal> implements DecimalColumnConversions {
+
+    private final int scale;
+
+    public DecimalColumn(String name, int scale) {
+        this(name, new DecimalStorage(scale));
+    }
+
+    public DecimalColumn(String name, int scale, BigDecimal[] data) {
+        this(name, new DecimalStorage(scale, data));
+    }
+
+    public DecimalColumn(String name, int scale, long[] unscaledData) {
+        this(name, new DecimalStorage(scale, unscaledData));
+    }
+
+    public DecimalColumn(String name, DecimalStorage storage) {
+        this(name, storage, storage.scale());
+    }
+
+    private DecimalColumn(String name, ColumnStorage<BigDecimal> storage, int scale) {
+        super(name, ColumnTypes.DECIMAL_COLUMN_TYPE, storage, ColumnTypes.DECIMAL_COLUMN_TYPE.getParser());
+        this.scale = scale;
+    }
+
+    public static DecimalColumn create(String columnName, int scale) {
+        return new DecimalColumn(columnName, scale);
+    }
+
+    public static DecimalColumn create(String columnName, int scale, BigDecimal[] data) {
+        return new DecimalColumn(columnName, scale, data);
+    }
+
+    /**
+     * Creates a column from unscaled values, so {@code 12345} with a scale of 2 holds {@code 123.45}.
+     * {@link DecimalStorage#NULL_VALUE} marks a missing value.
+     *
+     * @param columnName   the name of the column
+     * @param scale        the number of digits after the decimal point
+     * @param unscaledData the unscaled values of the column
+     * @return a column holding the given values
+     */
+    public static DecimalColumn createUnscaled(String columnName, int scale, long[] unscaledData) {
+        return new DecimalColumn(columnName, scale, unscaledData);
+    }
+
+    @Override
+    public DecimalColumn copy() {
+        return new DecimalColumn(name(), getStorage().copy(), scale);
+    }
+
+    @Override
+    public DecimalColumn emptyCopy() {
+        return new DecimalColumn(name(), getStorage().emptyCopy(), scale);
+    }
+
+    @Override
+    public DecimalColumn unique() {
+        return (DecimalColumn) super.unique();
+    }
+
+    @Override
+    public DecimalColumn filter(ColumnPredicate<? super BigDecimal> condition) {
+        return (DecimalColumn) super.filter(condition);
+    }
+
+    @Override
+    public DecimalColumn apply(ColumnFunction<? super BigDecimal, ? extends BigDecimal> function) {
+        return (DecimalColumn) super.apply(function);
+    }
+
+    @Override
+    public boolean isAbsent(BigDecimal value){
+        return value == null;
+    }
+
+    public DecimalColumnType columnType(){
+        return (DecimalColumnType) super.columnType();
+    }
+
+    @Override
+    public DecimalParser getColumnParser() {
+        return (DecimalParser) super.getColumnParser();
+    }
+
+    @Override
+    public void setColumnParser(ColumnParser<BigDecimal> columnParser) {
+        super.setColumnParser(columnParser);
+    }
+
+    /**
+     * Gets the number of digits after the decimal point of the values of this column
+     *
+     * @return the scale of this column
+     */
+    public int getScale() {
+        return scale;
+    }
+
+    /**
+     * Retrieves a value from this column as an unscaled long, without creating a BigDecimal.
+     * Missing values are returned as {@link DecimalStorage#NULL_VALUE}.
+     *
+     * @param index the position of the value
+     * @return the unscaled value at the given position
+     */
+    public long getUnscaled(int index) {
+        return decimals().getLong(index);
+    }
+
+    /**
+     * Adds an unscaled value to the end of this column without creating a BigDecimal
+     *
+     * @param unscaled the unscaled value to add, or {@link DecimalStorage#NULL_VALUE} for a missing value
+     */
+    public void appendUnscaled(long unscaled) {
+        ((DecimalStorage) getOwnedStorage()).appendLong(unscaled);
+    }
+
+    /**
+     * Copies the unscaled values of this column into a new primitive array
+     *
+     * @return a primitive copy of the unscaled values of this column
+     */
+    public long[] toUnscaledArray() {
+        ColumnStorage<BigDecimal> decimals = decimals();
+        if (decimals instanceof DecimalStorage dense) {
+            return dense.toLongArray();
+        }
+        long[] unscaled = new long[decimals.size()];
+        for (int i = 0; i < unscaled.length; i++) {
+            unscaled[i] = decimals.getLong(i);
+        }
+        return unscaled;
+    }
+
+    /**
+     * Returns the exact sum of all values in this column. The unscaled values are accumulated in 128 bits,
+     * so the sum cannot overflow.
+     *
+     * @return the exact sum of all values
+     */
+    public BigDecimal sumDecimal() {
+        ColumnStorage<BigDecimal> decimals = decimals();
+        long high = 0;
+        long low = 0;
+        for (int i = decimals.nextValid(0); i >= 0; i = decimals.nextValid(i + 1)) {
+            long value = decimals.getLong(i);
+            long sum = low + value;
+            high += (value >> 63) + (Long.compareUnsigned(sum, low) < 0 ? 1 : 0);
+            low = sum;
+        }
+        BigInteger unsignedLow = BigInteger.valueOf(low & Long.MAX_VALUE);
+        if (low < 0) {
+            unsignedLow = unsignedLow.setBit(63);
+        }
+        return new BigDecimal(BigInteger.valueOf(high).shiftLeft(64).add(unsignedLow), scale);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The values are summed exactly and the result is rounded once.
+     */
+    @Override
+    public double sum() {
+        reportIgnored("sum() ignored %d NA%n");
+        return sumDecimal().doubleValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     * The values are summed exactly and the result is rounded once.
+     */
+    @Override
+    public double mean() {
+        reportIgnored("mean() ignored %d NA%n");
+        int count = countNonNull();
+        return count > 0 ? sumDecimal().divide(BigDecimal.valueOf(count), MathContext.DECIMAL64).doubleValue() : Double.NaN;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double min() {
+        reportIgnored("min() ignored %d NA%n");
+        ColumnStorage<BigDecimal> decimals = decimals();
+        int first = decimals.nextValid(0);
+        if (first < 0) {
+            return Double.MAX_VALUE;
+        }
+        long min = decimals.getLong(first);
+        for (int i = decimals.nextValid(first + 1); i >= 0; i = decimals.nextValid(i + 1)) {
+            min = Math.min(min, decimals.getLong(i));
+        }
+        return BigDecimal.valueOf(min, scale).doubleValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double max() {
+        reportIgnored("max() ignored %d missing elements%n");
+        ColumnStorage<BigDecimal> decimals = decimals();
+        int first = decimals.nextValid(0);
+        if (first < 0) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        long max = decimals.getLong(first);
+        for (int i = decimals.nextValid(first + 1); i >= 0; i = decimals.nextValid(i + 1)) {
+            max = Math.max(max, decimals.getLong(i));
+        }
+        return BigDecimal.valueOf(max, scale).doubleValue();
+    }
+
+    /**
+     * Adds each element of the given column to this column exactly. The result takes the larger of the two scales.
+     *
+     * @param other the column to add
+     * @return a new column holding the element-wise sums
+     * @throws ArithmeticException if a sum does not fit in the result scale
+     */
+    public DecimalColumn plus(DecimalColumn other) {
+        return combine(other, '+', Math.max(scale, other.scale));
+    }
+
+    /**
+     * Subtracts each element of the given column from this column exactly. The result takes the larger of the
+     * two scales.
+     *
+     * @param other the column to subtract
+     * @return a new column holding the element-wise differences
+     * @throws ArithmeticException if a difference does not fit in the result scale
+     */
+    public DecimalColumn minus(DecimalColumn other) {
+        return combine(other, '-', Math.max(scale, other.scale));
+    }
+
+    /**
+     * Multiplies each element of this column by the matching element of the given column exactly.
+     * The result scale is the sum of the two scales.
+     *
+     * @param other the column to multiply by
+     * @return a new column holding the element-wise products
+     * @throws IllegalArgumentException if the sum of the two scales is greater than {@link DecimalStorage#MAX_SCALE}
+     * @throws ArithmeticException      if a product does not fit in a {@code long}
+     */
+    public DecimalColumn times(DecimalColumn other) {
+        return combine(other, '*', DecimalStorage.checkScale(scale + other.scale));
+    }
+
+    /**
+     * Adds a constant to each element of this column exactly. The result takes the larger of the two scales.
+     *
+     * @param value the constant to add
+     * @return a new column holding the sums
+     */
+    public DecimalColumn add(BigDecimal value) {
+        return combine(constant(value), '+', Math.max(scale, Math.max(value.scale(), 0)));
+    }
+
+    /**
+     * Subtracts a constant from each element of this column exactly. The result takes the larger of the two scales.
+     *
+     * @param value the constant to subtract
+     * @return a new column holding the differences
+     */
+    public DecimalColumn subtract(BigDecimal value) {
+        return combine(constant(value), '-', Math.max(scale, Math.max(value.scale(), 0)));
+    }
+
+    /**
+     * Negates each element of this column
+     *
+     * @return a new column holding the negated values
+     */
+    public DecimalColumn negate() {
+        ColumnStorage<BigDecimal> decimals = decimals();
+        DecimalStorage result = new DecimalStorage(scale);
+        result.ensureCapacity(decimals.size());
+        for (int i = 0; i < decimals.size(); i++) {
+            if (decimals.isNull(i)) {
+                result.appendNull();
+            } else {
+                result.appendLong(-decimals.getLong(i));
+            }
+        }
+        return new DecimalColumn(name() + " (negative)", result);
+    }
+
+    /**
+     * Changes the number of digits after the decimal point, rounding half-up when digits are dropped
+     *
+     * @param newScale the scale of the new column
+     * @return a new column holding the values of this column at the given scale
+     * @throws ArithmeticException if a value does not fit in the new scale
+     */
+    public DecimalColumn rescale(int newScale) {
+        DecimalStorage.checkScale(newScale);
+        ColumnStorage<BigDecimal> decimals = decimals();
+        DecimalStorage result = new DecimalStorage(newScale);
+        result.ensureCapacity(decimals.size());
+        for (int i = 0; i < decimals.size(); i++) {
+            if (decimals.isNull(i)) {
+                result.appendNull();
+            } else {
+                result.appendLong(rescale(decimals.getLong(i), scale, newScale));
+            }
+        }
+        return new DecimalColumn(name(), result);
+    }
+
+    private DecimalColumn combine(DecimalColumn other, char symbol, int resultScale) {
+        if (size() != other.size() && other.size() != 1) {
+            throw new ColumnException("Both columns must have the same size");
+        }
+        ColumnStorage<BigDecimal> left = decimals();
+        ColumnStorage<BigDecimal> right = other.decimals();
+        DecimalStorage result = new DecimalStorage(resultScale);
+        result.ensureCapacity(left.size());
+        for (int i = 0; i < left.size(); i++) {
+            int j = right.size() == 1 ? 0 : i;
+            if (left.isNull(i) || right.isNull(j)) {
+                result.appendNull();
+                continue;
+            }
+            long a = left.getLong(i);
+            long b = right.getLong(j);
+            long value = switch (symbol) {
+                case '+' -> Math.addExact(rescale(a, scale, resultScale), rescale(b, other.scale, resultScale));
+                case '-' -> Math.subtractExact(rescale(a, scale, resultScale), rescale(b, other.scale, resultScale));
+                default -> Math.multiplyExact(a, b);
+            };
+            if (value == DecimalStorage.NULL_VALUE) {
+                throw new ArithmeticException("long overflow");
+            }
+            result.appendLong(value);
+        }
+        return new DecimalColumn(name() + " " + symbol + " " + other.name(), result);
+    }
+
+    private DecimalColumn constant(BigDecimal value) {
+        int constantScale = Math.max(value.scale(), 0);
+        return new DecimalColumn(value.toPlainString(), constantScale, new long[]{DecimalStorage.unscale(value, constantScale)});
+    }
+
+    private static long rescale(long unscaled, int fromScale, int toScale) {
+        if (toScale >= fromScale) {
+            return Math.multiplyExact(unscaled, DecimalStorage.powerOfTen(toScale - fromScale));
+        }
+        long divisor = DecimalStorage.powerOfTen(fromScale - toScale);
+        long quotient = unscaled / divisor;
+        long remainder = Math.abs(unscaled % divisor);
+        if (remainder >= divisor - remainder) {
+            quotient += unscaled < 0 ? -1 : 1;
+        }
+        return quotient;
+    }
+
+    private void reportIgnored(String format) {
+        int naCount = countNull();
+        if (naCount > 0) {
+            System.out.printf(format, naCount);
+        }
+    }
+
+    private ColumnStorage<BigDecimal> decimals() {
+        return getStorage();
+    }
+}
@@ -22,23 +22,30 @@ import io.github.dug22.carpentry.column.ColumnPredicate;
 import io.github.dug22.carpentry.column.ColumnTypes;
 import io.github.dug22.carpentry.column.conversion.DoubleColumnConversions;
 import io.github.dug22.carpentry.column.format.NumericColumnFormatter;
+import io.github.dug22.carpentry.column.other.DistinctValues;
 import io.github.dug22.carpentry.column.parser.DoubleParser;
+import io.github.dug22.carpentry.column.storage.ColumnStorage;
+import io.github.dug22.carpentry.column.storage.DoubleStorage;
+import io.github.dug22.carpentry.column.storage.OffHeapDoubleStorage;
 import io.github.dug22.carpentry.column.type.DoubleColumnType;
 import io.github.dug22.carpentry.utils.Nulls;
 
-import java.util.Arrays;
-import java.util.LinkedHashSet;
-import java.util.Set;
-
 public class DoubleColumn extends NumberColumn<Double> implements DoubleColumnConversions {
 
     public DoubleColumn(String name) {
-        super(name, ColumnTypes.DOUBLE_COLUMN_TYPE, ColumnTypes.DOUBLE_COLUMN_TYPE.getParser());
-        setOutputFormatter(NumericColumnFormatter.NumberColumnFormatterTypes.FLOATING_POINT_DEFAULT.init());
+        this(name, new DoubleStorage());
     }
 
     public DoubleColumn(String name, Double[] data) {
-        super(name, ColumnTypes.DOUBLE_COLUMN_TYPE, data, ColumnTypes.DOUBLE_COLUMN_TYPE.getParser());
+        this(name, new DoubleStorage(data));
+    }
+
+    public DoubleColumn(String name, double[] data) {
+        this(name, new DoubleStorage(data));
+    }
+
+    public DoubleColumn(String name, ColumnStorage<Double> storage) {
+        super(name, ColumnTypes.DOUBLE_COLUMN_TYPE, storage, ColumnTypes.DOUBLE_COLUMN_TYPE.getParser());
         setOutputFormatter(NumericColumnFormatter.NumberColumnFormatterTypes.FLOATING_POINT_DEFAULT.init());
     }
 
@@ -50,28 +57,60 @@ public class DoubleColumn extends NumberColumn<Double> implements DoubleColumnCo
         return new DoubleColumn(columnName, data);
     }
 
-    @Override
-    public void appendNull(){
-        append(Nulls.getDefaultNullValue(Double.class));
+    public static DoubleColumn create(String columnName, double[] data) {
+        return new DoubleColumn(columnName, data);
     }
 
+    /**
+     * Creates an empty column whose values are stored off-heap. The column should be closed once it is no longer needed.
+     *
+     * @param columnName the name of the column
+     * @return an empty off-heap column
+     */
+    public static DoubleColumn createOffHeap(String columnName) {
+        return new DoubleColumn(columnName, new OffHeapDoubleStorage());
+    }
+
+    /**
+     * Creates a column whose values are stored off-heap. The column should be closed once it is no longer needed.
+     *
+     * @param columnName the name of the column
+     * @param data       the values of the column
+     * @return an off-heap column holding the given values
+     */
+    public static DoubleColumn createOffHeap(String columnName, Double[] data) {
+        return new DoubleColumn(columnName, new OffHeapDoubleStorage(data));
+    }
+
+    /**
+     * Creates a column whose values are stored off-heap. The column should be closed once it is no longer needed.
+     *
+     * @param columnName the name of the column
+     * @param data       the values of the column
+     * @return an off-heap column holding the given values
+     */
+    public static DoubleColumn createOffHeap(String columnName, double[] data) {
+        return new DoubleColumn(columnName, new OffHeapDoubleStorage(data));
+    }
 
     @Override
     public DoubleColumn copy() {
-        Double[] dataCopy = Arrays.copyOf(getValues(), size());
-        return create(name(), dataCopy);
+        return new DoubleColumn(name(), getStorage().copy());
     }
 
     @Override
     public DoubleColumn emptyCopy() {
-        return create(name());
+        return new DoubleColumn(name(), getStorage().emptyCopy());
     }
 
     @Override
     public DoubleColumn unique() {
-        Set<Double> uniqueValues = new LinkedHashSet<>(Arrays.asList(getValues()));
-        Double[] uniqueData = uniqueValues.toArray(new Double[0]);
-        return create(name() + " (unique)", uniqueData);
+        return (DoubleColumn) super.unique();
+    }
+
+    @Override
+    protected DistinctValues distinctValues() {
+        return DistinctValues.ofDoubles(getStorage());
     }
 
     @Override
@@ -103,9 +142,12 @@ public class DoubleColumn extends NumberColumn<Double> implements DoubleColumnCo
         super.setColumnParser(columnParser);
     }
 
-    @Override
-    public Double getDouble(int index) {
-        if (isAbsent(index)) return Nulls.getDefaultNullValue(Double.class);
-        return get(index);
+    /**
+     * Adds a value to the end of this column without boxing it
+     *
+     * @param value the value to add
+     */
+    public void appendDouble(double value) {
+        getStorage().appendDouble(value);
     }
 }
@@ -22,23 +22,30 @@ import io.github.dug22.carpentry.column.ColumnPredicate;
 import io.github.dug22.carpentry.column.ColumnTypes;
 import io.github.dug22.carpentry.column.conversion.FloatColumnConversions;
 import io.github.dug22.carpentry.column.format.NumericColumnFormatter;
+import io.github.dug22.carpentry.column.other.DistinctValues;
 import io.github.dug22.carpentry.column.parser.FloatParser;
+import io.github.dug22.carpentry.column.storage.ColumnStorage;
+import io.github.dug22.carpentry.column.storage.FloatStorage;
+import io.github.dug22.carpentry.column.storage.OffHeapFloatStorage;
 import io.github.dug22.carpentry.column.type.FloatColumnType;
 import io.github.dug22.carpentry.utils.Nulls;
 
-import java.util.Arrays;
-import java.util.LinkedHashSet;
-import java.util.Set;
-
 public class FloatColumn extends NumberColumn<Float> implements FloatColumnConversions {
 
     public FloatColumn(String name){
-        super(name, ColumnTypes.FLOAT_COLUMN_TYPE, ColumnTypes.FLOAT_COLUMN_TYPE.getParser());
-        setOutputFormatter(NumericColumnFormatter.NumberColumnFormatterTypes.FLOATING_POINT_DEFAULT.init());
+        this(name, new FloatStorage());
     }
 
     public FloatColumn(String name, Float[] data){
-        super(name, ColumnTypes.FLOAT_COLUMN_TYPE, data, ColumnTypes.FLOAT_COLUMN_TYPE.getParser());
+        this(name, new FloatStorage(data));
+    }
+
+    public FloatColumn(String name, float[] data) {
+        this(name, new FloatStorage(data));
+    }
+
+    public FloatColumn(String name, ColumnStorage<Float> storage) {
+        super(name, ColumnTypes.FLOAT_COLUMN_TYPE, storage, ColumnTypes.FLOAT_COLUMN_TYPE.getParser());
         setOutputFormatter(NumericColumnFormatter.NumberColumnFormatterTypes.FLOATING_POINT_DEFAULT.init());
     }
 
@@ -50,28 +57,60 @@ public class FloatColumn extends NumberColumn<Float> implements FloatColumnConve
         return new FloatColumn(name, data);
     }
 
-    @Override
-    public void appendNull(){
-        append(Nulls.getDefaultNullValue(Float.class));
+    public static FloatColumn create(String name, float[] data){
+        return new FloatColumn(name, data);
     }
 
+    /**
+     * Creates an empty column whose values are stored off-heap. The column should be closed once it is no longer needed.
+     *
+     * @param columnName the name of the column
+     * @return an empty off-heap column
+     */
+    public static FloatColumn createOffHeap(String columnName) {
+        return new FloatColumn(columnName, new OffHeapFloatStorage());
+    }
+
+    /**
+     * Creates a column whose values are stored off-heap. The column should be closed once it is no longer needed.
+     *
+     * @param columnName the name of the column
+     * @param data       the values of the column
+     * @return an off-heap column holding the given values
+     */
+    public static FloatColumn createOffHeap(String columnName, Float[] data) {
+        return new FloatColumn(columnName, new OffHeapFloatStorage(data));
+    }
+
+    /**
+     * Creates a column whose values are stored off-heap. The column should be closed once it is no longer needed.
+     *
+     * @param columnName the name of the column
+     * @param data       the values of the column
+     * @return an off-heap column holding the given values
+     */
+    public static FloatColumn createOffHeap(String columnName, float[] data) {
+        return new FloatColumn(columnName, new OffHeapFloatStorage(data));
+    }
 
     @Override
     public FloatColumn copy() {
-        Float[] dataCopy = Arrays.copyOf(getValues(), size());
-        return create(name(), dataCopy);
+        return new FloatColumn(name(), getStorage().copy());
     }
 
     @Override
     public FloatColumn emptyCopy() {
-        return create(name());
+        return new FloatColumn(name(), getStorage().emptyCopy());
     }
 
     @Override
     public FloatColumn unique() {
-        Set<Float> uniqueValues = new LinkedHashSet<>(Arrays.asList(getValues()));
-        Float[] uniqueData = uniqueValues.toArray(new Float[0]);
-        return create(name() + " (unique)", uniqueData);
+        return (FloatColumn) super.unique();
+    }
+
+    @Override
+    protected DistinctValues distinctValues() {
+        return DistinctValues.ofDoubles(getStorage());
     }
 
     @Override
@@ -104,10 +143,35 @@ public class FloatColumn extends NumberColumn<Float> implements FloatColumnConve
         super.setColumnParser(columnParser);
     }
 
-    @Override
-    public Double getDouble(int index) {
-        Float value = get(index);
-        if (isAbsent(index)) return Nulls.getDefaultNullValue(Double.class);
-        return value.doubleValue();
+    /**
+     * Retrieves a value from this column without boxing it. Missing values are returned as their null sentinel.
+     *
+     * @param index the position of the value
+     * @return the value at the given position
+     */
+    public float getFloat(int index) {
+        return (float) getStorage().getDouble(index);
+    }
+
+    /**
+     * Adds a value to the end of this column without boxing it
+     *
+     * @param value the value to add
+     */
+    public void appendFloat(float value) {
+        getStorage().appendDouble(value);
+    }
+
+    /**
+     * Copies the values of this column into a new primitive array
+     *
+     * @return a primitive copy of the values of this column
+     */
+    public float[] toFloatArray() {
+        float[] result = new float[size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = getFloat(i);
+        }
+        return result;
     }
 }
@@ -22,24 +22,33 @@ import io.github.dug22.carpentry.column.ColumnPredicate;
 import io.github.dug22.carpentry.column.ColumnTypes;
 import io.github.dug22.carpentry.column.conversion.IntegerColumnConversions;
 import io.github.dug22.carpentry.column.format.NumericColumnFormatter;
+import io.github.dug22.carpentry.column.other.DistinctValues;
 import io.github.dug22.carpentry.column.parser.IntegerParser;
+import io.github.dug22.carpentry.column.storage.ColumnStorage;
+import io.github.dug22.carpentry.column.storage.EncodedStorage;
+import io.github.dug22.carpentry.column.storage.IntStorage;
+import io.github.dug22.carpentry.column.storage.OffHeapIntStorage;
+import io.github.dug22.carpentry.column.storage.ValidityMask;
+import io.github.dug22.carpentry.column.transformations.IntegralTransformations;
 import io.github.dug22.carpentry.column.type.IntegerColumnType;
 import io.github.dug22.carpentry.utils.Nulls;
 
-import java.util.Arrays;
-import java.util.LinkedHashSet;
-import java.util.Set;
-
-public class IntegerColumn extends NumberColumn<Integer> implements IntegerColumnConversions {
+public class IntegerColumn extends NumberColumn<Integer> implements IntegerColumnConversions, IntegralTransformations<IntegerColumn> {
 
     public IntegerColumn(String name) {
-        super(name, ColumnTypes.INTEGER_COLUMN_TYPE, ColumnTypes.INTEGER_COLUMN_TYPE.getParser());
-        setOutputFormatter(NumericColumnFormatter.NumberColumnFormatterTypes.INTS.init());
-
+        this(name, new IntStorage());
     }
 
     public IntegerColumn(String name, Integer[] data) {
-        super(name, ColumnTypes.INTEGER_COLUMN_TYPE, data, ColumnTypes.INTEGER_COLUMN_TYPE.getParser());
+        this(name, new IntStorage(data));
+    }
+
+    public IntegerColumn(String name, int[] data) {
+        this(name, new IntStorage(data));
+    }
+
+    public IntegerColumn(String name, ColumnStorage<Integer> storage) {
+        super(name, ColumnTypes.INTEGER_COLUMN_TYPE, storage, ColumnTypes.INTEGER_COLUMN_TYPE.getParser());
         setOutputFormatter(NumericColumnFormatter.NumberColumnFormatterTypes.INTS.init());
     }
 
@@ -52,28 +61,71 @@ public class IntegerColumn extends NumberColumn<Integer> implements IntegerColum
         return new IntegerColumn(columnName, data);
     }
 
-    @Override
-    public void appendNull(){
-        append(Nulls.getDefaultNullValue(Integer.class));
+    public static IntegerColumn create(String columnName, int[] data) {
+        return new IntegerColumn(columnName, data);
+    }
+
+    /**
+     * Creates an empty column whose values are stored off-heap. The column should be closed once it is no longer needed.
+     *
+     * @param columnName the name of the column
+     * @return an empty off-heap column
+     */
+    public static IntegerColumn createOffHeap(String columnName) {
+        return new IntegerColumn(columnName, new OffHeapIntStorage());
+    }
+
+    /**
+     * Creates a column whose values are stored off-heap. The column should be closed once it is no longer needed.
+     *
+     * @param columnName the name of the column
+     * @param data       the values of the column
+     * @return an off-heap column holding the given values
+     */
+    public static IntegerColumn createOffHeap(String columnName, Integer[] data) {
+        return new IntegerColumn(columnName, new OffHeapIntStorage(data));
     }
 
+    /**
+     * Creates a column whose values are stored off-heap. The column should be closed once it is no longer needed.
+     *
+     * @param columnName the name of the column
+     * @param data       the values of the column
+     * @return an off-heap column holding the given values
+     */
+    public static IntegerColumn createOffHeap(String columnName, int[] data) {
+        return new IntegerColumn(columnName, new OffHeapIntStorage(data));
+    }
 
     @Override
     public IntegerColumn copy() {
-        Integer[] dataCopy = Arrays.copyOf(getValues(), size());
-        return create(name(), dataCopy);
+        return new IntegerColumn(name(), getStorage().copy());
     }
 
     @Override
     public IntegerColumn emptyCopy() {
-        return create(name());
+        return new IntegerColumn(name(), getStorage().emptyCopy());
+    }
+
+    /**
+     * Creates a compressed copy of this column. Run-length, delta or frame-of-reference encoding is picked from the
+     * number of runs and the ranges of the values and of their differences; the copy is left uncompressed if none
+     * of them would be smaller. Sums, means, minimums, maximums and equality filters run on the encoded values.
+     *
+     * @return a compressed copy of this column
+     */
+    public IntegerColumn compress() {
+        return new IntegerColumn(name(), EncodedStorage.compress(getStorage(), value -> (int) value, true));
     }
 
     @Override
     public IntegerColumn unique() {
-        Set<Integer> uniqueValues = new LinkedHashSet<>(Arrays.asList(getValues()));
-        Integer[] uniqueData = uniqueValues.toArray(new Integer[0]);
-        return create(name() + " (unique)", uniqueData);
+        return (IntegerColumn) super.unique();
+    }
+
+    @Override
+    protected DistinctValues distinctValues() {
+        return DistinctValues.ofInts(getStorage());
     }
 
     @Override
@@ -106,10 +158,67 @@ public class IntegerColumn extends NumberColumn<Integer> implements IntegerColum
         super.setColumnParser(columnParser);
     }
 
+    /**
+     * Retrieves a value from this column without boxing it. Missing values are returned as their null sentinel.
+     *
+     * @param index the position of the value
+     * @return the value at the given position
+     */
+    public int getInt(int index) {
+        return getStorage().getInt(index);
+    }
+
+    /**
+     * Adds a value to the end of this column without boxing it
+     *
+     * @param value the value to add
+     */
+    public void appendInt(int value) {
+        getStorage().appendInt(value);
+    }
+
+    /**
+     * Copies the values of this column into a new primitive array
+     *
+     * @return a primitive copy of the values of this column
+     */
+    public int[] toIntArray() {
+        int[] result = new int[size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = getInt(i);
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLong(int index) {
+        return getStorage().getLong(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int bitWidth() {
+        return Integer.SIZE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
     @Override
-    public Double getDouble(int index) {
-        Integer value = get(index);
-        if (isAbsent(index)) return Nulls.getDefaultNullValue(Double.class);
-        return value.doubleValue();
+    public IntegerColumn createIntegral(String name, long[] values, ValidityMask validity) {
+        int[] data = new int[values.length];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (int) values[i];
+        }
+        IntStorage storage = new IntStorage(data);
+        for (int index = validity.nextInvalid(0); index >= 0; index = validity.nextInvalid(index + 1)) {
+            storage.set(index, null);
+        }
+        return new IntegerColumn(name, storage);
     }
 }
@@ -22,23 +22,33 @@ import io.github.dug22.carpentry.column.ColumnPredicate;
 import io.github.dug22.carpentry.column.ColumnTypes;
 import io.github.dug22.carpentry.column.conversion.LongColumnConversions;
 import io.github.dug22.carpentry.column.format.NumericColumnFormatter;
+import io.github.dug22.carpentry.column.other.DistinctValues;
 import io.github.dug22.carpentry.column.parser.LongParser;
+import io.github.dug22.carpentry.column.storage.ColumnStorage;
+import io.github.dug22.carpentry.column.storage.EncodedStorage;
+import io.github.dug22.carpentry.column.storage.LongStorage;
+import io.github.dug22.carpentry.column.storage.OffHeapLongStorage;
+import io.github.dug22.carpentry.column.storage.ValidityMask;
+import io.github.dug22.carpentry.column.transformations.IntegralTransformations;
 import io.github.dug22.carpentry.column.type.LongColumnType;
 import io.github.dug22.carpentry.utils.Nulls;
 
-import java.util.Arrays;
-import java.util.LinkedHashSet;
-import java.util.Set;
-
-public class LongColumn extends NumberColumn<Long> implements LongColumnConversions {
+public class LongColumn extends NumberColumn<Long> implements LongColumnConversions, IntegralTransformations<LongColumn> {
 
     public LongColumn(String name) {
-        super(name, ColumnTypes.LONG_COLUMN_TYPE, ColumnTypes.LONG_COLUMN_TYPE.getParser());
-        setOutputFormatter(NumericColumnFormatter.NumberColumnFormatterTypes.INTS.init());
+        this(name, new LongStorage());
     }
 
     public LongColumn(String name, Long[] data) {
-        super(name, ColumnTypes.LONG_COLUMN_TYPE, data, ColumnTypes.LONG_COLUMN_TYPE.getParser());
+        this(name, new LongStorage(data));
+    }
+
+    public LongColumn(String name, long[] data) {
+        this(name, new LongStorage(data));
+    }
+
+    public LongColumn(String name, ColumnStorage<Long> storage) {
+        super(name, ColumnTypes.LONG_COLUMN_TYPE, storage, ColumnTypes.LONG_COLUMN_TYPE.getParser());
         setOutputFormatter(NumericColumnFormatter.NumberColumnFormatterTypes.INTS.init());
     }
 
@@ -51,28 +61,71 @@ public class LongColumn extends NumberColumn<Long> implements LongColumnConversi
         return new LongColumn(columnName, data);
     }
 
-    @Override
-    public void appendNull(){
-        append(Nulls.getDefaultNullValue(Long.class));
+    public static LongColumn create(String columnName, long[] data) {
+        return new LongColumn(columnName, data);
+    }
+
+    /**
+     * Creates an empty column whose values are stored off-heap. The column should be closed once it is no longer needed.
+     *
+     * @param columnName the name of the column
+     * @return an empty off-heap column
+     */
+    public static LongColumn createOffHeap(String columnName) {
+        return new LongColumn(columnName, new OffHeapLongStorage());
     }
 
+    /**
+     * Creates a column whose values are stored off-heap. The column should be closed once it is no longer needed.
+     *
+     * @param columnName the name of the column
+     * @param data       the values of the column
+     * @return an off-heap column holding the given values
+     */
+    public static LongColumn createOffHeap(String columnName, Long[] data) {
+        return new LongColumn(columnName, new OffHeapLongStorage(data));
+    }
+
+    /**
+     * Creates a column whose values are stored off-heap. The column should be closed once it is no longer needed.
+     *
+     * @param columnName the name of the column
+     * @param data       the values of the column
+     * @return an off-heap column holding the given values
+     */
+    public static LongColumn createOffHeap(String columnName, long[] data) {
+        return new LongColumn(columnName, new OffHeapLongStorage(data));
+    }
 
     @Override
     public LongColumn copy() {
-        Long[] dataCopy = Arrays.copyOf(getValues(), size());
-        return create(name(), dataCopy);
+        return new LongColumn(name(), getStorage().copy());
     }
 
     @Override
     public LongColumn emptyCopy() {
-        return create(name());
+        return new LongColumn(name(), getStorage().emptyCopy());
+    }
+
+    /**
+     * Creates a compressed copy of this column. Run-length, delta or frame-of-reference encoding is picked from the
+     * number of runs and the ranges of the values and of their differences; the copy is left uncompressed if none
+     * of them would be smaller. Sums, means, minimums, maximums and equality filters run on the encoded values.
+     *
+     * @return a compressed copy of this column
+     */
+    public LongColumn compress() {
+        return new LongColumn(name(), EncodedStorage.compress(getStorage(), Long::valueOf, false));
     }
 
     @Override
     public LongColumn unique() {
-        Set<Long> uniqueValues = new LinkedHashSet<>(Arrays.asList(getValues()));
-        Long[] uniqueData = uniqueValues.toArray(new Long[0]);
-        return create(name() + " (unique)", uniqueData);
+        return (LongColumn) super.unique();
+    }
+
+    @Override
+    protected DistinctValues distinctValues() {
+        return DistinctValues.ofLongs(getStorage());
     }
 
     @Override
@@ -104,10 +157,59 @@ public class LongColumn extends NumberColumn<Long> implements LongColumnConversi
         super.setColumnParser(columnParser);
     }
 
+    /**
+     * Retrieves a value from this column without boxing it. Missing values are returned as their null sentinel.
+     *
+     * @param index the position of the value
+     * @return the value at the given position
+     */
+    public long getLong(int index) {
+        return getStorage().getLong(index);
+    }
+
+    /**
+     * Adds a value to the end of this column without boxing it
+     *
+     * @param value the value to add
+     */
+    public void appendLong(long value) {
+        getStorage().appendLong(value);
+    }
+
+    /**
+     * Copies the values of this column into a new primitive array
+     *
+     * @return a primitive copy of the values of this column
+     */
+    public long[] toLongArray() {
+        long[] result = new long[size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = getLong(i);
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int bitWidth() {
+        return Long.SIZE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
     @Override
-    public Double getDouble(int index) {
-        Long value = get(index);
-        if (isAbsent(index)) return Nulls.getDefaultNullValue(Double.class);
-        return value.doubleValue();
+    public LongColumn createIntegral(String name, long[] values, ValidityMask validity) {
+        long[] data = new long[values.length];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = values[i];
+        }
+        LongStorage storage = new LongStorage(data);
+        for (int index = validity.nextInvalid(0); index >= 0; index = validity.nextInvalid(index + 1)) {
+            storage.set(index, null);
+        }
+        return new LongColumn(name, storage);
     }
 }
@@ -19,13 +19,23 @@ package io.github.dug22.carpentry.column.impl;
 import io.github.dug22.carpentry.column.BaseColumn;
 import io.github.dug22.carpentry.column.ColumnParser;
 import io.github.dug22.carpentry.column.ColumnType;
+import io.github.dug22.carpentry.column.cursor.DoubleCursor;
+import io.github.dug22.carpentry.column.cursor.IntCursor;
+import io.github.dug22.carpentry.column.cursor.LongCursor;
+import io.github.dug22.carpentry.column.cursor.StorageCursor;
 import io.github.dug22.carpentry.column.format.NumericColumnFormatter;
+import io.github.dug22.carpentry.column.other.SortedOrder;
+import io.github.dug22.carpentry.column.storage.ColumnStorage;
+import io.github.dug22.carpentry.column.storage.DoubleStorage;
+import io.github.dug22.carpentry.column.storage.EncodedStorage;
+import io.github.dug22.carpentry.column.transformations.DoubleKernels;
 
 import java.text.NumberFormat;
 
 public abstract class NumberColumn<T extends Number> extends BaseColumn<T> implements NumericColumn<T> {
 
     private NumericColumnFormatter outputFormatter = new NumericColumnFormatter();
+    private CachedOrder cachedOrder;
 
     public NumberColumn(String name, ColumnType columnType, ColumnParser<T> columnParser) {
         super(name, columnType, columnParser);
@@ -35,6 +45,162 @@ public abstract class NumberColumn<T extends Number> extends BaseColumn<T> imple
         super(name, dataType, data, columnParser);
     }
 
+    public NumberColumn(String name, ColumnType columnType, ColumnStorage<T> storage, ColumnParser<T> columnParser) {
+        super(name, columnType, storage, columnParser);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getDouble(int index) {
+        return getStorage().getDouble(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Double columns are copied in bulk.
+     */
+    @Override
+    public double[] toDoubleArray() {
+        ColumnStorage<T> storage = getStorage();
+        if (storage instanceof DoubleStorage doubles) {
+            return doubles.toDoubleArray();
+        }
+        double[] values = new double[storage.size()];
+        for (int index = 0; index < values.length; index++) {
+            values[index] = storage.getDouble(index);
+        }
+        return values;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Double columns share the array backing their storage.
+     */
+    @Override
+    public DoubleKernels.Operand doubleOperand() {
+        if (getStorage() instanceof DoubleStorage doubles) {
+            return doubles.operand();
+        }
+        return DoubleKernels.Operand.of(toDoubleArray());
+    }
+
+    /**
+     * Creates a cursor reading the values of this column as ints without boxing them
+     *
+     * @return a cursor positioned before the first value
+     */
+    @Override
+    public IntCursor intCursor() {
+        return StorageCursor.ofInt(getStorage());
+    }
+
+    /**
+     * Creates a cursor reading the values of this column as longs without boxing them
+     *
+     * @return a cursor positioned before the first value
+     */
+    @Override
+    public LongCursor longCursor() {
+        return StorageCursor.ofLong(getStorage());
+    }
+
+    /**
+     * Creates a cursor reading the values of this column as doubles without boxing them
+     *
+     * @return a cursor positioned before the first value
+     */
+    @Override
+    public DoubleCursor doubleCursor() {
+        return StorageCursor.ofDouble(getStorage());
+    }
+
+    /**
+     * {@inheritDoc}
+     * A compressed column answers from the statistics recorded while it was encoded.
+     */
+    @Override
+    public double sum() {
+        if (getStorage() instanceof EncodedStorage<T> encoded && !encoded.isDecoded()) {
+            reportIgnored("sum() ignored %d NA%n", encoded);
+            return encoded.sum();
+        }
+        return NumericColumn.super.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     * A compressed column answers from the statistics recorded while it was encoded.
+     */
+    @Override
+    public double mean() {
+        if (getStorage() instanceof EncodedStorage<T> encoded && !encoded.isDecoded()) {
+            reportIgnored("mean() ignored %d NA%n", encoded);
+            return encoded.mean();
+        }
+        return NumericColumn.super.mean();
+    }
+
+    /**
+     * {@inheritDoc}
+     * A compressed column answers from the statistics recorded while it was encoded.
+     */
+    @Override
+    public double min() {
+        if (getStorage() instanceof EncodedStorage<T> encoded && !encoded.isDecoded()) {
+            reportIgnored("min() ignored %d NA%n", encoded);
+            return encoded.validCount() > 0 ? encoded.min() : Double.MAX_VALUE;
+        }
+        return NumericColumn.super.min();
+    }
+
+    /**
+     * {@inheritDoc}
+     * A compressed column answers from the statistics recorded while it was encoded.
+     */
+    @Override
+    public double max() {
+        if (getStorage() instanceof EncodedStorage<T> encoded && !encoded.isDecoded()) {
+            reportIgnored("max() ignored %d missing elements%n", encoded);
+            return encoded.validCount() > 0 ? encoded.max() : Double.NEGATIVE_INFINITY;
+        }
+        return NumericColumn.super.max();
+    }
+
+    /**
+     * {@inheritDoc}
+     * The order is kept until the column is changed or grows, and exact quantiles are looked up in it meanwhile.
+     */
+    @Override
+    public SortedOrder sortedOrder() {
+        SortedOrder order = cachedSortedOrder();
+        if (order == null) {
+            order = SortedOrder.of(this);
+            cachedOrder = new CachedOrder(order, size(), modificationCount());
+        }
+        return order;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SortedOrder cachedSortedOrder() {
+        CachedOrder cached = cachedOrder;
+        if (cached == null || cached.size() != size() || cached.modificationCount() != modificationCount()) {
+            return null;
+        }
+        return cached.order();
+    }
+
+    private void reportIgnored(String format, EncodedStorage<T> encoded) {
+        int naCount = encoded.size() - encoded.validCount();
+        if (naCount > 0) {
+            System.out.printf(format, naCount);
+        }
+    }
+
     public void setOutputFormatter(NumberFormat format) {
         setOutputFormatter(new NumericColumnFormatter(format));
     }
@@ -51,4 +217,10 @@ public abstract class NumberColumn<T extends Number> extends BaseColumn<T> imple
     public String getString(Number value){
         return outputFormatter.formatValue(value);
     }
+
+    /**
+     * A sorted order together with the size and modification count of the column it was built from
+     */
+    private record CachedOrder(SortedOrder order, int size, int modificationCount) {
+    }
 }
@@ -18,6 +18,9 @@ package io.github.dug22.carpentry.column.impl;
 
 import io.github.dug22.carpentry.column.Column;
 import io.github.dug22.carpentry.column.ColumnType;
+import io.github.dug22.carpentry.column.cursor.DoubleCursor;
+import io.github.dug22.carpentry.column.cursor.IntCursor;
+import io.github.dug22.carpentry.column.cursor.LongCursor;
 import io.github.dug22.carpentry.column.format.NumericColumnFormatter;
 import io.github.dug22.carpentry.column.other.Statistics;
 import io.github.dug22.carpentry.column.transformations.NumberTransformations;
@@ -30,7 +33,23 @@ public interface NumericColumn<T extends Number> extends Column<T>, NumberTransf
 
     String name();
 
-    Double getDouble(int index);
+    double getDouble(int index);
+
+    IntCursor intCursor();
+
+    LongCursor longCursor();
+
+    DoubleCursor doubleCursor();
+
+    @Override
+    default int countNull() {
+        return Column.super.countNull();
+    }
+
+    @Override
+    default int countNonNull() {
+        return Column.super.countNonNull();
+    }
 
     ColumnType columnType();
 
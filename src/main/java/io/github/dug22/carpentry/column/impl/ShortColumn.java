@@ -22,23 +22,32 @@ import io.github.dug22.carpentry.column.ColumnPredicate;
 import io.github.dug22.carpentry.column.ColumnTypes;
 import io.github.dug22.carpentry.column.conversion.ShortColumnConversions;
 import io.github.dug22.carpentry.column.format.NumericColumnFormatter;
+import io.github.dug22.carpentry.column.other.DistinctValues;
 import io.github.dug22.carpentry.column.parser.ShortParser;
+import io.github.dug22.carpentry.column.storage.ColumnStorage;
+import io.github.dug22.carpentry.column.storage.ShortStorage;
+import io.github.dug22.carpentry.column.storage.OffHeapShortStorage;
+import io.github.dug22.carpentry.column.storage.ValidityMask;
+import io.github.dug22.carpentry.column.transformations.IntegralTransformations;
 import io.github.dug22.carpentry.column.type.ShortColumnType;
 import io.github.dug22.carpentry.utils.Nulls;
 
-import java.util.Arrays;
-import java.util.LinkedHashSet;
-import java.util.Set;
-
-public class ShortColumn extends NumberColumn<Short> implements ShortColumnConversions {
+public class ShortColumn extends NumberColumn<Short> implements ShortColumnConversions, IntegralTransformations<ShortColumn> {
 
     public ShortColumn(String name) {
-        super(name, ColumnTypes.SHORT_COLUMN_TYPE, ColumnTypes.SHORT_COLUMN_TYPE.getParser());
-        setOutputFormatter(NumericColumnFormatter.NumberColumnFormatterTypes.INTS.init());
+        this(name, new ShortStorage());
     }
 
     public ShortColumn(String name, Short[] data) {
-        super(name, ColumnTypes.SHORT_COLUMN_TYPE, data, ColumnTypes.SHORT_COLUMN_TYPE.getParser());
+        this(name, new ShortStorage(data));
+    }
+
+    public ShortColumn(String name, short[] data) {
+        this(name, new ShortStorage(data));
+    }
+
+    public ShortColumn(String name, ColumnStorage<Short> storage) {
+        super(name, ColumnTypes.SHORT_COLUMN_TYPE, storage, ColumnTypes.SHORT_COLUMN_TYPE.getParser());
         setOutputFormatter(NumericColumnFormatter.NumberColumnFormatterTypes.INTS.init());
     }
 
@@ -51,28 +60,60 @@ public class ShortColumn extends NumberColumn<Short> implements ShortColumnConve
         return new ShortColumn(columnName, data);
     }
 
-    @Override
-    public void appendNull(){
-        append(Nulls.getDefaultNullValue(Short.class));
+    public static ShortColumn create(String columnName, short[] data) {
+        return new ShortColumn(columnName, data);
+    }
+
+    /**
+     * Creates an empty column whose values are stored off-heap. The column should be closed once it is no longer needed.
+     *
+     * @param columnName the name of the column
+     * @return an empty off-heap column
+     */
+    public static ShortColumn createOffHeap(String columnName) {
+        return new ShortColumn(columnName, new OffHeapShortStorage());
     }
 
+    /**
+     * Creates a column whose values are stored off-heap. The column should be closed once it is no longer needed.
+     *
+     * @param columnName the name of the column
+     * @param data       the values of the column
+     * @return an off-heap column holding the given values
+     */
+    public static ShortColumn createOffHeap(String columnName, Short[] data) {
+        return new ShortColumn(columnName, new OffHeapShortStorage(data));
+    }
+
+    /**
+     * Creates a column whose values are stored off-heap. The column should be closed once it is no longer needed.
+     *
+     * @param columnName the name of the column
+     * @param data       the values of the column
+     * @return an off-heap column holding the given values
+     */
+    public static ShortColumn createOffHeap(String columnName, short[] data) {
+        return new ShortColumn(columnName, new OffHeapShortStorage(data));
+    }
 
     @Override
     public ShortColumn copy() {
-        Short[] dataCopy = Arrays.copyOf(getValues(), size());
-        return create(name(), dataCopy);
+        return new ShortColumn(name(), getStorage().copy());
     }
 
     @Override
     public ShortColumn emptyCopy() {
-        return create(name());
+        return new ShortColumn(name(), getStorage().emptyCopy());
     }
 
     @Override
     public ShortColumn unique() {
-        Set<Short> uniqueValues = new LinkedHashSet<>(Arrays.asList(getValues()));
-        Short[] uniqueData = uniqueValues.toArray(new Short[0]);
-        return create(name() + " (unique)", uniqueData);
+        return (ShortColumn) super.unique();
+    }
+
+    @Override
+    protected DistinctValues distinctValues() {
+        return DistinctValues.ofInts(getStorage());
     }
 
     @Override
@@ -106,10 +147,67 @@ public class ShortColumn extends NumberColumn<Short> implements ShortColumnConve
         super.setColumnParser(columnParser);
     }
 
+    /**
+     * Retrieves a value from this column without boxing it. Missing values are returned as their null sentinel.
+     *
+     * @param index the position of the value
+     * @return the value at the given position
+     */
+    public short getShort(int index) {
+        return (short) getStorage().getInt(index);
+    }
+
+    /**
+     * Adds a value to the end of this column without boxing it
+     *
+     * @param value the value to add
+     */
+    public void appendShort(short value) {
+        getStorage().appendInt(value);
+    }
+
+    /**
+     * Copies the values of this column into a new primitive array
+     *
+     * @return a primitive copy of the values of this column
+     */
+    public short[] toShortArray() {
+        short[] result = new short[size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = getShort(i);
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLong(int index) {
+        return getShort(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int bitWidth() {
+        return Short.SIZE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
     @Override
-    public Double getDouble(int index) {
-        Short value = get(index);
-        if (isAbsent(index)) return Nulls.getDefaultNullValue(Double.class);
-        return value.doubleValue();
+    public ShortColumn createIntegral(String name, long[] values, ValidityMask validity) {
+        short[] data = new short[values.length];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (short) values[i];
+        }
+        ShortStorage storage = new ShortStorage(data);
+        for (int index = validity.nextInvalid(0); index >= 0; index = validity.nextInvalid(index + 1)) {
+            storage.set(index, null);
+        }
+        return new ShortColumn(name, storage);
     }
 }
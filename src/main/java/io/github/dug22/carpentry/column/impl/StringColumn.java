@@ -19,13 +19,15 @@ package io.github.dug22.carpentry.column.impl;
 import io.github.dug22.carpentry.column.*;
 import io.github.dug22.carpentry.column.conversion.StringColumnConversions;
 import io.github.dug22.carpentry.column.parser.StringParser;
+import io.github.dug22.carpentry.column.storage.ColumnStorage;
+import io.github.dug22.carpentry.column.storage.DictionaryStorage;
+import io.github.dug22.carpentry.column.storage.Utf8Storage;
 import io.github.dug22.carpentry.column.transformations.StringTransformations;
 import io.github.dug22.carpentry.column.type.StringColumnType;
 import io.github.dug22.carpentry.utils.Nulls;
 
 import java.util.Arrays;
-import java.util.LinkedHashSet;
-import java.util.Set;
+import java.util.List;
 
 public class StringColumn extends BaseColumn<String> implements StringTransformations, StringColumnConversions {
 
@@ -37,6 +39,10 @@ public class StringColumn extends BaseColumn<String> implements StringTransforma
         super(name, ColumnTypes.STRING_COLUMN_TYPE, data, ColumnTypes.STRING_COLUMN_TYPE.getParser());
     }
 
+    public StringColumn(String name, ColumnStorage<String> storage) {
+        super(name, ColumnTypes.STRING_COLUMN_TYPE, storage, ColumnTypes.STRING_COLUMN_TYPE.getParser());
+    }
+
     public static StringColumn create(String columnName) {
         return new StringColumn(columnName);
     }
@@ -45,28 +51,50 @@ public class StringColumn extends BaseColumn<String> implements StringTransforma
         return new StringColumn(columnName, data);
     }
 
-    @Override
-    public void appendNull(){
-        append(Nulls.getDefaultNullValue(String.class));
+    public static StringColumn createDictionaryEncoded(String columnName) {
+        return new StringColumn(columnName, new DictionaryStorage());
+    }
+
+    public static StringColumn createDictionaryEncoded(String columnName, String[] data) {
+        return new StringColumn(columnName, new DictionaryStorage(data));
+    }
+
+    public static StringColumn createUtf8(String columnName) {
+        return new StringColumn(columnName, new Utf8Storage());
     }
 
+    public static StringColumn createUtf8(String columnName, String[] data) {
+        return new StringColumn(columnName, new Utf8Storage(data));
+    }
 
     @Override
     public StringColumn copy() {
-        String[] dataCopy = Arrays.copyOf(getValues(), size());
-        return create(name(), dataCopy);
+        return new StringColumn(name(), getStorage().copy());
     }
 
     @Override
     public StringColumn emptyCopy() {
-        return create(name());
+        return new StringColumn(name(), getStorage().emptyCopy());
     }
 
     @Override
     public StringColumn unique() {
-        Set<String> uniqueValues = new LinkedHashSet<>(Arrays.asList(getValues()));
-        String[] uniqueData = uniqueValues.toArray(new String[0]);
-        return create(name() + " (unique)", uniqueData);
+        if (!isSparse() && getOwnedStorage() instanceof DictionaryStorage dictionaryStorage) {
+            boolean[] seen = new boolean[dictionaryStorage.cardinality() + 1];
+            StringColumn uniqueColumn = createDictionaryEncoded(name() + " (unique)");
+            for (int i = 0; i < size(); i++) {
+                int code = dictionaryStorage.getCode(i);
+                if (!seen[code + 1]) {
+                    seen[code + 1] = true;
+                    uniqueColumn.append(dictionaryStorage.get(i));
+                }
+            }
+            return uniqueColumn;
+        }
+        if (!isSparse() && getOwnedStorage() instanceof Utf8Storage utf8Storage) {
+            return uniqueUtf8(utf8Storage);
+        }
+        return (StringColumn) super.unique();
     }
 
     @Override
@@ -99,4 +127,122 @@ public class StringColumn extends BaseColumn<String> implements StringTransforma
         super.setColumnParser(columnParser);
     }
 
-}
\ No newline at end of file
+    /**
+     * Checks to see if this column stores its values as dictionary codes
+     *
+     * @return if this column is dictionary encoded
+     */
+    public boolean isDictionaryEncoded() {
+        return !isSparse() && getOwnedStorage() instanceof DictionaryStorage;
+    }
+
+    /**
+     * Creates a dictionary-encoded copy of this column. Columns with few distinct values take less memory
+     * this way, and equality filters, group-by keys and joins compare them by code.
+     *
+     * @return a dictionary-encoded copy of this column
+     */
+    public StringColumn dictionaryEncode() {
+        if (isDictionaryEncoded()) {
+            return copy();
+        }
+        return createDictionaryEncoded(name(), getValues());
+    }
+
+    /**
+     * Retrieves the dictionary code stored at the given position
+     *
+     * @param index the position of the value
+     * @return the dictionary code of the value, or {@link DictionaryStorage#NULL_CODE} for a {@code null} reference
+     * @throws ColumnException if this column is not dictionary encoded
+     */
+    public int getCode(int index) {
+        return getDictionaryStorage().getCode(index);
+    }
+
+    /**
+     * Looks up the dictionary code of a value
+     *
+     * @param value the value to look up
+     * @return the dictionary code of the value, or {@link DictionaryStorage#NULL_CODE} if it does not occur in this column
+     * @throws ColumnException if this column is not dictionary encoded
+     */
+    public int codeOf(Object value) {
+        return getDictionaryStorage().codeOf(value);
+    }
+
+    /**
+     * Gets the distinct values of this column, indexed by their dictionary code
+     *
+     * @return a read-only view of the dictionary
+     * @throws ColumnException if this column is not dictionary encoded
+     */
+    public List<String> getDictionary() {
+        return getDictionaryStorage().getDictionary();
+    }
+
+    /**
+     * Checks to see if this column stores its values as UTF-8 bytes in a single arena
+     *
+     * @return if this column is UTF-8 encoded
+     */
+    public boolean isUtf8Encoded() {
+        return !isSparse() && getOwnedStorage() instanceof Utf8Storage;
+    }
+
+    /**
+     * Creates a UTF-8 encoded copy of this column. Columns with many distinct values take several times less
+     * memory this way, and equality and prefix, suffix and substring filters compare their raw bytes.
+     *
+     * @return a UTF-8 encoded copy of this column
+     */
+    public StringColumn utf8Encode() {
+        if (isUtf8Encoded()) {
+            return copy();
+        }
+        return createUtf8(name(), getValues());
+    }
+
+    /**
+     * Gets the UTF-8 arena backing this column
+     *
+     * @return the UTF-8 storage of this column
+     * @throws ColumnException if this column is not UTF-8 encoded
+     */
+    public Utf8Storage getUtf8Storage() {
+        if (getOwnedStorage() instanceof Utf8Storage utf8Storage) {
+            return utf8Storage;
+        }
+        throw new ColumnException("Column '" + name() + "' is not UTF-8 encoded.");
+    }
+
+    /**
+     * Finds the distinct values with an open-addressing table of row positions, hashing and comparing the
+     * encoded bytes so no value is decoded more than once.
+     */
+    private StringColumn uniqueUtf8(Utf8Storage utf8Storage) {
+        int rowCount = utf8Storage.size();
+        int[] table = new int[Integer.highestOneBit(Math.max(rowCount, 1) * 2 - 1) << 1];
+        Arrays.fill(table, -1);
+        int mask = table.length - 1;
+        StringColumn uniqueColumn = createUtf8(name() + " (unique)");
+        for (int i = 0; i < rowCount; i++) {
+            int slot = utf8Storage.hash(i) & mask;
+            while (table[slot] != -1 && !utf8Storage.equalsAt(table[slot], i)) {
+                slot = (slot + 1) & mask;
+            }
+            if (table[slot] == -1) {
+                table[slot] = i;
+                uniqueColumn.append(utf8Storage.get(i));
+            }
+        }
+        return uniqueColumn;
+    }
+
+    private DictionaryStorage getDictionaryStorage() {
+        if (getOwnedStorage() instanceof DictionaryStorage dictionaryStorage) {
+            return dictionaryStorage;
+        }
+        throw new ColumnException("Column '" + name() + "' is not dictionary encoded.");
+    }
+}
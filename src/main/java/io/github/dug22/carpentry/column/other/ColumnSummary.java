@@ -0,0 +1,50 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.column.other;
+
+/**
+ * Column Summary holds the descriptive statistics of a numeric column, as computed by {@link Statistics#describe()}
+ * @param name the name of the summarized column
+ * @param count the number of present values
+ * @param nullCount the number of missing values
+ * @param mean the arithmetic mean
+ * @param std the sample standard deviation
+ * @param min the smallest value
+ * @param quantile1 the 25th percentile
+ * @param median the 50th percentile
+ * @param quantile3 the 75th percentile
+ * @param max the largest value
+ * @param skew the adjusted Fisher-Pearson coefficient of skewness
+ */
+public record ColumnSummary(String name, long count, long nullCount, double mean, double std, double min,
+                            double quantile1, double median, double quantile3, double max, double skew) {
+
+    /**
+     * The labels of the statistics, in the order of {@link #toArray()}
+     */
+    public static final String[] STATISTICS = {"count", "null", "mean", "std", "min", "25%", "50%", "75%", "max", "skew"};
+
+    /**
+     * Gets the statistics of this summary as doubles, in the order of {@link #STATISTICS}
+     *
+     * @return the statistics of this summary
+     */
+    public double[] toArray() {
+        return new double[]{count, nullCount, mean, std, min, quantile1, median, quantile3, max, skew};
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+package io.github.dug22.carpentry.column.other;
+
+import io.github.dug22.carpentry.column.storage.ColumnStorage;
+import io.github.dug22.carpentry.utils.DoubleHashTable;
+import io.github.dug22.carpentry.utils.HashTable;
+import io.github.dug22.carpentry.utils.IntHashTable;
+import io.github.dug22.carpentry.utils.LongHashTable;
+import io.github.dug22.carpentry.utils.ObjectHashTable;
+
+import java.util.Arrays;
+
+/**
+ * The distinct values of a column, found in one pass with a primitive hash table. Each distinct value gets a dense id
+ * in order of first appearance and is known by the first row holding it and by how many rows hold it. Missing values
+ * are not one of the distinct values; they are counted apart.
+ */
+public final class DistinctValues {
+
+    private final int[] firstRows;
+    private final int[] counts;
+    private final int firstNullRow;
+    private final int nullCount;
+
+    private DistinctValues(int[] firstRows, int[] counts, int firstNullRow, int nullCount) {
+        this.firstRows = firstRows;
+        this.counts = counts;
+        this.firstNullRow = firstNullRow;
+        this.nullCount = nullCount;
+    }
+
+    /**
+     * Finds the distinct values of a storage read as ints
+     *
+     * @param storage the storage to read
+     * @return the distinct values of the storage
+     */
+    public static DistinctValues ofInts(ColumnStorage<?> storage) {
+        IntHashTable table = IntHashTable.create();
+        Builder builder = new Builder();
+        int size = storage.size();
+        for (int row = 0; row < size; row++) {
+            if (storage.isNull(row)) {
+                builder.addNull(row);
+            } else if (table.add(storage.getInt(row)) == builder.distinct) {
+                builder.addDistinct(row);
+            }
+        }
+        return builder.build(table);
+    }
+
+    /**
+     * Finds the distinct values of a storage read as longs
+     *
+     * @param storage the storage to read
+     * @return the distinct values of the storage
+     */
+    public static DistinctValues ofLongs(ColumnStorage<?> storage) {
+        LongHashTable table = LongHashTable.create();
+        Builder builder = new Builder();
+        int size = storage.size();
+        for (int row = 0; row < size; row++) {
+            if (storage.isNull(row)) {
+                builder.addNull(row);
+            } else if (table.add(storage.getLong(row)) == builder.distinct) {
+                builder.addDistinct(row);
+            }
+        }
+        return builder.build(table);
+    }
+
+    /**
+     * Finds the distinct values of a storage read as doubles
+     *
+     * @param storage the storage to read
+     * @return the distinct values of the storage
+     */
+    public static DistinctValues ofDoubles(ColumnStorage<?> storage) {
+        DoubleHashTable table = DoubleHashTable.create();
+        Builder builder = new Builder();
+        int size = storage.size();
+        for (int row = 0; row < size; row++) {
+            if (storage.isNull(row)) {
+                builder.addNull(row);
+            } else if (table.add(storage.getDouble(row)) == builder.distinct) {
+                builder.addDistinct(row);
+            }
+        }
+        return builder.build(table);
+    }
+
+    /**
+     * Finds the distinct values of a storage read as objects, for values without a primitive representation
+     *
+     * @param storage the storage to read
+     * @return the distinct values of the storage
+     */
+    public static DistinctValues ofObjects(ColumnStorage<?> storage) {
+        ObjectHashTable<Object> table = ObjectHashTable.create();
+        Builder builder = new Builder();
+        int size = storage.size();
+        for (int row = 0; row < size; row++) {
+            Object value = storage.isNull(row) ? null : storage.get(row);
+            if (value == null) {
+                builder.addNull(row);
+            } else if (table.add(value) == builder.distinct) {
+                builder.addDistinct(row);
+            }
+        }
+        return builder.build(table);
+    }
+
+    /**
+     * Gets the number of distinct values, missing values left out
+     *
+     * @return the number of distinct values
+     */
+    public int size() {
+        return firstRows.length;
+    }
+
+    /**
+     * Gets the first row holding the value with the given id
+     *
+     * @param id the id of the value
+     * @return the first row holding the value
+     */
+    public int firstRow(int id) {
+        return firstRows[id];
+    }
+
+    /**
+     * Gets how many rows hold the value with the given id
+     *
+     * @param id the id of the value
+     * @return the number of rows holding the value
+     */
+    public int count(int id) {
+        return counts[id];
+    }
+
+    /**
+     * Gets how many rows are missing a value
+     *
+     * @return the number of missing values
+     */
+    public int nullCount() {
+        return nullCount;
+    }
+
+    /**
+     * Gets the first row of every distinct value, in order of first appearance. The first missing row is kept in its
+     * place among them if there is one, so the rows select one of each value of the column, missing included.
+     *
+     * @return the rows of the first occurrence of every value
+     */
+    public int[] uniqueRows() {
+        if (firstNullRow < 0) {
+            return firstRows.clone();
+        }
+        int position = -Arrays.binarySearch(firstRows, firstNullRow) - 1;
+        int[] rows = new int[firstRows.length + 1];
+        System.arraycopy(firstRows, 0, rows, 0, position);
+        rows[position] = firstNullRow;
+        System.arraycopy(firstRows, position, rows, position + 1, firstRows.length - position);
+        return rows;
+    }
+
+    /**
+     * Orders the ids of the distinct values from the most to the least frequent. Values as frequent as each other
+     * stay in order of first appearance.
+     *
+     * @return the ids of the distinct values by descending count
+     */
+    public int[] idsByFrequency() {
+        long[] keys = new long[counts.length];
+        for (int id = 0; id < keys.length; id++) {
+            keys[id] = ((long) (Integer.MAX_VALUE - counts[id]) << 32) | id;
+        }
+        if (keys.length < Moments.PARALLEL_THRESHOLD) {
+            Arrays.sort(keys);
+        } else {
+            Arrays.parallelSort(keys);
+        }
+        int[] ids = new int[keys.length];
+        for (int rank = 0; rank < ids.length; rank++) {
+            ids[rank] = (int) keys[rank];
+        }
+        return ids;
+    }
+
+    /**
+     * Collects the first rows and the missing rows while a table is filled
+     */
+    private static final class Builder {
+
+        private int[] firstRows = new int[HashTable.DEFAULT_EXPECTED_SIZE];
+        private int distinct;
+        private int firstNullRow = -1;
+        private int nullCount;
+
+        private void addDistinct(int row) {
+            if (distinct == firstRows.length) {
+                firstRows = Arrays.copyOf(firstRows, distinct << 1);
+            }
+            firstRows[distinct++] = row;
+        }
+
+        private void addNull(int row) {
+            if (nullCount++ == 0) {
+                firstNullRow = row;
+            }
+        }
+
+        private DistinctValues build(HashTable table) {
+            return new DistinctValues(Arrays.copyOf(firstRows, distinct), table.counts(), firstNullRow, nullCount);
+        }
+    }
+}
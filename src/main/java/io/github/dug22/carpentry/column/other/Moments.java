@@ -0,0 +1,259 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.column.other;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Mergeable partial statistics of a column: the count, a compensated sum, the minimum, the maximum and the second
+ * and third central moments of its values. A column is reduced in chunks of {@value #CHUNK_SIZE} rows which are
+ * merged pairwise along a tree that only depends on the size of the column, so large columns are reduced on every
+ * core with the same result whatever the number of threads.
+ * <p>
+ * Sums use Neumaier's compensated summation. Each chunk computes its central moments around its own mean in a
+ * second pass over its values, and chunks are merged with the pairwise update formulas of Chan and Pébay,
+ * so variance and skewness need no separate pass over the column.
+ */
+public final class Moments {
+
+    /**
+     * The number of rows reduced by each leaf of the tree
+     */
+    public static final int CHUNK_SIZE = 4096;
+
+    /**
+     * The number of rows from which the tree is reduced on the common fork-join pool
+     */
+    public static final int PARALLEL_THRESHOLD = 1 << 17;
+
+    private long count;
+    private double sum;
+    private double compensation;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    private double m2;
+    private double m3;
+
+    private Moments() {
+    }
+
+    /**
+     * Reduces the values of a column. Missing values are skipped.
+     *
+     * @param values   the column to reduce
+     * @param centered if the central moments should be computed as well
+     * @return the statistics of the column
+     */
+    public static Moments of(Statistics values, boolean centered) {
+        int size = values.size();
+        boolean parallel = size >= PARALLEL_THRESHOLD;
+        ReductionTask task = new ReductionTask(values, 0, size, centered, parallel);
+        return parallel ? ForkJoinPool.commonPool().invoke(task) : task.compute();
+    }
+
+    /**
+     * Gets the number of values reduced
+     *
+     * @return the number of present values
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Gets the compensated sum of the values
+     *
+     * @return the sum of the values
+     */
+    public double sum() {
+        return sum + compensation;
+    }
+
+    /**
+     * Gets the arithmetic mean of the values
+     *
+     * @return the mean, or NaN if there are no values
+     */
+    public double mean() {
+        return sum() / count;
+    }
+
+    /**
+     * Gets the smallest value
+     *
+     * @return the minimum, or positive infinity if there are no values
+     */
+    public double min() {
+        return min;
+    }
+
+    /**
+     * Gets the largest value
+     *
+     * @return the maximum, or negative infinity if there are no values
+     */
+    public double max() {
+        return max;
+    }
+
+    /**
+     * Gets the variance of the values
+     *
+     * @param ddof the delta degrees of freedom: 1 for the sample variance, 0 for the population variance
+     * @return the variance, or NaN if there are fewer than two values
+     */
+    public double variance(int ddof) {
+        return count > 1 ? m2 / (count - ddof) : Double.NaN;
+    }
+
+    /**
+     * Gets the adjusted Fisher-Pearson coefficient of skewness of the values
+     *
+     * @return the skewness, or NaN if there are fewer than three values or they are all equal
+     */
+    public double skewness() {
+        if (count < 3) {
+            return Double.NaN;
+        }
+        double std = Math.sqrt(variance(1));
+        if (std == 0 || Double.isNaN(std)) {
+            return Double.NaN;
+        }
+        double n = count;
+        return (n * m3) / ((n - 1) * (n - 2) * std * std * std);
+    }
+
+    /**
+     * Merges the statistics of the values following the ones of this partial
+     *
+     * @param other the statistics to merge
+     * @return this partial, now covering both ranges
+     */
+    Moments merge(Moments other) {
+        if (other.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            count = other.count;
+            sum = other.sum;
+            compensation = other.compensation;
+            min = other.min;
+            max = other.max;
+            m2 = other.m2;
+            m3 = other.m3;
+            return this;
+        }
+        double n1 = count;
+        double n2 = other.count;
+        double n = n1 + n2;
+        double delta = other.mean() - mean();
+        double delta2 = delta * delta;
+        m3 += other.m3 + delta * delta2 * n1 * n2 * (n1 - n2) / (n * n) + 3 * delta * (n1 * other.m2 - n2 * m2) / n;
+        m2 += other.m2 + delta2 * n1 * n2 / n;
+        count += other.count;
+        add(other.sum);
+        compensation += other.compensation;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        return this;
+    }
+
+    private void add(double value) {
+        double total = sum + value;
+        if (Math.abs(sum) >= Math.abs(value)) {
+            compensation += (sum - total) + value;
+        } else {
+            compensation += (value - total) + sum;
+        }
+        sum = total;
+    }
+
+    private static Moments reduce(Statistics values, int from, int to, boolean centered) {
+        Moments moments = new Moments();
+        double[] present = centered ? new double[to - from] : null;
+        for (int index = from; index < to; index++) {
+            double value = values.getDouble(index);
+            if (Double.isNaN(value)) {
+                continue;
+            }
+            if (present != null) {
+                present[(int) moments.count] = value;
+            }
+            moments.count++;
+            moments.add(value);
+            moments.min = Math.min(moments.min, value);
+            moments.max = Math.max(moments.max, value);
+        }
+        if (present != null && moments.count > 0) {
+            double mean = moments.mean();
+            double m2 = 0;
+            double m3 = 0;
+            for (int i = 0; i < moments.count; i++) {
+                double deviation = present[i] - mean;
+                double squared = deviation * deviation;
+                m2 += squared;
+                m3 += squared * deviation;
+            }
+            moments.m2 = m2;
+            moments.m3 = m3;
+        }
+        return moments;
+    }
+
+    /**
+     * Splits a range of rows at a chunk boundary near its middle, so the shape of the tree, and with it the
+     * order of every merge, is fixed by the size of the range
+     */
+    private static final class ReductionTask extends RecursiveTask<Moments> {
+
+        private static final long serialVersionUID = 1L;
+
+        // Tasks only live inside the fork/join pool and are never serialized, the column is not serializable
+        private final transient Statistics values;
+        private final int from;
+        private final int to;
+        private final boolean centered;
+        private final boolean parallel;
+
+        private ReductionTask(Statistics values, int from, int to, boolean centered, boolean parallel) {
+            this.values = values;
+            this.from = from;
+            this.to = to;
+            this.centered = centered;
+            this.parallel = parallel;
+        }
+
+        @Override
+        protected Moments compute() {
+            int chunks = (to - from + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            if (chunks <= 1) {
+                return reduce(values, from, to, centered);
+            }
+            int middle = from + (chunks / 2) * CHUNK_SIZE;
+            ReductionTask left = new ReductionTask(values, from, middle, centered, parallel);
+            ReductionTask right = new ReductionTask(values, middle, to, centered, parallel);
+            if (!parallel) {
+                return left.compute().merge(right.compute());
+            }
+            left.fork();
+            Moments rightMoments = right.compute();
+            return left.join().merge(rightMoments);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.column.other;
+
+/**
+ * Exact order statistics over primitive arrays: introselect for one-off percentiles and an introsort that keeps
+ * the rows of the values alongside them. Both fall back to heapsort when partitioning degenerates, so they stay
+ * O(n) and O(n log n) on adversarial inputs.
+ */
+final class OrderStatistics {
+
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private OrderStatistics() {
+    }
+
+    /**
+     * Calculates percentiles of values using linear interpolation, reordering the values in place. Each percentile
+     * is selected within the part of the array left above the previous one, so the selections share their work.
+     *
+     * @param values      the values, which are reordered
+     * @param size        the number of values to consider, from the start of the array
+     * @param percentiles values between 0 and 100, in ascending order
+     * @return the percentiles, or NaN for each of them if there are no values
+     */
+    static double[] percentiles(double[] values, int size, double... percentiles) {
+        double[] result = new double[percentiles.length];
+        int from = 0;
+        for (int i = 0; i < percentiles.length; i++) {
+            if (size == 0) {
+                result[i] = Double.NaN;
+                continue;
+            }
+            double index = (percentiles[i] / 100) * (size - 1);
+            int lower = (int) Math.floor(index);
+            double lowerValue = select(values, from, size, lower);
+            double weight = index - lower;
+            if (weight == 0) {
+                result[i] = lowerValue;
+            } else {
+                double upperValue = select(values, lower + 1, size, lower + 1);
+                result[i] = lowerValue * (1 - weight) + upperValue * weight;
+            }
+            from = lower;
+        }
+        return result;
+    }
+
+    /**
+     * Moves the value of the given rank within a range to its sorted position, with smaller or equal values before
+     * it and larger or equal values after it
+     *
+     * @param values the values, which are reordered
+     * @param from   the start of the range, inclusive
+     * @param to     the end of the range, exclusive
+     * @param rank   the position the value would have if the range were sorted
+     * @return the value of the given rank
+     */
+    static double select(double[] values, int from, int to, int rank) {
+        int depthLimit = 2 * (32 - Integer.numberOfLeadingZeros(to - from));
+        int low = from;
+        int high = to - 1;
+        while (high - low >= INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSort(values, null, low, high + 1);
+                return values[rank];
+            }
+            int pivotIndex = partition(values, null, low, high);
+            if (rank == pivotIndex) {
+                return values[rank];
+            } else if (rank < pivotIndex) {
+                high = pivotIndex - 1;
+            } else {
+                low = pivotIndex + 1;
+            }
+        }
+        insertionSort(values, null, low, high + 1);
+        return values[rank];
+    }
+
+    /**
+     * Sorts values in ascending order, moving their rows along with them
+     *
+     * @param values the values to sort
+     * @param rows   the rows of the values, or null
+     * @param from   the start of the range, inclusive
+     * @param to     the end of the range, exclusive
+     */
+    static void sort(double[] values, int[] rows, int from, int to) {
+        introSort(values, rows, from, to - 1, 2 * (32 - Integer.numberOfLeadingZeros(to - from)));
+    }
+
+    private static void introSort(double[] values, int[] rows, int low, int high, int depthLimit) {
+        while (high - low >= INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSort(values, rows, low, high + 1);
+                return;
+            }
+            int pivotIndex = partition(values, rows, low, high);
+            if (pivotIndex - low < high - pivotIndex) {
+                introSort(values, rows, low, pivotIndex - 1, depthLimit);
+                low = pivotIndex + 1;
+            } else {
+                introSort(values, rows, pivotIndex + 1, high, depthLimit);
+                high = pivotIndex - 1;
+            }
+        }
+        insertionSort(values, rows, low, high + 1);
+    }
+
+    /**
+     * Partitions a range around the median of its first, middle and last values
+     *
+     * @return the final position of the pivot
+     */
+    private static int partition(double[] values, int[] rows, int low, int high) {
+        int middle = (low + high) >>> 1;
+        if (values[middle] < values[low]) swap(values, rows, middle, low);
+        if (values[high] < values[low]) swap(values, rows, high, low);
+        if (values[high] < values[middle]) swap(values, rows, high, middle);
+        swap(values, rows, middle, high - 1);
+        double pivot = values[high - 1];
+        int i = low;
+        int j = high - 1;
+        while (true) {
+            while (values[++i] < pivot) ;
+            while (pivot < values[--j]) ;
+            if (i >= j) {
+                break;
+            }
+            swap(values, rows, i, j);
+        }
+        swap(values, rows, i, high - 1);
+        return i;
+    }
+
+    private static void insertionSort(double[] values, int[] rows, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            double value = values[i];
+            int row = rows != null ? rows[i] : 0;
+            int j = i - 1;
+            while (j >= from && values[j] > value) {
+                values[j + 1] = values[j];
+                if (rows != null) rows[j + 1] = rows[j];
+                j--;
+            }
+            values[j + 1] = value;
+            if (rows != null) rows[j + 1] = row;
+        }
+    }
+
+    private static void heapSort(double[] values, int[] rows, int from, int to) {
+        int size = to - from;
+        for (int i = size / 2 - 1; i >= 0; i--) {
+            siftDown(values, rows, from, i, size);
+        }
+        for (int end = size - 1; end > 0; end--) {
+            swap(values, rows, from, from + end);
+            siftDown(values, rows, from, 0, end);
+        }
+    }
+
+    private static void siftDown(double[] values, int[] rows, int offset, int node, int size) {
+        while (true) {
+            int child = 2 * node + 1;
+            if (child >= size) {
+                return;
+            }
+            if (child + 1 < size && values[offset + child + 1] > values[offset + child]) {
+                child++;
+            }
+            if (values[offset + node] >= values[offset + child]) {
+                return;
+            }
+            swap(values, rows, offset + node, offset + child);
+            node = child;
+        }
+    }
+
+    private static void swap(double[] values, int[] rows, int i, int j) {
+        double value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+        if (rows != null) {
+            int row = rows[i];
+            rows[i] = rows[j];
+            rows[j] = row;
+        }
+    }
+}
@@ -0,0 +1,339 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.column.other;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * A KLL quantile sketch: a mergeable summary of a stream of values answering quantile queries in space that barely
+ * grows with the number of values. Values are kept in a stack of compactors; when a level fills up it is sorted and
+ * every other value is promoted to the next level with twice the weight. The accuracy is set by {@code k}: with the
+ * default of {@value #DEFAULT_K} the rank error stays within about 1.5%, and it shrinks roughly as {@code 1 / k}.
+ * <p>
+ * Until the first compaction the sketch holds every value, so small inputs get exact, interpolated quantiles.
+ * Compactions alternate which half of a level is promoted instead of drawing it at random, so a sketch only depends
+ * on its input and on the order of merges. Sketches are serializable, so partial sketches built on other threads or
+ * other frames can be merged.
+ */
+public final class QuantileSketch implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The default accuracy parameter of a sketch
+     */
+    public static final int DEFAULT_K = 200;
+
+    private static final int MIN_K = 8;
+    private static final int LEAF_SIZE = 1 << 16;
+    private static final double CAPACITY_DECAY = 2.0 / 3.0;
+
+    private final int k;
+    private double[][] levels;
+    private int[] sizes;
+    private int retained;
+    private int totalCapacity;
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    private boolean oddOffset;
+
+    private QuantileSketch(int k) {
+        if (k < MIN_K) {
+            throw new IllegalArgumentException("The accuracy of a quantile sketch must be at least " + MIN_K + ", got " + k);
+        }
+        this.k = k;
+        this.levels = new double[][]{new double[k]};
+        this.sizes = new int[1];
+        this.totalCapacity = k;
+    }
+
+    /**
+     * Creates an empty sketch with the default accuracy
+     *
+     * @return an empty sketch
+     */
+    public static QuantileSketch create() {
+        return new QuantileSketch(DEFAULT_K);
+    }
+
+    /**
+     * Creates an empty sketch with the given accuracy
+     *
+     * @param k the accuracy parameter: the number of values the first level holds
+     * @return an empty sketch
+     */
+    public static QuantileSketch create(int k) {
+        return new QuantileSketch(k);
+    }
+
+    /**
+     * Sketches the values of a column, skipping missing values. Large columns are split into fixed ranges sketched on
+     * the common fork-join pool and merged in an order that only depends on the size of the column.
+     *
+     * @param values the column to sketch
+     * @param k      the accuracy parameter
+     * @return the sketch of the column
+     */
+    public static QuantileSketch of(Statistics values, int k) {
+        int size = values.size();
+        SketchTask task = new SketchTask(values, 0, size, k, size >= Moments.PARALLEL_THRESHOLD);
+        return task.parallel ? ForkJoinPool.commonPool().invoke(task) : task.compute();
+    }
+
+    /**
+     * Adds a value to this sketch. NaN values are ignored.
+     *
+     * @param value the value to add
+     */
+    public void update(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        append(0, value);
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        if (retained > totalCapacity) {
+            compress();
+        }
+    }
+
+    /**
+     * Merges another sketch into this one. The other sketch is left untouched.
+     *
+     * @param other the sketch to merge
+     * @return this sketch, now summarizing both inputs
+     */
+    public QuantileSketch merge(QuantileSketch other) {
+        if (other.count == 0) {
+            return this;
+        }
+        for (int level = 0; level < other.levels.length; level++) {
+            for (int index = 0; index < other.sizes[level]; index++) {
+                append(level, other.levels[level][index]);
+            }
+        }
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        compress();
+        return this;
+    }
+
+    /**
+     * Estimates the given quantile of the values added to this sketch
+     *
+     * @param quantile value between 0 and 1
+     * @return the estimated quantile, or NaN if the sketch is empty
+     */
+    public double quantile(double quantile) {
+        if (!(quantile >= 0 && quantile <= 1)) {
+            throw new IllegalArgumentException("The quantile must be between 0 and 1, got " + quantile);
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (quantile == 0) {
+            return min;
+        }
+        if (quantile == 1) {
+            return max;
+        }
+        if (levels.length == 1) {
+            double[] values = Arrays.copyOf(levels[0], sizes[0]);
+            Arrays.sort(values);
+            double index = quantile * (values.length - 1);
+            int lower = (int) Math.floor(index);
+            int upper = (int) Math.ceil(index);
+            double weight = index - lower;
+            return lower == upper ? values[lower] : values[lower] * (1 - weight) + values[upper] * weight;
+        }
+
+        int[] heads = new int[levels.length];
+        double[][] sorted = new double[levels.length][];
+        for (int level = 0; level < levels.length; level++) {
+            sorted[level] = Arrays.copyOf(levels[level], sizes[level]);
+            Arrays.sort(sorted[level]);
+        }
+        double rank = quantile * count;
+        long cumulativeWeight = 0;
+        while (true) {
+            int smallest = -1;
+            for (int level = 0; level < levels.length; level++) {
+                if (heads[level] < sizes[level]
+                        && (smallest < 0 || sorted[level][heads[level]] < sorted[smallest][heads[smallest]])) {
+                    smallest = level;
+                }
+            }
+            if (smallest < 0) {
+                return max;
+            }
+            double value = sorted[smallest][heads[smallest]++];
+            cumulativeWeight += 1L << smallest;
+            if (cumulativeWeight > rank) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of values added to this sketch
+     *
+     * @return the number of values summarized
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Checks to see if no value was added to this sketch
+     *
+     * @return if the sketch is empty
+     */
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Gets the smallest value added to this sketch
+     *
+     * @return the exact minimum, or positive infinity if the sketch is empty
+     */
+    public double min() {
+        return min;
+    }
+
+    /**
+     * Gets the largest value added to this sketch
+     *
+     * @return the exact maximum, or negative infinity if the sketch is empty
+     */
+    public double max() {
+        return max;
+    }
+
+    /**
+     * Gets the number of values this sketch currently retains
+     *
+     * @return the number of retained values
+     */
+    public int retained() {
+        return retained;
+    }
+
+    private int capacity(int level) {
+        int depth = levels.length - 1 - level;
+        return Math.max(2, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+    }
+
+    private void append(int level, double value) {
+        while (level >= levels.length) {
+            levels = Arrays.copyOf(levels, levels.length + 1);
+            sizes = Arrays.copyOf(sizes, sizes.length + 1);
+            levels[levels.length - 1] = new double[MIN_K];
+            totalCapacity = 0;
+            for (int index = 0; index < levels.length; index++) {
+                totalCapacity += capacity(index);
+            }
+        }
+        if (sizes[level] == levels[level].length) {
+            levels[level] = Arrays.copyOf(levels[level], levels[level].length * 2);
+        }
+        levels[level][sizes[level]++] = value;
+        retained++;
+    }
+
+    private void compress() {
+        while (retained > totalCapacity) {
+            for (int level = 0; level < levels.length; level++) {
+                if (sizes[level] >= capacity(level)) {
+                    compact(level);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Sorts a level and promotes every other value to the next one, keeping the smallest value behind when the level
+     * holds an odd number of them so the total weight is preserved
+     */
+    private void compact(int level) {
+        double[] values = levels[level];
+        int size = sizes[level];
+        Arrays.sort(values, 0, size);
+        int start = size % 2;
+        for (int index = start + (oddOffset ? 1 : 0); index < size; index += 2) {
+            append(level + 1, values[index]);
+        }
+        oddOffset = !oddOffset;
+        retained -= size - start;
+        sizes[level] = start;
+    }
+
+    /**
+     * Splits a range of rows at a leaf boundary near its middle, so the order of the merges is fixed by the size of
+     * the range
+     */
+    private static final class SketchTask extends RecursiveTask<QuantileSketch> {
+
+        private static final long serialVersionUID = 1L;
+
+        // Tasks only live inside the fork/join pool and are never serialized, the column is not serializable
+        private final transient Statistics values;
+        private final int from;
+        private final int to;
+        private final int k;
+        private final boolean parallel;
+
+        private SketchTask(Statistics values, int from, int to, int k, boolean parallel) {
+            this.values = values;
+            this.from = from;
+            this.to = to;
+            this.k = k;
+            this.parallel = parallel;
+        }
+
+        @Override
+        protected QuantileSketch compute() {
+            int leaves = (to - from + LEAF_SIZE - 1) / LEAF_SIZE;
+            if (leaves <= 1) {
+                QuantileSketch sketch = new QuantileSketch(k);
+                for (int index = from; index < to; index++) {
+                    sketch.update(values.getDouble(index));
+                }
+                return sketch;
+            }
+            int middle = from + (leaves / 2) * LEAF_SIZE;
+            SketchTask left = new SketchTask(values, from, middle, k, parallel);
+            SketchTask right = new SketchTask(values, middle, to, k, parallel);
+            if (!parallel) {
+                return left.compute().merge(right.compute());
+            }
+            left.fork();
+            QuantileSketch rightSketch = right.compute();
+            return left.join().merge(rightSketch);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.column.other;
+
+import java.util.Arrays;
+
+/**
+ * The rows of a column sorted by value, together with their values. Once built, any exact order statistic of the
+ * column is a constant time lookup. Missing values are left out.
+ */
+public final class SortedOrder {
+
+    private final int[] rows;
+    private final double[] values;
+
+    private SortedOrder(int[] rows, double[] values) {
+        this.rows = rows;
+        this.values = values;
+    }
+
+    /**
+     * Sorts the rows of a column by value
+     *
+     * @param column the column to sort
+     * @return the sorted order of the column
+     */
+    public static SortedOrder of(Statistics column) {
+        int size = column.size();
+        int[] rows = new int[size];
+        double[] values = new double[size];
+        int count = 0;
+        for (int index = 0; index < size; index++) {
+            double value = column.getDouble(index);
+            if (Double.isNaN(value)) {
+                continue;
+            }
+            rows[count] = index;
+            values[count++] = value;
+        }
+        rows = Arrays.copyOf(rows, count);
+        values = Arrays.copyOf(values, count);
+        OrderStatistics.sort(values, rows, 0, count);
+        return new SortedOrder(rows, values);
+    }
+
+    /**
+     * Gets the number of values in this order
+     *
+     * @return the number of present values of the column
+     */
+    public int size() {
+        return rows.length;
+    }
+
+    /**
+     * Gets the row holding the value of the given rank
+     *
+     * @param rank the position of the value in ascending order
+     * @return the row of the value
+     */
+    public int row(int rank) {
+        return rows[rank];
+    }
+
+    /**
+     * Gets the value of the given rank
+     *
+     * @param rank the position of the value in ascending order
+     * @return the value
+     */
+    public double value(int rank) {
+        return values[rank];
+    }
+
+    /**
+     * Gets the given quantile of the values using linear interpolation
+     *
+     * @param quantile value between 0 and 1
+     * @return the quantile, or NaN if there are no values
+     */
+    public double quantile(double quantile) {
+        if (!(quantile >= 0 && quantile <= 1)) {
+            throw new IllegalArgumentException("The quantile must be between 0 and 1, got " + quantile);
+        }
+        return percentile(quantile * 100);
+    }
+
+    /**
+     * Gets the given percentile of the values using linear interpolation
+     *
+     * @param percentile value between 0 and 100
+     * @return the percentile, or NaN if there are no values
+     */
+    double percentile(double percentile) {
+        if (values.length == 0) return Double.NaN;
+        double index = (percentile / 100) * (values.length - 1);
+        int lower = (int) Math.floor(index);
+        int upper = (int) Math.ceil(index);
+        if (lower == upper) {
+            return values[lower];
+        }
+
+        double weight = index - lower;
+        return values[lower] * (1 - weight) + values[upper] * weight;
+    }
+}
@@ -16,10 +16,9 @@
 
 package io.github.dug22.carpentry.column.other;
 
+import io.github.dug22.carpentry.utils.DoubleHashTable;
 import io.github.dug22.carpentry.utils.Nulls;
 
-import java.util.*;
-
 public interface Statistics {
 
     private Integer getDefaultNullValue() {
@@ -32,12 +31,35 @@ public interface Statistics {
 
     int size();
 
-    Double getDouble(int index);
+    /**
+     * Reads the value at the given position as a primitive double. Missing values are returned as {@link Double#NaN}.
+     *
+     * @param index the position of the value
+     * @return the value as a double
+     */
+    double getDouble(int index);
 
     String name();
 
     boolean isAbsent(int index);
 
+    /**
+     * Finds the first position at or after the given one that holds a value. The statistics below walk from one
+     * value to the next with it, so columns that know where their values are can skip the missing ones.
+     *
+     * @param from the position to start searching from
+     * @return the position of the next value, or -1 if there is none
+     */
+    default int nextPresent(int from) {
+        int size = size();
+        for (int index = Math.max(from, 0); index < size; index++) {
+            if (!isAbsent(index)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
     /**
      * Counts how many values are within a column
      *
@@ -79,23 +101,13 @@ public interface Statistics {
      * @return minimum of all values
      */
     default double max() {
-        double max = Double.NEGATIVE_INFINITY;
-        int naCount = 0;
-        int currentSize = size();
-        for (int index = 0; index < currentSize; index++) {
-            if (isAbsent(index)) {
-                naCount++;
-                continue;
-            }
-
-            max = Math.max(max, getDouble(index));
-        }
-
+        Moments moments = Moments.of(this, false);
+        long naCount = size() - moments.count();
         if (naCount > 0) {
             System.out.printf("max() ignored %d missing elements%n", naCount);
         }
 
-        return max;
+        return moments.max();
     }
 
     /**
@@ -104,25 +116,13 @@ public interface Statistics {
      * @return mean of all values
      */
     default double mean() {
-        int naCount = 0;
-        double sum = 0d;
-        int count = 0;
-        int size = size();
-        for (int i = 0; i < size; i++) {
-            if (isAbsent(i)) {
-                naCount++;
-                continue;
-            }
-
-            count++;
-            sum += getDouble(i);
-        }
-
+        Moments moments = Moments.of(this, false);
+        long naCount = size() - moments.count();
         if (naCount > 0) {
             System.out.printf("mean() ignored %d NA%n", naCount);
         }
 
-        return sum / count;
+        return moments.mean();
     }
 
     /**
@@ -154,63 +154,87 @@ public interface Statistics {
 
 
     /**
-     * Returns the minimum of all values in this column
+     * Builds a quantile sketch of the values within this column with the default accuracy
      *
-     * @return minimum of all values
+     * @return a mergeable quantile sketch of the column
      */
-    default double min() {
-        double min = Double.MAX_VALUE;
-        int naCount = 0;
-        int size = size();
-        for (int i = 0; i < size; i++) {
-            if (isAbsent(i)) {
-                naCount++;
-                continue;
-            }
+    default QuantileSketch quantileSketch() {
+        return quantileSketch(QuantileSketch.DEFAULT_K);
+    }
 
-            min = Math.min(min, getDouble(i));
+    /**
+     * Builds a quantile sketch of the values within this column, in parallel for large columns
+     *
+     * @param k the accuracy parameter of the sketch
+     * @return a mergeable quantile sketch of the column
+     */
+    default QuantileSketch quantileSketch(int k) {
+        return QuantileSketch.of(this, k);
+    }
+
+    /**
+     * Estimates the given quantile of the data within this column from a quantile sketch, without copying or sorting
+     * the column. Columns small enough for the sketch to hold every value get the exact quantile.
+     *
+     * @param quantile value between 0 and 1
+     * @return the estimated quantile
+     */
+    default double approxQuantile(double quantile) {
+        QuantileSketch sketch = quantileSketch();
+        long naCount = size() - sketch.count();
+        if (naCount > 0) {
+            System.out.printf("approxQuantile() ignored %d NA%n", naCount);
         }
 
+        return sketch.quantile(quantile);
+    }
+
+    /**
+     * Estimates the median of the data within this column from a quantile sketch
+     *
+     * @return the estimated median
+     */
+    default double approxMedian() {
+        return approxQuantile(0.5);
+    }
+
+
+    /**
+     * Returns the minimum of all values in this column
+     *
+     * @return minimum of all values
+     */
+    default double min() {
+        Moments moments = Moments.of(this, false);
+        long naCount = size() - moments.count();
         if (naCount > 0) {
             System.out.printf("min() ignored %d NA%n", naCount);
         }
 
-        return min;
+        return moments.count() > 0 ? moments.min() : Double.MAX_VALUE;
     }
 
     /**
-     * Returns the mode of all values in this column
+     * Returns the mode of all values in this column. Values are counted in a primitive hash table, and ties go to the
+     * value appearing first.
      *
-     * @return mode of all values
+     * @return mode of all values, or -1 if there are none
      */
     default double mode() {
-        Map<Double, Integer> frequencyMap = new HashMap<>();
-        int naCount = 0;
-        int size = size();
-        for (int i = 0; i < size; i++) {
-            if (isAbsent(i)) {
-                naCount++;
-                continue;
-            }
-
-            frequencyMap.put(getDouble(i), frequencyMap.getOrDefault(getDouble(i), 0) + 1);
+        DoubleHashTable frequencies = DoubleHashTable.create();
+        int count = 0;
+        for (int i = nextPresent(0); i >= 0; i = nextPresent(i + 1)) {
+            count++;
+            frequencies.add(getDouble(i));
         }
 
+        int naCount = size() - count;
         if (naCount > 0) {
             System.out.printf("mode() ignored %d NA%n", naCount);
         }
 
-        double mode = -1;
-        int maxCount = 0;
-
-        for (Map.Entry<Double, Integer> entry : frequencyMap.entrySet()) {
-            if (entry.getValue() > maxCount) {
-                mode = entry.getKey();
-                maxCount = entry.getValue();
-            }
-        }
-
-        return mode;
+        int mode = frequencies.mostFrequent();
+        return mode >= 0 ? frequencies.key(mode) : -1;
     }
 
     /**
@@ -228,8 +252,7 @@ public interface Statistics {
      * @return the sample standard deviation of all values
      */
     default double std() {
-        double variance = variance();
-        return !Double.isNaN(variance) ? Math.sqrt(variance) : Double.NaN;
+        return Math.sqrt(variance("std", 1));
     }
 
     /**
@@ -238,8 +261,7 @@ public interface Statistics {
      * @return the population standard deviation of all values
      */
     default double populationSTD() {
-        double variance = populationVariance();
-        return !Double.isNaN(variance) ? Math.sqrt(variance) : Double.NaN;
+        return Math.sqrt(variance("populationSTD", 0));
     }
 
     /**
@@ -248,68 +270,90 @@ public interface Statistics {
      * @return the sum of all values
      */
     default double sum() {
-        int naCount = 0;
-        double sum = 0;
-        int size = size();
-        for (int i = 0; i < size; i++) {
-            if (isAbsent(i)) {
-                naCount++;
-                continue;
-            }
-
-            sum += getDouble(i);
-        }
-
+        Moments moments = Moments.of(this, false);
+        long naCount = size() - moments.count();
         if (naCount > 0) {
             System.out.printf("sum() ignored %d NA%n", naCount);
         }
 
-        return sum;
+        return moments.sum();
     }
 
 
     /**
-     * Calculates the variance of the column using sample variance (default degrees of freedom = 1).
+     * Sorts the rows of this column by value. Numeric columns keep the order they return until their values change,
+     * and their exact quantiles are then looked up in it in constant time instead of being selected again.
      *
-     * @return the variance of the column, or NaN if the mean is NaN
+     * @return the rows and values of this column in ascending order of value
      */
-    private double variance() {
-        return variance(1);
+    default SortedOrder sortedOrder() {
+        return SortedOrder.of(this);
     }
 
     /**
-     * Calculates the population variance of the column (degrees of freedom = 0).
+     * Gets the sorted order this column keeps, if it still matches the values of the column
      *
-     * @return the population variance of the column, or NaN if the mean is NaN
+     * @return the sorted order of this column, or null if none is kept
      */
-    private double populationVariance() {
-        return variance(0);
+    default SortedOrder cachedSortedOrder() {
+        return null;
     }
 
     /**
-     * Calculates the variance of the column with a specified degrees of freedom.
+     * Summarizes this column: its counts, moments and quartiles. The moments come from one pass over the column
+     * and the quartiles from one shared selection over its values, and missing values are skipped silently.
      *
-     * @param ddof the degrees of freedom to use (1 for sample variance, 0 for population variance)
-     * @return the variance of the column, or NaN if the mean is NaN or insufficient data
+     * @return the summary of this column
      */
-    private double variance(int ddof) {
-        double mean = mean();
-        if (Double.isNaN(mean) || mean == 0) {
-            return Double.NaN;
+    default ColumnSummary describe() {
+        Moments moments = Moments.of(this, true);
+        double[] quartiles = percentiles(25, 50, 75);
+        boolean empty = moments.count() == 0;
+        return new ColumnSummary(name(), moments.count(), size() - moments.count(), moments.mean(),
+                Math.sqrt(moments.variance(1)), empty ? Double.NaN : moments.min(), quartiles[0], quartiles[1],
+                quartiles[2], empty ? Double.NaN : moments.max(), moments.skewness());
+    }
+
+    /**
+     * Calculates the variance of the column in one pass with a specified degrees of freedom.
+     *
+     * @param methodName the statistic reporting the missing values
+     * @param ddof       the degrees of freedom to use (1 for sample variance, 0 for population variance)
+     * @return the variance of the column, or NaN if there is insufficient data
+     */
+    private double variance(String methodName, int ddof) {
+        Moments moments = Moments.of(this, true);
+        long naCount = size() - moments.count();
+        if (naCount > 0) {
+            System.out.printf("%s() ignored %d NA%n", methodName, naCount);
         }
 
-        double sumOfSquares = 0d;
-        int count = 0;
-        int size = size();
-        for (int i = 0; i < size; i++) {
-            if (isAbsent(i)) {
-                continue;
+        return moments.variance(ddof);
+    }
+
+    /**
+     * Calculates percentiles of the non-missing column values using linear interpolation. They are looked up in the
+     * sorted order kept by the column if there is one, otherwise selected from one primitive copy of the values.
+     *
+     * @param percentiles values between 0 and 100, in ascending order
+     * @return the percentiles, or NaN for each of them if there are no values
+     */
+    private double[] percentiles(double... percentiles) {
+        SortedOrder order = cachedSortedOrder();
+        if (order != null) {
+            double[] result = new double[percentiles.length];
+            for (int i = 0; i < percentiles.length; i++) {
+                result[i] = order.percentile(percentiles[i]);
             }
+            return result;
+        }
 
-            sumOfSquares += Math.pow(getDouble(i) - mean, 2);
-            count++;
+        double[] values = new double[size()];
+        int count = 0;
+        for (int i = nextPresent(0); i >= 0; i = nextPresent(i + 1)) {
+            values[count++] = getDouble(i);
         }
-        return count > 1 ? sumOfSquares / (count - ddof) : Double.NaN;
+        return OrderStatistics.percentiles(values, count, percentiles);
     }
 
     /**
@@ -319,32 +363,13 @@ public interface Statistics {
      * @return percentile value
      */
     private double getPercentile(String methodName, double percentile) {
-        int naCount = 0;
-        List<Double> values = new ArrayList<>();
-        for (int i = 0; i < size(); i++) {
-            if (!isAbsent(i)) {
-                values.add(getDouble(i));
-            } else {
-                naCount++;
-            }
-        }
-
-        if (values.isEmpty()) return Double.NaN;
-        Collections.sort(values);
-        double index = (percentile / 100) * (values.size() - 1);
-        int lower = (int) Math.floor(index);
-        int upper = (int) Math.ceil(index);
-
-        if (lower == upper) {
-            return values.get(lower);
-        }
-
-        if (naCount > 0) {
+        SortedOrder order = cachedSortedOrder();
+        int naCount = order != null ? size() - order.size() : countNull();
+        if (naCount > 0 && naCount < size()) {
             System.out.printf("%s() ignored %d NA%n", methodName, naCount);
-
         }
-        double weight = index - lower;
-        return values.get(lower) * (1 - weight) + values.get(upper) * weight;
+
+        return percentiles(percentile)[0];
     }
 
     /**
@@ -353,18 +378,22 @@ public interface Statistics {
      * @return the skew result
      */
     default double skew(SkewnessFormula formula) {
-        int naCount = 0;
-        int size = size();
-        List<Double> values = new ArrayList<>();
-        for (int i = 0; i < size; i++) {
-            if (isAbsent(i)) {
-                naCount++;
-                continue;
+        if (formula == SkewnessFormula.FISHER_PEARSON) {
+            Moments moments = Moments.of(this, true);
+            if (moments.count() < 2) {
+                return Double.NaN;
             }
 
-            values.add(getDouble(i));
+            long naCount = size() - moments.count();
+            if (naCount > 0) {
+                System.out.printf("skew() ignored %d NA%n", naCount);
+            }
+
+            return moments.skewness();
         }
-        if (values.size() < 2) {
+
+        int naCount = countNull();
+        if (size() - naCount < 2) {
             return Double.NaN;
         }
 
@@ -373,91 +402,33 @@ public interface Statistics {
         }
 
         switch (formula) {
-            case FISHER_PEARSON -> {
-                return pearsonSkewness(values);
-            }
             case BOWLEY -> {
-                return bowleySkewness(values);
+                return quantileSkewness(percentiles(25, 50, 75));
             }
             case KELLY -> {
-                return kellySkewness(values);
+                return quantileSkewness(percentiles(10, 50, 90));
             }
             default -> throw new IllegalArgumentException("Unknown formula: " + formula.name());
         }
     }
 
     /**
-     * Calculates the Pearson's moment coefficient of skewness for the given list of values.
-     * Requires at least 3 values.
+     * Calculates a quantile skewness coefficient from the median and two percentiles symmetric around it:
+     * the quartiles for Bowley's coefficient, the 10th and 90th percentiles for Kelly's.
      *
-     * @param values a List of Double values to calculate skewness from
-     * @return the Pearson skewness coefficient, or Double.NaN if calculation is not possible
+     * @param percentiles the lower percentile, the median and the upper percentile
+     * @return the skewness coefficient, or Double.NaN if calculation is not possible
      */
-    private double pearsonSkewness(List<Double> values) {
-        int n = values.size();
-        if (n < 3) return Double.NaN;
-
-        double mean = mean();
-        double stdDev = std();
-
-        if (Double.isNaN(mean) || Double.isNaN(stdDev) || stdDev == 0) {
-            return Double.NaN;
-        }
-
-        double sumCubed = 0.0;
-        for (double value : values) {
-            double diff = value - mean;
-            sumCubed += diff * diff * diff;
-        }
-
-        return (n * sumCubed) / ((n - 1.0) * (n - 2.0) * Math.pow(stdDev, 3));
-    }
-
-    /**
-     * Calculates Bowley's skewness coefficient using quartiles.
-     * Requires the values list to be non-empty.
-     *
-     * @param values a List of Double values to calculate skewness from
-     * @return the Bowley skewness coefficient, or Double.NaN if calculation is not possible
-     */
-    private double bowleySkewness(List<Double> values) {
-        if (values.isEmpty()) {
-            return Double.NaN;
-        }
-        Collections.sort(values);
-        double q1 = getPercentile("quantile1", 25);
-        double median = getPercentile("median", 50);
-        double q3 = getPercentile("quantile3", 75);
-
-        double denominator = q3 - q1;
-        if (denominator == 0) {
-            return Double.NaN;
-        }
-
-        return (q3 - 2 * median + q1) / denominator;
-    }
-
-    /**
-     * Calculates Kelly's skewness coefficient using percentiles (10th, 50th, 90th).
-     * Requires the values list to be non-empty.
-     *
-     * @param values a List of Double values to calculate skewness from
-     * @return the Kelly skewness coefficient, or Double.NaN if calculation is not possible
-     */
-    private double kellySkewness(List<Double> values) {
-        if (values.isEmpty()) {
-            return Double.NaN;
-        }
-        Collections.sort(values);
-        double p10 = getPercentile("percentile10", 10);
-        double median = getPercentile("median", 50);
-        double p90 = getPercentile("percentile90", 90);
+    private static double quantileSkewness(double[] percentiles) {
+        double lower = percentiles[0];
+        double median = percentiles[1];
+        double upper = percentiles[2];
 
-        double denominator = p90 - p10;
+        double denominator = upper - lower;
         if (denominator == 0) {
             return Double.NaN;
         }
 
-        return (p90 - 2 * median + p10) / denominator;
+        return (upper - 2 * median + lower) / denominator;
     }
 }
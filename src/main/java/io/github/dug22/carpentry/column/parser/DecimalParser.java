@@ -0,0 +1,110 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.column.parser;
+
+import io.github.dug22.carpentry.column.ColumnParser;
+import io.github.dug22.carpentry.column.storage.DecimalStorage;
+
+import java.math.BigDecimal;
+
+public class DecimalParser implements ColumnParser<BigDecimal> {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean canParse(String value) {
+        if (isNA(value)) return true;
+        try {
+            new BigDecimal(removeComma(value).trim());
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BigDecimal parse(String value) {
+        if (isNA(value)) return null;
+        try {
+            return new BigDecimal(removeComma(value).trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses the given text straight into an unscaled value of the given scale, without creating a BigDecimal.
+     * Digits beyond the scale are rounded half-up and commas are ignored. Text in exponent notation falls
+     * back to {@link BigDecimal} parsing.
+     *
+     * @param value the text to parse
+     * @param scale the number of digits kept after the decimal point
+     * @return the unscaled value, or {@link DecimalStorage#NULL_VALUE} if the text is missing
+     * @throws NumberFormatException if the text is not a decimal number
+     * @throws ArithmeticException   if the unscaled value does not fit in a {@code long}
+     */
+    public long parseUnscaled(String value, int scale) {
+        if (isNA(value)) return DecimalStorage.NULL_VALUE;
+        int start = 0;
+        int end = value.length();
+        while (start < end && value.charAt(start) == ' ') start++;
+        while (end > start && value.charAt(end - 1) == ' ') end--;
+        if (start == end) throw new NumberFormatException("Empty decimal: \"" + value + "\"");
+        boolean negative = false;
+        char first = value.charAt(start);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            start++;
+        }
+        long unscaled = 0;
+        int fractionDigits = -1;
+        boolean sawDigit = false;
+        boolean roundUp = false;
+        for (int index = start; index < end; index++) {
+            char c = value.charAt(index);
+            if (c >= '0' && c <= '9') {
+                sawDigit = true;
+                if (fractionDigits < scale) {
+                    unscaled = Math.addExact(Math.multiplyExact(unscaled, 10L), c - '0');
+                    if (fractionDigits >= 0) fractionDigits++;
+                } else if (fractionDigits == scale) {
+                    roundUp = c >= '5';
+                    fractionDigits++;
+                }
+            } else if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else if (c == ',' && fractionDigits < 0) {
+                continue;
+            } else if (c == 'e' || c == 'E') {
+                return DecimalStorage.unscale(new BigDecimal(removeComma(value).trim()), scale);
+            } else {
+                throw new NumberFormatException("Invalid decimal: \"" + value + "\"");
+            }
+        }
+        if (!sawDigit) throw new NumberFormatException("Invalid decimal: \"" + value + "\"");
+        for (int digits = Math.max(fractionDigits, 0); digits < scale; digits++) {
+            unscaled = Math.multiplyExact(unscaled, 10L);
+        }
+        if (roundUp) unscaled = Math.addExact(unscaled, 1L);
+        return negative ? -unscaled : unscaled;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.column.storage;
+
+/**
+ * Base class of the storage engines. Tracks which slots hold a value through a {@link ValidityMask}, so
+ * null checks and null counts never have to inspect the stored values themselves.
+ *
+ * @param <T> the boxed type of the values held by this storage
+ */
+public abstract class BaseStorage<T> implements ColumnStorage<T> {
+
+    private static final int DEFAULT_CAPACITY = 10;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private ValidityMask validity = new ValidityMask();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isNull(int index) {
+        return !validity.isValid(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int countNull() {
+        return validity.countInvalid();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int nextValid(int from) {
+        return validity.nextValid(Math.max(from, 0));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ValidityMask getValidity() {
+        return validity;
+    }
+
+    /**
+     * Replaces the validity bitmap of this storage
+     *
+     * @param validity the new validity bitmap
+     */
+    protected void setValidity(ValidityMask validity) {
+        this.validity = validity;
+    }
+
+    /**
+     * Copies the validity of this storage into another storage
+     *
+     * @param target the storage receiving the validity
+     * @param <S>    the type of the target storage
+     * @return the target storage
+     */
+    protected <S extends BaseStorage<T>> S copyValidityTo(S target) {
+        ((BaseStorage<T>) target).validity = validity.copy();
+        return target;
+    }
+
+    /**
+     * Records the validity of a sorted storage, whose values were sorted into one block and whose missing values were
+     * grouped at one end: after the values when sorting in ascending order, before them in descending order.
+     *
+     * @param nullCount  the number of missing values
+     * @param nullsFirst if the missing values were grouped before the values
+     */
+    protected void groupNulls(int nullCount, boolean nullsFirst) {
+        int size = size();
+        validity.fill(0, size, true);
+        if (nullsFirst) {
+            validity.fill(0, nullCount, false);
+        } else {
+            validity.fill(size - nullCount, size, false);
+        }
+    }
+
+    /**
+     * Computes the capacity a buffer should grow to. Buffers grow by half of their current capacity,
+     * so appending n values costs amortized O(n).
+     *
+     * @param currentCapacity the current capacity of the buffer
+     * @param minCapacity     the capacity the buffer needs
+     * @return the new capacity of the buffer
+     */
+    protected static int newCapacity(int currentCapacity, int minCapacity) {
+        if (minCapacity < 0 || minCapacity > MAX_CAPACITY) {
+            throw new OutOfMemoryError("Required column capacity " + Integer.toUnsignedString(minCapacity) + " is too large");
+        }
+
+        long grownCapacity = currentCapacity + ((long) currentCapacity >> 1);
+        return (int) Math.min(MAX_CAPACITY, Math.max(minCapacity, Math.max(DEFAULT_CAPACITY, grownCapacity)));
+    }
+}
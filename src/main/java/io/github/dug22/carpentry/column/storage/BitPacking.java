@@ -0,0 +1,68 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+package io.github.dug22.carpentry.column.storage;
+
+/**
+ * Packs unsigned integers of a fixed bit width into an array of words. A value may straddle two words.
+ */
+final class BitPacking {
+
+    private BitPacking() {
+    }
+
+    /**
+     * Gets the number of bits needed to hold every value from 0 up to the given unsigned range
+     */
+    static int bitWidth(long range) {
+        return Long.SIZE - Long.numberOfLeadingZeros(range);
+    }
+
+    static long[] allocate(int count, int bitWidth) {
+        return new long[(int) (((long) count * bitWidth + Long.SIZE - 1) / Long.SIZE)];
+    }
+
+    static void set(long[] words, int index, int bitWidth, long value) {
+        if (bitWidth == 0) {
+            return;
+        }
+        long bit = (long) index * bitWidth;
+        int word = (int) (bit >>> 6);
+        int shift = (int) (bit & 63);
+        long mask = bitWidth == Long.SIZE ? -1L : (1L << bitWidth) - 1;
+        words[word] = (words[word] & ~(mask << shift)) | ((value & mask) << shift);
+        int spill = shift + bitWidth - Long.SIZE;
+        if (spill > 0) {
+            int written = bitWidth - spill;
+            words[word + 1] = (words[word + 1] & ~(mask >>> written)) | ((value & mask) >>> written);
+        }
+    }
+
+    static long get(long[] words, int index, int bitWidth) {
+        if (bitWidth == 0) {
+            return 0;
+        }
+        long bit = (long) index * bitWidth;
+        int word = (int) (bit >>> 6);
+        int shift = (int) (bit & 63);
+        long mask = bitWidth == Long.SIZE ? -1L : (1L << bitWidth) - 1;
+        long value = words[word] >>> shift;
+        if (shift + bitWidth > Long.SIZE) {
+            value |= words[word + 1] << (Long.SIZE - shift);
+        }
+        return value & mask;
+    }
+}
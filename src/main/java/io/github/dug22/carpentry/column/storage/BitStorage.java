@@ -0,0 +1,439 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.column.storage;
+
+import io.github.dug22.carpentry.utils.MemoryEstimator;
+import io.github.dug22.carpentry.utils.Nulls;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * Stores booleans as bits. Each value takes one bit of a {@code long} word, and the bit of a missing value is
+ * always cleared, so logical operations and true/false counts work on 64 values at a time.
+ */
+public final class BitStorage extends BaseStorage<Boolean> {
+
+    private static final int WORD_SHIFT = 6;
+
+    private long[] words;
+    private int size;
+
+    public BitStorage() {
+        this.words = new long[0];
+    }
+
+    public BitStorage(int initialCapacity) {
+        this.words = new long[ValidityMask.wordCount(initialCapacity)];
+    }
+
+    public BitStorage(Boolean[] data) {
+        this();
+        if (data != null) {
+            setData(data);
+        }
+    }
+
+    private BitStorage(long[] words, ValidityMask validity, int size) {
+        this.words = words;
+        this.size = size;
+        setValidity(validity);
+    }
+
+    /**
+     * Creates a storage adopting packed values. Position {@code i} is bit {@code i % 64} of word {@code i / 64},
+     * both for the values and for the validity bits; the value bits of missing positions must be zero.
+     *
+     * @param words      the packed values
+     * @param validWords the packed validity bits
+     * @param size       the number of values
+     * @return a storage backed by the given words
+     */
+    public static BitStorage fromWords(long[] words, long[] validWords, int size) {
+        return new BitStorage(words, new ValidityMask(validWords, size), size);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int capacity() {
+        return words.length << WORD_SHIFT;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long memoryUsage(boolean deep) {
+        return MemoryEstimator.array(words.length, Long.BYTES) + getValidity().memoryUsage();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > capacity()) {
+            words = Arrays.copyOf(words, ValidityMask.wordCount(newCapacity(capacity(), minCapacity)));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void trimToSize() {
+        int wordCount = ValidityMask.wordCount(size);
+        if (wordCount < words.length) {
+            words = Arrays.copyOf(words, wordCount);
+        }
+        getValidity().trimToSize();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Boolean get(int index) {
+        Objects.checkIndex(index, size);
+        return isNull(index) ? null : isSet(index);
+    }
+
+    /**
+     * Retrieves a value from this storage without boxing it. Missing values are returned as {@code false}.
+     *
+     * @param index the position of the value
+     * @return the value at the given position
+     */
+    public boolean getBoolean(int index) {
+        Objects.checkIndex(index, size);
+        return isSet(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void set(int index, Boolean value) {
+        Objects.checkIndex(index, size);
+        boolean valid = !Nulls.isNull(value);
+        setBit(index, valid && value);
+        getValidity().set(index, valid);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setNull(int index) {
+        set(index, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void append(Boolean value) {
+        if (size == capacity()) {
+            ensureCapacity(size + 1);
+        }
+        boolean valid = !Nulls.isNull(value);
+        setBit(size++, valid && value);
+        getValidity().append(valid);
+    }
+
+    /**
+     * Adds a value to the end of this storage without boxing it
+     *
+     * @param value the value to add
+     */
+    public void appendBoolean(boolean value) {
+        if (size == capacity()) {
+            ensureCapacity(size + 1);
+        }
+        setBit(size++, value);
+        getValidity().append(true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendNull() {
+        append(null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendAll(Boolean[] values) {
+        ensureCapacity(size + values.length);
+        for (Boolean value : values) {
+            append(value);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setData(Boolean[] values) {
+        clear();
+        appendAll(values);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Boolean[] toArray() {
+        Boolean[] result = new Boolean[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = isNull(i) ? null : isSet(i);
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        words = new long[0];
+        size = 0;
+        getValidity().clear();
+    }
+
+    /**
+     * Sorts the values of this storage in ascending order. Missing values are placed first.
+     */
+    @Override
+    public void sortAscending() {
+        int trueCount = countTrue();
+        int nullCount = countNull();
+        rewrite(size - trueCount, size, 0, nullCount);
+    }
+
+    /**
+     * Sorts the values of this storage in descending order. Missing values are placed last.
+     */
+    @Override
+    public void sortDescending() {
+        int trueCount = countTrue();
+        int nullCount = countNull();
+        rewrite(0, trueCount, size - nullCount, size);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BitStorage copy() {
+        return new BitStorage(Arrays.copyOf(words, ValidityMask.wordCount(size)), getValidity().copy(), size);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BitStorage emptyCopy() {
+        return new BitStorage();
+    }
+
+    /**
+     * Gets the raw words backing this storage. Bits of missing values and bits past {@link #size()} are always zero.
+     *
+     * @return the words backing this storage
+     */
+    public long[] words() {
+        return words;
+    }
+
+    /**
+     * Counts the values that are {@code true}
+     *
+     * @return the number of {@code true} values
+     */
+    public int countTrue() {
+        int count = 0;
+        int wordCount = ValidityMask.wordCount(size);
+        for (int i = 0; i < wordCount; i++) {
+            count += Long.bitCount(words[i]);
+        }
+        return count;
+    }
+
+    /**
+     * Counts the values that are {@code false}
+     *
+     * @return the number of {@code false} values
+     */
+    public int countFalse() {
+        return getValidity().countValid() - countTrue();
+    }
+
+    /**
+     * Counts the {@code true} values among the selected positions
+     *
+     * @param selection the positions to count
+     * @return the number of selected {@code true} values
+     */
+    public int countTrue(ValidityMask selection) {
+        checkSize(selection.size());
+        long[] selected = selection.words();
+        int count = 0;
+        int wordCount = ValidityMask.wordCount(size);
+        for (int i = 0; i < wordCount; i++) {
+            count += Long.bitCount(words[i] & selected[i]);
+        }
+        return count;
+    }
+
+    /**
+     * Counts the {@code false} values among the selected positions
+     *
+     * @param selection the positions to count
+     * @return the number of selected {@code false} values
+     */
+    public int countFalse(ValidityMask selection) {
+        checkSize(selection.size());
+        long[] selected = selection.words();
+        long[] valid = getValidity().words();
+        int count = 0;
+        int wordCount = ValidityMask.wordCount(size);
+        for (int i = 0; i < wordCount; i++) {
+            count += Long.bitCount(valid[i] & ~words[i] & selected[i]);
+        }
+        return count;
+    }
+
+    /**
+     * Creates a mask selecting the positions that hold {@code true}
+     *
+     * @return a mask whose valid slots are the {@code true} values of this storage
+     */
+    public ValidityMask toSelection() {
+        return new ValidityMask(Arrays.copyOf(words, ValidityMask.wordCount(size)), size);
+    }
+
+    /**
+     * Computes the logical AND of this storage and another one. A result is missing if either input is missing.
+     *
+     * @param other the storage to combine with
+     * @return a new storage holding the result
+     */
+    public BitStorage and(BitStorage other) {
+        return combine(other, (a, b) -> a & b);
+    }
+
+    /**
+     * Computes the logical OR of this storage and another one. A result is missing if either input is missing.
+     *
+     * @param other the storage to combine with
+     * @return a new storage holding the result
+     */
+    public BitStorage or(BitStorage other) {
+        return combine(other, (a, b) -> a | b);
+    }
+
+    /**
+     * Computes the logical XOR of this storage and another one. A result is missing if either input is missing.
+     *
+     * @param other the storage to combine with
+     * @return a new storage holding the result
+     */
+    public BitStorage xor(BitStorage other) {
+        return combine(other, (a, b) -> a ^ b);
+    }
+
+    /**
+     * Computes {@code a && !b} for this storage and another one. A result is missing if either input is missing.
+     *
+     * @param other the storage to combine with
+     * @return a new storage holding the result
+     */
+    public BitStorage andNot(BitStorage other) {
+        return combine(other, (a, b) -> a & ~b);
+    }
+
+    /**
+     * Inverts every value of this storage. Missing values stay missing.
+     *
+     * @return a new storage holding the result
+     */
+    public BitStorage not() {
+        int wordCount = ValidityMask.wordCount(size);
+        long[] valid = getValidity().words();
+        long[] result = new long[wordCount];
+        for (int i = 0; i < wordCount; i++) {
+            result[i] = ~words[i] & valid[i];
+        }
+        return new BitStorage(result, getValidity().copy(), size);
+    }
+
+    private BitStorage combine(BitStorage other, LongBinaryOperator operator) {
+        checkSize(other.size);
+        int wordCount = ValidityMask.wordCount(size);
+        long[] leftValid = getValidity().words();
+        long[] rightValid = other.getValidity().words();
+        long[] resultValid = new long[wordCount];
+        long[] result = new long[wordCount];
+        for (int i = 0; i < wordCount; i++) {
+            long valid = leftValid[i] & rightValid[i];
+            resultValid[i] = valid;
+            result[i] = operator.applyAsLong(words[i], other.words[i]) & valid;
+        }
+        return new BitStorage(result, new ValidityMask(resultValid, size), size);
+    }
+
+    private void rewrite(int trueFrom, int trueTo, int nullFrom, int nullTo) {
+        Arrays.fill(words, 0L);
+        new ValidityMask(words, size).fill(trueFrom, trueTo, true);
+        getValidity().fill(0, size, true);
+        getValidity().fill(nullFrom, nullTo, false);
+    }
+
+    private void checkSize(int otherSize) {
+        if (otherSize != size) {
+            throw new IllegalArgumentException("Expected " + size + " values but got " + otherSize);
+        }
+    }
+
+    private boolean isSet(int index) {
+        return (words[index >>> WORD_SHIFT] & (1L << index)) != 0;
+    }
+
+    private void setBit(int index, boolean value) {
+        if (value) {
+            words[index >>> WORD_SHIFT] |= 1L << index;
+        } else {
+            words[index >>> WORD_SHIFT] &= ~(1L << index);
+        }
+    }
+}
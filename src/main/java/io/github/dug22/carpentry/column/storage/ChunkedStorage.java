@@ -0,0 +1,583 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+package io.github.dug22.carpentry.column.storage;
+
+import io.github.dug22.carpentry.utils.MemoryEstimator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A storage made of a list of fixed-size chunks, each of them an ordinary storage, similar to the record batches of
+ * Apache Arrow. Rows are addressed with a {@code long}, so a chunked storage can hold more than
+ * {@link Integer#MAX_VALUE} values; the {@code int} based methods keep working while the storage is small enough.
+ * Appends fill the last chunk and start a new one once it is full, so growing never copies existing values.
+ * Concatenating storages links the chunks of both into a new storage instead of copying their values.
+ *
+ * @param <T> the boxed type of the values held by this storage
+ */
+public class ChunkedStorage<T> implements ColumnStorage<T> {
+
+    /**
+     * The number of values a chunk holds before appends start a new one, unless stated otherwise
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+    private final ColumnStorage<T> prototype;
+    private final int chunkSize;
+    private final List<ColumnStorage<T>> chunks = new ArrayList<>();
+    private long[] chunkStarts = new long[8];
+    private long size;
+    private int lastChunk;
+
+    /**
+     * Creates an empty chunked storage
+     *
+     * @param prototype an empty storage of the kind each chunk should be
+     * @param chunkSize the number of values a chunk holds before appends start a new one
+     * @throws IllegalArgumentException if the chunk size is not positive
+     */
+    public ChunkedStorage(ColumnStorage<T> prototype, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("The chunk size must be positive: " + chunkSize);
+        }
+        this.prototype = prototype instanceof ChunkedStorage<T> chunked ? chunked.prototype : prototype.emptyCopy();
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Creates an empty chunked storage using {@link #DEFAULT_CHUNK_SIZE}
+     *
+     * @param prototype an empty storage of the kind each chunk should be
+     */
+    public ChunkedStorage(ColumnStorage<T> prototype) {
+        this(prototype, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Concatenates two storages by linking their chunks into a new storage. No value is copied: each linked chunk
+     * is a view of the original values, so the storages being concatenated must not be changed in place afterward.
+     *
+     * @param first  the storage holding the first values
+     * @param second the storage holding the values that follow
+     * @param <T>    the boxed type of the values held by the storages
+     * @return a new storage holding the values of both storages
+     */
+    public static <T> ChunkedStorage<T> concat(ColumnStorage<T> first, ColumnStorage<T> second) {
+        ChunkedStorage<T> result = first instanceof ChunkedStorage<T> chunked
+                ? new ChunkedStorage<>(chunked.prototype, chunked.chunkSize)
+                : new ChunkedStorage<>(first);
+        result.link(first);
+        result.link(second);
+        return result;
+    }
+
+    private void link(ColumnStorage<T> storage) {
+        if (storage instanceof ChunkedStorage<T> chunked) {
+            for (ColumnStorage<T> chunk : chunked.chunks) {
+                addChunk(ViewStorage.range(chunk, 0, chunk.size()));
+            }
+        } else if (storage.size() > 0) {
+            addChunk(ViewStorage.range(storage, 0, storage.size()));
+        }
+    }
+
+    private void addChunk(ColumnStorage<T> chunk) {
+        int index = chunks.size();
+        if (index == chunkStarts.length) {
+            chunkStarts = Arrays.copyOf(chunkStarts, index * 2);
+        }
+        chunkStarts[index] = size;
+        chunks.add(chunk);
+        size += chunk.size();
+    }
+
+    /**
+     * Gets the chunks of this storage, in order. The chunks should only be read through this list.
+     *
+     * @return the chunks of this storage
+     */
+    @Override
+    public List<ColumnStorage<T>> chunks() {
+        return Collections.unmodifiableList(chunks);
+    }
+
+    /**
+     * Gets the number of values a chunk holds before appends start a new one
+     *
+     * @return the chunk size of this storage
+     */
+    public int chunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Copies every chunk of this storage into a single storage of the kind the chunks are
+     *
+     * @return a storage holding the values of this storage in one chunk
+     * @throws ArithmeticException if this storage holds more than {@link Integer#MAX_VALUE} values
+     */
+    public ColumnStorage<T> compact() {
+        int compactSize = size();
+        if (chunks.size() == 1 && !(chunks.get(0) instanceof ViewStorage<T>)) {
+            return chunks.get(0);
+        }
+        ColumnStorage<T> compact = prototype.emptyCopy();
+        compact.ensureCapacity(compactSize);
+        for (ColumnStorage<T> chunk : chunks) {
+            for (int i = 0; i < chunk.size(); i++) {
+                compact.appendFrom(chunk, i);
+            }
+        }
+        return compact;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long longSize() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws ArithmeticException if this storage holds more than {@link Integer#MAX_VALUE} values
+     */
+    @Override
+    public int size() {
+        return Math.toIntExact(size);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int capacity() {
+        return size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long memoryUsage(boolean deep) {
+        long bytes = MemoryEstimator.array(chunkStarts.length, Long.BYTES) + MemoryEstimator.referenceArray(chunks.size());
+        for (ColumnStorage<T> chunk : chunks) {
+            bytes += chunk.memoryUsage(deep);
+        }
+        return bytes;
+    }
+
+    /**
+     * Does nothing, as a chunked storage grows by adding chunks instead of growing a buffer
+     *
+     * @param minCapacity the desired minimum capacity
+     */
+    @Override
+    public void ensureCapacity(int minCapacity) {
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void trimToSize() {
+        for (ColumnStorage<T> chunk : chunks) {
+            chunk.trimToSize();
+        }
+    }
+
+    /**
+     * Finds the chunk holding the given position. Sequential reads stay within the same chunk,
+     * which is checked first before searching the chunk offsets.
+     */
+    private int chunkOf(long index) {
+        Objects.checkIndex(index, size);
+        int chunk = lastChunk;
+        if (chunk < chunks.size() && index >= chunkStarts[chunk] && index - chunkStarts[chunk] < chunks.get(chunk).size()) {
+            return chunk;
+        }
+        chunk = Arrays.binarySearch(chunkStarts, 0, chunks.size(), index);
+        if (chunk < 0) {
+            chunk = -chunk - 2;
+        }
+        lastChunk = chunk;
+        return chunk;
+    }
+
+    private int positionInChunk(int chunk, long index) {
+        return (int) (index - chunkStarts[chunk]);
+    }
+
+    /**
+     * Gets a chunk that can be written to, replacing a linked chunk with its own copy of the values first
+     */
+    private ColumnStorage<T> writableChunk(int chunk) {
+        ColumnStorage<T> storage = chunks.get(chunk);
+        if (storage instanceof ViewStorage<T> view) {
+            storage = view.materialize();
+            chunks.set(chunk, storage);
+        }
+        return storage;
+    }
+
+    /**
+     * Gets the chunk appends should go to, starting a new one when the last chunk is full or linked
+     */
+    private ColumnStorage<T> appendChunk() {
+        int last = chunks.size() - 1;
+        if (last < 0 || chunks.get(last) instanceof ViewStorage<T> || chunks.get(last).size() >= chunkSize) {
+            ColumnStorage<T> chunk = prototype.emptyCopy();
+            addChunk(chunk);
+            return chunk;
+        }
+        return chunks.get(last);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T get(long index) {
+        int chunk = chunkOf(index);
+        return chunks.get(chunk).get(positionInChunk(chunk, index));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T get(int index) {
+        return get((long) index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getInt(int index) {
+        int chunk = chunkOf(index);
+        return chunks.get(chunk).getInt(positionInChunk(chunk, index));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLong(int index) {
+        int chunk = chunkOf(index);
+        return chunks.get(chunk).getLong(positionInChunk(chunk, index));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getDouble(long index) {
+        int chunk = chunkOf(index);
+        return chunks.get(chunk).getDouble(positionInChunk(chunk, index));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getDouble(int index) {
+        return getDouble((long) index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long longHash(int index) {
+        int chunk = chunkOf(index);
+        return chunks.get(chunk).longHash(positionInChunk(chunk, index));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isNull(long index) {
+        int chunk = chunkOf(index);
+        return chunks.get(chunk).isNull(positionInChunk(chunk, index));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isNull(int index) {
+        return isNull((long) index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int countNull() {
+        int nullCount = 0;
+        for (ColumnStorage<T> chunk : chunks) {
+            nullCount += chunk.countNull();
+        }
+        return nullCount;
+    }
+
+    /**
+     * Gets the validity of the values of this storage. The bitmap is rebuilt from the chunks on every call,
+     * so later changes to it are not reflected by this storage.
+     *
+     * @return the validity bitmap of this storage
+     */
+    @Override
+    public ValidityMask getValidity() {
+        int validitySize = size();
+        ValidityMask validity = new ValidityMask(validitySize, true);
+        for (int chunk = 0; chunk < chunks.size(); chunk++) {
+            ColumnStorage<T> storage = chunks.get(chunk);
+            int start = (int) chunkStarts[chunk];
+            for (int i = 0; i < storage.size(); i++) {
+                if (storage.isNull(i)) {
+                    validity.set(start + i, false);
+                }
+            }
+        }
+        return validity;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void set(int index, T value) {
+        int chunk = chunkOf(index);
+        writableChunk(chunk).set(positionInChunk(chunk, index), value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setInt(int index, int value) {
+        int chunk = chunkOf(index);
+        writableChunk(chunk).setInt(positionInChunk(chunk, index), value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setLong(int index, long value) {
+        int chunk = chunkOf(index);
+        writableChunk(chunk).setLong(positionInChunk(chunk, index), value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setDouble(int index, double value) {
+        int chunk = chunkOf(index);
+        writableChunk(chunk).setDouble(positionInChunk(chunk, index), value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setNull(int index) {
+        int chunk = chunkOf(index);
+        writableChunk(chunk).setNull(positionInChunk(chunk, index));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void append(T value) {
+        appendChunk().append(value);
+        size++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendInt(int value) {
+        appendChunk().appendInt(value);
+        size++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendLong(long value) {
+        appendChunk().appendLong(value);
+        size++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendDouble(double value) {
+        appendChunk().appendDouble(value);
+        size++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendNull() {
+        appendChunk().appendNull();
+        size++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendAll(T[] values) {
+        for (T value : values) {
+            append(value);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setData(T[] data) {
+        clear();
+        appendAll(data);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws ArithmeticException if this storage holds more than {@link Integer#MAX_VALUE} values
+     */
+    @Override
+    public T[] toArray() {
+        T[] result = Arrays.copyOf(prototype.toArray(), size());
+        for (int chunk = 0; chunk < chunks.size(); chunk++) {
+            T[] values = chunks.get(chunk).toArray();
+            System.arraycopy(values, 0, result, (int) chunkStarts[chunk], values.length);
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        close();
+        chunks.clear();
+        size = 0;
+        lastChunk = 0;
+    }
+
+    /**
+     * Sorts the values of this storage in ascending order. The values are first compacted into a single chunk.
+     *
+     * @throws ArithmeticException if this storage holds more than {@link Integer#MAX_VALUE} values
+     */
+    @Override
+    public void sortAscending() {
+        replaceWithSorted(true);
+    }
+
+    /**
+     * Sorts the values of this storage in descending order. The values are first compacted into a single chunk.
+     *
+     * @throws ArithmeticException if this storage holds more than {@link Integer#MAX_VALUE} values
+     */
+    @Override
+    public void sortDescending() {
+        replaceWithSorted(false);
+    }
+
+    private void replaceWithSorted(boolean ascending) {
+        if (chunks.isEmpty()) {
+            return;
+        }
+        ColumnStorage<T> sorted = compact();
+        if (ascending) {
+            sorted.sortAscending();
+        } else {
+            sorted.sortDescending();
+        }
+        if (sorted != chunks.get(0)) {
+            clear();
+        } else {
+            chunks.clear();
+            size = 0;
+            lastChunk = 0;
+        }
+        addChunk(sorted);
+    }
+
+    /**
+     * Creates a copy of this storage with the same chunk layout. Every chunk is copied.
+     *
+     * @return a copy of this storage
+     */
+    @Override
+    public ColumnStorage<T> copy() {
+        ChunkedStorage<T> copy = new ChunkedStorage<>(prototype, chunkSize);
+        for (ColumnStorage<T> chunk : chunks) {
+            copy.addChunk(chunk.copy());
+        }
+        return copy;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ColumnStorage<T> emptyCopy() {
+        return new ChunkedStorage<>(prototype, chunkSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isOffHeap() {
+        return prototype.isOffHeap();
+    }
+
+    /**
+     * Releases the chunks owned by this storage. Linked chunks only reference the storages they were linked from,
+     * which are left open.
+     */
+    @Override
+    public void close() {
+        for (ColumnStorage<T> chunk : chunks) {
+            chunk.close();
+        }
+    }
+}
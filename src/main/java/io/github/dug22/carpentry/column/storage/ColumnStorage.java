@@ -0,0 +1,393 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+package io.github.dug22.carpentry.column.storage;
+
+import io.github.dug22.carpentry.utils.Hashing;
+import io.github.dug22.carpentry.utils.MemoryEstimator;
+
+import java.util.List;
+
+/**
+ * The backing store of a column. A storage engine owns the physical layout of a column's values
+ * (a boxed array, a primitive array, ...) while the column itself exposes them through the {@code Column<T>} API.
+ * Primitive accessors are provided so numeric code can read values without boxing them.
+ *
+ * @param <T> the boxed type of the values held by this storage
+ */
+public interface ColumnStorage<T> {
+
+    /**
+     * Gets the number of values held by this storage
+     *
+     * @return the number of values held by this storage
+     */
+    int size();
+
+    /**
+     * Gets the number of values held by this storage as a long, which chunked storages may need
+     *
+     * @return the number of values held by this storage
+     */
+    default long longSize() {
+        return size();
+    }
+
+    /**
+     * Gets the number of values this storage can hold before its buffer has to grow
+     *
+     * @return the capacity of this storage
+     */
+    int capacity();
+
+    /**
+     * Grows the buffer of this storage, if necessary, so it can hold at least the given number of values
+     *
+     * @param minCapacity the desired minimum capacity
+     */
+    void ensureCapacity(int minCapacity);
+
+    /**
+     * Shrinks the buffer of this storage to its current size
+     */
+    void trimToSize();
+
+    /**
+     * Retrieves a (boxed) value from this storage
+     *
+     * @param index the position of the value
+     * @return the value at the given position
+     */
+    T get(int index);
+
+    /**
+     * Retrieves a (boxed) value from this storage using a long position
+     *
+     * @param index the position of the value
+     * @return the value at the given position
+     */
+    default T get(long index) {
+        return get(Math.toIntExact(index));
+    }
+
+    /**
+     * Replaces the value at the given position
+     *
+     * @param index the position of the value
+     * @param value the new value
+     */
+    void set(int index, T value);
+
+    /**
+     * Adds a value to the end of this storage
+     *
+     * @param value the value to add
+     */
+    void append(T value);
+
+    /**
+     * Adds a collection of values to the end of this storage
+     *
+     * @param values the values to add
+     */
+    void appendAll(T[] values);
+
+    /**
+     * Replaces the entire content of this storage with the given values
+     *
+     * @param data the new values
+     */
+    void setData(T[] data);
+
+    /**
+     * Copies the content of this storage into a new boxed array
+     *
+     * @return a boxed copy of every value held by this storage
+     */
+    T[] toArray();
+
+    /**
+     * Checks to see if the value at the given position is missing
+     *
+     * @param index the position of the value
+     * @return if the value at the given position is missing
+     */
+    boolean isNull(int index);
+
+    /**
+     * Checks to see if the value at the given long position is missing
+     *
+     * @param index the position of the value
+     * @return if the value at the given position is missing
+     */
+    default boolean isNull(long index) {
+        return isNull(Math.toIntExact(index));
+    }
+
+    /**
+     * Counts the positions that are missing a value
+     *
+     * @return the number of missing values
+     */
+    int countNull();
+
+    /**
+     * Finds the first position at or after the given one that holds a value
+     *
+     * @param from the position to start searching from
+     * @return the position of the next value, or -1 if there is none
+     */
+    default int nextValid(int from) {
+        for (int index = Math.max(from, 0); index < size(); index++) {
+            if (!isNull(index)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the bitmap recording which positions of this storage hold a value
+     *
+     * @return the validity bitmap of this storage
+     */
+    ValidityMask getValidity();
+
+    /**
+     * Marks the value at the given position as missing
+     *
+     * @param index the position of the value
+     */
+    void setNull(int index);
+
+    /**
+     * Adds a missing value to the end of this storage
+     */
+    void appendNull();
+
+    /**
+     * Adds the value at the given position of another storage of the same kind to the end of this storage. Whether
+     * the value is missing is taken from the validity of the source, so a valid value equal to the null sentinel of
+     * its type stays valid, which appending the boxed value would not keep.
+     *
+     * @param source the storage holding the value
+     * @param index  the position of the value in the source
+     */
+    default void appendFrom(ColumnStorage<T> source, int index) {
+        T value = source.get(index);
+        if (source.isNull(index)) {
+            if (value == null) {
+                append(null);
+            } else {
+                appendNull();
+            }
+            return;
+        }
+        switch (value) {
+            case Integer intValue -> appendInt(intValue);
+            case Short shortValue -> appendInt(shortValue);
+            case Byte byteValue -> appendInt(byteValue);
+            case Long longValue -> appendLong(longValue);
+            default -> append(value);
+        }
+    }
+
+    /**
+     * Removes every value from this storage
+     */
+    void clear();
+
+    /**
+     * Sorts the values of this storage in ascending order
+     */
+    void sortAscending();
+
+    /**
+     * Sorts the values of this storage in descending order
+     */
+    void sortDescending();
+
+    /**
+     * Creates an exact copy of this storage
+     *
+     * @return a copy of this storage
+     */
+    ColumnStorage<T> copy();
+
+    /**
+     * Creates an empty storage of the same kind
+     *
+     * @return an empty storage of the same kind
+     */
+    ColumnStorage<T> emptyCopy();
+
+    /**
+     * Gets the chunks this storage is made of, in order. A storage held in a single buffer is its own only chunk.
+     *
+     * @return the chunks of this storage
+     */
+    default List<ColumnStorage<T>> chunks() {
+        return List.of(this);
+    }
+
+    /**
+     * Checks to see if the values of this storage are held outside of the Java heap
+     *
+     * @return if this storage is held off-heap
+     */
+    default boolean isOffHeap() {
+        return false;
+    }
+
+    /**
+     * Estimates the bytes held by this storage. A shallow estimate counts the buffers of the storage; a deep one
+     * also counts the objects they reference, such as boxed values and the characters of strings. Off-heap
+     * storages count their native buffer.
+     *
+     * @param deep if the objects referenced by the buffers should be counted
+     * @return the estimated size of this storage in bytes
+     */
+    default long memoryUsage(boolean deep) {
+        long bytes = MemoryEstimator.referenceArray(capacity());
+        if (deep) {
+            for (int index = 0; index < size(); index++) {
+                bytes += MemoryEstimator.sizeOf(get(index));
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Releases the memory held by this storage. On-heap storages are left to the garbage collector,
+     * so this does nothing by default.
+     */
+    default void close() {
+    }
+
+    /**
+     * Reads the value at the given position as an int. Missing values are returned as their null sentinel.
+     *
+     * @param index the position of the value
+     * @return the value as an int
+     */
+    default int getInt(int index) {
+        return ((Number) get(index)).intValue();
+    }
+
+    /**
+     * Reads the value at the given position as a long. Missing values are returned as their null sentinel.
+     *
+     * @param index the position of the value
+     * @return the value as a long
+     */
+    default long getLong(int index) {
+        return ((Number) get(index)).longValue();
+    }
+
+    /**
+     * Reads the value at the given position as a double. Missing values are returned as {@link Double#NaN}.
+     *
+     * @param index the position of the value
+     * @return the value as a double
+     */
+    default double getDouble(int index) {
+        return isNull(index) ? Double.NaN : ((Number) get(index)).doubleValue();
+    }
+
+    /**
+     * Reads the value at the given long position as a double. Missing values are returned as {@link Double#NaN}.
+     *
+     * @param index the position of the value
+     * @return the value as a double
+     */
+    default double getDouble(long index) {
+        return getDouble(Math.toIntExact(index));
+    }
+
+    /**
+     * Hashes the value at the given position into 64 bits, the same way as {@link Hashing#hashObject(Object)}.
+     * Primitive storages hash their values without boxing them. The value must be present.
+     *
+     * @param index the position of the value
+     * @return the hash of the value
+     */
+    default long longHash(int index) {
+        return Hashing.hashObject(get(index));
+    }
+
+    /**
+     * Replaces the value at the given position with an int
+     *
+     * @param index the position of the value
+     * @param value the new value
+     */
+    @SuppressWarnings("unchecked")
+    default void setInt(int index, int value) {
+        set(index, (T) Integer.valueOf(value));
+    }
+
+    /**
+     * Replaces the value at the given position with a long
+     *
+     * @param index the position of the value
+     * @param value the new value
+     */
+    @SuppressWarnings("unchecked")
+    default void setLong(int index, long value) {
+        set(index, (T) Long.valueOf(value));
+    }
+
+    /**
+     * Replaces the value at the given position with a double
+     *
+     * @param index the position of the value
+     * @param value the new value
+     */
+    @SuppressWarnings("unchecked")
+    default void setDouble(int index, double value) {
+        set(index, (T) Double.valueOf(value));
+    }
+
+    /**
+     * Adds an int to the end of this storage
+     *
+     * @param value the value to add
+     */
+    @SuppressWarnings("unchecked")
+    default void appendInt(int value) {
+        append((T) Integer.valueOf(value));
+    }
+
+    /**
+     * Adds a long to the end of this storage
+     *
+     * @param value the value to add
+     */
+    @SuppressWarnings("unchecked")
+    default void appendLong(long value) {
+        append((T) Long.valueOf(value));
+    }
+
+    /**
+     * Adds a double to the end of this storage
+     *
+     * @param value the value to add
+     */
+    @SuppressWarnings("unchecked")
+    default void appendDouble(double value) {
+        append((T) Double.valueOf(value));
+    }
+}
@@ -0,0 +1,391 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.column.storage;
+
+import io.github.dug22.carpentry.utils.Hashing;
+import io.github.dug22.carpentry.utils.Nulls;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Stores dates as {@code int} days since 1970-01-01. {@link LocalDate} objects are only created when a value
+ * is read through {@link #get(int)}, so date arithmetic and comparisons can work on the day numbers directly.
+ * Writes of the LocalDate null sentinel are recorded as missing.
+ * <p>
+ * A day number only covers dates between {@link #MIN_DATE} and {@link #MAX_DATE}, about 5.8 million years either
+ * side of 1970; dates outside of that range, such as {@link LocalDate#MIN} and {@link LocalDate#MAX}, are rejected.
+ */
+public final class DateStorage extends PrimitiveStorage<LocalDate> {
+
+    /**
+     * The earliest date a date storage can hold
+     */
+    public static final LocalDate MIN_DATE = LocalDate.ofEpochDay(Integer.MIN_VALUE);
+
+    /**
+     * The latest date a date storage can hold
+     */
+    public static final LocalDate MAX_DATE = LocalDate.ofEpochDay(Integer.MAX_VALUE);
+
+    private final int nullValue = toEpochDay(Nulls.getDefaultNullValue(LocalDate.class));
+    private int[] days;
+    private int size;
+
+    public DateStorage() {
+        this.days = new int[0];
+    }
+
+    public DateStorage(int initialCapacity) {
+        this.days = new int[initialCapacity];
+    }
+
+    public DateStorage(LocalDate[] data) {
+        this();
+        if (data != null) {
+            setData(data);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int capacity() {
+        return days.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int valueBytes() {
+        return Integer.BYTES;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > days.length) {
+            days = Arrays.copyOf(days, newCapacity(days.length, minCapacity));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void trimToSize() {
+        if (size < days.length) {
+            days = Arrays.copyOf(days, size);
+        }
+        getValidity().trimToSize();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LocalDate get(int index) {
+        Objects.checkIndex(index, size);
+        return isMarkedNull(index) ? null : LocalDate.ofEpochDay(days[index]);
+    }
+
+    /**
+     * Retrieves the day number stored at the given position. Missing values are returned as the day number
+     * of their null sentinel.
+     *
+     * @param index the position of the value
+     * @return the number of days between 1970-01-01 and the value
+     */
+    public int getEpochDay(int index) {
+        Objects.checkIndex(index, size);
+        return days[index];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getInt(int index) {
+        return getEpochDay(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLong(int index) {
+        return getEpochDay(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getDouble(int index) {
+        return isNull(index) ? Double.NaN : getEpochDay(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long longHash(int index) {
+        return Hashing.hashLong(getEpochDay(index));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if the date is before {@link #MIN_DATE} or after {@link #MAX_DATE}
+     */
+    @Override
+    public void set(int index, LocalDate value) {
+        Objects.checkIndex(index, size);
+        days[index] = value != null ? toEpochDay(value) : nullValue;
+        markNull(index, value == null);
+        getValidity().set(index, !Nulls.isNull(value));
+    }
+
+    /**
+     * Replaces the value at the given position with a day number
+     *
+     * @param index    the position of the value
+     * @param epochDay the number of days between 1970-01-01 and the new value
+     */
+    public void setEpochDay(int index, int epochDay) {
+        Objects.checkIndex(index, size);
+        days[index] = epochDay;
+        markNull(index, false);
+        getValidity().set(index, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setInt(int index, int value) {
+        setEpochDay(index, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setNull(int index) {
+        Objects.checkIndex(index, size);
+        days[index] = nullValue;
+        markNull(index, false);
+        getValidity().set(index, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if the date is before {@link #MIN_DATE} or after {@link #MAX_DATE}
+     */
+    @Override
+    public void append(LocalDate value) {
+        appendEpochDay(value != null ? toEpochDay(value) : nullValue);
+        int index = size - 1;
+        getValidity().set(index, !Nulls.isNull(value));
+        if (value == null) {
+            markNull(index, true);
+        }
+    }
+
+    /**
+     * Adds a day number to the end of this storage
+     *
+     * @param epochDay the number of days between 1970-01-01 and the value to add
+     */
+    public void appendEpochDay(int epochDay) {
+        if (size == days.length) {
+            ensureCapacity(size + 1);
+        }
+        days[size++] = epochDay;
+        getValidity().append(true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendInt(int value) {
+        appendEpochDay(value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendNull() {
+        appendEpochDay(nullValue);
+        getValidity().set(size - 1, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendFrom(ColumnStorage<LocalDate> source, int index) {
+        LocalDate value = source.get(index);
+        if (!source.isNull(index)) {
+            appendInt(toEpochDay(value));
+        } else if (value == null) {
+            append(null);
+        } else {
+            appendNull();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendAll(LocalDate[] values) {
+        ensureCapacity(size + values.length);
+        for (LocalDate value : values) {
+            append(value);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setData(LocalDate[] values) {
+        clear();
+        appendAll(values);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LocalDate[] toArray() {
+        LocalDate[] result = new LocalDate[size];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = get(i);
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        clearMarks();
+        getValidity().clear();
+        days = new int[0];
+        size = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void sortAscending() {
+        sort(false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void sortDescending() {
+        sort(true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DateStorage copy() {
+        DateStorage copy = new DateStorage();
+        copy.days = Arrays.copyOf(days, size);
+        copy.size = size;
+        return copyMarksTo(copy);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DateStorage emptyCopy() {
+        return new DateStorage();
+    }
+
+    /**
+     * Sorts the valid values and groups the missing values at one end, so a value equal to the null sentinel
+     * keeps its validity
+     *
+     * @param descending if the values are sorted in descending order, the missing values then coming first
+     */
+    private void sort(boolean descending) {
+        int nullCount = countNull();
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (getValidity().isValid(i)) {
+                days[count++] = days[i];
+            }
+        }
+        Arrays.sort(days, 0, count);
+        if (descending) {
+            for (int left = 0, right = count - 1; left < right; left++, right--) {
+                int temp = days[left];
+                days[left] = days[right];
+                days[right] = temp;
+            }
+            System.arraycopy(days, 0, days, nullCount, count);
+            Arrays.fill(days, 0, nullCount, nullValue);
+        } else {
+            Arrays.fill(days, count, size, nullValue);
+        }
+        groupNulls(nullCount, descending);
+    }
+
+    /**
+     * Converts a date to the day number it is stored as
+     *
+     * @param value the date to convert
+     * @return the number of days between 1970-01-01 and the date
+     * @throws IllegalArgumentException if the date is before {@link #MIN_DATE} or after {@link #MAX_DATE}
+     */
+    static int toEpochDay(LocalDate value) {
+        long epochDay = value.toEpochDay();
+        if (epochDay < Integer.MIN_VALUE || epochDay > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Date " + value + " is outside of the range of date columns, "
+                    + MIN_DATE + " to " + MAX_DATE);
+        }
+        return (int) epochDay;
+    }
+}
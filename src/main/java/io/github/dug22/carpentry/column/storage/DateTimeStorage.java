@@ -0,0 +1,387 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.column.storage;
+
+import io.github.dug22.carpentry.utils.Nulls;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Stores date-times as a {@code long} count of seconds since 1970-01-01T00:00 plus an {@code int} nano-of-second.
+ * {@link LocalDateTime} objects are only created when a value is read through {@link #get(int)}, so arithmetic
+ * and comparisons can work on the second counts directly without losing sub-second precision.
+ * Writes of the LocalDateTime null sentinel are recorded as missing.
+ */
+public final class DateTimeStorage extends PrimitiveStorage<LocalDateTime> {
+
+    private static final int NANO_BITS = 30;
+    private static final long MAX_PACKED_SECONDS = (1L << (Long.SIZE - 1 - NANO_BITS)) - 1;
+
+    private final LocalDateTime nullDateTime = Nulls.getDefaultNullValue(LocalDateTime.class);
+    private final long nullSecond = nullDateTime.toEpochSecond(ZoneOffset.UTC);
+    private final int nullNano = nullDateTime.getNano();
+    private long[] seconds;
+    private int[] nanos;
+    private int size;
+
+    public DateTimeStorage() {
+        this.seconds = new long[0];
+        this.nanos = new int[0];
+    }
+
+    public DateTimeStorage(int initialCapacity) {
+        this.seconds = new long[initialCapacity];
+        this.nanos = new int[initialCapacity];
+    }
+
+    public DateTimeStorage(LocalDateTime[] data) {
+        this();
+        if (data != null) {
+            setData(data);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int capacity() {
+        return seconds.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int valueBytes() {
+        return Long.BYTES + Integer.BYTES;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > seconds.length) {
+            int newCapacity = newCapacity(seconds.length, minCapacity);
+            seconds = Arrays.copyOf(seconds, newCapacity);
+            nanos = Arrays.copyOf(nanos, newCapacity);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void trimToSize() {
+        if (size < seconds.length) {
+            seconds = Arrays.copyOf(seconds, size);
+            nanos = Arrays.copyOf(nanos, size);
+        }
+        getValidity().trimToSize();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LocalDateTime get(int index) {
+        Objects.checkIndex(index, size);
+        return isMarkedNull(index) ? null : LocalDateTime.ofEpochSecond(seconds[index], nanos[index], ZoneOffset.UTC);
+    }
+
+    /**
+     * Retrieves the second count stored at the given position. Missing values are returned as the second count
+     * of their null sentinel.
+     *
+     * @param index the position of the value
+     * @return the number of seconds between 1970-01-01T00:00 and the value
+     */
+    public long getEpochSecond(int index) {
+        Objects.checkIndex(index, size);
+        return seconds[index];
+    }
+
+    /**
+     * Retrieves the nano-of-second stored at the given position
+     *
+     * @param index the position of the value
+     * @return the nano-of-second of the value, from 0 to 999,999,999
+     */
+    public int getNano(int index) {
+        Objects.checkIndex(index, size);
+        return nanos[index];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLong(int index) {
+        return getEpochSecond(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getDouble(int index) {
+        return isNull(index) ? Double.NaN : getEpochSecond(index) + getNano(index) / 1_000_000_000.0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void set(int index, LocalDateTime value) {
+        Objects.checkIndex(index, size);
+        LocalDateTime storedValue = value != null ? value : nullDateTime;
+        seconds[index] = storedValue.toEpochSecond(ZoneOffset.UTC);
+        nanos[index] = storedValue.getNano();
+        markNull(index, value == null);
+        getValidity().set(index, !Nulls.isNull(value));
+    }
+
+    /**
+     * Replaces the value at the given position with a second count and nano-of-second
+     *
+     * @param index       the position of the value
+     * @param epochSecond the number of seconds between 1970-01-01T00:00 and the new value
+     * @param nano        the nano-of-second of the new value, from 0 to 999,999,999
+     */
+    public void setEpochSecond(int index, long epochSecond, int nano) {
+        Objects.checkIndex(index, size);
+        seconds[index] = epochSecond;
+        nanos[index] = nano;
+        markNull(index, false);
+        getValidity().set(index, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setNull(int index) {
+        Objects.checkIndex(index, size);
+        seconds[index] = nullSecond;
+        nanos[index] = nullNano;
+        markNull(index, false);
+        getValidity().set(index, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void append(LocalDateTime value) {
+        LocalDateTime storedValue = value != null ? value : nullDateTime;
+        appendEpochSecond(storedValue.toEpochSecond(ZoneOffset.UTC), storedValue.getNano());
+        int index = size - 1;
+        getValidity().set(index, !Nulls.isNull(value));
+        if (value == null) {
+            markNull(index, true);
+        }
+    }
+
+    /**
+     * Adds a second count and nano-of-second to the end of this storage
+     *
+     * @param epochSecond the number of seconds between 1970-01-01T00:00 and the value to add
+     * @param nano        the nano-of-second of the value to add, from 0 to 999,999,999
+     */
+    public void appendEpochSecond(long epochSecond, int nano) {
+        if (size == seconds.length) {
+            ensureCapacity(size + 1);
+        }
+        seconds[size] = epochSecond;
+        nanos[size] = nano;
+        size++;
+        getValidity().append(true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendNull() {
+        appendEpochSecond(nullSecond, nullNano);
+        getValidity().set(size - 1, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendAll(LocalDateTime[] values) {
+        ensureCapacity(size + values.length);
+        for (LocalDateTime value : values) {
+            append(value);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setData(LocalDateTime[] values) {
+        clear();
+        appendAll(values);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LocalDateTime[] toArray() {
+        LocalDateTime[] result = new LocalDateTime[size];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = get(i);
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        clearMarks();
+        getValidity().clear();
+        seconds = new long[0];
+        nanos = new int[0];
+        size = 0;
+    }
+
+    /**
+     * Sorts the values of this storage in ascending order. When the values span less than 2^33 seconds
+     * (about 272 years), each one is packed into a single {@code long} so the sort stays primitive.
+     */
+    @Override
+    public void sortAscending() {
+        sort(false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void sortDescending() {
+        sort(true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DateTimeStorage copy() {
+        DateTimeStorage copy = new DateTimeStorage();
+        copy.seconds = Arrays.copyOf(seconds, size);
+        copy.nanos = Arrays.copyOf(nanos, size);
+        copy.size = size;
+        return copyMarksTo(copy);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DateTimeStorage emptyCopy() {
+        return new DateTimeStorage();
+    }
+
+    /**
+     * Sorts the valid values and groups the missing values at one end, so a value equal to the null sentinel
+     * keeps its validity
+     *
+     * @param descending if the values are sorted in descending order, the missing values then coming first
+     */
+    private void sort(boolean descending) {
+        int nullCount = countNull();
+        int count = 0;
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            if (getValidity().isValid(i)) {
+                min = Math.min(min, seconds[i]);
+                max = Math.max(max, seconds[i]);
+                seconds[count] = seconds[i];
+                nanos[count++] = nanos[i];
+            }
+        }
+        if (count > 0) {
+            if (max - min >= 0 && max - min <= MAX_PACKED_SECONDS) {
+                sortPacked(count, min);
+            } else {
+                sortBoxed(count);
+            }
+        }
+        if (descending) {
+            for (int left = 0, right = count - 1; left < right; left++, right--) {
+                long second = seconds[left];
+                seconds[left] = seconds[right];
+                seconds[right] = second;
+                int nano = nanos[left];
+                nanos[left] = nanos[right];
+                nanos[right] = nano;
+            }
+            System.arraycopy(seconds, 0, seconds, nullCount, count);
+            System.arraycopy(nanos, 0, nanos, nullCount, count);
+            Arrays.fill(seconds, 0, nullCount, nullSecond);
+            Arrays.fill(nanos, 0, nullCount, nullNano);
+        } else {
+            Arrays.fill(seconds, count, size, nullSecond);
+            Arrays.fill(nanos, count, size, nullNano);
+        }
+        groupNulls(nullCount, descending);
+    }
+
+    private void sortPacked(int count, long minSecond) {
+        long[] packed = new long[count];
+        for (int i = 0; i < count; i++) {
+            packed[i] = (seconds[i] - minSecond) << NANO_BITS | nanos[i];
+        }
+        Arrays.sort(packed);
+        for (int i = 0; i < count; i++) {
+            seconds[i] = (packed[i] >>> NANO_BITS) + minSecond;
+            nanos[i] = (int) (packed[i] & ((1L << NANO_BITS) - 1));
+        }
+    }
+
+    private void sortBoxed(int count) {
+        LocalDateTime[] values = new LocalDateTime[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = LocalDateTime.ofEpochSecond(seconds[i], nanos[i], ZoneOffset.UTC);
+        }
+        Arrays.sort(values);
+        for (int i = 0; i < count; i++) {
+            seconds[i] = values[i].toEpochSecond(ZoneOffset.UTC);
+            nanos[i] = values[i].getNano();
+        }
+    }
+}
@@ -0,0 +1,374 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.column.storage;
+
+import io.github.dug22.carpentry.utils.MemoryEstimator;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Stores fixed-point decimal values as unscaled {@code long}s sharing one scale: a value {@code v} is held as
+ * {@code v * 10^scale}. Missing values are tracked by the validity bitmap and stored as {@link #NULL_VALUE}.
+ * Boxed writes are rounded half-up to the scale of the storage.
+ */
+public final class DecimalStorage extends BaseStorage<BigDecimal> {
+
+    /**
+     * The largest supported scale, as 10^18 is the largest power of ten a {@code long} holds
+     */
+    public static final int MAX_SCALE = 18;
+
+    /**
+     * The unscaled value stored in missing slots
+     */
+    public static final long NULL_VALUE = Long.MIN_VALUE;
+
+    private static final long[] POWERS_OF_TEN = new long[MAX_SCALE + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i <= MAX_SCALE; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final int scale;
+    private final double divisor;
+    private long[] data;
+    private int size;
+
+    public DecimalStorage(int scale) {
+        this(scale, new long[0]);
+        this.size = 0;
+    }
+
+    public DecimalStorage(int scale, long[] unscaledData) {
+        this.scale = checkScale(scale);
+        this.divisor = POWERS_OF_TEN[scale];
+        this.data = unscaledData != null ? unscaledData : new long[0];
+        this.size = this.data.length;
+        getValidity().resize(size, false);
+        for (int i = 0; i < size; i++) {
+            getValidity().set(i, data[i] != NULL_VALUE);
+        }
+    }
+
+    public DecimalStorage(int scale, BigDecimal[] data) {
+        this(scale);
+        if (data != null) {
+            setData(data);
+        }
+    }
+
+    /**
+     * Gets 10 raised to the given power
+     *
+     * @param exponent the power, from 0 to {@link #MAX_SCALE}
+     * @return 10^exponent
+     */
+    public static long powerOfTen(int exponent) {
+        return POWERS_OF_TEN[exponent];
+    }
+
+    /**
+     * Converts a decimal to an unscaled value of the given scale, rounding half-up
+     *
+     * @param value the decimal to convert, or {@code null}
+     * @param scale the scale of the unscaled value
+     * @return the unscaled value, or {@link #NULL_VALUE} if the decimal is {@code null}
+     * @throws ArithmeticException if the unscaled value does not fit in a {@code long}
+     */
+    public static long unscale(BigDecimal value, int scale) {
+        if (value == null) {
+            return NULL_VALUE;
+        }
+        long unscaled = value.setScale(scale, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        if (unscaled == NULL_VALUE) {
+            throw new ArithmeticException("Decimal " + value + " is out of range");
+        }
+        return unscaled;
+    }
+
+    /**
+     * Checks that a scale is supported
+     *
+     * @param scale the scale to check
+     * @return the scale
+     * @throws IllegalArgumentException if the scale is negative or greater than {@link #MAX_SCALE}
+     */
+    public static int checkScale(int scale) {
+        if (scale < 0 || scale > MAX_SCALE) {
+            throw new IllegalArgumentException("Decimal scale must be between 0 and " + MAX_SCALE + ", got " + scale);
+        }
+        return scale;
+    }
+
+    /**
+     * Gets the number of digits after the decimal point of the values of this storage
+     *
+     * @return the scale of this storage
+     */
+    public int scale() {
+        return scale;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int capacity() {
+        return data.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Values are held unscaled, so a deep estimate is the same as a shallow one.
+     */
+    @Override
+    public long memoryUsage(boolean deep) {
+        return MemoryEstimator.array(data.length, Long.BYTES) + getValidity().memoryUsage();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > data.length) {
+            data = Arrays.copyOf(data, newCapacity(data.length, minCapacity));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void trimToSize() {
+        if (size < data.length) {
+            data = Arrays.copyOf(data, size);
+        }
+        getValidity().trimToSize();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BigDecimal get(int index) {
+        Objects.checkIndex(index, size);
+        return getValidity().isValid(index) ? BigDecimal.valueOf(data[index], scale) : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The value is returned unscaled.
+     */
+    @Override
+    public long getLong(int index) {
+        Objects.checkIndex(index, size);
+        return data[index];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getDouble(int index) {
+        Objects.checkIndex(index, size);
+        return getValidity().isValid(index) ? data[index] / divisor : Double.NaN;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void set(int index, BigDecimal value) {
+        setLong(index, unscale(value, scale));
+    }
+
+    /**
+     * {@inheritDoc}
+     * The value is taken as unscaled.
+     */
+    @Override
+    public void setLong(int index, long value) {
+        Objects.checkIndex(index, size);
+        data[index] = value;
+        getValidity().set(index, value != NULL_VALUE);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setNull(int index) {
+        setLong(index, NULL_VALUE);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void append(BigDecimal value) {
+        appendLong(unscale(value, scale));
+    }
+
+    /**
+     * {@inheritDoc}
+     * The value is taken as unscaled.
+     */
+    @Override
+    public void appendLong(long value) {
+        if (size == data.length) {
+            ensureCapacity(size + 1);
+        }
+        data[size++] = value;
+        getValidity().append(value != NULL_VALUE);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendNull() {
+        appendLong(NULL_VALUE);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendAll(BigDecimal[] values) {
+        ensureCapacity(size + values.length);
+        for (BigDecimal value : values) {
+            append(value);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setData(BigDecimal[] values) {
+        clear();
+        appendAll(values);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BigDecimal[] toArray() {
+        BigDecimal[] result = new BigDecimal[size];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Copies the unscaled values of this storage into a new primitive array
+     *
+     * @return a primitive copy of every unscaled value held by this storage
+     */
+    public long[] toLongArray() {
+        return Arrays.copyOf(data, size);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        getValidity().clear();
+        data = new long[0];
+        size = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void sortAscending() {
+        sort(false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void sortDescending() {
+        sort(true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DecimalStorage copy() {
+        return new DecimalStorage(scale, toLongArray());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DecimalStorage emptyCopy() {
+        return new DecimalStorage(scale);
+    }
+
+    /**
+     * Sorts the valid values and groups the missing values at one end, so a value equal to the null sentinel
+     * keeps its validity
+     *
+     * @param descending if the values are sorted in descending order, the missing values then coming first
+     */
+    private void sort(boolean descending) {
+        int nullCount = countNull();
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (getValidity().isValid(i)) {
+                data[count++] = data[i];
+            }
+        }
+        Arrays.sort(data, 0, count);
+        if (descending) {
+            for (int left = 0, right = count - 1; left < right; left++, right--) {
+                long temp = data[left];
+                data[left] = data[right];
+                data[right] = temp;
+            }
+            System.arraycopy(data, 0, data, nullCount, count);
+            Arrays.fill(data, 0, nullCount, NULL_VALUE);
+        } else {
+            Arrays.fill(data, count, size, NULL_VALUE);
+        }
+        groupNulls(nullCount, descending);
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+package io.github.dug22.carpentry.column.storage;
+
+/**
+ * Stores the difference between each value and the one before it, bit-packed with just enough bits for the range of
+ * the differences. Every block of {@value #BLOCK_SIZE} values starts from a full value, so reading a value adds up at
+ * most {@value #BLOCK_SIZE} differences. Suited to monotone columns such as sorted identifiers and timestamps.
+ *
+ * @param <T> the boxed type of the values held by this storage
+ */
+public class DeltaStorage<T> extends EncodedStorage<T> {
+
+    /**
+     * The number of values between two full values
+     */
+    public static final int BLOCK_SIZE = 32;
+
+    private static final int BLOCK_SHIFT = 5;
+
+    private final long[] anchors;
+    private final long minDelta;
+    private final boolean nonDecreasing;
+    private final boolean nonIncreasing;
+    private final int bitWidth;
+    private final long[] packed;
+
+    DeltaStorage(Encoding<T> encoding, long minDelta, long maxDelta) {
+        super(encoding);
+        long[] values = encoding.values();
+        this.minDelta = minDelta;
+        this.bitWidth = BitPacking.bitWidth(maxDelta - minDelta);
+        this.anchors = new long[blockCount(values.length)];
+        this.packed = BitPacking.allocate(values.length, bitWidth);
+        // The differences wrap around when neighbouring values are far apart, so the direction of the column is
+        // decided by comparing the values themselves rather than by the signs of the differences.
+        boolean ascending = true;
+        boolean descending = true;
+        for (int i = 0; i < values.length; i++) {
+            if ((i & (BLOCK_SIZE - 1)) == 0) {
+                anchors[i >>> BLOCK_SHIFT] = values[i];
+            } else {
+                BitPacking.set(packed, i, bitWidth, values[i] - values[i - 1] - minDelta);
+            }
+            if (i > 0) {
+                ascending &= values[i] >= values[i - 1];
+                descending &= values[i] <= values[i - 1];
+            }
+        }
+        this.nonDecreasing = ascending;
+        this.nonIncreasing = descending;
+    }
+
+    private DeltaStorage(DeltaStorage<T> other) {
+        super(other);
+        this.anchors = other.anchors;
+        this.minDelta = other.minDelta;
+        this.nonDecreasing = other.nonDecreasing;
+        this.nonIncreasing = other.nonIncreasing;
+        this.bitWidth = other.bitWidth;
+        this.packed = other.packed;
+    }
+
+    static int blockCount(int count) {
+        return (count + BLOCK_SIZE - 1) >>> BLOCK_SHIFT;
+    }
+
+    /**
+     * Gets the number of bits each difference is packed into
+     *
+     * @return the bit width of the packed differences
+     */
+    public int bitWidth() {
+        return bitWidth;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected long encodedValue(int index) {
+        int start = index & -BLOCK_SIZE;
+        long value = anchors[index >>> BLOCK_SHIFT];
+        for (int i = start + 1; i <= index; i++) {
+            value += minDelta + BitPacking.get(packed, i, bitWidth);
+        }
+        return value;
+    }
+
+    /**
+     * Decodes the blocks one at a time. When the values are monotone, blocks whose bounding full values
+     * exclude the value are skipped without being decoded.
+     */
+    @Override
+    protected ValidityMask matchEncoded(long value) {
+        int count = size();
+        ValidityMask selection = new ValidityMask(count, false);
+        for (int block = 0; block < anchors.length; block++) {
+            boolean hasNext = block + 1 < anchors.length;
+            if (nonDecreasing && (value < anchors[block] || hasNext && value > anchors[block + 1])) {
+                continue;
+            }
+            if (nonIncreasing && (value > anchors[block] || hasNext && value < anchors[block + 1])) {
+                continue;
+            }
+            int start = block << BLOCK_SHIFT;
+            int end = Math.min(start + BLOCK_SIZE, count);
+            long current = anchors[block];
+            for (int i = start; i < end; i++) {
+                if (i > start) {
+                    current += minDelta + BitPacking.get(packed, i, bitWidth);
+                }
+                if (current == value) {
+                    selection.set(i, true);
+                }
+            }
+        }
+        return selection;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long encodedBytes() {
+        return (long) (anchors.length + packed.length) * Long.BYTES;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String encoding() {
+        return "delta";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected DeltaStorage<T> shallowCopy() {
+        return new DeltaStorage<>(this);
+    }
+}
@@ -0,0 +1,361 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.column.storage;
+
+import io.github.dug22.carpentry.utils.MemoryEstimator;
+import io.github.dug22.carpentry.utils.Nulls;
+
+import java.util.*;
+
+/**
+ * Stores strings as dictionary codes. Every distinct string is kept once in the dictionary and each row holds
+ * an {@code int} code pointing into it, so low-cardinality columns take four bytes per row and values can be
+ * compared by code instead of with {@link String#equals(Object)}. A {@code null} reference is stored as
+ * {@link #NULL_CODE}.
+ */
+public final class DictionaryStorage extends BaseStorage<String> {
+
+    /**
+     * The code of a slot written with a {@code null} reference
+     */
+    public static final int NULL_CODE = -1;
+
+    private int[] codes;
+    private int size;
+    private List<String> dictionary;
+    private Map<String, Integer> lookup;
+    private BitSet missingEntries;
+
+    public DictionaryStorage() {
+        this.codes = new int[0];
+        this.dictionary = new ArrayList<>();
+        this.lookup = new HashMap<>();
+        this.missingEntries = new BitSet();
+    }
+
+    public DictionaryStorage(String[] data) {
+        this();
+        if (data != null) {
+            setData(data);
+        }
+    }
+
+    /**
+     * Dictionary encodes the given values, unless they hold too many distinct values for it to pay off. Encoding
+     * stops as soon as the dictionary outgrows the limit, so the values are read at most once.
+     *
+     * @param data        the values to encode
+     * @param maxDistinct the maximum number of distinct values
+     * @return a storage holding the values, or {@code null} if they hold more than {@code maxDistinct} distinct values
+     */
+    public static DictionaryStorage encode(String[] data, int maxDistinct) {
+        DictionaryStorage storage = new DictionaryStorage();
+        storage.ensureCapacity(data.length);
+        for (String value : data) {
+            storage.append(value);
+            if (storage.dictionary.size() > maxDistinct) {
+                return null;
+            }
+        }
+        return storage;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int capacity() {
+        return codes.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Each distinct value is counted once, however many slots refer to it.
+     */
+    @Override
+    public long memoryUsage(boolean deep) {
+        long bytes = MemoryEstimator.array(codes.length, Integer.BYTES) + getValidity().memoryUsage()
+                + MemoryEstimator.array(missingEntries.size() / Long.SIZE, Long.BYTES)
+                + MemoryEstimator.referenceArray(dictionary.size()) + MemoryEstimator.hashMap(lookup.size());
+        if (deep) {
+            for (String entry : dictionary) {
+                bytes += MemoryEstimator.sizeOf(entry) + MemoryEstimator.sizeOf(lookup.get(entry));
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > codes.length) {
+            codes = Arrays.copyOf(codes, newCapacity(codes.length, minCapacity));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void trimToSize() {
+        if (size < codes.length) {
+            codes = Arrays.copyOf(codes, size);
+        }
+        getValidity().trimToSize();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String get(int index) {
+        int code = getCode(index);
+        return code == NULL_CODE ? null : dictionary.get(code);
+    }
+
+    /**
+     * Retrieves the dictionary code stored at the given position
+     *
+     * @param index the position of the value
+     * @return the dictionary code of the value, or {@link #NULL_CODE} for a {@code null} reference
+     */
+    public int getCode(int index) {
+        Objects.checkIndex(index, size);
+        return codes[index];
+    }
+
+    /**
+     * Looks up the dictionary code of a value
+     *
+     * @param value the value to look up
+     * @return the dictionary code of the value, or {@link #NULL_CODE} if the value is not in the dictionary
+     */
+    public int codeOf(Object value) {
+        Integer code = value instanceof String ? lookup.get(value) : null;
+        return code != null ? code : NULL_CODE;
+    }
+
+    /**
+     * Gets the distinct values of this storage, indexed by their code
+     *
+     * @return a read-only view of the dictionary
+     */
+    public List<String> getDictionary() {
+        return Collections.unmodifiableList(dictionary);
+    }
+
+    /**
+     * Gets the number of distinct values held by this storage
+     *
+     * @return the number of entries in the dictionary
+     */
+    public int cardinality() {
+        return dictionary.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void set(int index, String value) {
+        Objects.checkIndex(index, size);
+        int code = encode(value);
+        codes[index] = code;
+        getValidity().set(index, isValidCode(code));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setNull(int index) {
+        set(index, Nulls.getDefaultNullValue(String.class));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void append(String value) {
+        if (size == codes.length) {
+            ensureCapacity(size + 1);
+        }
+        int code = encode(value);
+        codes[size++] = code;
+        getValidity().append(isValidCode(code));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendNull() {
+        append(Nulls.getDefaultNullValue(String.class));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendAll(String[] values) {
+        ensureCapacity(size + values.length);
+        for (String value : values) {
+            append(value);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setData(String[] values) {
+        clear();
+        appendAll(values);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String[] toArray() {
+        String[] result = new String[size];
+        for (int i = 0; i < size; i++) {
+            int code = codes[i];
+            result[i] = code == NULL_CODE ? null : dictionary.get(code);
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        codes = new int[0];
+        size = 0;
+        dictionary = new ArrayList<>();
+        lookup = new HashMap<>();
+        missingEntries = new BitSet();
+        getValidity().clear();
+    }
+
+    /**
+     * Sorts the codes by the natural order of the values they point to. The dictionary itself is left untouched,
+     * so the sort is a counting sort over the codes. {@code null} references are placed first.
+     */
+    @Override
+    public void sortAscending() {
+        sortByRank(false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void sortDescending() {
+        sortByRank(true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DictionaryStorage copy() {
+        DictionaryStorage copy = new DictionaryStorage();
+        copy.codes = Arrays.copyOf(codes, size);
+        copy.size = size;
+        copy.dictionary = new ArrayList<>(dictionary);
+        copy.lookup = new HashMap<>(lookup);
+        copy.missingEntries = (BitSet) missingEntries.clone();
+        return copyValidityTo(copy);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DictionaryStorage emptyCopy() {
+        return new DictionaryStorage();
+    }
+
+    private int encode(String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+
+        Integer code = lookup.get(value);
+        if (code == null) {
+            code = dictionary.size();
+            dictionary.add(value);
+            lookup.put(value, code);
+            if (Nulls.isNull(value)) {
+                missingEntries.set(code);
+            }
+        }
+        return code;
+    }
+
+    private boolean isValidCode(int code) {
+        return code != NULL_CODE && !missingEntries.get(code);
+    }
+
+    private void sortByRank(boolean descending) {
+        int cardinality = dictionary.size();
+        Integer[] order = new Integer[cardinality];
+        for (int i = 0; i < cardinality; i++) {
+            order[i] = i;
+        }
+        Comparator<Integer> byValue = Comparator.comparing(dictionary::get);
+        Arrays.sort(order, descending ? byValue.reversed() : byValue);
+
+        int[] counts = new int[cardinality + 1];
+        for (int i = 0; i < size; i++) {
+            counts[codes[i] + 1]++;
+        }
+
+        int position = 0;
+        if (!descending) {
+            position = fill(NULL_CODE, counts[0], position);
+        }
+        for (int code : order) {
+            position = fill(code, counts[code + 1], position);
+        }
+        if (descending) {
+            fill(NULL_CODE, counts[0], position);
+        }
+
+        for (int i = 0; i < size; i++) {
+            getValidity().set(i, isValidCode(codes[i]));
+        }
+    }
+
+    private int fill(int code, int count, int position) {
+        Arrays.fill(codes, position, position + count, code);
+        return position + count;
+    }
+}
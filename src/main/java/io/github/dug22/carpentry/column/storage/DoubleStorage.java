@@ -0,0 +1,358 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.column.storage;
+
+import io.github.dug22.carpentry.column.transformations.DoubleKernels;
+import io.github.dug22.carpentry.utils.Hashing;
+import io.github.dug22.carpentry.utils.Nulls;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Stores double values in a primitive {@code double[]}. Missing values are tracked by the validity bitmap;
+ * {@code NaN} values are recorded as missing.
+ */
+public final class DoubleStorage extends PrimitiveStorage<Double> {
+
+    private final double nullValue = Nulls.getDefaultNullValue(Double.class);
+    private double[] data;
+    private int size;
+
+    public DoubleStorage() {
+        this.data = new double[0];
+    }
+
+    public DoubleStorage(int initialCapacity) {
+        this.data = new double[initialCapacity];
+    }
+
+    public DoubleStorage(double[] data) {
+        this.data = data != null ? data : new double[0];
+        this.size = this.data.length;
+        getValidity().resize(size, true);
+        for (int i = 0; i < size; i++) {
+            getValidity().set(i, !Double.isNaN(this.data[i]));
+        }
+    }
+
+    public DoubleStorage(Double[] data) {
+        this.data = new double[0];
+        if (data != null) {
+            setData(data);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int capacity() {
+        return data.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int valueBytes() {
+        return Double.BYTES;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > data.length) {
+            data = Arrays.copyOf(data, newCapacity(data.length, minCapacity));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void trimToSize() {
+        if (size < data.length) {
+            data = Arrays.copyOf(data, size);
+        }
+        getValidity().trimToSize();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Double get(int index) {
+        Objects.checkIndex(index, size);
+        return isMarkedNull(index) ? null : data[index];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getInt(int index) {
+        Objects.checkIndex(index, size);
+        return (int) data[index];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLong(int index) {
+        Objects.checkIndex(index, size);
+        return (long) data[index];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getDouble(int index) {
+        Objects.checkIndex(index, size);
+        return getValidity().isValid(index) ? data[index] : Double.NaN;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long longHash(int index) {
+        Objects.checkIndex(index, size);
+        return Hashing.hashDouble(data[index]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void set(int index, Double value) {
+        Objects.checkIndex(index, size);
+        double primitiveValue = value != null ? value : nullValue;
+        data[index] = primitiveValue;
+        markNull(index, value == null);
+        getValidity().set(index, !Double.isNaN(primitiveValue));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setDouble(int index, double value) {
+        Objects.checkIndex(index, size);
+        data[index] = value;
+        markNull(index, false);
+        getValidity().set(index, !Double.isNaN(value));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setNull(int index) {
+        Objects.checkIndex(index, size);
+        data[index] = nullValue;
+        markNull(index, false);
+        getValidity().set(index, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void append(Double value) {
+        double primitiveValue = value != null ? value : nullValue;
+        appendDouble(primitiveValue);
+        int index = size - 1;
+        getValidity().set(index, !Double.isNaN(primitiveValue));
+        if (value == null) {
+            markNull(index, true);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendDouble(double value) {
+        if (size == data.length) {
+            ensureCapacity(size + 1);
+        }
+        data[size++] = value;
+        getValidity().append(!Double.isNaN(value));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendNull() {
+        appendDouble(nullValue);
+        getValidity().set(size - 1, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendAll(Double[] values) {
+        int currentSize = size;
+        ensureCapacity(currentSize + values.length);
+        size = currentSize + values.length;
+        getValidity().resize(size, false);
+        for (int i = 0; i < values.length; i++) {
+            double primitiveValue = values[i] != null ? values[i] : nullValue;
+            data[currentSize + i] = primitiveValue;
+            markNull(currentSize + i, values[i] == null);
+            getValidity().set(currentSize + i, !Double.isNaN(primitiveValue));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setData(Double[] values) {
+        clearMarks();
+        getValidity().clear();
+        getValidity().resize(values.length, false);
+        double[] newData = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            double primitiveValue = values[i] != null ? values[i] : nullValue;
+            newData[i] = primitiveValue;
+            markNull(i, values[i] == null);
+            getValidity().set(i, !Double.isNaN(primitiveValue));
+        }
+        this.data = newData;
+        this.size = newData.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Double[] toArray() {
+        Double[] result = new Double[size];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the values of this storage as an operand of the kernels, sharing the array backing this storage instead
+     * of copying it. Missing values hold {@link Double#NaN}.
+     *
+     * @return an operand reading the values of this storage
+     */
+    public DoubleKernels.Operand operand() {
+        return DoubleKernels.Operand.of(data);
+    }
+
+    /**
+     * Copies the content of this storage into a new primitive array
+     *
+     * @return a primitive copy of every value held by this storage
+     */
+    public double[] toDoubleArray() {
+        return Arrays.copyOf(data, size);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        clearMarks();
+        getValidity().clear();
+        data = new double[0];
+        size = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void sortAscending() {
+        sort(false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void sortDescending() {
+        sort(true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DoubleStorage copy() {
+        return copyMarksTo(new DoubleStorage(toDoubleArray()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DoubleStorage emptyCopy() {
+        return new DoubleStorage();
+    }
+
+    /**
+     * Sorts the valid values and groups the missing values at one end, so a value equal to the null sentinel
+     * keeps its validity
+     *
+     * @param descending if the values are sorted in descending order, the missing values then coming first
+     */
+    private void sort(boolean descending) {
+        int nullCount = countNull();
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (getValidity().isValid(i)) {
+                data[count++] = data[i];
+            }
+        }
+        Arrays.sort(data, 0, count);
+        if (descending) {
+            for (int left = 0, right = count - 1; left < right; left++, right--) {
+                double temp = data[left];
+                data[left] = data[right];
+                data[right] = temp;
+            }
+            System.arraycopy(data, 0, data, nullCount, count);
+            Arrays.fill(data, 0, nullCount, nullValue);
+        } else {
+            Arrays.fill(data, count, size, nullValue);
+        }
+        groupNulls(nullCount, descending);
+    }
+}
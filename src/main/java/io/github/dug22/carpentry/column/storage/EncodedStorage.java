@@ -0,0 +1,686 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+package io.github.dug22.carpentry.column.storage;
+
+import io.github.dug22.carpentry.utils.MemoryEstimator;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.function.LongFunction;
+
+/**
+ * Base class of the compressed storages of integral columns (integers, longs and dates as epoch days). The values are
+ * encoded once and never changed in place: the first write decodes them into an ordinary storage of the original
+ * kind, which serves every call from then on. The count, sum, minimum and maximum of the valid values are recorded
+ * while encoding, so aggregates on an encoded storage take constant time.
+ * Missing slots are encoded with the value of the closest valid slot before them, which keeps runs and deltas intact.
+ *
+ * @param <T> the boxed type of the values held by this storage
+ */
+public abstract class EncodedStorage<T> implements ColumnStorage<T> {
+
+    private final ColumnStorage<T> prototype;
+    private final LongFunction<T> boxer;
+    private final boolean intWidth;
+    private final int size;
+    private final ValidityMask validity;
+    private final BitSet nullReferences;
+    private final long nullValue;
+    private final int validCount;
+    private final long min;
+    private final long max;
+    private final BigInteger sum;
+    private ColumnStorage<T> decoded;
+
+    protected EncodedStorage(Encoding<T> encoding) {
+        this.prototype = encoding.prototype;
+        this.boxer = encoding.boxer;
+        this.intWidth = encoding.intWidth;
+        this.size = encoding.values.length;
+        this.validity = encoding.validity;
+        this.nullReferences = encoding.nullReferences;
+        this.nullValue = encoding.nullValue;
+        this.validCount = encoding.validCount;
+        this.min = encoding.min;
+        this.max = encoding.max;
+        this.sum = encoding.sum();
+    }
+
+    protected EncodedStorage(EncodedStorage<T> other) {
+        this.prototype = other.prototype;
+        this.boxer = other.boxer;
+        this.intWidth = other.intWidth;
+        this.size = other.size;
+        this.validity = other.validity;
+        this.nullReferences = other.nullReferences;
+        this.nullValue = other.nullValue;
+        this.validCount = other.validCount;
+        this.min = other.min;
+        this.max = other.max;
+        this.sum = other.sum;
+    }
+
+    /**
+     * Compresses the values of a storage with whichever of run-length, delta or frame-of-reference encoding takes the
+     * fewest bits, judging by the number of runs and the ranges of the values and of their deltas.
+     *
+     * @param source   the storage to compress
+     * @param boxer    converts an encoded value back to its boxed form
+     * @param intWidth if the values fit in an int, so the plain storage takes 32 bits per value instead of 64
+     * @param <T>      the boxed type of the values held by the storage
+     * @return the smallest encoding of the values, or a copy of the source if no encoding is smaller
+     */
+    public static <T> ColumnStorage<T> compress(ColumnStorage<T> source, LongFunction<T> boxer, boolean intWidth) {
+        if (source instanceof EncodedStorage<T> encoded && !encoded.isDecoded()) {
+            return source.copy();
+        }
+        Encoding<T> encoding = new Encoding<>(source, boxer, intWidth);
+        long[] values = encoding.values;
+        int count = values.length;
+        int runs = count > 0 ? 1 : 0;
+        long minDelta = 0;
+        long maxDelta = 0;
+        for (int i = 1; i < count; i++) {
+            long delta = values[i] - values[i - 1];
+            if (delta != 0) {
+                runs++;
+            }
+            if (i == 1 || delta < minDelta) {
+                minDelta = delta;
+            }
+            if (i == 1 || delta > maxDelta) {
+                maxDelta = delta;
+            }
+        }
+
+        long plainBits = (long) count * (intWidth ? Integer.SIZE : Long.SIZE);
+        long runLengthBits = (long) runs * (Long.SIZE + Integer.SIZE);
+        long frameOfReferenceBits = (long) count * BitPacking.bitWidth(encoding.max - encoding.min);
+        long deltaBits = (long) count * BitPacking.bitWidth(maxDelta - minDelta)
+                + (long) DeltaStorage.blockCount(count) * Long.SIZE;
+        long bestBits = Math.min(runLengthBits, Math.min(frameOfReferenceBits, deltaBits));
+        if (count == 0 || bestBits >= plainBits) {
+            return source.copy();
+        }
+        if (bestBits == runLengthBits) {
+            return new RunLengthStorage<>(encoding, runs);
+        }
+        if (bestBits == frameOfReferenceBits) {
+            return new FrameOfReferenceStorage<>(encoding);
+        }
+        return new DeltaStorage<>(encoding, minDelta, maxDelta);
+    }
+
+    /**
+     * Reads the encoded value at the given position. Missing slots hold the value of the closest valid slot before them.
+     *
+     * @param index the position of the value
+     * @return the encoded value
+     */
+    protected abstract long encodedValue(int index);
+
+    /**
+     * Selects the positions whose encoded value is equal to the given value, missing slots included
+     *
+     * @param value the value to look for
+     * @return a mask whose valid slots are the matching positions
+     */
+    protected abstract ValidityMask matchEncoded(long value);
+
+    /**
+     * Gets the number of bytes taken by the encoded values, not counting the validity bitmap
+     *
+     * @return the size of the encoded values in bytes
+     */
+    public abstract long encodedBytes();
+
+    /**
+     * Gets the name of the encoding used by this storage
+     *
+     * @return the name of the encoding
+     */
+    public abstract String encoding();
+
+    /**
+     * Checks to see if this storage has been written to and now holds its values decoded
+     *
+     * @return if the values of this storage have been decoded
+     */
+    public boolean isDecoded() {
+        return decoded != null;
+    }
+
+    /**
+     * Gets the number of valid values
+     *
+     * @return the number of valid values
+     */
+    public int validCount() {
+        return decoded != null ? decoded.size() - decoded.countNull() : validCount;
+    }
+
+    /**
+     * Gets the sum of the valid values. The values are summed exactly and the result is rounded once.
+     *
+     * @return the sum of the valid values
+     * @throws IllegalStateException if the values have been decoded
+     */
+    public double sum() {
+        checkEncoded();
+        return sum.doubleValue();
+    }
+
+    /**
+     * Gets the mean of the valid values, divided from their exact sum
+     *
+     * @return the mean of the valid values, or NaN if there are none
+     * @throws IllegalStateException if the values have been decoded
+     */
+    public double mean() {
+        checkEncoded();
+        return validCount > 0
+                ? new BigDecimal(sum).divide(BigDecimal.valueOf(validCount), MathContext.DECIMAL64).doubleValue()
+                : Double.NaN;
+    }
+
+    /**
+     * Gets the smallest valid value
+     *
+     * @return the smallest valid value
+     * @throws IllegalStateException if the values have been decoded or none is valid
+     */
+    public long min() {
+        checkStatistics();
+        return min;
+    }
+
+    /**
+     * Gets the largest valid value
+     *
+     * @return the largest valid value
+     * @throws IllegalStateException if the values have been decoded or none is valid
+     */
+    public long max() {
+        checkStatistics();
+        return max;
+    }
+
+    /**
+     * Selects the rows holding a value equal to the given one, comparing the way {@link Object#equals(Object)} would
+     * compare it with the boxed values of this storage. Only the rows whose encoding could match are inspected.
+     *
+     * @param value the value to look for
+     * @return a mask whose valid slots are the matching rows
+     */
+    public ValidityMask selectEqual(Object value) {
+        if (decoded != null) {
+            ValidityMask selection = new ValidityMask(size, false);
+            for (int i = 0; i < size; i++) {
+                if (Objects.equals(value, decoded.get(i))) {
+                    selection.set(i, true);
+                }
+            }
+            return selection;
+        }
+        long candidate;
+        if (value instanceof Number number) {
+            candidate = number.longValue();
+        } else if (value instanceof LocalDate date) {
+            candidate = date.toEpochDay();
+        } else {
+            return new ValidityMask(size, false);
+        }
+        if (!value.equals(boxer.apply(candidate))) {
+            return new ValidityMask(size, false);
+        }
+        ValidityMask selection = candidate >= min && candidate <= max && validCount > 0
+                ? matchEncoded(candidate) : new ValidityMask(size, false);
+        for (int i = validity.nextInvalid(0); i >= 0; i = validity.nextInvalid(i + 1)) {
+            selection.set(i, candidate == nullValue && !nullReferences.get(i));
+        }
+        return selection;
+    }
+
+    private void checkEncoded() {
+        if (decoded != null) {
+            throw new IllegalStateException("The values of this storage have been decoded");
+        }
+    }
+
+    private void checkStatistics() {
+        checkEncoded();
+        if (validCount == 0) {
+            throw new IllegalStateException("This storage holds no valid value");
+        }
+    }
+
+    /**
+     * Replaces the encoded values with an ordinary storage of the original kind, if that has not happened yet
+     *
+     * @return the storage holding the values of this storage from now on
+     */
+    public ColumnStorage<T> decode() {
+        if (decoded == null) {
+            ColumnStorage<T> storage = prototype.emptyCopy();
+            storage.ensureCapacity(size);
+            for (int i = 0; i < size; i++) {
+                if (nullReferences.get(i)) {
+                    storage.append(null);
+                } else if (!validity.isValid(i)) {
+                    storage.appendNull();
+                } else if (intWidth) {
+                    storage.appendInt((int) encodedValue(i));
+                } else {
+                    storage.appendLong(encodedValue(i));
+                }
+            }
+            decoded = storage;
+        }
+        return decoded;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return decoded != null ? decoded.size() : size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int capacity() {
+        return decoded != null ? decoded.capacity() : size;
+    }
+
+    /**
+     * {@inheritDoc}
+     * A storage that was decoded by a write also counts its decoded copy.
+     */
+    @Override
+    public long memoryUsage(boolean deep) {
+        long bytes = MemoryEstimator.align(MemoryEstimator.ARRAY_HEADER + encodedBytes()) + validity.memoryUsage()
+                + MemoryEstimator.array(nullReferences.size() / Long.SIZE, Long.BYTES);
+        return decoded != null ? bytes + decoded.memoryUsage(deep) : bytes;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > capacity()) {
+            decode().ensureCapacity(minCapacity);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void trimToSize() {
+        if (decoded != null) {
+            decoded.trimToSize();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T get(int index) {
+        if (decoded != null) {
+            return decoded.get(index);
+        }
+        Objects.checkIndex(index, size);
+        if (!validity.isValid(index)) {
+            return nullReferences.get(index) ? null : boxer.apply(nullValue);
+        }
+        return boxer.apply(encodedValue(index));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getInt(int index) {
+        return decoded != null ? decoded.getInt(index) : (int) getLong(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLong(int index) {
+        if (decoded != null) {
+            return decoded.getLong(index);
+        }
+        Objects.checkIndex(index, size);
+        return validity.isValid(index) ? encodedValue(index) : nullValue;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getDouble(int index) {
+        if (decoded != null) {
+            return decoded.getDouble(index);
+        }
+        Objects.checkIndex(index, size);
+        return validity.isValid(index) ? encodedValue(index) : Double.NaN;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isNull(int index) {
+        if (decoded != null) {
+            return decoded.isNull(index);
+        }
+        Objects.checkIndex(index, size);
+        return !validity.isValid(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int countNull() {
+        return decoded != null ? decoded.countNull() : size - validCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ValidityMask getValidity() {
+        return decoded != null ? decoded.getValidity() : validity;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void set(int index, T value) {
+        decode().set(index, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setInt(int index, int value) {
+        decode().setInt(index, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setLong(int index, long value) {
+        decode().setLong(index, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setDouble(int index, double value) {
+        decode().setDouble(index, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setNull(int index) {
+        decode().setNull(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void append(T value) {
+        decode().append(value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendInt(int value) {
+        decode().appendInt(value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendLong(long value) {
+        decode().appendLong(value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendDouble(double value) {
+        decode().appendDouble(value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendNull() {
+        decode().appendNull();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendAll(T[] values) {
+        decode().appendAll(values);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setData(T[] data) {
+        decode().setData(data);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T[] toArray() {
+        if (decoded != null) {
+            return decoded.toArray();
+        }
+        T[] result = Arrays.copyOf(prototype.toArray(), size);
+        for (int i = 0; i < size; i++) {
+            result[i] = get(i);
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        decode().clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void sortAscending() {
+        decode().sortAscending();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void sortDescending() {
+        decode().sortDescending();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ColumnStorage<T> emptyCopy() {
+        return prototype.emptyCopy();
+    }
+
+    /**
+     * Creates a copy of this storage. Encoded values are never changed in place, so the copy shares them.
+     *
+     * @return a copy of this storage
+     */
+    @Override
+    public ColumnStorage<T> copy() {
+        return decoded != null ? decoded.copy() : shallowCopy();
+    }
+
+    /**
+     * Creates a storage sharing the encoded values of this storage
+     *
+     * @return a new storage sharing the encoded values
+     */
+    protected abstract EncodedStorage<T> shallowCopy();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        if (decoded != null) {
+            decoded.close();
+        }
+    }
+
+    /**
+     * The values of a storage being encoded, along with their validity and statistics
+     *
+     * @param <T> the boxed type of the values
+     */
+    protected static final class Encoding<T> {
+
+        private final ColumnStorage<T> prototype;
+        private final LongFunction<T> boxer;
+        private final boolean intWidth;
+        private final ValidityMask validity;
+        private final BitSet nullReferences = new BitSet();
+        private final long[] values;
+        private long nullValue;
+        private int validCount;
+        private long min;
+        private long max;
+        private long sumHigh;
+        private long sumLow;
+
+        private Encoding(ColumnStorage<T> source, LongFunction<T> boxer, boolean intWidth) {
+            this.prototype = source.emptyCopy();
+            this.boxer = boxer;
+            this.intWidth = intWidth;
+            int count = source.size();
+            this.values = new long[count];
+            this.validity = new ValidityMask(count, true);
+            int firstValid = -1;
+            boolean nullValueFound = false;
+            for (int i = 0; i < count; i++) {
+                if (source.isNull(i)) {
+                    validity.set(i, false);
+                    if (source.get(i) == null) {
+                        nullReferences.set(i);
+                    }
+                    if (!nullValueFound) {
+                        nullValue = source.getLong(i);
+                        nullValueFound = true;
+                    }
+                    continue;
+                }
+                long value = source.getLong(i);
+                values[i] = value;
+                if (firstValid < 0) {
+                    firstValid = i;
+                    min = value;
+                    max = value;
+                } else {
+                    min = Math.min(min, value);
+                    max = Math.max(max, value);
+                }
+                long sum = sumLow + value;
+                sumHigh += (value >> 63) + (Long.compareUnsigned(sum, sumLow) < 0 ? 1 : 0);
+                sumLow = sum;
+                validCount++;
+            }
+            long filler = firstValid >= 0 ? values[firstValid] : 0;
+            for (int i = 0; i < count; i++) {
+                if (validity.isValid(i)) {
+                    filler = values[i];
+                } else {
+                    values[i] = filler;
+                }
+            }
+        }
+
+        long[] values() {
+            return values;
+        }
+
+        ValidityMask validity() {
+            return validity;
+        }
+
+        /**
+         * Gets the exact sum of the valid values, accumulated in 128 bits
+         */
+        BigInteger sum() {
+            BigInteger unsignedLow = BigInteger.valueOf(sumLow & Long.MAX_VALUE);
+            if (sumLow < 0) {
+                unsignedLow = unsignedLow.setBit(63);
+            }
+            return BigInteger.valueOf(sumHigh).shiftLeft(64).add(unsignedLow);
+        }
+
+        long min() {
+            return min;
+        }
+
+        long max() {
+            return max;
+        }
+    }
+}
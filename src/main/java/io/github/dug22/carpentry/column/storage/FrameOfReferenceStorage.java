@@ -0,0 +1,105 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+package io.github.dug22.carpentry.column.storage;
+
+/**
+ * Stores each value as its distance from the smallest value, bit-packed with just enough bits for the largest
+ * distance. Suited to columns whose values span a small range, whatever their order.
+ *
+ * @param <T> the boxed type of the values held by this storage
+ */
+public class FrameOfReferenceStorage<T> extends EncodedStorage<T> {
+
+    private final long reference;
+    private final int bitWidth;
+    private final long[] packed;
+
+    FrameOfReferenceStorage(Encoding<T> encoding) {
+        super(encoding);
+        long[] values = encoding.values();
+        this.reference = encoding.min();
+        this.bitWidth = BitPacking.bitWidth(encoding.max() - reference);
+        this.packed = BitPacking.allocate(values.length, bitWidth);
+        for (int i = 0; i < values.length; i++) {
+            BitPacking.set(packed, i, bitWidth, values[i] - reference);
+        }
+    }
+
+    private FrameOfReferenceStorage(FrameOfReferenceStorage<T> other) {
+        super(other);
+        this.reference = other.reference;
+        this.bitWidth = other.bitWidth;
+        this.packed = other.packed;
+    }
+
+    /**
+     * Gets the number of bits each value is packed into
+     *
+     * @return the bit width of the packed values
+     */
+    public int bitWidth() {
+        return bitWidth;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected long encodedValue(int index) {
+        return reference + BitPacking.get(packed, index, bitWidth);
+    }
+
+    /**
+     * Compares the packed distances against the distance of the value, so no value is rebuilt
+     */
+    @Override
+    protected ValidityMask matchEncoded(long value) {
+        int count = size();
+        long code = value - reference;
+        ValidityMask selection = new ValidityMask(count, false);
+        for (int i = 0; i < count; i++) {
+            if (BitPacking.get(packed, i, bitWidth) == code) {
+                selection.set(i, true);
+            }
+        }
+        return selection;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long encodedBytes() {
+        return (long) packed.length * Long.BYTES;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String encoding() {
+        return "frame-of-reference";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected FrameOfReferenceStorage<T> shallowCopy() {
+        return new FrameOfReferenceStorage<>(this);
+    }
+}
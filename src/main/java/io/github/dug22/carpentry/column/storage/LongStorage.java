@@ -0,0 +1,344 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.column.storage;
+
+import io.github.dug22.carpentry.utils.Hashing;
+import io.github.dug22.carpentry.utils.Nulls;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Stores long values in a primitive {@code long[]}. Missing values are tracked by the validity bitmap;
+ * boxed writes of the Long null sentinel are recorded as missing.
+ */
+public final class LongStorage extends PrimitiveStorage<Long> {
+
+    private final long nullValue = Nulls.getDefaultNullValue(Long.class);
+    private long[] data;
+    private int size;
+
+    public LongStorage() {
+        this.data = new long[0];
+    }
+
+    public LongStorage(int initialCapacity) {
+        this.data = new long[initialCapacity];
+    }
+
+    public LongStorage(long[] data) {
+        this.data = data != null ? data : new long[0];
+        this.size = this.data.length;
+        getValidity().resize(size, true);
+    }
+
+    public LongStorage(Long[] data) {
+        this.data = new long[0];
+        if (data != null) {
+            setData(data);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int capacity() {
+        return data.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int valueBytes() {
+        return Long.BYTES;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > data.length) {
+            data = Arrays.copyOf(data, newCapacity(data.length, minCapacity));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void trimToSize() {
+        if (size < data.length) {
+            data = Arrays.copyOf(data, size);
+        }
+        getValidity().trimToSize();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long get(int index) {
+        Objects.checkIndex(index, size);
+        return isMarkedNull(index) ? null : data[index];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getInt(int index) {
+        Objects.checkIndex(index, size);
+        return (int) data[index];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLong(int index) {
+        Objects.checkIndex(index, size);
+        return data[index];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getDouble(int index) {
+        Objects.checkIndex(index, size);
+        return getValidity().isValid(index) ? data[index] : Double.NaN;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long longHash(int index) {
+        Objects.checkIndex(index, size);
+        return Hashing.hashLong(data[index]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void set(int index, Long value) {
+        Objects.checkIndex(index, size);
+        long primitiveValue = value != null ? value : nullValue;
+        data[index] = primitiveValue;
+        markNull(index, value == null);
+        getValidity().set(index, primitiveValue != nullValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setLong(int index, long value) {
+        Objects.checkIndex(index, size);
+        data[index] = value;
+        markNull(index, false);
+        getValidity().set(index, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setNull(int index) {
+        Objects.checkIndex(index, size);
+        data[index] = nullValue;
+        markNull(index, false);
+        getValidity().set(index, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void append(Long value) {
+        long primitiveValue = value != null ? value : nullValue;
+        appendLong(primitiveValue);
+        int index = size - 1;
+        getValidity().set(index, primitiveValue != nullValue);
+        if (value == null) {
+            markNull(index, true);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendLong(long value) {
+        if (size == data.length) {
+            ensureCapacity(size + 1);
+        }
+        data[size++] = value;
+        getValidity().append(true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendNull() {
+        appendLong(nullValue);
+        getValidity().set(size - 1, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendAll(Long[] values) {
+        int currentSize = size;
+        ensureCapacity(currentSize + values.length);
+        size = currentSize + values.length;
+        getValidity().resize(size, false);
+        for (int i = 0; i < values.length; i++) {
+            long primitiveValue = values[i] != null ? values[i] : nullValue;
+            data[currentSize + i] = primitiveValue;
+            markNull(currentSize + i, values[i] == null);
+            getValidity().set(currentSize + i, primitiveValue != nullValue);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setData(Long[] values) {
+        clearMarks();
+        getValidity().clear();
+        getValidity().resize(values.length, false);
+        long[] newData = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            long primitiveValue = values[i] != null ? values[i] : nullValue;
+            newData[i] = primitiveValue;
+            markNull(i, values[i] == null);
+            getValidity().set(i, primitiveValue != nullValue);
+        }
+        this.data = newData;
+        this.size = newData.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long[] toArray() {
+        Long[] result = new Long[size];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Copies the content of this storage into a new primitive array
+     *
+     * @return a primitive copy of every value held by this storage
+     */
+    public long[] toLongArray() {
+        return Arrays.copyOf(data, size);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        clearMarks();
+        getValidity().clear();
+        data = new long[0];
+        size = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void sortAscending() {
+        sort(false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void sortDescending() {
+        sort(true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LongStorage copy() {
+        return copyMarksTo(new LongStorage(toLongArray()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LongStorage emptyCopy() {
+        return new LongStorage();
+    }
+
+    /**
+     * Sorts the valid values and groups the missing values at one end, so a value equal to the null sentinel
+     * keeps its validity
+     *
+     * @param descending if the values are sorted in descending order, the missing values then coming first
+     */
+    private void sort(boolean descending) {
+        int nullCount = countNull();
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (getValidity().isValid(i)) {
+                data[count++] = data[i];
+            }
+        }
+        Arrays.sort(data, 0, count);
+        if (descending) {
+            for (int left = 0, right = count - 1; left < right; left++, right--) {
+                long temp = data[left];
+                data[left] = data[right];
+                data[right] = temp;
+            }
+            System.arraycopy(data, 0, data, nullCount, count);
+            Arrays.fill(data, 0, nullCount, nullValue);
+        } else {
+            Arrays.fill(data, count, size, nullValue);
+        }
+        groupNulls(nullCount, descending);
+    }
+}
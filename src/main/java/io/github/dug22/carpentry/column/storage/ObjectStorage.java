@@ -0,0 +1,276 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+package io.github.dug22.carpentry.column.storage;
+
+import io.github.dug22.carpentry.utils.Nulls;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Objects;
+
+/**
+ * Stores a column's values as an array of references. Used by columns whose values are objects
+ * (strings, characters, booleans, dates, ...). A value is recorded as missing in the validity bitmap when it is
+ * written, so reads never have to look the value up in {@link Nulls}.
+ *
+ * @param <T> the type of the stored values
+ */
+public final class ObjectStorage<T> extends BaseStorage<T> {
+
+    private final Class<T> type;
+    private T[] data;
+    private int size;
+
+    public ObjectStorage(Class<T> type) {
+        this.type = type;
+        this.data = newArray(0);
+    }
+
+    public ObjectStorage(Class<T> type, T[] data) {
+        this.type = type;
+        this.data = data != null ? data : newArray(0);
+        this.size = this.data.length;
+        recordValidity();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int capacity() {
+        return data.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long memoryUsage(boolean deep) {
+        return super.memoryUsage(deep) + getValidity().memoryUsage();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > data.length) {
+            data = Arrays.copyOf(data, newCapacity(data.length, minCapacity));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void trimToSize() {
+        if (size < data.length) {
+            data = Arrays.copyOf(data, size);
+        }
+        getValidity().trimToSize();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T get(int index) {
+        Objects.checkIndex(index, size);
+        return data[index];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void set(int index, T value) {
+        Objects.checkIndex(index, size);
+        data[index] = value;
+        getValidity().set(index, !Nulls.isNull(value));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setNull(int index) {
+        set(index, nullValue());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void append(T value) {
+        if (size == data.length) {
+            ensureCapacity(size + 1);
+        }
+        data[size++] = value;
+        getValidity().append(!Nulls.isNull(value));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendNull() {
+        append(nullValue());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendAll(T[] values) {
+        int currentSize = size;
+        ensureCapacity(currentSize + values.length);
+        System.arraycopy(values, 0, data, currentSize, values.length);
+        size = currentSize + values.length;
+        getValidity().resize(size, false);
+        for (int i = 0; i < values.length; i++) {
+            getValidity().set(currentSize + i, !Nulls.isNull(values[i]));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setData(T[] data) {
+        this.data = data;
+        this.size = data.length;
+        recordValidity();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T[] toArray() {
+        T[] result = newArray(size);
+        System.arraycopy(data, 0, result, 0, result.length);
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        data = newArray(0);
+        size = 0;
+        getValidity().clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void sortAscending() {
+        sort(false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void sortDescending() {
+        sort(true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ObjectStorage<T> copy() {
+        return copyValidityTo(new ObjectStorage<>(type, toArray()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ObjectStorage<T> emptyCopy() {
+        return new ObjectStorage<>(type);
+    }
+
+    /**
+     * Gets the class of the stored values
+     *
+     * @return the class of the stored values
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    private T nullValue() {
+        return Nulls.getDefaultNullValue(type);
+    }
+
+    /**
+     * Records which of the values written all at once are missing
+     */
+    private void recordValidity() {
+        getValidity().clear();
+        getValidity().resize(size, false);
+        for (int i = 0; i < size; i++) {
+            getValidity().set(i, !Nulls.isNull(data[i]));
+        }
+    }
+
+    /**
+     * Sorts the valid values and groups the missing values at one end, keeping the missing values as they were written
+     *
+     * @param descending if the values are sorted in descending order, the missing values then coming first
+     */
+    private void sort(boolean descending) {
+        int nullCount = countNull();
+        T[] missing = newArray(nullCount);
+        int count = 0;
+        int missingCount = 0;
+        for (int i = 0; i < size; i++) {
+            if (getValidity().isValid(i)) {
+                data[count++] = data[i];
+            } else {
+                missing[missingCount++] = data[i];
+            }
+        }
+        if (descending) {
+            Arrays.sort(data, 0, count, Collections.reverseOrder());
+            System.arraycopy(data, 0, data, nullCount, count);
+            System.arraycopy(missing, 0, data, 0, nullCount);
+        } else {
+            Arrays.sort(data, 0, count);
+            System.arraycopy(missing, 0, data, count, nullCount);
+        }
+        groupNulls(nullCount, descending);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T[] newArray(int length) {
+        return (T[]) Array.newInstance(type, length);
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.column.storage;
+
+import io.github.dug22.carpentry.utils.Nulls;
+
+import java.util.Arrays;
+
+/**
+ * Stores byte values off-heap, 1 bytes per value. Missing values are tracked by the validity bitmap;
+ * boxed writes of the Byte null sentinel are recorded as missing.
+ */
+public final class OffHeapByteStorage extends OffHeapStorage<Byte> {
+
+    private final byte nullValue = Nulls.getDefaultNullValue(Byte.class);
+
+    public OffHeapByteStorage() {
+        this(0);
+    }
+
+    public OffHeapByteStorage(int initialCapacity) {
+        super(Byte.BYTES, initialCapacity);
+    }
+
+    public OffHeapByteStorage(byte[] data) {
+        this(data != null ? data.length : 0);
+        if (data != null) {
+            int first = appendSlots(data.length);
+            for (int i = 0; i < data.length; i++) {
+                writeByte(first + i, data[i]);
+            }
+            getValidity().fill(first, first + data.length, true);
+        }
+    }
+
+    public OffHeapByteStorage(Byte[] data) {
+        this(data != null ? data.length : 0);
+        if (data != null) {
+            appendAll(data);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Byte get(int index) {
+        byte value = readByte(index);
+        return isMarkedNull(index) ? null : value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getInt(int index) {
+        return readByte(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLong(int index) {
+        return readByte(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getDouble(int index) {
+        byte value = readByte(index);
+        return getValidity().isValid(index) ? value : Double.NaN;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void set(int index, Byte value) {
+        byte primitiveValue = value != null ? value : nullValue;
+        writeByte(index, primitiveValue);
+        markNull(index, value == null);
+        getValidity().set(index, primitiveValue != nullValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setInt(int index, int value) {
+        writeByte(index, (byte) value);
+        markNull(index, false);
+        getValidity().set(index, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setNull(int index) {
+        writeByte(index, nullValue);
+        markNull(index, false);
+        getValidity().set(index, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void append(Byte value) {
+        byte primitiveValue = value != null ? value : nullValue;
+        appendInt(primitiveValue);
+        int index = size() - 1;
+        getValidity().set(index, primitiveValue != nullValue);
+        if (value == null) {
+            markNull(index, true);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendInt(int value) {
+        writeByte(appendSlot(), (byte) value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendNull() {
+        appendInt(nullValue);
+        getValidity().set(size() - 1, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendAll(Byte[] values) {
+        int first = appendSlots(values.length);
+        for (int i = 0; i < values.length; i++) {
+            byte primitiveValue = values[i] != null ? values[i] : nullValue;
+            writeByte(first + i, primitiveValue);
+            markNull(first + i, values[i] == null);
+            getValidity().set(first + i, primitiveValue != nullValue);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setData(Byte[] values) {
+        clear();
+        appendAll(values);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Byte[] toArray() {
+        Byte[] result = new Byte[size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Copies the content of this storage into a new primitive array
+     *
+     * @return a primitive copy of every value held by this storage
+     */
+    public byte[] toByteArray() {
+        byte[] result = new byte[size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = readByte(i);
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void sortAscending() {
+        sort(false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void sortDescending() {
+        sort(true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OffHeapByteStorage copy() {
+        return copyTo(new OffHeapByteStorage(size()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OffHeapByteStorage emptyCopy() {
+        return new OffHeapByteStorage();
+    }
+
+    /**
+     * Sorts the valid values and groups the missing values at one end, so a value equal to the null sentinel
+     * keeps its validity
+     *
+     * @param descending if the values are sorted in descending order, the missing values then coming first
+     */
+    private void sort(boolean descending) {
+        int nullCount = countNull();
+        byte[] values = new byte[size() - nullCount];
+        int count = 0;
+        for (int i = 0; i < size(); i++) {
+            if (getValidity().isValid(i)) {
+                values[count++] = readByte(i);
+            }
+        }
+        Arrays.sort(values);
+        int firstValue = descending ? nullCount : 0;
+        for (int i = 0; i < count; i++) {
+            writeByte(firstValue + i, values[descending ? count - 1 - i : i]);
+        }
+        int firstNull = descending ? 0 : count;
+        for (int i = firstNull; i < firstNull + nullCount; i++) {
+            writeByte(i, nullValue);
+        }
+        groupNulls(nullCount, descending);
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.column.storage;
+
+import io.github.dug22.carpentry.utils.Nulls;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Stores dates off-heap as {@code int} days since 1970-01-01, 4 bytes per value, so it holds the same range of
+ * dates as {@link DateStorage}. Writes of the LocalDate null sentinel are recorded as missing.
+ */
+public final class OffHeapDateStorage extends OffHeapStorage<LocalDate> {
+
+    private final int nullValue = DateStorage.toEpochDay(Nulls.getDefaultNullValue(LocalDate.class));
+
+    public OffHeapDateStorage() {
+        this(0);
+    }
+
+    public OffHeapDateStorage(int initialCapacity) {
+        super(Integer.BYTES, initialCapacity);
+    }
+
+    public OffHeapDateStorage(LocalDate[] data) {
+        this(data != null ? data.length : 0);
+        if (data != null) {
+            appendAll(data);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LocalDate get(int index) {
+        int day = readInt(index);
+        return isMarkedNull(index) ? null : LocalDate.ofEpochDay(day);
+    }
+
+    /**
+     * Retrieves the day number stored at the given position. Missing values are returned as the day number
+     * of their null sentinel.
+     *
+     * @param index the position of the value
+     * @return the number of days between 1970-01-01 and the value
+     */
+    @Override
+    public int getInt(int index) {
+        return readInt(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLong(int index) {
+        return getInt(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getDouble(int index) {
+        int day = getInt(index);
+        return getValidity().isValid(index) ? day : Double.NaN;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if the date is before {@link DateStorage#MIN_DATE} or after
+     *                                  {@link DateStorage#MAX_DATE}
+     */
+    @Override
+    public void set(int index, LocalDate value) {
+        writeInt(index, value != null ? DateStorage.toEpochDay(value) : nullValue);
+        markNull(index, value == null);
+        getValidity().set(index, !Nulls.isNull(value));
+    }
+
+    /**
+     * Replaces the value at the given position with a day number
+     *
+     * @param index the position of the value
+     * @param value the number of days between 1970-01-01 and the new value
+     */
+    @Override
+    public void setInt(int index, int value) {
+        writeInt(index, value);
+        markNull(index, false);
+        getValidity().set(index, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setNull(int index) {
+        writeInt(index, nullValue);
+        markNull(index, false);
+        getValidity().set(index, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if the date is before {@link DateStorage#MIN_DATE} or after
+     *                                  {@link DateStorage#MAX_DATE}
+     */
+    @Override
+    public void append(LocalDate value) {
+        appendInt(value != null ? DateStorage.toEpochDay(value) : nullValue);
+        int index = size() - 1;
+        getValidity().set(index, !Nulls.isNull(value));
+        if (value == null) {
+            markNull(index, true);
+        }
+    }
+
+    /**
+     * Adds a day number to the end of this storage
+     *
+     * @param value the number of days between 1970-01-01 and the value to add
+     */
+    @Override
+    public void appendInt(int value) {
+        writeInt(appendSlot(), value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendNull() {
+        appendInt(nullValue);
+        getValidity().set(size() - 1, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendFrom(ColumnStorage<LocalDate> source, int index) {
+        LocalDate value = source.get(index);
+        if (!source.isNull(index)) {
+            appendInt(DateStorage.toEpochDay(value));
+        } else if (value == null) {
+            append(null);
+        } else {
+            appendNull();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendAll(LocalDate[] values) {
+        ensureCapacity(size() + values.length);
+        for (LocalDate value : values) {
+            append(value);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setData(LocalDate[] values) {
+        clear();
+        appendAll(values);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LocalDate[] toArray() {
+        LocalDate[] result = new LocalDate[size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = get(i);
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void sortAscending() {
+        sort(false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void sortDescending() {
+        sort(true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OffHeapDateStorage copy() {
+        return copyTo(new OffHeapDateStorage(size()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OffHeapDateStorage emptyCopy() {
+        return new OffHeapDateStorage();
+    }
+
+    /**
+     * Sorts the valid values and groups the missing values at one end, so a value equal to the null sentinel
+     * keeps its validity
+     *
+     * @param descending if the values are sorted in descending order, the missing values then coming first
+     */
+    private void sort(boolean descending) {
+        int nullCount = countNull();
+        int[] values = new int[size() - nullCount];
+        int count = 0;
+        for (int i = 0; i < size(); i++) {
+            if (getValidity().isValid(i)) {
+                values[count++] = readInt(i);
+            }
+        }
+        Arrays.sort(values);
+        int firstValue = descending ? nullCount : 0;
+        for (int i = 0; i < count; i++) {
+            writeInt(firstValue + i, values[descending ? count - 1 - i : i]);
+        }
+        int firstNull = descending ? 0 : count;
+        for (int i = firstNull; i < firstNull + nullCount; i++) {
+            writeInt(i, nullValue);
+        }
+        groupNulls(nullCount, descending);
+    }
+}
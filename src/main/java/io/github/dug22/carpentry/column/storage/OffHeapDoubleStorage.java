@@ -0,0 +1,261 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.column.storage;
+
+import io.github.dug22.carpentry.utils.Nulls;
+
+import java.util.Arrays;
+
+/**
+ * Stores double values off-heap, 8 bytes per value. Missing values are tracked by the validity bitmap;
+ * {@code NaN} values are recorded as missing.
+ */
+public final class OffHeapDoubleStorage extends OffHeapStorage<Double> {
+
+    private final double nullValue = Nulls.getDefaultNullValue(Double.class);
+
+    public OffHeapDoubleStorage() {
+        this(0);
+    }
+
+    public OffHeapDoubleStorage(int initialCapacity) {
+        super(Double.BYTES, initialCapacity);
+    }
+
+    public OffHeapDoubleStorage(double[] data) {
+        this(data != null ? data.length : 0);
+        if (data != null) {
+            int first = appendSlots(data.length);
+            for (int i = 0; i < data.length; i++) {
+                writeDouble(first + i, data[i]);
+                getValidity().set(first + i, !Double.isNaN(data[i]));
+            }
+        }
+    }
+
+    public OffHeapDoubleStorage(Double[] data) {
+        this(data != null ? data.length : 0);
+        if (data != null) {
+            appendAll(data);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Double get(int index) {
+        double value = readDouble(index);
+        return isMarkedNull(index) ? null : value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getInt(int index) {
+        return (int) readDouble(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLong(int index) {
+        return (long) readDouble(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getDouble(int index) {
+        double value = readDouble(index);
+        return getValidity().isValid(index) ? value : Double.NaN;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void set(int index, Double value) {
+        double primitiveValue = value != null ? value : nullValue;
+        writeDouble(index, primitiveValue);
+        markNull(index, value == null);
+        getValidity().set(index, !Double.isNaN(primitiveValue));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setDouble(int index, double value) {
+        writeDouble(index, value);
+        markNull(index, false);
+        getValidity().set(index, !Double.isNaN(value));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setNull(int index) {
+        writeDouble(index, nullValue);
+        markNull(index, false);
+        getValidity().set(index, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void append(Double value) {
+        double primitiveValue = value != null ? value : nullValue;
+        appendDouble(primitiveValue);
+        int index = size() - 1;
+        getValidity().set(index, !Double.isNaN(primitiveValue));
+        if (value == null) {
+            markNull(index, true);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendDouble(double value) {
+        writeDouble(appendSlot(), value);
+        getValidity().set(size() - 1, !Double.isNaN(value));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendNull() {
+        appendDouble(nullValue);
+        getValidity().set(size() - 1, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendAll(Double[] values) {
+        int first = appendSlots(values.length);
+        for (int i = 0; i < values.length; i++) {
+            double primitiveValue = values[i] != null ? values[i] : nullValue;
+            writeDouble(first + i, primitiveValue);
+            markNull(first + i, values[i] == null);
+            getValidity().set(first + i, !Double.isNaN(primitiveValue));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setData(Double[] values) {
+        clear();
+        appendAll(values);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Double[] toArray() {
+        Double[] result = new Double[size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Copies the content of this storage into a new primitive array
+     *
+     * @return a primitive copy of every value held by this storage
+     */
+    public double[] toDoubleArray() {
+        double[] result = new double[size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = readDouble(i);
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void sortAscending() {
+        sort(false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void sortDescending() {
+        sort(true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OffHeapDoubleStorage copy() {
+        return copyTo(new OffHeapDoubleStorage(size()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OffHeapDoubleStorage emptyCopy() {
+        return new OffHeapDoubleStorage();
+    }
+
+    /**
+     * Sorts the valid values and groups the missing values at one end, so a value equal to the null sentinel
+     * keeps its validity
+     *
+     * @param descending if the values are sorted in descending order, the missing values then coming first
+     */
+    private void sort(boolean descending) {
+        int nullCount = countNull();
+        double[] values = new double[size() - nullCount];
+        int count = 0;
+        for (int i = 0; i < size(); i++) {
+            if (getValidity().isValid(i)) {
+                values[count++] = readDouble(i);
+            }
+        }
+        Arrays.sort(values);
+        int firstValue = descending ? nullCount : 0;
+        for (int i = 0; i < count; i++) {
+            writeDouble(firstValue + i, values[descending ? count - 1 - i : i]);
+        }
+        int firstNull = descending ? 0 : count;
+        for (int i = firstNull; i < firstNull + nullCount; i++) {
+            writeDouble(i, nullValue);
+        }
+        groupNulls(nullCount, descending);
+    }
+}
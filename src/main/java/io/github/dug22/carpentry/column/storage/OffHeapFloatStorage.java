@@ -0,0 +1,261 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.column.storage;
+
+import io.github.dug22.carpentry.utils.Nulls;
+
+import java.util.Arrays;
+
+/**
+ * Stores float values off-heap, 4 bytes per value. Missing values are tracked by the validity bitmap;
+ * {@code NaN} values are recorded as missing.
+ */
+public final class OffHeapFloatStorage extends OffHeapStorage<Float> {
+
+    private final float nullValue = Nulls.getDefaultNullValue(Float.class);
+
+    public OffHeapFloatStorage() {
+        this(0);
+    }
+
+    public OffHeapFloatStorage(int initialCapacity) {
+        super(Float.BYTES, initialCapacity);
+    }
+
+    public OffHeapFloatStorage(float[] data) {
+        this(data != null ? data.length : 0);
+        if (data != null) {
+            int first = appendSlots(data.length);
+            for (int i = 0; i < data.length; i++) {
+                writeFloat(first + i, data[i]);
+                getValidity().set(first + i, !Float.isNaN(data[i]));
+            }
+        }
+    }
+
+    public OffHeapFloatStorage(Float[] data) {
+        this(data != null ? data.length : 0);
+        if (data != null) {
+            appendAll(data);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Float get(int index) {
+        float value = readFloat(index);
+        return isMarkedNull(index) ? null : value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getInt(int index) {
+        return (int) readFloat(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLong(int index) {
+        return (long) readFloat(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getDouble(int index) {
+        float value = readFloat(index);
+        return getValidity().isValid(index) ? value : Double.NaN;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void set(int index, Float value) {
+        float primitiveValue = value != null ? value : nullValue;
+        writeFloat(index, primitiveValue);
+        markNull(index, value == null);
+        getValidity().set(index, !Float.isNaN(primitiveValue));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setDouble(int index, double value) {
+        writeFloat(index, (float) value);
+        markNull(index, false);
+        getValidity().set(index, !Double.isNaN(value));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setNull(int index) {
+        writeFloat(index, nullValue);
+        markNull(index, false);
+        getValidity().set(index, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void append(Float value) {
+        float primitiveValue = value != null ? value : nullValue;
+        appendDouble(primitiveValue);
+        int index = size() - 1;
+        getValidity().set(index, !Float.isNaN(primitiveValue));
+        if (value == null) {
+            markNull(index, true);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendDouble(double value) {
+        writeFloat(appendSlot(), (float) value);
+        getValidity().set(size() - 1, !Double.isNaN(value));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendNull() {
+        appendDouble(nullValue);
+        getValidity().set(size() - 1, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendAll(Float[] values) {
+        int first = appendSlots(values.length);
+        for (int i = 0; i < values.length; i++) {
+            float primitiveValue = values[i] != null ? values[i] : nullValue;
+            writeFloat(first + i, primitiveValue);
+            markNull(first + i, values[i] == null);
+            getValidity().set(first + i, !Float.isNaN(primitiveValue));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setData(Float[] values) {
+        clear();
+        appendAll(values);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Float[] toArray() {
+        Float[] result = new Float[size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Copies the content of this storage into a new primitive array
+     *
+     * @return a primitive copy of every value held by this storage
+     */
+    public float[] toFloatArray() {
+        float[] result = new float[size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = readFloat(i);
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void sortAscending() {
+        sort(false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void sortDescending() {
+        sort(true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OffHeapFloatStorage copy() {
+        return copyTo(new OffHeapFloatStorage(size()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OffHeapFloatStorage emptyCopy() {
+        return new OffHeapFloatStorage();
+    }
+
+    /**
+     * Sorts the valid values and groups the missing values at one end, so a value equal to the null sentinel
+     * keeps its validity
+     *
+     * @param descending if the values are sorted in descending order, the missing values then coming first
+     */
+    private void sort(boolean descending) {
+        int nullCount = countNull();
+        float[] values = new float[size() - nullCount];
+        int count = 0;
+        for (int i = 0; i < size(); i++) {
+            if (getValidity().isValid(i)) {
+                values[count++] = readFloat(i);
+            }
+        }
+        Arrays.sort(values);
+        int firstValue = descending ? nullCount : 0;
+        for (int i = 0; i < count; i++) {
+            writeFloat(firstValue + i, values[descending ? count - 1 - i : i]);
+        }
+        int firstNull = descending ? 0 : count;
+        for (int i = firstNull; i < firstNull + nullCount; i++) {
+            writeFloat(i, nullValue);
+        }
+        groupNulls(nullCount, descending);
+    }
+}
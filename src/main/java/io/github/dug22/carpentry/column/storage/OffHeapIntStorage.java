@@ -0,0 +1,264 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.column.storage;
+
+import io.github.dug22.carpentry.utils.Nulls;
+
+import java.util.Arrays;
+
+/**
+ * Stores integer values off-heap, 4 bytes per value. Missing values are tracked by the validity bitmap;
+ * boxed writes of the Integer null sentinel are recorded as missing.
+ */
+public final class OffHeapIntStorage extends OffHeapStorage<Integer> {
+
+    private final int nullValue = Nulls.getDefaultNullValue(Integer.class);
+
+    public OffHeapIntStorage() {
+        this(0);
+    }
+
+    public OffHeapIntStorage(int initialCapacity) {
+        super(Integer.BYTES, initialCapacity);
+    }
+
+    OffHeapIntStorage(int initialCapacity, int chunkBytes) {
+        super(Integer.BYTES, initialCapacity, chunkBytes);
+    }
+
+    public OffHeapIntStorage(int[] data) {
+        this(data != null ? data.length : 0);
+        if (data != null) {
+            int first = appendSlots(data.length);
+            for (int i = 0; i < data.length; i++) {
+                writeInt(first + i, data[i]);
+            }
+            getValidity().fill(first, first + data.length, true);
+        }
+    }
+
+    public OffHeapIntStorage(Integer[] data) {
+        this(data != null ? data.length : 0);
+        if (data != null) {
+            appendAll(data);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Integer get(int index) {
+        int value = readInt(index);
+        return isMarkedNull(index) ? null : value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getInt(int index) {
+        return readInt(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLong(int index) {
+        return readInt(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getDouble(int index) {
+        int value = readInt(index);
+        return getValidity().isValid(index) ? value : Double.NaN;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void set(int index, Integer value) {
+        int primitiveValue = value != null ? value : nullValue;
+        writeInt(index, primitiveValue);
+        markNull(index, value == null);
+        getValidity().set(index, primitiveValue != nullValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setInt(int index, int value) {
+        writeInt(index, value);
+        markNull(index, false);
+        getValidity().set(index, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setNull(int index) {
+        writeInt(index, nullValue);
+        markNull(index, false);
+        getValidity().set(index, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void append(Integer value) {
+        int primitiveValue = value != null ? value : nullValue;
+        appendInt(primitiveValue);
+        int index = size() - 1;
+        getValidity().set(index, primitiveValue != nullValue);
+        if (value == null) {
+            markNull(index, true);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendInt(int value) {
+        writeInt(appendSlot(), value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendNull() {
+        appendInt(nullValue);
+        getValidity().set(size() - 1, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendAll(Integer[] values) {
+        int first = appendSlots(values.length);
+        for (int i = 0; i < values.length; i++) {
+            int primitiveValue = values[i] != null ? values[i] : nullValue;
+            writeInt(first + i, primitiveValue);
+            markNull(first + i, values[i] == null);
+            getValidity().set(first + i, primitiveValue != nullValue);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setData(Integer[] values) {
+        clear();
+        appendAll(values);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Integer[] toArray() {
+        Integer[] result = new Integer[size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Copies the content of this storage into a new primitive array
+     *
+     * @return a primitive copy of every value held by this storage
+     */
+    public int[] toIntArray() {
+        int[] result = new int[size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = readInt(i);
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void sortAscending() {
+        sort(false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void sortDescending() {
+        sort(true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OffHeapIntStorage copy() {
+        return copyTo(new OffHeapIntStorage(size()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OffHeapIntStorage emptyCopy() {
+        return new OffHeapIntStorage();
+    }
+
+    /**
+     * Sorts the valid values and groups the missing values at one end, so a value equal to the null sentinel
+     * keeps its validity
+     *
+     * @param descending if the values are sorted in descending order, the missing values then coming first
+     */
+    private void sort(boolean descending) {
+        int nullCount = countNull();
+        int[] values = new int[size() - nullCount];
+        int count = 0;
+        for (int i = 0; i < size(); i++) {
+            if (getValidity().isValid(i)) {
+                values[count++] = readInt(i);
+            }
+        }
+        Arrays.sort(values);
+        int firstValue = descending ? nullCount : 0;
+        for (int i = 0; i < count; i++) {
+            writeInt(firstValue + i, values[descending ? count - 1 - i : i]);
+        }
+        int firstNull = descending ? 0 : count;
+        for (int i = firstNull; i < firstNull + nullCount; i++) {
+            writeInt(i, nullValue);
+        }
+        groupNulls(nullCount, descending);
+    }
+}
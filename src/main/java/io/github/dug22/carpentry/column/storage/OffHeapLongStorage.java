@@ -0,0 +1,260 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.column.storage;
+
+import io.github.dug22.carpentry.utils.Nulls;
+
+import java.util.Arrays;
+
+/**
+ * Stores long values off-heap, 8 bytes per value. Missing values are tracked by the validity bitmap;
+ * boxed writes of the Long null sentinel are recorded as missing.
+ */
+public final class OffHeapLongStorage extends OffHeapStorage<Long> {
+
+    private final long nullValue = Nulls.getDefaultNullValue(Long.class);
+
+    public OffHeapLongStorage() {
+        this(0);
+    }
+
+    public OffHeapLongStorage(int initialCapacity) {
+        super(Long.BYTES, initialCapacity);
+    }
+
+    public OffHeapLongStorage(long[] data) {
+        this(data != null ? data.length : 0);
+        if (data != null) {
+            int first = appendSlots(data.length);
+            for (int i = 0; i < data.length; i++) {
+                writeLong(first + i, data[i]);
+            }
+            getValidity().fill(first, first + data.length, true);
+        }
+    }
+
+    public OffHeapLongStorage(Long[] data) {
+        this(data != null ? data.length : 0);
+        if (data != null) {
+            appendAll(data);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long get(int index) {
+        long value = readLong(index);
+        return isMarkedNull(index) ? null : value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getInt(int index) {
+        return (int) readLong(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLong(int index) {
+        return readLong(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getDouble(int index) {
+        long value = readLong(index);
+        return getValidity().isValid(index) ? value : Double.NaN;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void set(int index, Long value) {
+        long primitiveValue = value != null ? value : nullValue;
+        writeLong(index, primitiveValue);
+        markNull(index, value == null);
+        getValidity().set(index, primitiveValue != nullValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setLong(int index, long value) {
+        writeLong(index, value);
+        markNull(index, false);
+        getValidity().set(index, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setNull(int index) {
+        writeLong(index, nullValue);
+        markNull(index, false);
+        getValidity().set(index, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void append(Long value) {
+        long primitiveValue = value != null ? value : nullValue;
+        appendLong(primitiveValue);
+        int index = size() - 1;
+        getValidity().set(index, primitiveValue != nullValue);
+        if (value == null) {
+            markNull(index, true);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendLong(long value) {
+        writeLong(appendSlot(), value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendNull() {
+        appendLong(nullValue);
+        getValidity().set(size() - 1, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendAll(Long[] values) {
+        int first = appendSlots(values.length);
+        for (int i = 0; i < values.length; i++) {
+            long primitiveValue = values[i] != null ? values[i] : nullValue;
+            writeLong(first + i, primitiveValue);
+            markNull(first + i, values[i] == null);
+            getValidity().set(first + i, primitiveValue != nullValue);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setData(Long[] values) {
+        clear();
+        appendAll(values);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long[] toArray() {
+        Long[] result = new Long[size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Copies the content of this storage into a new primitive array
+     *
+     * @return a primitive copy of every value held by this storage
+     */
+    public long[] toLongArray() {
+        long[] result = new long[size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = readLong(i);
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void sortAscending() {
+        sort(false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void sortDescending() {
+        sort(true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OffHeapLongStorage copy() {
+        return copyTo(new OffHeapLongStorage(size()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OffHeapLongStorage emptyCopy() {
+        return new OffHeapLongStorage();
+    }
+
+    /**
+     * Sorts the valid values and groups the missing values at one end, so a value equal to the null sentinel
+     * keeps its validity
+     *
+     * @param descending if the values are sorted in descending order, the missing values then coming first
+     */
+    private void sort(boolean descending) {
+        int nullCount = countNull();
+        long[] values = new long[size() - nullCount];
+        int count = 0;
+        for (int i = 0; i < size(); i++) {
+            if (getValidity().isValid(i)) {
+                values[count++] = readLong(i);
+            }
+        }
+        Arrays.sort(values);
+        int firstValue = descending ? nullCount : 0;
+        for (int i = 0; i < count; i++) {
+            writeLong(firstValue + i, values[descending ? count - 1 - i : i]);
+        }
+        int firstNull = descending ? 0 : count;
+        for (int i = firstNull; i < firstNull + nullCount; i++) {
+            writeLong(i, nullValue);
+        }
+        groupNulls(nullCount, descending);
+    }
+}
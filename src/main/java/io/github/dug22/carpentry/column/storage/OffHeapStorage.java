@@ -0,0 +1,446 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.column.storage;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Base class of the off-heap storage engines. Values are written into direct {@link ByteBuffer}s of fixed-width
+ * slots, so a column's data lives outside of the Java heap and is never scanned or moved by the garbage collector.
+ * <p>
+ * A single buffer is limited to 2GB, so the values are spread over buffers of at most {@value #CHUNK_BYTES} bytes,
+ * and a storage holds as many values as any other storage, up to {@code Integer.MAX_VALUE - 8} (about 16GB of
+ * doubles). Larger columns are split across several storages by {@link ChunkedStorage}.
+ * <p>
+ * The native memory of a buffer is freed as soon as the buffer is dropped by {@link #close()}, {@link #clear()} or
+ * a resize, instead of whenever the garbage collector finds it unreachable. Any access after {@link #close()}
+ * throws an {@link IllegalStateException}.
+ *
+ * @param <T> the boxed type of the values held by this storage
+ */
+public abstract class OffHeapStorage<T> extends PrimitiveStorage<T> implements AutoCloseable {
+
+    /**
+     * The largest number of bytes held by one buffer
+     */
+    public static final int CHUNK_BYTES = 1 << 30;
+
+    private static final MethodHandle INVOKE_CLEANER = findCleaner();
+
+    private final int width;
+    private final int chunkShift;
+    private final int chunkMask;
+    private ByteBuffer[] buffers;
+    private int size;
+
+    /**
+     * Creates an off-heap storage
+     *
+     * @param width           the number of bytes taken by a single value, a power of two
+     * @param initialCapacity the number of values the buffers can hold before they have to grow
+     */
+    protected OffHeapStorage(int width, int initialCapacity) {
+        this(width, initialCapacity, CHUNK_BYTES);
+    }
+
+    /**
+     * Creates an off-heap storage whose buffers hold at most the given number of bytes
+     *
+     * @param width           the number of bytes taken by a single value, a power of two
+     * @param initialCapacity the number of values the buffers can hold before they have to grow
+     * @param chunkBytes      the largest number of bytes held by one buffer, a power of two
+     */
+    OffHeapStorage(int width, int initialCapacity, int chunkBytes) {
+        this.width = width;
+        this.chunkShift = Integer.numberOfTrailingZeros(chunkBytes / width);
+        this.chunkMask = (1 << chunkShift) - 1;
+        this.buffers = new ByteBuffer[]{allocate(0)};
+        grow(initialCapacity, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int capacity() {
+        return totalCapacity();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int valueBytes() {
+        return width;
+    }
+
+    /**
+     * {@inheritDoc}
+     * A closed storage holds nothing.
+     */
+    @Override
+    public long memoryUsage(boolean deep) {
+        return buffers != null ? super.memoryUsage(deep) : 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void ensureCapacity(int minCapacity) {
+        grow(minCapacity, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void trimToSize() {
+        ByteBuffer[] buffers = buffers();
+        int used = size > 0 ? ((size - 1) >>> chunkShift) + 1 : 1;
+        for (int chunk = used; chunk < buffers.length; chunk++) {
+            release(buffers[chunk]);
+        }
+        this.buffers = buffers = Arrays.copyOf(buffers, used);
+        int last = buffers.length - 1;
+        int lastSize = size - (last << chunkShift);
+        if (lastSize < buffers[last].capacity() / width) {
+            resize(last, lastSize);
+        }
+        getValidity().trimToSize();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        releaseAll();
+        buffers = new ByteBuffer[]{allocate(0)};
+        size = 0;
+        clearMarks();
+        getValidity().clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isOffHeap() {
+        return true;
+    }
+
+    /**
+     * Checks to see if the buffers of this storage have been released
+     *
+     * @return if this storage has been closed
+     */
+    public boolean isClosed() {
+        return buffers == null;
+    }
+
+    /**
+     * Frees the buffers of this storage. Closing a storage more than once has no effect.
+     */
+    @Override
+    public void close() {
+        if (buffers != null) {
+            releaseAll();
+            buffers = null;
+        }
+        size = 0;
+        clearMarks();
+        getValidity().clear();
+    }
+
+    /**
+     * Reads the byte at the given position
+     *
+     * @param index the position of the value
+     * @return the byte at the given position
+     */
+    protected byte readByte(int index) {
+        return chunk(index).get(offset(index));
+    }
+
+    /**
+     * Reads the short at the given position
+     *
+     * @param index the position of the value
+     * @return the short at the given position
+     */
+    protected short readShort(int index) {
+        return chunk(index).getShort(offset(index));
+    }
+
+    /**
+     * Reads the int at the given position
+     *
+     * @param index the position of the value
+     * @return the int at the given position
+     */
+    protected int readInt(int index) {
+        return chunk(index).getInt(offset(index));
+    }
+
+    /**
+     * Reads the long at the given position
+     *
+     * @param index the position of the value
+     * @return the long at the given position
+     */
+    protected long readLong(int index) {
+        return chunk(index).getLong(offset(index));
+    }
+
+    /**
+     * Reads the float at the given position
+     *
+     * @param index the position of the value
+     * @return the float at the given position
+     */
+    protected float readFloat(int index) {
+        return chunk(index).getFloat(offset(index));
+    }
+
+    /**
+     * Reads the double at the given position
+     *
+     * @param index the position of the value
+     * @return the double at the given position
+     */
+    protected double readDouble(int index) {
+        return chunk(index).getDouble(offset(index));
+    }
+
+    /**
+     * Writes a byte at the given position
+     *
+     * @param index the position of the value
+     * @param value the value to write
+     */
+    protected void writeByte(int index, byte value) {
+        chunk(index).put(offset(index), value);
+    }
+
+    /**
+     * Writes a short at the given position
+     *
+     * @param index the position of the value
+     * @param value the value to write
+     */
+    protected void writeShort(int index, short value) {
+        chunk(index).putShort(offset(index), value);
+    }
+
+    /**
+     * Writes an int at the given position
+     *
+     * @param index the position of the value
+     * @param value the value to write
+     */
+    protected void writeInt(int index, int value) {
+        chunk(index).putInt(offset(index), value);
+    }
+
+    /**
+     * Writes a long at the given position
+     *
+     * @param index the position of the value
+     * @param value the value to write
+     */
+    protected void writeLong(int index, long value) {
+        chunk(index).putLong(offset(index), value);
+    }
+
+    /**
+     * Writes a float at the given position
+     *
+     * @param index the position of the value
+     * @param value the value to write
+     */
+    protected void writeFloat(int index, float value) {
+        chunk(index).putFloat(offset(index), value);
+    }
+
+    /**
+     * Writes a double at the given position
+     *
+     * @param index the position of the value
+     * @param value the value to write
+     */
+    protected void writeDouble(int index, double value) {
+        chunk(index).putDouble(offset(index), value);
+    }
+
+    /**
+     * Reserves a new slot at the end of this storage, growing the buffers if necessary.
+     * The new slot is marked as valid.
+     *
+     * @return the position of the new slot
+     */
+    protected int appendSlot() {
+        if (size == totalCapacity()) {
+            grow(size + 1, false);
+        }
+        getValidity().append(true);
+        return size++;
+    }
+
+    /**
+     * Reserves the given number of slots at the end of this storage. The new slots are marked as missing.
+     *
+     * @param count the number of slots to reserve
+     * @return the position of the first new slot
+     */
+    protected int appendSlots(int count) {
+        int first = size;
+        grow(first + count, false);
+        size = first + count;
+        getValidity().resize(size, false);
+        return first;
+    }
+
+    /**
+     * Copies the values, the validity and the {@code null} reference marks of this storage into an empty storage
+     * of the same kind without passing through the heap
+     *
+     * @param target the storage receiving the values
+     * @param <S>    the type of the target storage
+     * @return the target storage
+     */
+    protected <S extends OffHeapStorage<T>> S copyTo(S target) {
+        OffHeapStorage<T> storage = target;
+        storage.grow(size, true);
+        storage.size = size;
+        for (int index = 0; index < size; ) {
+            int count = Math.min(size - index,
+                    Math.min(chunkMask + 1 - (index & chunkMask), storage.chunkMask + 1 - (index & storage.chunkMask)));
+            storage.chunk(index).put(storage.offset(index), chunk(index), offset(index), count * width);
+            index += count;
+        }
+        return copyMarksTo(target);
+    }
+
+    private ByteBuffer[] buffers() {
+        if (buffers == null) {
+            throw new IllegalStateException("Off-heap storage has been closed");
+        }
+        return buffers;
+    }
+
+    private int totalCapacity() {
+        ByteBuffer[] buffers = buffers();
+        long full = (long) (buffers.length - 1) << chunkShift;
+        return (int) Math.min(Integer.MAX_VALUE, full + buffers[buffers.length - 1].capacity() / width);
+    }
+
+    private ByteBuffer chunk(int index) {
+        return buffers()[Objects.checkIndex(index, size) >>> chunkShift];
+    }
+
+    private int offset(int index) {
+        return (index & chunkMask) * width;
+    }
+
+    /**
+     * Grows the buffers until they hold the given number of values. Every buffer but the last one is full;
+     * the last one grows by half of its capacity, or exactly to the required capacity when asked to.
+     */
+    private void grow(int minCapacity, boolean exact) {
+        if (minCapacity < 0) {
+            throw new OutOfMemoryError("Required column capacity " + Integer.toUnsignedString(minCapacity) + " is too large");
+        }
+        ByteBuffer[] buffers = buffers();
+        int chunkCapacity = chunkMask + 1;
+        while (totalCapacity() < minCapacity) {
+            int last = buffers.length - 1;
+            int lastCapacity = buffers[last].capacity() / width;
+            if (lastCapacity == chunkCapacity) {
+                this.buffers = buffers = Arrays.copyOf(buffers, buffers.length + 1);
+                buffers[last + 1] = allocate(0);
+                continue;
+            }
+            int needed = minCapacity - (last << chunkShift);
+            int grown = newCapacity(lastCapacity, needed);
+            int target = exact ? needed : grown;
+            resize(last, Math.min(chunkCapacity, target));
+        }
+    }
+
+    private void resize(int chunk, int capacity) {
+        ByteBuffer previous = buffers[chunk];
+        ByteBuffer resized = allocate(capacity);
+        int count = Math.max(0, Math.min(size - (chunk << chunkShift), capacity));
+        resized.put(0, previous, 0, count * width);
+        buffers[chunk] = resized;
+        release(previous);
+    }
+
+    private ByteBuffer allocate(int capacity) {
+        return ByteBuffer.allocateDirect(capacity * width).order(ByteOrder.nativeOrder());
+    }
+
+    private void releaseAll() {
+        for (ByteBuffer buffer : buffers) {
+            release(buffer);
+        }
+    }
+
+    /**
+     * Frees the native memory of a buffer right away. Falls back on the garbage collector when the JDK does not
+     * offer a way to do so.
+     */
+    private static void release(ByteBuffer buffer) {
+        if (INVOKE_CLEANER == null) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invokeExact(buffer);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Could not free off-heap buffer", e);
+        }
+    }
+
+    private static MethodHandle findCleaner() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            MethodType type = MethodType.methodType(void.class, ByteBuffer.class);
+            return MethodHandles.lookup().findVirtual(unsafeClass, "invokeCleaner", type).bindTo(field.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
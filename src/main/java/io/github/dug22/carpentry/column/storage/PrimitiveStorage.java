@@ -0,0 +1,110 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+package io.github.dug22.carpentry.column.storage;
+
+import io.github.dug22.carpentry.utils.MemoryEstimator;
+
+import java.util.BitSet;
+
+/**
+ * Base class of the primitive storage engines. Primitive arrays cannot hold a {@code null} reference, so slots
+ * that were written with one are remembered here; boxed reads of those slots keep returning {@code null}.
+ *
+ * @param <T> the boxed type of the values held by this storage
+ */
+public abstract class PrimitiveStorage<T> extends BaseStorage<T> {
+
+    private BitSet nullSlots;
+
+    /**
+     * Records whether the slot at the given position was written with a {@code null} reference
+     *
+     * @param index  the position of the slot
+     * @param isNull if the slot was written with a {@code null} reference
+     */
+    protected void markNull(int index, boolean isNull) {
+        if (isNull) {
+            if (nullSlots == null) {
+                nullSlots = new BitSet();
+            }
+            nullSlots.set(index);
+        } else if (nullSlots != null) {
+            nullSlots.clear(index);
+        }
+    }
+
+    /**
+     * Checks to see if the slot at the given position was written with a {@code null} reference
+     *
+     * @param index the position of the slot
+     * @return if the slot was written with a {@code null} reference
+     */
+    protected boolean isMarkedNull(int index) {
+        return nullSlots != null && nullSlots.get(index);
+    }
+
+    /**
+     * Forgets every slot that was written with a {@code null} reference
+     */
+    protected void clearMarks() {
+        nullSlots = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Slots written with a {@code null} reference stay marked, as the first of the missing values.
+     */
+    @Override
+    protected void groupNulls(int nullCount, boolean nullsFirst) {
+        super.groupNulls(nullCount, nullsFirst);
+        int marked = nullSlots != null ? nullSlots.cardinality() : 0;
+        nullSlots = null;
+        int firstNull = nullsFirst ? 0 : size() - nullCount;
+        for (int index = firstNull; index < firstNull + marked; index++) {
+            markNull(index, true);
+        }
+    }
+
+    /**
+     * Gets the number of bytes a single value takes in the buffer of this storage
+     *
+     * @return the width of a value in bytes
+     */
+    protected abstract int valueBytes();
+
+    /**
+     * {@inheritDoc}
+     * Values are held unboxed, so a deep estimate is the same as a shallow one.
+     */
+    @Override
+    public long memoryUsage(boolean deep) {
+        long marks = nullSlots != null ? MemoryEstimator.array(nullSlots.size() / Long.SIZE, Long.BYTES) : 0;
+        return MemoryEstimator.array(capacity(), valueBytes()) + getValidity().memoryUsage() + marks;
+    }
+
+    /**
+     * Copies the validity and the {@code null} reference marks of this storage into another storage
+     *
+     * @param target the storage receiving the marks
+     * @param <S>    the type of the target storage
+     * @return the target storage
+     */
+    protected <S extends PrimitiveStorage<T>> S copyMarksTo(S target) {
+        ((PrimitiveStorage<T>) target).nullSlots = nullSlots != null ? (BitSet) nullSlots.clone() : null;
+        return copyValidityTo(target);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+package io.github.dug22.carpentry.column.storage;
+
+import java.util.Arrays;
+
+/**
+ * Stores runs of equal values as one value and the position where the run ends. Suited to columns holding long
+ * runs of the same value, such as sorted columns with few distinct values.
+ *
+ * @param <T> the boxed type of the values held by this storage
+ */
+public class RunLengthStorage<T> extends EncodedStorage<T> {
+
+    private final long[] runValues;
+    private final int[] runEnds;
+    private int lastRun;
+
+    RunLengthStorage(Encoding<T> encoding, int runs) {
+        super(encoding);
+        long[] values = encoding.values();
+        this.runValues = new long[runs];
+        this.runEnds = new int[runs];
+        int run = -1;
+        for (int i = 0; i < values.length; i++) {
+            if (run < 0 || values[i] != runValues[run]) {
+                runValues[++run] = values[i];
+            }
+            runEnds[run] = i + 1;
+        }
+    }
+
+    private RunLengthStorage(RunLengthStorage<T> other) {
+        super(other);
+        this.runValues = other.runValues;
+        this.runEnds = other.runEnds;
+    }
+
+    /**
+     * Gets the number of runs
+     *
+     * @return the number of runs
+     */
+    public int runCount() {
+        return runEnds.length;
+    }
+
+    /**
+     * Finds the run holding the given position. Sequential reads stay within the same run,
+     * which is checked first before searching the run ends.
+     */
+    private int runOf(int index) {
+        int run = lastRun;
+        if (index < runEnds[run] && (run == 0 || index >= runEnds[run - 1])) {
+            return run;
+        }
+        run = Arrays.binarySearch(runEnds, index);
+        run = run >= 0 ? run + 1 : -run - 1;
+        lastRun = run;
+        return run;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected long encodedValue(int index) {
+        return runValues[runOf(index)];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected ValidityMask matchEncoded(long value) {
+        ValidityMask selection = new ValidityMask(size(), false);
+        for (int run = 0; run < runValues.length; run++) {
+            if (runValues[run] == value) {
+                selection.fill(run == 0 ? 0 : runEnds[run - 1], runEnds[run], true);
+            }
+        }
+        return selection;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long encodedBytes() {
+        return (long) runValues.length * (Long.BYTES + Integer.BYTES);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String encoding() {
+        return "run-length";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected RunLengthStorage<T> shallowCopy() {
+        return new RunLengthStorage<>(this);
+    }
+}
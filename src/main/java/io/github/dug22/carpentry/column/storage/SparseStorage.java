@@ -0,0 +1,610 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.column.storage;
+
+import io.github.dug22.carpentry.utils.MemoryEstimator;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Stores a mostly-missing column as the positions and values of its explicit entries only. Every other position
+ * is a gap, and all gaps share one value held in a single slot: a missing value at first, or the value missing
+ * entries were filled with. Null checks, null counts, fills and filters therefore cost time proportional to the
+ * explicit entries rather than to the size of the column.
+ * <p>
+ * Explicit values are kept in a storage of the dense kind this storage was created from, in position order.
+ * Appending is amortized O(1); writing into the middle of a gap, or turning an explicit entry back into a gap,
+ * rebuilds the explicit entries in O(non-null).
+ *
+ * @param <T> the boxed type of the values held by this storage
+ */
+public class SparseStorage<T> implements ColumnStorage<T> {
+
+    private final ColumnStorage<T> prototype;
+    private final ColumnStorage<T> probe;
+    private ColumnStorage<T> gap;
+    private ColumnStorage<T> values;
+    private int[] positions;
+    private int count;
+    private int size;
+    private int lastFound = -1;
+
+    /**
+     * Creates an empty sparse storage whose gaps are missing values, read back as {@code null}
+     *
+     * @param prototype an empty storage of the dense kind the explicit values are held in
+     */
+    public SparseStorage(ColumnStorage<T> prototype) {
+        this.prototype = prototype.emptyCopy();
+        this.probe = prototype.emptyCopy();
+        this.probe.appendNull();
+        this.gap = prototype.emptyCopy();
+        this.gap.append(null);
+        this.values = prototype.emptyCopy();
+        this.positions = new int[0];
+    }
+
+    /**
+     * Creates a sparse copy of a dense storage. Only its valid positions are stored, found by skipping over
+     * its validity bitmap; the gaps read back as its first missing value.
+     *
+     * @param dense the storage to copy
+     * @param <T>   the boxed type of the values
+     * @return a sparse copy of the given storage
+     */
+    public static <T> SparseStorage<T> of(ColumnStorage<T> dense) {
+        if (dense instanceof SparseStorage<T> sparse) {
+            return sparse.copy();
+        }
+
+        SparseStorage<T> sparse = new SparseStorage<>(dense.emptyCopy());
+        ValidityMask validity = dense.getValidity();
+        int firstMissing = validity.nextInvalid(0);
+        if (firstMissing >= 0) {
+            sparse.gap.set(0, dense.get(firstMissing));
+        }
+        int validCount = validity.countValid();
+        sparse.positions = new int[validCount];
+        sparse.values.ensureCapacity(validCount);
+        for (int index = validity.nextValid(0); index >= 0; index = validity.nextValid(index + 1)) {
+            sparse.positions[sparse.count++] = index;
+            sparse.values.appendFrom(dense, index);
+        }
+        sparse.size = dense.size();
+        return sparse;
+    }
+
+    /**
+     * Creates a dense copy of this storage
+     *
+     * @return a storage of the dense kind holding every value of this storage
+     */
+    public ColumnStorage<T> toDense() {
+        ColumnStorage<T> dense = prototype.emptyCopy();
+        dense.ensureCapacity(size);
+        int next = 0;
+        for (int k = 0; k < count; k++) {
+            appendGaps(dense, positions[k] - next);
+            dense.appendFrom(values, k);
+            next = positions[k] + 1;
+        }
+        appendGaps(dense, size - next);
+        return dense;
+    }
+
+    /**
+     * Gets the number of explicit entries held by this storage
+     *
+     * @return the number of explicit entries
+     */
+    public int explicitCount() {
+        return count;
+    }
+
+    /**
+     * Gets the position of an explicit entry
+     *
+     * @param k the rank of the entry among the explicit entries
+     * @return the position of the entry
+     */
+    public int explicitPosition(int k) {
+        Objects.checkIndex(k, count);
+        return positions[k];
+    }
+
+    /**
+     * Checks to see if the gaps of this storage are missing values
+     *
+     * @return if the gaps of this storage are missing values
+     */
+    public boolean hasMissingGaps() {
+        return gap.isNull(0);
+    }
+
+    /**
+     * Replaces every missing value of this storage with the given value. Gaps are filled at once by replacing
+     * the value they share, so only explicit missing entries are visited. Filling with a missing value does nothing.
+     *
+     * @param value the value missing values are replaced with
+     */
+    public void fill(T value) {
+        if (isMissing(value)) {
+            return;
+        }
+
+        for (int k = 0; k < count; k++) {
+            if (values.isNull(k)) {
+                values.set(k, value);
+            }
+        }
+        if (gap.isNull(0)) {
+            gap.set(0, value);
+        }
+    }
+
+    /**
+     * Finds the valid positions whose value satisfies a condition. The condition is tested once for all the gaps,
+     * so a condition that rejects the gap value only visits the explicit entries.
+     *
+     * @param condition the condition to test
+     * @return the matching positions, in ascending order
+     */
+    public int[] select(Predicate<? super T> condition) {
+        boolean gapsMatch = !gap.isNull(0) && condition.test(gap.get(0));
+        int[] selected = new int[gapsMatch ? size : count];
+        int selectedCount = 0;
+        int next = 0;
+        for (int k = 0; k < count; k++) {
+            if (gapsMatch) {
+                for (int index = next; index < positions[k]; index++) {
+                    selected[selectedCount++] = index;
+                }
+            }
+            if (!values.isNull(k) && condition.test(values.get(k))) {
+                selected[selectedCount++] = positions[k];
+            }
+            next = positions[k] + 1;
+        }
+        if (gapsMatch) {
+            for (int index = next; index < size; index++) {
+                selected[selectedCount++] = index;
+            }
+        }
+        return Arrays.copyOf(selected, selectedCount);
+    }
+
+    /**
+     * Selects the positions holding a value equal to the given one. The gaps are set in bulk when they match,
+     * and only the explicit entries are compared one by one.
+     *
+     * @param value the value to look for
+     * @return a mask whose valid slots are the matching positions
+     */
+    public ValidityMask selectEqual(Object value) {
+        boolean gapsMatch = value.equals(gap.get(0));
+        ValidityMask selection = new ValidityMask(size, gapsMatch);
+        for (int k = 0; k < count; k++) {
+            selection.set(positions[k], value.equals(values.get(k)));
+        }
+        return selection;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Gaps take no room, so a sparse storage never has to grow to hold more positions.
+     */
+    @Override
+    public int capacity() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Only the explicit values and their positions are counted, as gaps take no room.
+     */
+    @Override
+    public long memoryUsage(boolean deep) {
+        return values.memoryUsage(deep) + MemoryEstimator.array(positions.length, Integer.BYTES) + gap.memoryUsage(deep);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void ensureCapacity(int minCapacity) {
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void trimToSize() {
+        positions = Arrays.copyOf(positions, count);
+        values.trimToSize();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T get(int index) {
+        Objects.checkIndex(index, size);
+        int k = find(index);
+        return k >= 0 ? values.get(k) : gap.get(0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getInt(int index) {
+        Objects.checkIndex(index, size);
+        int k = find(index);
+        return k >= 0 ? values.getInt(k) : gap.getInt(0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLong(int index) {
+        Objects.checkIndex(index, size);
+        int k = find(index);
+        return k >= 0 ? values.getLong(k) : gap.getLong(0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getDouble(int index) {
+        Objects.checkIndex(index, size);
+        int k = find(index);
+        return k >= 0 ? values.getDouble(k) : gap.getDouble(0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void set(int index, T value) {
+        Objects.checkIndex(index, size);
+        int k = find(index);
+        if (isGapValue(value)) {
+            if (k >= 0) {
+                remove(k);
+            }
+        } else if (k >= 0) {
+            values.set(k, value);
+        } else {
+            insert(-k - 1, index, value, false);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setNull(int index) {
+        Objects.checkIndex(index, size);
+        int k = find(index);
+        if (gap.isNull(0)) {
+            if (k >= 0) {
+                remove(k);
+            }
+        } else if (k >= 0) {
+            values.setNull(k);
+        } else {
+            insert(-k - 1, index, null, true);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void append(T value) {
+        if (!isGapValue(value)) {
+            insert(count, size, value, false);
+        }
+        size++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendNull() {
+        if (!gap.isNull(0)) {
+            insert(count, size, null, true);
+        }
+        size++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendAll(T[] values) {
+        for (T value : values) {
+            append(value);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setData(T[] data) {
+        clear();
+        appendAll(data);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T[] toArray() {
+        return toDense().toArray();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isNull(int index) {
+        Objects.checkIndex(index, size);
+        int k = find(index);
+        return k >= 0 ? values.isNull(k) : gap.isNull(0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int countNull() {
+        return (gap.isNull(0) ? size - count : 0) + values.countNull();
+    }
+
+    /**
+     * {@inheritDoc}
+     * The bitmap is rebuilt from the explicit entries on every call.
+     */
+    @Override
+    public ValidityMask getValidity() {
+        ValidityMask validity = new ValidityMask(size, !gap.isNull(0));
+        for (int k = 0; k < count; k++) {
+            validity.set(positions[k], !values.isNull(k));
+        }
+        return validity;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Missing gaps are skipped by jumping from one explicit entry to the next.
+     */
+    @Override
+    public int nextValid(int from) {
+        if (gap.isNull(0)) {
+            int k = lowerBound(Math.max(from, 0));
+            while (k < count && values.isNull(k)) {
+                k++;
+            }
+            return k < count ? positions[k] : -1;
+        }
+        for (int index = Math.max(from, 0); index < size; index++) {
+            if (!isNull(index)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        values.clear();
+        positions = new int[0];
+        count = 0;
+        size = 0;
+        lastFound = -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The values are sorted in a dense copy, so missing values end up where the dense kind puts them.
+     */
+    @Override
+    public void sortAscending() {
+        ColumnStorage<T> dense = toDense();
+        dense.sortAscending();
+        load(dense);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The values are sorted in a dense copy, so missing values end up where the dense kind puts them.
+     */
+    @Override
+    public void sortDescending() {
+        ColumnStorage<T> dense = toDense();
+        dense.sortDescending();
+        load(dense);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SparseStorage<T> copy() {
+        SparseStorage<T> copy = new SparseStorage<>(prototype);
+        copy.gap = gap.copy();
+        copy.values = values.copy();
+        copy.positions = Arrays.copyOf(positions, count);
+        copy.count = count;
+        copy.size = size;
+        return copy;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SparseStorage<T> emptyCopy() {
+        return new SparseStorage<>(prototype);
+    }
+
+    /**
+     * Finds the rank of the explicit entry at the given position. Consecutive lookups usually land on or just
+     * after the previous one, so scanning a column in order does not need a binary search per position.
+     *
+     * @return the rank of the entry, or {@code -(insertion point) - 1} if the position is a gap
+     */
+    private int find(int index) {
+        int k = lastFound;
+        if (k >= -1 && k < count) {
+            int lower = k >= 0 ? positions[k] : -1;
+            int upper = k + 1 < count ? positions[k + 1] : Integer.MAX_VALUE;
+            if (index == lower) {
+                return k;
+            }
+            if (index == upper) {
+                lastFound = k + 1;
+                return k + 1;
+            }
+            if (index > lower && index < upper) {
+                return -(k + 1) - 1;
+            }
+        }
+        int found = Arrays.binarySearch(positions, 0, count, index);
+        lastFound = found >= 0 ? found : -found - 2;
+        return found;
+    }
+
+    private int lowerBound(int index) {
+        int found = Arrays.binarySearch(positions, 0, count, index);
+        return found >= 0 ? found : -found - 1;
+    }
+
+    private void insert(int k, int index, T value, boolean asNull) {
+        if (count == positions.length) {
+            positions = Arrays.copyOf(positions, Math.max(8, count + (count >> 1)));
+        }
+        if (k == count) {
+            positions[count++] = index;
+            appendValue(values, value, asNull);
+            return;
+        }
+
+        ColumnStorage<T> rebuilt = prototype.emptyCopy();
+        rebuilt.ensureCapacity(count + 1);
+        for (int j = 0; j < count; j++) {
+            if (j == k) {
+                appendValue(rebuilt, value, asNull);
+            }
+            rebuilt.appendFrom(values, j);
+        }
+        System.arraycopy(positions, k, positions, k + 1, count - k);
+        positions[k] = index;
+        values = rebuilt;
+        count++;
+        lastFound = -1;
+    }
+
+    private void remove(int k) {
+        ColumnStorage<T> rebuilt = prototype.emptyCopy();
+        rebuilt.ensureCapacity(count - 1);
+        for (int j = 0; j < count; j++) {
+            if (j != k) {
+                rebuilt.appendFrom(values, j);
+            }
+        }
+        System.arraycopy(positions, k + 1, positions, k, count - k - 1);
+        values = rebuilt;
+        count--;
+        lastFound = -1;
+    }
+
+    private void load(ColumnStorage<T> dense) {
+        if (gap.isNull(0)) {
+            SparseStorage<T> loaded = of(dense);
+            values = loaded.values;
+            positions = loaded.positions;
+            count = loaded.count;
+        } else {
+            clear();
+            for (int index = 0; index < dense.size(); index++) {
+                if (dense.isNull(index)) {
+                    appendNull();
+                } else {
+                    append(dense.get(index));
+                }
+            }
+        }
+        size = dense.size();
+        lastFound = -1;
+    }
+
+    private void appendGaps(ColumnStorage<T> dense, int gapCount) {
+        T gapValue = gap.get(0);
+        boolean missing = gap.isNull(0);
+        for (int i = 0; i < gapCount; i++) {
+            if (missing && gapValue != null) {
+                dense.appendNull();
+            } else {
+                dense.append(gapValue);
+            }
+        }
+    }
+
+    private static <T> void appendValue(ColumnStorage<T> storage, T value, boolean asNull) {
+        if (asNull) {
+            storage.appendNull();
+        } else {
+            storage.append(value);
+        }
+    }
+
+    /**
+     * Checks to see if writing the given value would read back the same as a gap, in which case it is not stored
+     */
+    private boolean isGapValue(T value) {
+        boolean missing = isMissing(value);
+        return gap.isNull(0) ? missing : !missing && Objects.equals(value, gap.get(0));
+    }
+
+    private boolean isMissing(T value) {
+        if (value == null) {
+            return true;
+        }
+        probe.set(0, value);
+        return probe.isNull(0);
+    }
+}
@@ -0,0 +1,500 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+package io.github.dug22.carpentry.column.storage;
+
+import io.github.dug22.carpentry.utils.Hashing;
+import io.github.dug22.carpentry.utils.MemoryEstimator;
+import io.github.dug22.carpentry.utils.Nulls;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * Stores strings as UTF-8 bytes in one contiguous arena, with an offset and a length per row. A row takes eight bytes
+ * plus its encoded characters instead of a {@link String} object each, and {@code String} objects are only created
+ * when a value is read. Comparisons, hashing and prefix, suffix and substring checks run on the raw bytes.
+ * Replacing a value appends its bytes to the arena; the bytes it replaced are reclaimed once they make up
+ * half of the arena. A {@code null} reference is stored with a length of {@link #NULL_LENGTH}.
+ */
+public final class Utf8Storage extends BaseStorage<String> {
+
+    /**
+     * The length of a slot written with a {@code null} reference
+     */
+    public static final int NULL_LENGTH = -1;
+
+    private byte[] arena;
+    private int arenaSize;
+    private int garbage;
+    private int[] offsets;
+    private int[] lengths;
+    private int size;
+
+    public Utf8Storage() {
+        this.arena = new byte[0];
+        this.offsets = new int[0];
+        this.lengths = new int[0];
+    }
+
+    public Utf8Storage(String[] data) {
+        this();
+        if (data != null) {
+            setData(data);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int capacity() {
+        return offsets.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The characters of every value live in the arena, so a deep estimate is the same as a shallow one.
+     */
+    @Override
+    public long memoryUsage(boolean deep) {
+        return MemoryEstimator.array(arena.length, Byte.BYTES) + 2 * MemoryEstimator.array(offsets.length, Integer.BYTES)
+                + getValidity().memoryUsage();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > offsets.length) {
+            int newCapacity = newCapacity(offsets.length, minCapacity);
+            offsets = Arrays.copyOf(offsets, newCapacity);
+            lengths = Arrays.copyOf(lengths, newCapacity);
+        }
+    }
+
+    /**
+     * Shrinks the row buffers to the current size and the arena to the bytes still referenced by a row
+     */
+    @Override
+    public void trimToSize() {
+        if (garbage > 0) {
+            compactArena();
+        }
+        if (arenaSize < arena.length) {
+            arena = Arrays.copyOf(arena, arenaSize);
+        }
+        if (size < offsets.length) {
+            offsets = Arrays.copyOf(offsets, size);
+            lengths = Arrays.copyOf(lengths, size);
+        }
+        getValidity().trimToSize();
+    }
+
+    /**
+     * Decodes the value at the given position into a new {@link String}
+     *
+     * @param index the position of the value
+     * @return the value at the given position
+     */
+    @Override
+    public String get(int index) {
+        Objects.checkIndex(index, size);
+        int length = lengths[index];
+        return length == NULL_LENGTH ? null : new String(arena, offsets[index], length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Gets the number of UTF-8 bytes of the value at the given position
+     *
+     * @param index the position of the value
+     * @return the encoded length of the value, or {@link #NULL_LENGTH} for a {@code null} reference
+     */
+    public int byteLength(int index) {
+        Objects.checkIndex(index, size);
+        return lengths[index];
+    }
+
+    /**
+     * Copies the UTF-8 bytes of the value at the given position
+     *
+     * @param index the position of the value
+     * @return the encoded value, or {@code null} for a {@code null} reference
+     */
+    public byte[] getBytes(int index) {
+        Objects.checkIndex(index, size);
+        int length = lengths[index];
+        return length == NULL_LENGTH ? null : Arrays.copyOfRange(arena, offsets[index], offsets[index] + length);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The UTF-8 bytes of the value are hashed in place.
+     */
+    @Override
+    public long longHash(int index) {
+        Objects.checkIndex(index, size);
+        return Hashing.hashBytes(arena, offsets[index], lengths[index]);
+    }
+
+    /**
+     * Checks to see if the value at the given position is equal to the given UTF-8 bytes
+     *
+     * @param index the position of the value
+     * @param bytes the encoded value to compare with
+     * @return if the value at the given position is equal to the given bytes
+     */
+    public boolean equalsBytes(int index, byte[] bytes) {
+        Objects.checkIndex(index, size);
+        int length = lengths[index];
+        if (length == NULL_LENGTH || bytes == null) {
+            return length == NULL_LENGTH && bytes == null;
+        }
+        int offset = offsets[index];
+        return Arrays.equals(arena, offset, offset + length, bytes, 0, bytes.length);
+    }
+
+    /**
+     * Checks to see if the values at two positions are equal
+     *
+     * @param index      the position of the first value
+     * @param otherIndex the position of the second value
+     * @return if both values are equal
+     */
+    public boolean equalsAt(int index, int otherIndex) {
+        Objects.checkIndex(index, size);
+        Objects.checkIndex(otherIndex, size);
+        int length = lengths[index];
+        if (length != lengths[otherIndex]) {
+            return false;
+        }
+        if (length == NULL_LENGTH) {
+            return true;
+        }
+        int offset = offsets[index];
+        int otherOffset = offsets[otherIndex];
+        return Arrays.equals(arena, offset, offset + length, arena, otherOffset, otherOffset + length);
+    }
+
+    /**
+     * Compares the values at two positions by their UTF-8 bytes, which orders them by code point.
+     * {@code null} references are ordered first.
+     *
+     * @param index      the position of the first value
+     * @param otherIndex the position of the second value
+     * @return a negative number, zero or a positive number as the first value is less than, equal to or greater than the second
+     */
+    public int compareAt(int index, int otherIndex) {
+        Objects.checkIndex(index, size);
+        Objects.checkIndex(otherIndex, size);
+        int length = lengths[index];
+        int otherLength = lengths[otherIndex];
+        if (length == NULL_LENGTH || otherLength == NULL_LENGTH) {
+            return Boolean.compare(length != NULL_LENGTH, otherLength != NULL_LENGTH);
+        }
+        int offset = offsets[index];
+        int otherOffset = offsets[otherIndex];
+        return Arrays.compareUnsigned(arena, offset, offset + length, arena, otherOffset, otherOffset + otherLength);
+    }
+
+    /**
+     * Hashes the UTF-8 bytes of the value at the given position. Equal values always have equal hashes.
+     *
+     * @param index the position of the value
+     * @return the hash of the value, or 0 for a {@code null} reference
+     */
+    public int hash(int index) {
+        Objects.checkIndex(index, size);
+        int length = lengths[index];
+        if (length == NULL_LENGTH) {
+            return 0;
+        }
+        int hash = 1;
+        for (int i = offsets[index], end = i + length; i < end; i++) {
+            hash = 31 * hash + arena[i];
+        }
+        return hash;
+    }
+
+    /**
+     * Checks to see if the value at the given position starts with the given UTF-8 bytes
+     *
+     * @param index  the position of the value
+     * @param prefix the encoded prefix
+     * @return if the value starts with the prefix
+     */
+    public boolean startsWith(int index, byte[] prefix) {
+        Objects.checkIndex(index, size);
+        int length = lengths[index];
+        if (length < prefix.length) {
+            return false;
+        }
+        int offset = offsets[index];
+        return Arrays.equals(arena, offset, offset + prefix.length, prefix, 0, prefix.length);
+    }
+
+    /**
+     * Checks to see if the value at the given position ends with the given UTF-8 bytes
+     *
+     * @param index  the position of the value
+     * @param suffix the encoded suffix
+     * @return if the value ends with the suffix
+     */
+    public boolean endsWith(int index, byte[] suffix) {
+        Objects.checkIndex(index, size);
+        int length = lengths[index];
+        if (length < suffix.length) {
+            return false;
+        }
+        int end = offsets[index] + length;
+        return Arrays.equals(arena, end - suffix.length, end, suffix, 0, suffix.length);
+    }
+
+    /**
+     * Checks to see if the value at the given position contains the given UTF-8 bytes. UTF-8 never encodes a
+     * character as part of another one, so a byte match is always a match of whole characters.
+     *
+     * @param index the position of the value
+     * @param infix the encoded sequence to look for
+     * @return if the value contains the sequence
+     */
+    public boolean contains(int index, byte[] infix) {
+        Objects.checkIndex(index, size);
+        int length = lengths[index];
+        if (length < infix.length) {
+            return false;
+        }
+        if (infix.length == 0) {
+            return true;
+        }
+        int offset = offsets[index];
+        byte first = infix[0];
+        for (int i = offset, last = offset + length - infix.length; i <= last; i++) {
+            if (arena[i] == first && Arrays.equals(arena, i, i + infix.length, infix, 0, infix.length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the number of bytes held by the arena, including bytes of replaced values that have not been reclaimed yet
+     *
+     * @return the used size of the arena
+     */
+    public int arenaSize() {
+        return arenaSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void set(int index, String value) {
+        Objects.checkIndex(index, size);
+        if (lengths[index] > 0) {
+            garbage += lengths[index];
+        }
+        write(index, value);
+        getValidity().set(index, !Nulls.isNull(value));
+        if (garbage > arenaSize / 2) {
+            compactArena();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setNull(int index) {
+        set(index, Nulls.getDefaultNullValue(String.class));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void append(String value) {
+        if (size == offsets.length) {
+            ensureCapacity(size + 1);
+        }
+        write(size++, value);
+        getValidity().append(!Nulls.isNull(value));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendNull() {
+        append(Nulls.getDefaultNullValue(String.class));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendAll(String[] values) {
+        ensureCapacity(size + values.length);
+        for (String value : values) {
+            append(value);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setData(String[] values) {
+        clear();
+        appendAll(values);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String[] toArray() {
+        String[] result = new String[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = get(i);
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        arena = new byte[0];
+        arenaSize = 0;
+        garbage = 0;
+        offsets = new int[0];
+        lengths = new int[0];
+        size = 0;
+        getValidity().clear();
+    }
+
+    /**
+     * Sorts the values by their UTF-8 bytes, which orders them by code point. Only the offsets and lengths are
+     * reordered; the arena is left untouched. {@code null} references are placed first.
+     */
+    @Override
+    public void sortAscending() {
+        sortRows(false);
+    }
+
+    /**
+     * Sorts the values by their UTF-8 bytes in descending order. {@code null} references are placed last.
+     */
+    @Override
+    public void sortDescending() {
+        sortRows(true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Utf8Storage copy() {
+        Utf8Storage copy = new Utf8Storage();
+        copy.arena = Arrays.copyOf(arena, arenaSize);
+        copy.arenaSize = arenaSize;
+        copy.garbage = garbage;
+        copy.offsets = Arrays.copyOf(offsets, size);
+        copy.lengths = Arrays.copyOf(lengths, size);
+        copy.size = size;
+        return copyValidityTo(copy);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Utf8Storage emptyCopy() {
+        return new Utf8Storage();
+    }
+
+    private void write(int index, String value) {
+        if (value == null) {
+            offsets[index] = arenaSize;
+            lengths[index] = NULL_LENGTH;
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (arenaSize + bytes.length > arena.length) {
+            arena = Arrays.copyOf(arena, newCapacity(arena.length, arenaSize + bytes.length));
+        }
+        System.arraycopy(bytes, 0, arena, arenaSize, bytes.length);
+        offsets[index] = arenaSize;
+        lengths[index] = bytes.length;
+        arenaSize += bytes.length;
+    }
+
+    /**
+     * Rewrites the arena so it only holds the bytes referenced by a row, in row order
+     */
+    private void compactArena() {
+        int liveBytes = arenaSize - garbage;
+        byte[] compacted = new byte[Math.max(liveBytes, 0)];
+        int position = 0;
+        for (int i = 0; i < size; i++) {
+            int length = lengths[i];
+            if (length > 0) {
+                System.arraycopy(arena, offsets[i], compacted, position, length);
+            }
+            offsets[i] = position;
+            position += Math.max(length, 0);
+        }
+        arena = compacted;
+        arenaSize = position;
+        garbage = 0;
+    }
+
+    private void sortRows(boolean descending) {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Comparator<Integer> byValue = this::compareAt;
+        Arrays.sort(order, descending ? byValue.reversed() : byValue);
+
+        int[] sortedOffsets = new int[offsets.length];
+        int[] sortedLengths = new int[lengths.length];
+        ValidityMask sortedValidity = new ValidityMask(size, true);
+        for (int i = 0; i < size; i++) {
+            int row = order[i];
+            sortedOffsets[i] = offsets[row];
+            sortedLengths[i] = lengths[row];
+            sortedValidity.set(i, !isNull(row));
+        }
+        offsets = sortedOffsets;
+        lengths = sortedLengths;
+        setValidity(sortedValidity);
+    }
+}
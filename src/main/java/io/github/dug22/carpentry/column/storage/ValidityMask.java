@@ -0,0 +1,274 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.column.storage;
+
+import io.github.dug22.carpentry.utils.MemoryEstimator;
+
+import java.util.Arrays;
+
+/**
+ * A bitmap recording which slots of a column hold a value. Each slot is backed by one bit of a {@code long} word
+ * (1 = valid, 0 = missing), so null checks are single bit tests and null counts are computed 64 slots at a time.
+ */
+public final class ValidityMask {
+
+    private static final int WORD_SHIFT = 6;
+    private static final int WORD_SIZE = 64;
+
+    private long[] words;
+    private int size;
+
+    public ValidityMask() {
+        this.words = new long[0];
+        this.size = 0;
+    }
+
+    public ValidityMask(int size, boolean valid) {
+        this.words = new long[wordCount(size)];
+        this.size = 0;
+        resize(size, valid);
+    }
+
+    ValidityMask(long[] words, int size) {
+        this.words = words;
+        this.size = size;
+    }
+
+    /**
+     * Gets the number of slots covered by this mask
+     *
+     * @return the number of slots covered by this mask
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks to see if the slot at the given position holds a value
+     *
+     * @param index the position of the slot
+     * @return if the slot at the given position holds a value
+     */
+    public boolean isValid(int index) {
+        return (words[index >>> WORD_SHIFT] & (1L << index)) != 0;
+    }
+
+    /**
+     * Marks the slot at the given position as valid or missing
+     *
+     * @param index the position of the slot
+     * @param valid if the slot holds a value
+     */
+    public void set(int index, boolean valid) {
+        if (valid) {
+            words[index >>> WORD_SHIFT] |= 1L << index;
+        } else {
+            words[index >>> WORD_SHIFT] &= ~(1L << index);
+        }
+    }
+
+    /**
+     * Adds a slot to the end of this mask
+     *
+     * @param valid if the new slot holds a value
+     */
+    public void append(boolean valid) {
+        int index = size;
+        ensureWords(index + 1);
+        size = index + 1;
+        set(index, valid);
+    }
+
+    /**
+     * Grows or shrinks this mask. Slots added by this call are marked with the given validity.
+     *
+     * @param newSize the new number of slots
+     * @param valid   if the added slots hold a value
+     */
+    public void resize(int newSize, boolean valid) {
+        ensureWords(newSize);
+        if (newSize > size) {
+            int from = size;
+            size = newSize;
+            fill(from, newSize, valid);
+        } else {
+            size = newSize;
+            clearUnusedBits();
+        }
+    }
+
+    /**
+     * Marks every slot in the range [from, to) as valid or missing
+     *
+     * @param from  the first position (inclusive)
+     * @param to    the last position (exclusive)
+     * @param valid if the slots hold a value
+     */
+    public void fill(int from, int to, boolean valid) {
+        if (from >= to) {
+            return;
+        }
+
+        int firstWord = from >>> WORD_SHIFT;
+        int lastWord = (to - 1) >>> WORD_SHIFT;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        if (firstWord == lastWord) {
+            long mask = firstMask & lastMask;
+            words[firstWord] = valid ? words[firstWord] | mask : words[firstWord] & ~mask;
+            return;
+        }
+
+        words[firstWord] = valid ? words[firstWord] | firstMask : words[firstWord] & ~firstMask;
+        Arrays.fill(words, firstWord + 1, lastWord, valid ? -1L : 0L);
+        words[lastWord] = valid ? words[lastWord] | lastMask : words[lastWord] & ~lastMask;
+    }
+
+    /**
+     * Counts the slots that hold a value
+     *
+     * @return the number of valid slots
+     */
+    public int countValid() {
+        int count = 0;
+        int wordCount = wordCount(size);
+        for (int i = 0; i < wordCount; i++) {
+            count += Long.bitCount(words[i]);
+        }
+        return count;
+    }
+
+    /**
+     * Counts the slots that are missing a value
+     *
+     * @return the number of missing slots
+     */
+    public int countInvalid() {
+        return size - countValid();
+    }
+
+    /**
+     * Finds the first valid slot at or after the given position
+     *
+     * @param from the position to start searching from
+     * @return the position of the next valid slot, or -1 if there is none
+     */
+    public int nextValid(int from) {
+        return nextSetBit(from, false);
+    }
+
+    /**
+     * Finds the first missing slot at or after the given position
+     *
+     * @param from the position to start searching from
+     * @return the position of the next missing slot, or -1 if there is none
+     */
+    public int nextInvalid(int from) {
+        return nextSetBit(from, true);
+    }
+
+    /**
+     * Removes every slot from this mask
+     */
+    public void clear() {
+        words = new long[0];
+        size = 0;
+    }
+
+    /**
+     * Shrinks the words backing this mask to the number needed for its current size
+     */
+    public void trimToSize() {
+        int wordCount = wordCount(size);
+        if (wordCount < words.length) {
+            words = Arrays.copyOf(words, wordCount);
+        }
+    }
+
+    /**
+     * Creates an exact copy of this mask
+     *
+     * @return a copy of this mask
+     */
+    public ValidityMask copy() {
+        ValidityMask copy = new ValidityMask();
+        copy.words = Arrays.copyOf(words, wordCount(size));
+        copy.size = size;
+        return copy;
+    }
+
+    /**
+     * Estimates the bytes held by this mask
+     *
+     * @return the estimated size of this mask in bytes
+     */
+    public long memoryUsage() {
+        return MemoryEstimator.array(words.length, Long.BYTES);
+    }
+
+    /**
+     * Gets the raw words backing this mask. Bits past {@link #size()} are always zero.
+     *
+     * @return the words backing this mask
+     */
+    public long[] words() {
+        return words;
+    }
+
+    private int nextSetBit(int from, boolean inverted) {
+        if (from >= size) {
+            return -1;
+        }
+
+        int wordIndex = from >>> WORD_SHIFT;
+        long word = (inverted ? ~words[wordIndex] : words[wordIndex]) & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                int index = (wordIndex << WORD_SHIFT) + Long.numberOfTrailingZeros(word);
+                return index < size ? index : -1;
+            }
+
+            if (++wordIndex >= wordCount(size)) {
+                return -1;
+            }
+            word = inverted ? ~words[wordIndex] : words[wordIndex];
+        }
+    }
+
+    private void ensureWords(int slots) {
+        int required = wordCount(slots);
+        if (required > words.length) {
+            words = Arrays.copyOf(words, Math.max(required, words.length * 2));
+        }
+    }
+
+    private void clearUnusedBits() {
+        int wordCount = wordCount(size);
+        if (wordCount < words.length) {
+            Arrays.fill(words, wordCount, words.length, 0L);
+        }
+
+        if ((size & (WORD_SIZE - 1)) != 0) {
+            words[wordCount - 1] &= -1L >>> -size;
+        }
+    }
+
+    static int wordCount(int slots) {
+        return (slots + WORD_SIZE - 1) >>> WORD_SHIFT;
+    }
+}
@@ -0,0 +1,441 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.column.storage;
+
+import io.github.dug22.carpentry.utils.MemoryEstimator;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A read-through view of another storage. A view holds either an offset/length range or a vector of selected
+ * positions, so slicing and filtering never duplicate the values themselves, and slicing or filtering a view
+ * again references the original storage directly. Columns copy their values before changing them in place
+ * while views of them exist, so a view keeps seeing the values it was created from.
+ * The first write to a view replaces it with a compact copy of the values it references, so writes never
+ * reach the original storage.
+ *
+ * @param <T> the boxed type of the values held by this storage
+ */
+public class ViewStorage<T> implements ColumnStorage<T> {
+
+    private ColumnStorage<T> source;
+    private int[] rows;
+    private int offset;
+    private int size;
+    private ColumnStorage<T> owned;
+
+    private ViewStorage(ColumnStorage<T> source, int[] rows, int offset, int size) {
+        this.source = source;
+        this.rows = rows;
+        this.offset = offset;
+        this.size = size;
+    }
+
+    /**
+     * Creates a view of a contiguous range of positions
+     *
+     * @param storage   the storage to view
+     * @param fromIndex the first position of the range, inclusive
+     * @param toIndex   the last position of the range, exclusive
+     * @param <T>       the boxed type of the values held by the storage
+     * @return a view of the given range
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     */
+    public static <T> ViewStorage<T> range(ColumnStorage<T> storage, int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, storage.size());
+        if (storage instanceof ViewStorage<T> view && view.owned == null) {
+            if (view.rows != null) {
+                return new ViewStorage<>(view.source, Arrays.copyOfRange(view.rows, fromIndex, toIndex), 0, toIndex - fromIndex);
+            }
+            return new ViewStorage<>(view.source, null, view.offset + fromIndex, toIndex - fromIndex);
+        }
+        return new ViewStorage<>(unwrap(storage), null, fromIndex, toIndex - fromIndex);
+    }
+
+    /**
+     * Creates a view of selected positions, in the order they are given
+     *
+     * @param storage the storage to view
+     * @param rows    the positions to select; the array may be shared by the view and should not be modified afterward
+     * @param <T>     the boxed type of the values held by the storage
+     * @return a view of the selected positions
+     * @throws IndexOutOfBoundsException if a position is out of bounds
+     */
+    public static <T> ViewStorage<T> select(ColumnStorage<T> storage, int[] rows) {
+        int storageSize = storage.size();
+        for (int row : rows) {
+            Objects.checkIndex(row, storageSize);
+        }
+        if (storage instanceof ViewStorage<T> view && view.owned == null) {
+            int[] sourceRows = new int[rows.length];
+            for (int i = 0; i < rows.length; i++) {
+                sourceRows[i] = view.sourceIndex(rows[i]);
+            }
+            return new ViewStorage<>(view.source, sourceRows, 0, rows.length);
+        }
+        return new ViewStorage<>(unwrap(storage), rows, 0, rows.length);
+    }
+
+    /**
+     * Replaces this view with a compact copy of the values it references, if that has not happened yet
+     *
+     * @return the storage holding the values of this view from now on
+     */
+    public ColumnStorage<T> materialize() {
+        if (owned == null) {
+            owned = copy();
+            source = null;
+            rows = null;
+        }
+        return owned;
+    }
+
+    /**
+     * Checks to see if this view has been replaced with a compact copy of its values
+     *
+     * @return if this view has been materialized
+     */
+    public boolean isMaterialized() {
+        return owned != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return owned != null ? owned.size() : size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int capacity() {
+        return owned != null ? owned.capacity() : size;
+    }
+
+    /**
+     * {@inheritDoc}
+     * A view shares the values of its source, so only its own row positions are counted until it owns a copy.
+     */
+    @Override
+    public long memoryUsage(boolean deep) {
+        if (owned != null) {
+            return owned.memoryUsage(deep);
+        }
+        return rows != null ? MemoryEstimator.array(rows.length, Integer.BYTES) : 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > capacity()) {
+            materialize().ensureCapacity(minCapacity);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void trimToSize() {
+        if (owned != null) {
+            owned.trimToSize();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T get(int index) {
+        return owned != null ? owned.get(index) : source.get(sourceIndex(index));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getInt(int index) {
+        return owned != null ? owned.getInt(index) : source.getInt(sourceIndex(index));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLong(int index) {
+        return owned != null ? owned.getLong(index) : source.getLong(sourceIndex(index));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getDouble(int index) {
+        return owned != null ? owned.getDouble(index) : source.getDouble(sourceIndex(index));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long longHash(int index) {
+        return owned != null ? owned.longHash(index) : source.longHash(sourceIndex(index));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isNull(int index) {
+        return owned != null ? owned.isNull(index) : source.isNull(sourceIndex(index));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int countNull() {
+        if (owned != null) {
+            return owned.countNull();
+        }
+        int nullCount = 0;
+        for (int i = 0; i < size; i++) {
+            if (source.isNull(sourceIndex(i))) {
+                nullCount++;
+            }
+        }
+        return nullCount;
+    }
+
+    /**
+     * Gets the validity of the values referenced by this view. Until the view is written to, the bitmap is
+     * rebuilt on every call and later changes to it are not reflected by the view.
+     *
+     * @return the validity bitmap of this view
+     */
+    @Override
+    public ValidityMask getValidity() {
+        if (owned != null) {
+            return owned.getValidity();
+        }
+        ValidityMask validity = new ValidityMask(size, true);
+        for (int i = 0; i < size; i++) {
+            if (source.isNull(sourceIndex(i))) {
+                validity.set(i, false);
+            }
+        }
+        return validity;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void set(int index, T value) {
+        materialize().set(index, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setInt(int index, int value) {
+        materialize().setInt(index, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setLong(int index, long value) {
+        materialize().setLong(index, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setDouble(int index, double value) {
+        materialize().setDouble(index, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setNull(int index) {
+        materialize().setNull(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void append(T value) {
+        materialize().append(value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendInt(int value) {
+        materialize().appendInt(value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendLong(long value) {
+        materialize().appendLong(value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendDouble(double value) {
+        materialize().appendDouble(value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendNull() {
+        materialize().appendNull();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendAll(T[] values) {
+        materialize().appendAll(values);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setData(T[] data) {
+        materialize().setData(data);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T[] toArray() {
+        if (owned != null) {
+            return owned.toArray();
+        }
+        T[] result = Arrays.copyOf(source.emptyCopy().toArray(), size);
+        for (int i = 0; i < size; i++) {
+            result[i] = source.get(sourceIndex(i));
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        materialize().clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void sortAscending() {
+        materialize().sortAscending();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void sortDescending() {
+        materialize().sortDescending();
+    }
+
+    /**
+     * Creates a compact copy of the values referenced by this view, stored the same way as the original storage
+     *
+     * @return a compact copy of this view
+     */
+    @Override
+    public ColumnStorage<T> copy() {
+        if (owned != null) {
+            return owned.copy();
+        }
+        ColumnStorage<T> copy = source.emptyCopy();
+        copy.ensureCapacity(size);
+        for (int i = 0; i < size; i++) {
+            copy.appendFrom(source, sourceIndex(i));
+        }
+        return copy;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ColumnStorage<T> emptyCopy() {
+        return owned != null ? owned.emptyCopy() : source.emptyCopy();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isOffHeap() {
+        return owned != null ? owned.isOffHeap() : source.isOffHeap();
+    }
+
+    /**
+     * Releases this view. The original storage is left open; only a compact copy made by a write is closed.
+     */
+    @Override
+    public void close() {
+        if (owned != null) {
+            owned.close();
+        }
+        source = null;
+        rows = null;
+        size = 0;
+    }
+
+    private int sourceIndex(int index) {
+        Objects.checkIndex(index, size);
+        return rows != null ? rows[index] : offset + index;
+    }
+
+    private static <T> ColumnStorage<T> unwrap(ColumnStorage<T> storage) {
+        return storage instanceof ViewStorage<T> view ? view.materialize() : storage;
+    }
+}
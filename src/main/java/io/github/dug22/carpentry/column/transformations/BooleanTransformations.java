@@ -16,8 +16,11 @@
 
 package io.github.dug22.carpentry.column.transformations;
 
-import io.github.dug22.carpentry.column.ColumnBiFunction;
+import io.github.dug22.carpentry.column.ColumnException;
 import io.github.dug22.carpentry.column.impl.BooleanColumn;
+import io.github.dug22.carpentry.column.storage.BitStorage;
+
+import java.util.function.BinaryOperator;
 
 public interface BooleanTransformations extends Transformation {
 
@@ -28,13 +31,19 @@ public interface BooleanTransformations extends Transformation {
      */
     Boolean get(int index);
 
+    /**
+     * Returns the bit-packed storage holding the values of this column.
+     * @return the bit-packed storage of this column
+     */
+    BitStorage getBitStorage();
+
     /**
      * Performs logical AND with one or more BooleanColumns.
      * @param columns the columns to AND with
      * @return a new BooleanColumn with the result of the AND operation
      */
     default BooleanColumn and(BooleanColumn... columns) {
-        return performTransformativeOperation((a, b) -> a && b, "and", columns);
+        return performTransformativeOperation(BitStorage::and, "and", columns);
     }
 
     /**
@@ -43,7 +52,7 @@ public interface BooleanTransformations extends Transformation {
      * @return a new BooleanColumn with the result of the AND NOT operation
      */
     default BooleanColumn andNot(BooleanColumn... columns) {
-        return performTransformativeOperation((a, b) -> a && !b, "andNot", columns);
+        return performTransformativeOperation(BitStorage::andNot, "andNot", columns);
     }
 
     /**
@@ -52,7 +61,7 @@ public interface BooleanTransformations extends Transformation {
      * @return a new BooleanColumn with the result of the OR operation
      */
     default BooleanColumn or(BooleanColumn... columns) {
-        return performTransformativeOperation((a, b) -> a || b, "or", columns);
+        return performTransformativeOperation(BitStorage::or, "or", columns);
     }
 
     /**
@@ -61,7 +70,7 @@ public interface BooleanTransformations extends Transformation {
      * @return a new BooleanColumn with the result of the XOR operation
      */
     default BooleanColumn xor(BooleanColumn... columns) {
-        return performTransformativeOperation((a, b) -> a != b, "xor", columns);
+        return performTransformativeOperation(BitStorage::xor, "xor", columns);
     }
 
     /**
@@ -70,37 +79,26 @@ public interface BooleanTransformations extends Transformation {
      */
     default BooleanColumn flip() {
         String newName = name() + " (flipped)";
-        BooleanColumn result = BooleanColumn.create(newName, new Boolean[size()]);
-        for (int i = 0; i < size(); i++) {
-            result.set(i, !get(i));
-        }
-
-        return result;
+        return new BooleanColumn(newName, getBitStorage().not());
     }
 
     /**
-     * Applies a binary logical operation across this column and additional columns.
-     * @param logicalFunction the logical operation to apply
+     * Applies a binary logical operation across this column and additional columns, 64 rows at a time.
+     * A row of the result is missing if it is missing in any of the inputs.
+     * @param logicalFunction the word-wise logical operation to apply
      * @param label a label describing the operation (used for naming)
      * @param columns the columns to apply the operation with
      * @return a new BooleanColumn with the result of the operation
      */
-    private BooleanColumn performTransformativeOperation(ColumnBiFunction<Boolean, Boolean, Boolean> logicalFunction, String label, BooleanColumn... columns) {
+    private BooleanColumn performTransformativeOperation(BinaryOperator<BitStorage> logicalFunction, String label, BooleanColumn... columns) {
         StringBuilder newName = new StringBuilder(name());
+        BitStorage result = getBitStorage();
         for (BooleanColumn column : columns) {
+            if (column.size() != size()) throw new ColumnException("All columns must have the same size!");
             newName.append(" ").append(label).append(" : ").append(column.name());
+            result = logicalFunction.apply(result, column.getBitStorage());
         }
 
-        BooleanColumn result = BooleanColumn.create(newName.toString());
-        for (int i = 0; i < size(); i++) {
-            boolean value = get(i);
-            for (BooleanColumn column : columns) {
-                value = logicalFunction.apply(value, column.get(i));
-            }
-
-            result.append(value);
-        }
-
-        return result;
+        return new BooleanColumn(newName.toString(), columns.length == 0 ? result.copy() : result);
     }
 }
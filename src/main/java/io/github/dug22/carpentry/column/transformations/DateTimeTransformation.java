@@ -18,9 +18,9 @@ package io.github.dug22.carpentry.column.transformations;
 
 import io.github.dug22.carpentry.column.impl.DateTimeColumn;
 import io.github.dug22.carpentry.column.impl.LongColumn;
-import io.github.dug22.carpentry.utils.Nulls;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
 
 public interface DateTimeTransformation extends Transformation {
@@ -31,6 +31,20 @@ public interface DateTimeTransformation extends Transformation {
      */
     LocalDateTime[] getValues();
 
+    /**
+     * Returns the value at the specified index as a number of seconds since 1970-01-01T00:00.
+     * @param index the row index
+     * @return the second count of the value at the given index
+     */
+    long getEpochSecond(int index);
+
+    /**
+     * Returns the nano-of-second of the value at the specified index.
+     * @param index the row index
+     * @return the nano-of-second of the value at the given index
+     */
+    int getNano(int index);
+
     /**
      * Adds seconds to each datetime value.
      * @param value the number of seconds to add
@@ -236,51 +250,91 @@ public interface DateTimeTransformation extends Transformation {
 
     /**
      * Applies a plus or minus operation to each datetime value based on the given unit and direction.
+     * Units of a fixed length are added to the stored second counts directly; months and years go through the calendar.
      */
     private DateTimeColumn applyDateTimeAdditionSubtractionOperation(long value, ChronoUnit unit, boolean isAddition) {
-        LocalDateTime[] values = getValues();
-        LocalDateTime[] results = new LocalDateTime[size()];
+        DateTimeColumn result = DateTimeColumn.create(name() + (isAddition ? "_plus_" : "_minus_") + value + "_" + unit.toString().toLowerCase());
+        result.ensureCapacity(size());
+        long unitSeconds = fixedUnitSeconds(unit);
+        long minSecond = LocalDateTime.MIN.toEpochSecond(ZoneOffset.UTC);
+        long maxSecond = LocalDateTime.MAX.toEpochSecond(ZoneOffset.UTC);
         for (int index = 0; index < size(); index++) {
             if (isAbsent(index)) {
-                results[index] = Nulls.getDefaultNullValue(LocalDateTime.class);
-            } else {
-                try {
-                    LocalDateTime currentDateTimeValue = values[index];
-                    results[index] = isAddition
+                result.appendNull();
+                continue;
+            }
+
+            try {
+                if (unitSeconds > 0) {
+                    long seconds = Math.multiplyExact(isAddition ? value : Math.negateExact(value), unitSeconds);
+                    long epochSecond = Math.addExact(getEpochSecond(index), seconds);
+                    if (epochSecond < minSecond || epochSecond > maxSecond) {
+                        result.appendNull();
+                    } else {
+                        result.appendEpochSecond(epochSecond, getNano(index));
+                    }
+                } else {
+                    LocalDateTime currentDateTimeValue = LocalDateTime.ofEpochSecond(getEpochSecond(index), getNano(index), ZoneOffset.UTC);
+                    result.append(isAddition
                             ? currentDateTimeValue.plus(value, unit)
-                            : currentDateTimeValue.minus(value, unit);
-                } catch (Exception e) {
-                    results[index] = Nulls.getDefaultNullValue(LocalDateTime.class);
+                            : currentDateTimeValue.minus(value, unit));
                 }
+            } catch (Exception e) {
+                result.appendNull();
             }
         }
 
-        return DateTimeColumn.create(name() + (isAddition ? "_plus_" : "_minus_") + value + "_" + unit.toString().toLowerCase(), results);
+        return result;
     }
 
     /**
-     * Calculates the time difference between two DateTimeColumns using the specified unit.
+     * Calculates the time difference between this column and another DateTimeColumn using the specified unit.
+     * Differences in units of a fixed length are computed from the stored second counts.
      */
     private LongColumn between(DateTimeColumn dateTimeColumn, ChronoUnit unit, String label) {
         if (dateTimeColumn.size() != size())
             throw new IllegalArgumentException("Both columns must have the same length");
 
-        LocalDateTime[] values = getValues();
-        Long[] results = new Long[size()];
+        LongColumn result = LongColumn.create(name() + label);
+        result.ensureCapacity(size());
+        long unitSeconds = fixedUnitSeconds(unit);
         for (int index = 0; index < size(); index++) {
-            if (isAbsent(index)) {
-                results[index] = Nulls.getDefaultNullValue(Long.class);
-            } else {
-                try {
-                    LocalDateTime fromDateTimeValue = values[index];
-                    LocalDateTime toDateTimeValue = dateTimeColumn.get(index);
-                    results[index] = unit.between(fromDateTimeValue, toDateTimeValue);
-                } catch (Exception e) {
-                    results[index] = Nulls.getDefaultNullValue(Long.class);
+            if (isAbsent(index) || dateTimeColumn.isAbsent(index)) {
+                result.appendNull();
+                continue;
+            }
+
+            if (unitSeconds > 0) {
+                long seconds = dateTimeColumn.getEpochSecond(index) - getEpochSecond(index);
+                int nanos = dateTimeColumn.getNano(index) - getNano(index);
+                if (seconds > 0 && nanos < 0) {
+                    seconds--;
+                } else if (seconds < 0 && nanos > 0) {
+                    seconds++;
                 }
+                result.appendLong(seconds / unitSeconds);
+            } else {
+                LocalDateTime fromDateTimeValue = LocalDateTime.ofEpochSecond(getEpochSecond(index), getNano(index), ZoneOffset.UTC);
+                LocalDateTime toDateTimeValue = LocalDateTime.ofEpochSecond(dateTimeColumn.getEpochSecond(index), dateTimeColumn.getNano(index), ZoneOffset.UTC);
+                result.appendLong(unit.between(fromDateTimeValue, toDateTimeValue));
             }
         }
 
-        return LongColumn.create(name() + label, results);
+        return result;
+    }
+
+    /**
+     * Gets the length of a unit in seconds.
+     * @return the number of seconds in the unit, or 0 for units whose length depends on the calendar
+     */
+    private static long fixedUnitSeconds(ChronoUnit unit) {
+        return switch (unit) {
+            case SECONDS -> 1;
+            case MINUTES -> 60;
+            case HOURS -> 3_600;
+            case DAYS -> 86_400;
+            case WEEKS -> 604_800;
+            default -> 0;
+        };
     }
 }
@@ -18,7 +18,6 @@ package io.github.dug22.carpentry.column.transformations;
 
 import io.github.dug22.carpentry.column.impl.DateColumn;
 import io.github.dug22.carpentry.column.impl.LongColumn;
-import io.github.dug22.carpentry.utils.Nulls;
 
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
@@ -31,6 +30,13 @@ public interface DateTransformations extends Transformation {
      */
     LocalDate[] getValues();
 
+    /**
+     * Returns the value at the specified index as a number of days since 1970-01-01.
+     * @param index the row index
+     * @return the day number of the value at the given index
+     */
+    int getEpochDay(int index);
+
     /**
      * Adds days to each date value in the column.
      * @param value the number of days to add
@@ -161,34 +167,43 @@ public interface DateTransformations extends Transformation {
 
     /**
      * Applies a plus or minus operation to each date value based on the given unit and direction.
+     * Days and weeks are added to the stored day numbers directly; months and years go through the calendar.
      * @param value the amount to add or subtract
      * @param unit the ChronoUnit to apply
      * @param isAddition true if addition, false if subtraction
      * @return a new DateColumn with the result
      */
     private DateColumn applyDateAdditionSubtractionOperation(long value, ChronoUnit unit, boolean isAddition) {
-        LocalDate[] values = getValues();
-        LocalDate[] results = new LocalDate[size()];
+        DateColumn result = DateColumn.create(name() + (isAddition ? "_plus_" : "_minus_") + value + "_" + unit.toString().toLowerCase());
+        result.ensureCapacity(size());
+        boolean isDayBased = unit == ChronoUnit.DAYS || unit == ChronoUnit.WEEKS;
         for (int index = 0; index < size(); index++) {
             if (isAbsent(index)) {
-                results[index] = Nulls.getDefaultNullValue(LocalDate.class);
-            } else {
-                try {
-                    LocalDate currentDateValue = values[index];
-                    results[index] = isAddition
+                result.appendNull();
+                continue;
+            }
+
+            try {
+                if (isDayBased) {
+                    long days = Math.multiplyExact(isAddition ? value : Math.negateExact(value), unit == ChronoUnit.WEEKS ? 7 : 1);
+                    result.appendEpochDay(Math.toIntExact(Math.addExact(getEpochDay(index), days)));
+                } else {
+                    LocalDate currentDateValue = LocalDate.ofEpochDay(getEpochDay(index));
+                    result.append(isAddition
                             ? currentDateValue.plus(value, unit)
-                            : currentDateValue.minus(value, unit);
-                } catch (Exception e) {
-                    results[index] = Nulls.getDefaultNullValue(LocalDate.class);
+                            : currentDateValue.minus(value, unit));
                 }
+            } catch (Exception e) {
+                result.appendNull();
             }
         }
 
-        return DateColumn.create(name() + (isAddition ? "_plus_" : "_minus_") + value + "_" + unit.toString().toLowerCase(), results);
+        return result;
     }
 
     /**
      * Calculates the time difference between two DateColumns using the specified unit.
+     * Day and week differences are computed from the stored day numbers.
      * @param dateColumn the column to compare against
      * @param unit the time unit to use for the difference
      * @param label label used for naming the resulting column
@@ -198,22 +213,22 @@ public interface DateTransformations extends Transformation {
         if (dateColumn.size() != size())
             throw new IllegalArgumentException("Both columns must have the same length");
 
-        LocalDate[] values = getValues();
-        Long[] differences = new Long[size()];
+        LongColumn result = LongColumn.create(name() + label);
+        result.ensureCapacity(size());
         for (int index = 0; index < size(); index++) {
-            if (isAbsent(index)) {
-                differences[index] = Nulls.getDefaultNullValue(Long.class);
-            } else {
-                try {
-                    LocalDate fromDateValue = values[index];
-                    LocalDate toDateValue = dateColumn.get(index);
-                    differences[index] = unit.between(fromDateValue, toDateValue);
-                } catch (Exception e) {
-                    differences[index] = Nulls.getDefaultNullValue(Long.class);
-                }
+            if (isAbsent(index) || dateColumn.isAbsent(index)) {
+                result.appendNull();
+                continue;
+            }
+
+            long days = (long) dateColumn.getEpochDay(index) - getEpochDay(index);
+            switch (unit) {
+                case DAYS -> result.appendLong(days);
+                case WEEKS -> result.appendLong(days / 7);
+                default -> result.appendLong(unit.between(LocalDate.ofEpochDay(getEpochDay(index)), LocalDate.ofEpochDay(dateColumn.getEpochDay(index))));
             }
         }
 
-        return LongColumn.create(name() + label, differences);
+        return result;
     }
 }
@@ -0,0 +1,290 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.column.transformations;
+
+/**
+ * Element-wise arithmetic over primitive {@code double} arrays. Missing values are {@link Double#NaN}, which every
+ * IEEE operation propagates, so they need no separate mask; the kernels whose result can hide a NaN operand
+ * ({@code pow} and {@code round}) keep it missing as they go. The results are written into the first
+ * {@code result.length} slots, so operands may be longer than the result, and the result array may be one of the
+ * operands.
+ * <p>
+ * When the {@code jdk.incubator.vector} module is present at run time ({@code --add-modules jdk.incubator.vector})
+ * the arithmetic, {@code sqrt}, {@code abs} and negation kernels run on the Vector API; otherwise they fall back on
+ * plain counted loops. The logarithms, {@code pow} and {@code round} always run as scalar loops: the Vector API only
+ * bounds their error to one ulp, and their results must match {@link Math} exactly.
+ */
+public final class DoubleKernels {
+
+    private static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+            && VectorKernels.isWide();
+
+    /**
+     * A kernel reading an array of values and writing its results into an array of the same length
+     */
+    @FunctionalInterface
+    public interface ArrayKernel {
+
+        void apply(double[] values, double[] result);
+    }
+
+    /**
+     * The values of a column as the kernels read them, with missing values as {@link Double#NaN}. An operand may
+     * share the array backing its column without copying it; the array is only reachable by the kernels, so it can
+     * never be written through an operand.
+     */
+    public static final class Operand {
+
+        final double[] values;
+
+        private Operand(double[] values) {
+            this.values = values;
+        }
+
+        /**
+         * Creates an operand reading the given values. Only the first values, as many as the kernel's result holds,
+         * are read, so the array may be longer than the column.
+         *
+         * @param values the values to read
+         * @return an operand reading the given values
+         */
+        public static Operand of(double[] values) {
+            return new Operand(values);
+        }
+    }
+
+    private DoubleKernels() {
+    }
+
+    /**
+     * Checks to see if the kernels run on the Vector API
+     *
+     * @return if the vector module is present and the hardware has vector registers wide enough for doubles
+     */
+    public static boolean isVectorized() {
+        return VECTORIZED;
+    }
+
+    /**
+     * Applies a binary arithmetic operator element-wise to two arrays
+     *
+     * @param symbol one of {@code + - * / ^}
+     * @param left   the left operands
+     * @param right  the right operands
+     * @param result the array receiving the results
+     * @throws IllegalArgumentException if the symbol is not a supported operator
+     */
+    public static void apply(char symbol, double[] left, double[] right, double[] result) {
+        switch (symbol) {
+            case '+' -> add(left, right, result);
+            case '-' -> subtract(left, right, result);
+            case '*' -> multiply(left, right, result);
+            case '/' -> divide(left, right, result);
+            case '^' -> pow(left, right, result);
+            default -> throw new IllegalArgumentException("Unsupported operator: " + symbol);
+        }
+    }
+
+    /**
+     * Applies a binary arithmetic operator element-wise between an array and a constant
+     *
+     * @param symbol one of {@code + - * / ^}
+     * @param left   the left operands
+     * @param right  the constant right operand
+     * @param result the array receiving the results
+     * @throws IllegalArgumentException if the symbol is not a supported operator
+     */
+    public static void apply(char symbol, double[] left, double right, double[] result) {
+        switch (symbol) {
+            case '+' -> add(left, right, result);
+            case '-' -> add(left, -right, result);
+            case '*' -> multiply(left, right, result);
+            case '/' -> divide(left, right, result);
+            case '^' -> pow(left, right, result);
+            default -> throw new IllegalArgumentException("Unsupported operator: " + symbol);
+        }
+    }
+
+    public static void add(double[] left, double[] right, double[] result) {
+        if (VECTORIZED) {
+            VectorKernels.add(left, right, result);
+            return;
+        }
+        for (int i = 0; i < result.length; i++) {
+            result[i] = left[i] + right[i];
+        }
+    }
+
+    public static void add(double[] left, double right, double[] result) {
+        if (VECTORIZED) {
+            VectorKernels.add(left, right, result);
+            return;
+        }
+        for (int i = 0; i < result.length; i++) {
+            result[i] = left[i] + right;
+        }
+    }
+
+    public static void subtract(double[] left, double[] right, double[] result) {
+        if (VECTORIZED) {
+            VectorKernels.subtract(left, right, result);
+            return;
+        }
+        for (int i = 0; i < result.length; i++) {
+            result[i] = left[i] - right[i];
+        }
+    }
+
+    public static void multiply(double[] left, double[] right, double[] result) {
+        if (VECTORIZED) {
+            VectorKernels.multiply(left, right, result);
+            return;
+        }
+        for (int i = 0; i < result.length; i++) {
+            result[i] = left[i] * right[i];
+        }
+    }
+
+    public static void multiply(double[] left, double right, double[] result) {
+        if (VECTORIZED) {
+            VectorKernels.multiply(left, right, result);
+            return;
+        }
+        for (int i = 0; i < result.length; i++) {
+            result[i] = left[i] * right;
+        }
+    }
+
+    public static void divide(double[] left, double[] right, double[] result) {
+        if (VECTORIZED) {
+            VectorKernels.divide(left, right, result);
+            return;
+        }
+        for (int i = 0; i < result.length; i++) {
+            result[i] = left[i] / right[i];
+        }
+    }
+
+    public static void divide(double[] left, double right, double[] result) {
+        if (VECTORIZED) {
+            VectorKernels.divide(left, right, result);
+            return;
+        }
+        for (int i = 0; i < result.length; i++) {
+            result[i] = left[i] / right;
+        }
+    }
+
+    /**
+     * Raises each left operand to the power of the matching right operand. {@code pow(NaN, 0)} is 1,
+     * so a missing base gives a missing result.
+     */
+    public static void pow(double[] left, double[] right, double[] result) {
+        for (int i = 0; i < result.length; i++) {
+            double base = left[i];
+            result[i] = Double.isNaN(base) ? Double.NaN : Math.pow(base, right[i]);
+        }
+    }
+
+    /**
+     * Raises each operand to the given power. Squares are computed by multiplication; otherwise
+     * a missing base gives a missing result, as {@code pow(NaN, 0)} is 1.
+     */
+    public static void pow(double[] left, double right, double[] result) {
+        if (right == 2) {
+            multiply(left, left, result);
+            return;
+        }
+        for (int i = 0; i < result.length; i++) {
+            double base = left[i];
+            result[i] = Double.isNaN(base) ? Double.NaN : Math.pow(base, right);
+        }
+    }
+
+    public static void sqrt(double[] values, double[] result) {
+        if (VECTORIZED) {
+            VectorKernels.sqrt(values, result);
+            return;
+        }
+        for (int i = 0; i < result.length; i++) {
+            result[i] = Math.sqrt(values[i]);
+        }
+    }
+
+    public static void abs(double[] values, double[] result) {
+        if (VECTORIZED) {
+            VectorKernels.abs(values, result);
+            return;
+        }
+        for (int i = 0; i < result.length; i++) {
+            result[i] = Math.abs(values[i]);
+        }
+    }
+
+    public static void negate(double[] values, double[] result) {
+        if (VECTORIZED) {
+            VectorKernels.negate(values, result);
+            return;
+        }
+        for (int i = 0; i < result.length; i++) {
+            result[i] = -values[i];
+        }
+    }
+
+    public static void log(double[] values, double[] result) {
+        for (int i = 0; i < result.length; i++) {
+            result[i] = Math.log(values[i]);
+        }
+    }
+
+    public static void log10(double[] values, double[] result) {
+        for (int i = 0; i < result.length; i++) {
+            result[i] = Math.log10(values[i]);
+        }
+    }
+
+    public static void log1p(double[] values, double[] result) {
+        for (int i = 0; i < result.length; i++) {
+            result[i] = Math.log1p(values[i]);
+        }
+    }
+
+    /**
+     * Rounds each value half-up to the given number of decimal places. {@code Math.round(NaN)} is 0,
+     * so a missing value gives a missing result.
+     */
+    public static void round(double[] values, int decimalPlaces, double[] result) {
+        double scale = Math.pow(10, decimalPlaces);
+        for (int i = 0; i < result.length; i++) {
+            double value = values[i];
+            result[i] = Double.isNaN(value) ? Double.NaN : (double) Math.round(value * scale) / scale;
+        }
+    }
+
+    /**
+     * Marks a result as missing wherever its source value is missing
+     *
+     * @param source the source values
+     * @param result the results to mask
+     */
+    public static void maskMissing(double[] source, double[] result) {
+        for (int i = 0; i < result.length; i++) {
+            result[i] = Double.isNaN(source[i]) ? Double.NaN : result[i];
+        }
+    }
+}
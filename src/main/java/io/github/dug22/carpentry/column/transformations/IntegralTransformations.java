@@ -0,0 +1,281 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.column.transformations;
+
+import io.github.dug22.carpentry.column.ColumnException;
+import io.github.dug22.carpentry.column.storage.ValidityMask;
+
+/**
+ * Integer arithmetic that keeps the type of the column. Unlike {@link NumberTransformations}, whose results are
+ * DoubleColumns, these operations read the values as longs and never convert them to doubles, so long values above
+ * 2^53 stay exact and int results keep their width. Values are computed in the long domain through
+ * {@link LongKernels} and narrowed back to the type of the column as the {@link OverflowMode} directs.
+ * A result is missing if an operand is missing or if it divides by zero.
+ *
+ * @param <C> the type of the column
+ */
+public interface IntegralTransformations<C extends IntegralTransformations<C>> extends Transformation {
+
+    /**
+     * Retrieves a value without boxing it. Missing values are returned as their null sentinel.
+     *
+     * @param index the position of the value
+     * @return the value at the given position
+     */
+    long getLong(int index);
+
+    /**
+     * Gets the width in bits of the values of this column
+     *
+     * @return the width of the values
+     */
+    int bitWidth();
+
+    /**
+     * Creates a column of this type from values computed in the long domain, each cast to the type of the column
+     *
+     * @param name     the name of the column
+     * @param values   the values, already within the range of the type
+     * @param validity the positions holding a value
+     * @return a column of this type
+     */
+    C createIntegral(String name, long[] values, ValidityMask validity);
+
+    /**
+     * Adds a constant value to each element in the column.
+     */
+    default C add(long value, OverflowMode overflowMode) {
+        return performIntegralOperation('+', value, overflowMode);
+    }
+
+    /**
+     * Adds each element of the given column to this column.
+     */
+    default C plus(C other, OverflowMode overflowMode) {
+        return performIntegralOperation(other, '+', overflowMode);
+    }
+
+    /**
+     * Subtracts a constant value from each element in the column.
+     */
+    default C subtract(long value, OverflowMode overflowMode) {
+        return performIntegralOperation('-', value, overflowMode);
+    }
+
+    /**
+     * Subtracts each element of the given column from this column.
+     */
+    default C minus(C other, OverflowMode overflowMode) {
+        return performIntegralOperation(other, '-', overflowMode);
+    }
+
+    /**
+     * Multiplies each element in the column by a constant value.
+     */
+    default C multiply(long value, OverflowMode overflowMode) {
+        return performIntegralOperation('*', value, overflowMode);
+    }
+
+    /**
+     * Multiplies each element of this column by the corresponding element of the given column.
+     */
+    default C times(C other, OverflowMode overflowMode) {
+        return performIntegralOperation(other, '*', overflowMode);
+    }
+
+    /**
+     * Divides each element in the column by a constant value, truncating towards zero. Dividing by zero
+     * yields missing values. Only dividing the smallest value of the type by -1 can overflow.
+     */
+    default C intDivide(long value, OverflowMode overflowMode) {
+        return performIntegralOperation('/', value, overflowMode);
+    }
+
+    /**
+     * Divides each element of this column by the corresponding element of the given column, truncating towards
+     * zero. Rows dividing by zero are missing.
+     */
+    default C intDivide(C other, OverflowMode overflowMode) {
+        return performIntegralOperation(other, '/', overflowMode);
+    }
+
+    /**
+     * Computes the remainder of dividing each element by a constant value. The remainder takes the sign of
+     * the element; dividing by zero yields missing values.
+     */
+    default C mod(long value) {
+        return performIntegralOperation('%', value, OverflowMode.WRAPPING);
+    }
+
+    /**
+     * Computes the remainder of dividing each element of this column by the corresponding element of the
+     * given column. Rows dividing by zero are missing.
+     */
+    default C mod(C other) {
+        return performIntegralOperation(other, '%', OverflowMode.WRAPPING);
+    }
+
+    /**
+     * Computes the bitwise AND of each element and a constant value.
+     */
+    default C bitAnd(long value) {
+        return performIntegralOperation('&', value, OverflowMode.WRAPPING);
+    }
+
+    /**
+     * Computes the bitwise AND of the elements of this column and the given column.
+     */
+    default C bitAnd(C other) {
+        return performIntegralOperation(other, '&', OverflowMode.WRAPPING);
+    }
+
+    /**
+     * Computes the bitwise OR of each element and a constant value.
+     */
+    default C bitOr(long value) {
+        return performIntegralOperation('|', value, OverflowMode.WRAPPING);
+    }
+
+    /**
+     * Computes the bitwise OR of the elements of this column and the given column.
+     */
+    default C bitOr(C other) {
+        return performIntegralOperation(other, '|', OverflowMode.WRAPPING);
+    }
+
+    /**
+     * Computes the bitwise XOR of each element and a constant value.
+     */
+    default C bitXor(long value) {
+        return performIntegralOperation('^', value, OverflowMode.WRAPPING);
+    }
+
+    /**
+     * Computes the bitwise XOR of the elements of this column and the given column.
+     */
+    default C bitXor(C other) {
+        return performIntegralOperation(other, '^', OverflowMode.WRAPPING);
+    }
+
+    /**
+     * Inverts the bits of each element.
+     */
+    default C bitNot() {
+        return performIntegralOperation(LongKernels::not, "~");
+    }
+
+    /**
+     * Shifts the bits of each element to the left. Bits shifted past the width of the type are dropped.
+     */
+    default C shiftLeft(int distance) {
+        checkShiftDistance(distance);
+        return performIntegralOperation((values, result) -> LongKernels.shiftLeft(values, distance, result), "<<");
+    }
+
+    /**
+     * Shifts the bits of each element to the right, copying the sign bit.
+     */
+    default C shiftRight(int distance) {
+        checkShiftDistance(distance);
+        return performIntegralOperation((values, result) -> LongKernels.shiftRight(values, distance, result), ">>");
+    }
+
+    private void checkShiftDistance(int distance) {
+        if (distance < 0 || distance >= bitWidth()) {
+            throw new IllegalArgumentException("The shift distance must be between 0 and " + (bitWidth() - 1));
+        }
+    }
+
+    private C performIntegralOperation(C other, char symbol, OverflowMode overflowMode) {
+        if (size() != other.size()) {
+            throw new ColumnException("Both columns must have the same size");
+        }
+
+        ValidityMask validity = new ValidityMask(size(), true);
+        long[] resultData = new long[size()];
+        long[] otherData = new long[size()];
+        for (int index = 0; index < resultData.length; index++) {
+            if (isAbsent(index) || other.isAbsent(index)) {
+                validity.set(index, false);
+                otherData[index] = 1;
+            } else {
+                resultData[index] = getLong(index);
+                otherData[index] = other.getLong(index);
+            }
+        }
+        if (symbol == '/' || symbol == '%') {
+            for (int index = 0; index < otherData.length; index++) {
+                if (otherData[index] == 0) {
+                    validity.set(index, false);
+                }
+            }
+        }
+        boolean exact = overflowMode == OverflowMode.CHECKED;
+        LongKernels.apply(symbol, resultData, otherData, resultData, exact);
+        clearAbsent(resultData, validity);
+        LongKernels.narrow(resultData, bitWidth(), exact);
+        return createIntegral(name() + " " + symbol + " " + other.name(), resultData, validity);
+    }
+
+    private C performIntegralOperation(char symbol, long value, OverflowMode overflowMode) {
+        ValidityMask validity = new ValidityMask(size(), true);
+        long[] resultData = readLongs(validity);
+        if ((symbol == '/' || symbol == '%') && value == 0) {
+            validity.fill(0, size(), false);
+        }
+        boolean exact = overflowMode == OverflowMode.CHECKED;
+        LongKernels.apply(symbol, resultData, value, resultData, exact);
+        clearAbsent(resultData, validity);
+        LongKernels.narrow(resultData, bitWidth(), exact);
+        return createIntegral(name() + " " + symbol + " " + value, resultData, validity);
+    }
+
+    private C performIntegralOperation(LongKernels.ArrayKernel kernel, String operationName) {
+        ValidityMask validity = new ValidityMask(size(), true);
+        long[] resultData = readLongs(validity);
+        kernel.apply(resultData, resultData);
+        LongKernels.narrow(resultData, bitWidth(), false);
+        return createIntegral(name() + " (" + operationName + ")", resultData, validity);
+    }
+
+    /**
+     * Resets the results of missing rows to 0, so narrowing never reports an overflow for a row without a value
+     */
+    private void clearAbsent(long[] values, ValidityMask validity) {
+        for (int index = 0; index < values.length; index++) {
+            if (!validity.isValid(index)) {
+                values[index] = 0;
+            }
+        }
+    }
+
+    /**
+     * Copies the values of this column into a long array, with missing values as 0 and marked in the given mask
+     */
+    private long[] readLongs(ValidityMask validity) {
+        long[] values = new long[size()];
+        for (int index = 0; index < values.length; index++) {
+            if (isAbsent(index)) {
+                validity.set(index, false);
+            } else {
+                values[index] = getLong(index);
+            }
+        }
+        return values;
+    }
+}
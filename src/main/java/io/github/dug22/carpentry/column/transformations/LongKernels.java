@@ -0,0 +1,369 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.column.transformations;
+
+import java.util.Arrays;
+
+/**
+ * Element-wise integer arithmetic over primitive {@code long} arrays, used by {@link IntegralTransformations}.
+ * Narrower integer types are computed in the long domain, where their sums, differences and products cannot
+ * overflow, and brought back to their own width with {@link #narrow(long[], int, boolean)}. Checked kernels
+ * throw an {@link ArithmeticException} naming the first overflowing position. Dividing by zero yields 0; callers
+ * mark those positions as missing. The result array may be one of the operands.
+ */
+public final class LongKernels {
+
+    /**
+     * A kernel reading an array of values and writing its results into an array of the same length
+     */
+    @FunctionalInterface
+    public interface ArrayKernel {
+
+        void apply(long[] values, long[] result);
+    }
+
+    private LongKernels() {
+    }
+
+    /**
+     * Applies a binary operator element-wise to two arrays
+     *
+     * @param symbol one of {@code + - * / % & | ^}
+     * @param left   the left operands
+     * @param right  the right operands
+     * @param result the array receiving the results
+     * @param exact  if {@code + - * /} should throw when a result overflows a long
+     * @throws IllegalArgumentException if the symbol is not a supported operator
+     */
+    public static void apply(char symbol, long[] left, long[] right, long[] result, boolean exact) {
+        switch (symbol) {
+            case '+' -> {
+                if (exact) {
+                    addExact(left, right, result);
+                } else {
+                    add(left, right, result);
+                }
+            }
+            case '-' -> {
+                if (exact) {
+                    subtractExact(left, right, result);
+                } else {
+                    subtract(left, right, result);
+                }
+            }
+            case '*' -> {
+                if (exact) {
+                    multiplyExact(left, right, result);
+                } else {
+                    multiply(left, right, result);
+                }
+            }
+            case '/' -> divide(left, right, result, exact);
+            case '%' -> remainder(left, right, result);
+            case '&' -> and(left, right, result);
+            case '|' -> or(left, right, result);
+            case '^' -> xor(left, right, result);
+            default -> throw new IllegalArgumentException("Unsupported operator: " + symbol);
+        }
+    }
+
+    /**
+     * Applies a binary operator element-wise between an array and a constant
+     *
+     * @param symbol one of {@code + - * / % & | ^}
+     * @param left   the left operands
+     * @param right  the constant right operand
+     * @param result the array receiving the results
+     * @param exact  if {@code + - * /} should throw when a result overflows a long
+     * @throws IllegalArgumentException if the symbol is not a supported operator
+     */
+    public static void apply(char symbol, long[] left, long right, long[] result, boolean exact) {
+        switch (symbol) {
+            case '+' -> {
+                if (exact) {
+                    addExact(left, right, result);
+                } else {
+                    add(left, right, result);
+                }
+            }
+            case '-' -> {
+                if (exact) {
+                    subtractExact(left, right, result);
+                } else {
+                    add(left, -right, result);
+                }
+            }
+            case '*' -> {
+                if (exact) {
+                    multiplyExact(left, right, result);
+                } else {
+                    multiply(left, right, result);
+                }
+            }
+            case '/' -> divide(left, right, result, exact);
+            case '%' -> remainder(left, right, result);
+            case '&' -> and(left, right, result);
+            case '|' -> or(left, right, result);
+            case '^' -> xor(left, right, result);
+            default -> throw new IllegalArgumentException("Unsupported operator: " + symbol);
+        }
+    }
+
+    public static void add(long[] left, long[] right, long[] result) {
+        for (int i = 0; i < result.length; i++) {
+            result[i] = left[i] + right[i];
+        }
+    }
+
+    public static void add(long[] left, long right, long[] result) {
+        for (int i = 0; i < result.length; i++) {
+            result[i] = left[i] + right;
+        }
+    }
+
+    public static void subtract(long[] left, long[] right, long[] result) {
+        for (int i = 0; i < result.length; i++) {
+            result[i] = left[i] - right[i];
+        }
+    }
+
+    public static void multiply(long[] left, long[] right, long[] result) {
+        for (int i = 0; i < result.length; i++) {
+            result[i] = left[i] * right[i];
+        }
+    }
+
+    public static void multiply(long[] left, long right, long[] result) {
+        for (int i = 0; i < result.length; i++) {
+            result[i] = left[i] * right;
+        }
+    }
+
+    public static void addExact(long[] left, long[] right, long[] result) {
+        int i = 0;
+        try {
+            for (; i < result.length; i++) {
+                result[i] = Math.addExact(left[i], right[i]);
+            }
+        } catch (ArithmeticException e) {
+            throw overflow(i);
+        }
+    }
+
+    public static void addExact(long[] left, long right, long[] result) {
+        int i = 0;
+        try {
+            for (; i < result.length; i++) {
+                result[i] = Math.addExact(left[i], right);
+            }
+        } catch (ArithmeticException e) {
+            throw overflow(i);
+        }
+    }
+
+    public static void subtractExact(long[] left, long[] right, long[] result) {
+        int i = 0;
+        try {
+            for (; i < result.length; i++) {
+                result[i] = Math.subtractExact(left[i], right[i]);
+            }
+        } catch (ArithmeticException e) {
+            throw overflow(i);
+        }
+    }
+
+    public static void subtractExact(long[] left, long right, long[] result) {
+        int i = 0;
+        try {
+            for (; i < result.length; i++) {
+                result[i] = Math.subtractExact(left[i], right);
+            }
+        } catch (ArithmeticException e) {
+            throw overflow(i);
+        }
+    }
+
+    public static void multiplyExact(long[] left, long[] right, long[] result) {
+        int i = 0;
+        try {
+            for (; i < result.length; i++) {
+                result[i] = Math.multiplyExact(left[i], right[i]);
+            }
+        } catch (ArithmeticException e) {
+            throw overflow(i);
+        }
+    }
+
+    public static void multiplyExact(long[] left, long right, long[] result) {
+        int i = 0;
+        try {
+            for (; i < result.length; i++) {
+                result[i] = Math.multiplyExact(left[i], right);
+            }
+        } catch (ArithmeticException e) {
+            throw overflow(i);
+        }
+    }
+
+    /**
+     * Divides each left operand by the matching right operand, truncating towards zero. Division by zero
+     * yields 0. {@code Long.MIN_VALUE / -1} overflows, which throws if the division is exact.
+     */
+    public static void divide(long[] left, long[] right, long[] result, boolean exact) {
+        for (int i = 0; i < result.length; i++) {
+            long divisor = right[i];
+            if (exact && divisor == -1 && left[i] == Long.MIN_VALUE) {
+                throw overflow(i);
+            }
+            result[i] = divisor == 0 ? 0 : left[i] / divisor;
+        }
+    }
+
+    /**
+     * Divides each operand by a constant, truncating towards zero. Division by zero yields 0.
+     */
+    public static void divide(long[] left, long right, long[] result, boolean exact) {
+        if (right == 0) {
+            Arrays.fill(result, 0);
+            return;
+        }
+        if (exact && right == -1) {
+            negateExact(left, result);
+            return;
+        }
+        for (int i = 0; i < result.length; i++) {
+            result[i] = left[i] / right;
+        }
+    }
+
+    /**
+     * Computes the remainder of the truncating division, which takes the sign of the dividend.
+     * A zero divisor yields 0.
+     */
+    public static void remainder(long[] left, long[] right, long[] result) {
+        for (int i = 0; i < result.length; i++) {
+            long divisor = right[i];
+            result[i] = divisor == 0 ? 0 : left[i] % divisor;
+        }
+    }
+
+    public static void remainder(long[] left, long right, long[] result) {
+        if (right == 0) {
+            Arrays.fill(result, 0);
+            return;
+        }
+        for (int i = 0; i < result.length; i++) {
+            result[i] = left[i] % right;
+        }
+    }
+
+    public static void and(long[] left, long[] right, long[] result) {
+        for (int i = 0; i < result.length; i++) {
+            result[i] = left[i] & right[i];
+        }
+    }
+
+    public static void and(long[] left, long right, long[] result) {
+        for (int i = 0; i < result.length; i++) {
+            result[i] = left[i] & right;
+        }
+    }
+
+    public static void or(long[] left, long[] right, long[] result) {
+        for (int i = 0; i < result.length; i++) {
+            result[i] = left[i] | right[i];
+        }
+    }
+
+    public static void or(long[] left, long right, long[] result) {
+        for (int i = 0; i < result.length; i++) {
+            result[i] = left[i] | right;
+        }
+    }
+
+    public static void xor(long[] left, long[] right, long[] result) {
+        for (int i = 0; i < result.length; i++) {
+            result[i] = left[i] ^ right[i];
+        }
+    }
+
+    public static void xor(long[] left, long right, long[] result) {
+        for (int i = 0; i < result.length; i++) {
+            result[i] = left[i] ^ right;
+        }
+    }
+
+    public static void not(long[] values, long[] result) {
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ~values[i];
+        }
+    }
+
+    public static void negateExact(long[] values, long[] result) {
+        int i = 0;
+        try {
+            for (; i < result.length; i++) {
+                result[i] = Math.negateExact(values[i]);
+            }
+        } catch (ArithmeticException e) {
+            throw overflow(i);
+        }
+    }
+
+    public static void shiftLeft(long[] values, int distance, long[] result) {
+        for (int i = 0; i < result.length; i++) {
+            result[i] = values[i] << distance;
+        }
+    }
+
+    public static void shiftRight(long[] values, int distance, long[] result) {
+        for (int i = 0; i < result.length; i++) {
+            result[i] = values[i] >> distance;
+        }
+    }
+
+    /**
+     * Brings values computed in the long domain back to a narrower signed type. Wrapping keeps the low-order
+     * bits, as a Java cast does; exact narrowing throws on the first value outside the range of the type.
+     *
+     * @param values the values to narrow, in place
+     * @param bits   the width of the type, from 1 to 64
+     * @param exact  if a value outside the range of the type should throw
+     */
+    public static void narrow(long[] values, int bits, boolean exact) {
+        if (bits == Long.SIZE) {
+            return;
+        }
+        int shift = Long.SIZE - bits;
+        if (exact) {
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] << shift >> shift != values[i]) {
+                    throw overflow(i);
+                }
+            }
+        } else {
+            for (int i = 0; i < values.length; i++) {
+                values[i] = values[i] << shift >> shift;
+            }
+        }
+    }
+
+    private static ArithmeticException overflow(int index) {
+        return new ArithmeticException("Integer overflow at row " + index);
+    }
+}
@@ -16,7 +16,6 @@
 
 package io.github.dug22.carpentry.column.transformations;
 
-import io.github.dug22.carpentry.column.ColumnBiFunction;
 import io.github.dug22.carpentry.column.ColumnException;
 import io.github.dug22.carpentry.column.impl.DoubleColumn;
 import io.github.dug22.carpentry.column.impl.NumericColumn;
@@ -27,97 +26,120 @@ import java.util.function.DoubleUnaryOperator;
 
 public interface NumberTransformations extends Transformation {
 
-    Double getDouble(int i);
+    double getDouble(int i);
+
+    /**
+     * Copies the values of this column into a new primitive array, with missing values as {@link Double#NaN}
+     *
+     * @return a primitive copy of the values of this column
+     */
+    default double[] toDoubleArray() {
+        double[] values = new double[size()];
+        for (int index = 0; index < values.length; index++) {
+            values[index] = isAbsent(index) ? Double.NaN : getDouble(index);
+        }
+        return values;
+    }
+
+    /**
+     * Gets the values of this column as an operand of the kernels, with missing values as {@link Double#NaN}. Columns
+     * that can share their own array do so instead of copying it.
+     *
+     * @return an operand reading the values of this column
+     */
+    default DoubleKernels.Operand doubleOperand() {
+        return DoubleKernels.Operand.of(toDoubleArray());
+    }
 
     /**
      * Adds a constant value to each element in the column.
      */
     default DoubleColumn add(double value) {
-        return performOperation(Double::sum, '+', value);
+        return performOperation('+', value);
     }
 
     /**
      * Adds each element of the given column to this column.
      */
     default DoubleColumn plus(NumericColumn<?> other) {
-        return performOperation(other, Double::sum, '+');
+        return performOperation(other, '+');
     }
 
     /**
      * Adds the values of all provided columns element-wise to this column.
      */
     default DoubleColumn plus(List<NumericColumn<?>> others) {
-        return performOperation(others, Double::sum, '+');
+        return performOperation(others, '+');
     }
 
     /**
      * Subtracts a constant value from each element in the column.
      */
     default DoubleColumn subtract(double value) {
-        return performOperation((a, b) -> a - b, '-', value);
+        return performOperation('-', value);
     }
 
     /**
      * Subtracts each element of the given column from this column.
      */
     default DoubleColumn minus(NumericColumn<?> other) {
-        return performOperation(other, (a, b) -> a - b, '-');
+        return performOperation(other, '-');
     }
 
     /**
      * Subtracts all provided columns element-wise from this column.
      */
     default DoubleColumn minus(List<NumericColumn<?>> others) {
-        return performOperation(others, (a, b) -> a - b, '-');
+        return performOperation(others, '-');
     }
 
     /**
      * Multiplies each element in the column by a constant.
      */
     default DoubleColumn multiply(double value) {
-        return performOperation((a, b) -> a * b, '*', value);
+        return performOperation('*', value);
     }
 
     /**
      * Multiplies each element of the given column with this column.
      */
     default DoubleColumn times(NumericColumn<?> other) {
-        return performOperation(other, (a, b) -> a * b, '*');
+        return performOperation(other, '*');
     }
 
     /**
      * Multiplies all provided columns element-wise with this column.
      */
     default DoubleColumn times(List<NumericColumn<?>> others) {
-        return performOperation(others, (a, b) -> a * b, '*');
+        return performOperation(others, '*');
     }
 
     /**
      * Divides each element in the column by a constant.
      */
     default DoubleColumn divide(double value) {
-        return performOperation((a, b) -> a / b, '/', value);
+        return performOperation('/', value);
     }
 
     /**
      * Divides each element of this column by the corresponding element in the given column.
      */
     default DoubleColumn divide(NumericColumn<?> other) {
-        return performOperation(other, (a, b) -> a / b, '/');
+        return performOperation(other, '/');
     }
 
     /**
      * Raises each element to the given power.
      */
     default DoubleColumn pow(double value) {
-        return performOperation(Math::pow, '^', value);
+        return performOperation('^', value);
     }
 
     /**
      * Raises each element to the power of the corresponding value in the given column.
      */
     default DoubleColumn pow(NumericColumn<?> other) {
-        return performOperation(other, Math::pow, '^');
+        return performOperation(other, '^');
     }
 
     /**
@@ -172,21 +194,21 @@ public interface NumberTransformations extends Transformation {
      * Converts all values in the column to their absolute values.
      */
     default DoubleColumn toAbsolute() {
-        return performOperation(Math::abs, "abs");
+        return performOperation(DoubleKernels::abs, "abs");
     }
 
     /**
      * Takes the square root of each value.
      */
     default DoubleColumn sqrt() {
-        return performOperation(Math::sqrt, "sqrt");
+        return performOperation(DoubleKernels::sqrt, "sqrt");
     }
 
     /**
      * Negates each value in the column.
      */
     default DoubleColumn negative() {
-        return performOperation((i) -> i * -1, "negative");
+        return performOperation(DoubleKernels::negate, "negative");
     }
 
     /**
@@ -221,21 +243,21 @@ public interface NumberTransformations extends Transformation {
      * Applies natural logarithm to each value.
      */
     default DoubleColumn logN(){
-        return performOperation(Math::log, "logN");
+        return performOperation(DoubleKernels::log, "logN");
     }
 
     /**
      * Applies base-10 logarithm to each value.
      */
     default DoubleColumn log10(){
-        return performOperation(Math::log10, "log10");
+        return performOperation(DoubleKernels::log10, "log10");
     }
 
     /**
      * Applies natural logarithm of (1 + x) to each value.
      */
     default DoubleColumn log1p(){
-        return performOperation(Math::log1p, "log1p");
+        return performOperation(DoubleKernels::log1p, "log1p");
     }
 
     /**
@@ -243,63 +265,52 @@ public interface NumberTransformations extends Transformation {
      */
     default DoubleColumn round(int decimalPlaces){
         if(decimalPlaces < 0) throw new IllegalArgumentException("decimalPlace must be non-negative");
-        double scale = Math.pow(10, decimalPlaces);
-        return performOperation((i) -> (double) Math.round(i * scale) / scale, "rounded");
+        return performOperation((values, result) -> DoubleKernels.round(values, decimalPlaces, result), "rounded");
     }
 
-    private DoubleColumn performOperation(NumericColumn<?> other, ColumnBiFunction<Double, Double, Double> operation, char symbol) {
+    private DoubleColumn performOperation(NumericColumn<?> other, char symbol) {
         if (this.size() != other.size()) {
             throw new ColumnException("Both columns must have the same size");
         }
 
-        Double[] resultData = new Double[size()];
-        for (int index = 0; index < size(); index++) {
-            if (isAbsent(index) || other.isAbsent(index)) {
-                resultData[index] = Nulls.getDefaultNullValue(Double.class);;
-            } else {
-                Double result = operation.apply(getDouble(index), other.getDouble(index));
-                resultData[index] = result;
-            }
-        }
-
+        double[] resultData = new double[size()];
+        DoubleKernels.apply(symbol, doubleOperand().values, other.doubleOperand().values, resultData);
         String resultName = name() + " " + symbol + " " + other.name();
         return DoubleColumn.create(resultName, resultData);
     }
 
-    private DoubleColumn performOperation(List<NumericColumn<?>> others, ColumnBiFunction<Double, Double, Double> operation, char symbol) {
+    private DoubleColumn performOperation(List<NumericColumn<?>> others, char symbol) {
         if (size() != others.getFirst().size()) throw new ColumnException("All columns must have the same size!");
-        Double[] resultData = new Double[size()];
-        for (int index = 0; index < size(); index++) {
-            Double result = getDouble(index);
-            for (NumericColumn<?> other : others) {
-                if (isAbsent(index) || other.isAbsent(index)) {
-                    result = Nulls.getDefaultNullValue(Double.class);;
-                    continue;
-                }
-
-                result = operation.apply(result, other.getDouble(index));
-            }
-            resultData[index] = result;
+        double[] resultData = new double[size()];
+        double[] values = doubleOperand().values;
+        for (NumericColumn<?> other : others) {
+            if (other.size() != resultData.length) throw new ColumnException("All columns must have the same size!");
+            DoubleKernels.apply(symbol, values, other.doubleOperand().values, resultData);
+            values = resultData;
         }
 
         String resultName = name() + " " + symbol + " " + String.join(" + ", others.stream().map(NumericColumn::name).toArray(String[]::new));
         return DoubleColumn.create(resultName, resultData);
     }
 
-    private DoubleColumn performOperation(ColumnBiFunction<Double, Double, Double> function, char symbol, double value) {
-        Double[] resultData = new Double[size()];
-        for (int index = 0; index < size(); index++) {
-            if (isAbsent(index)) resultData[index] = Nulls.getDefaultNullValue(Double.class);
-            else resultData[index] = function.apply(getDouble(index), value);
-        }
+    private DoubleColumn performOperation(char symbol, double value) {
+        double[] resultData = new double[size()];
+        DoubleKernels.apply(symbol, doubleOperand().values, value, resultData);
         return DoubleColumn.create(name() + " " + symbol + " " + value, resultData);
     }
 
+    private DoubleColumn performOperation(DoubleKernels.ArrayKernel kernel, String operationName) {
+        double[] resultData = new double[size()];
+        kernel.apply(doubleOperand().values, resultData);
+        return DoubleColumn.create(name() + " (" + operationName + ")", resultData);
+    }
+
     private DoubleColumn performOperation(DoubleUnaryOperator operation, String operationName){
-        Double[] resultData = new Double[size()];
-        for (int index = 0; index < size(); index++) {
+        double nullValue = Nulls.getDefaultNullValue(Double.class);
+        double[] resultData = new double[size()];
+        for (int index = 0; index < resultData.length; index++) {
             if (isAbsent(index)) {
-                resultData[index] = Nulls.getDefaultNullValue(Double.class);;
+                resultData[index] = nullValue;
             } else {
                 resultData[index] = operation.applyAsDouble(getDouble(index));
             }
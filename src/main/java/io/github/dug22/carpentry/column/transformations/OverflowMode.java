@@ -0,0 +1,34 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.column.transformations;
+
+/**
+ * How integer arithmetic handles a result outside the range of the column type
+ */
+public enum OverflowMode {
+
+    /**
+     * Throws an {@link ArithmeticException} naming the first row whose result overflows
+     */
+    CHECKED,
+
+    /**
+     * Keeps the low-order bits of the result, as the Java integer operators do
+     */
+    WRAPPING
+}
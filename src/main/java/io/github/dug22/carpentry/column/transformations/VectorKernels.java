@@ -0,0 +1,171 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+package io.github.dug22.carpentry.column.transformations;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The {@link DoubleKernels} that run on the Vector API. Each kernel processes full vectors of the preferred species
+ * and finishes the last partial vector under a lane mask, so no scalar tail loop is needed. Only the exactly rounded
+ * IEEE operations are here, so the results are the same bit for bit as those of the scalar kernels.
+ * <p>
+ * This class links against {@code jdk.incubator.vector} and must only be loaded once {@link DoubleKernels} has
+ * checked that the module is present.
+ */
+final class VectorKernels {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private VectorKernels() {
+    }
+
+    /**
+     * Checks to see if the preferred species holds more than one lane, so the kernels beat a scalar loop
+     *
+     * @return if the hardware has vector registers wide enough for doubles
+     */
+    static boolean isWide() {
+        return SPECIES.length() > 1;
+    }
+
+    static void add(double[] left, double[] right, double[] result) {
+        int length = result.length;
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, left, i).add(DoubleVector.fromArray(SPECIES, right, i)).intoArray(result, i);
+        }
+        if (i < length) {
+            VectorMask<Double> mask = SPECIES.indexInRange(i, length);
+            DoubleVector.fromArray(SPECIES, left, i, mask).add(DoubleVector.fromArray(SPECIES, right, i, mask))
+                    .intoArray(result, i, mask);
+        }
+    }
+
+    static void add(double[] left, double right, double[] result) {
+        int length = result.length;
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, left, i).add(right).intoArray(result, i);
+        }
+        if (i < length) {
+            VectorMask<Double> mask = SPECIES.indexInRange(i, length);
+            DoubleVector.fromArray(SPECIES, left, i, mask).add(right).intoArray(result, i, mask);
+        }
+    }
+
+    static void subtract(double[] left, double[] right, double[] result) {
+        int length = result.length;
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, left, i).sub(DoubleVector.fromArray(SPECIES, right, i)).intoArray(result, i);
+        }
+        if (i < length) {
+            VectorMask<Double> mask = SPECIES.indexInRange(i, length);
+            DoubleVector.fromArray(SPECIES, left, i, mask).sub(DoubleVector.fromArray(SPECIES, right, i, mask))
+                    .intoArray(result, i, mask);
+        }
+    }
+
+    static void multiply(double[] left, double[] right, double[] result) {
+        int length = result.length;
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, left, i).mul(DoubleVector.fromArray(SPECIES, right, i)).intoArray(result, i);
+        }
+        if (i < length) {
+            VectorMask<Double> mask = SPECIES.indexInRange(i, length);
+            DoubleVector.fromArray(SPECIES, left, i, mask).mul(DoubleVector.fromArray(SPECIES, right, i, mask))
+                    .intoArray(result, i, mask);
+        }
+    }
+
+    static void multiply(double[] left, double right, double[] result) {
+        int length = result.length;
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, left, i).mul(right).intoArray(result, i);
+        }
+        if (i < length) {
+            VectorMask<Double> mask = SPECIES.indexInRange(i, length);
+            DoubleVector.fromArray(SPECIES, left, i, mask).mul(right).intoArray(result, i, mask);
+        }
+    }
+
+    static void divide(double[] left, double[] right, double[] result) {
+        int length = result.length;
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, left, i).div(DoubleVector.fromArray(SPECIES, right, i)).intoArray(result, i);
+        }
+        if (i < length) {
+            VectorMask<Double> mask = SPECIES.indexInRange(i, length);
+            DoubleVector.fromArray(SPECIES, left, i, mask).div(DoubleVector.fromArray(SPECIES, right, i, mask))
+                    .intoArray(result, i, mask);
+        }
+    }
+
+    static void divide(double[] left, double right, double[] result) {
+        int length = result.length;
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, left, i).div(right).intoArray(result, i);
+        }
+        if (i < length) {
+            VectorMask<Double> mask = SPECIES.indexInRange(i, length);
+            DoubleVector.fromArray(SPECIES, left, i, mask).div(right).intoArray(result, i, mask);
+        }
+    }
+
+    static void sqrt(double[] values, double[] result) {
+        int length = result.length;
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, values, i).lanewise(VectorOperators.SQRT).intoArray(result, i);
+        }
+        if (i < length) {
+            VectorMask<Double> mask = SPECIES.indexInRange(i, length);
+            DoubleVector.fromArray(SPECIES, values, i, mask).lanewise(VectorOperators.SQRT).intoArray(result, i, mask);
+        }
+    }
+
+    static void abs(double[] values, double[] result) {
+        int length = result.length;
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, values, i).abs().intoArray(result, i);
+        }
+        if (i < length) {
+            VectorMask<Double> mask = SPECIES.indexInRange(i, length);
+            DoubleVector.fromArray(SPECIES, values, i, mask).abs().intoArray(result, i, mask);
+        }
+    }
+
+    static void negate(double[] values, double[] result) {
+        int length = result.length;
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, values, i).neg().intoArray(result, i);
+        }
+        if (i < length) {
+            VectorMask<Double> mask = SPECIES.indexInRange(i, length);
+            DoubleVector.fromArray(SPECIES, values, i, mask).neg().intoArray(result, i, mask);
+        }
+    }
+}
@@ -242,6 +242,7 @@ public class DropFunction extends DataFrameFunction {
         for (String columnName : columnNames) {
             Column<?> sourceCol = dataFrame.getColumn(columnName);
             Column<?> newCol = sourceCol.emptyCopy();
+            newCol.ensureCapacity(keptRows.size());
             newDataFrame.addColumn(newCol);
         }
 
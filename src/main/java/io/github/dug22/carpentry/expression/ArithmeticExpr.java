@@ -0,0 +1,62 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.expression;
+
+import io.github.dug22.carpentry.column.transformations.DoubleKernels;
+
+/**
+ * An arithmetic operator applied through {@link DoubleKernels}. A constant right operand is passed to the kernel
+ * as a scalar rather than filling a register.
+ */
+final class ArithmeticExpr extends Expr {
+
+    private final char symbol;
+    private final Expr left;
+    private final Expr right;
+
+    ArithmeticExpr(char symbol, Expr left, Expr right) {
+        this.symbol = symbol;
+        this.left = left;
+        this.right = right;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    int emit(ExprProgram program) {
+        double[] leftValues = program.buffer(left.emit(program));
+        if (right instanceof LiteralExpr literal) {
+            double value = literal.value();
+            int result = program.register();
+            double[] resultValues = program.buffer(result);
+            program.addStep((from, length) -> DoubleKernels.apply(symbol, leftValues, value, resultValues));
+            return result;
+        }
+        double[] rightValues = program.buffer(right.emit(program));
+        int result = program.register();
+        double[] resultValues = program.buffer(result);
+        program.addStep((from, length) -> DoubleKernels.apply(symbol, leftValues, rightValues, resultValues));
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + left + " " + symbol + " " + right + ")";
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.expression;
+
+import io.github.dug22.carpentry.column.transformations.DoubleKernels;
+
+import java.util.Arrays;
+
+/**
+ * Compares two operands. The result is missing wherever either operand is missing.
+ */
+final class ComparisonExpr extends Expr {
+
+    /**
+     * The comparison operators, each with its own loops so the comparison is not dispatched per element
+     */
+    enum Operator {
+        GT(">") {
+            @Override
+            void apply(double[] left, double[] right, double[] result) {
+                for (int i = 0; i < result.length; i++) {
+                    result[i] = left[i] > right[i] ? 1 : 0;
+                }
+            }
+
+            @Override
+            void apply(double[] left, double right, double[] result) {
+                for (int i = 0; i < result.length; i++) {
+                    result[i] = left[i] > right ? 1 : 0;
+                }
+            }
+        },
+        GTE(">=") {
+            @Override
+            void apply(double[] left, double[] right, double[] result) {
+                for (int i = 0; i < result.length; i++) {
+                    result[i] = left[i] >= right[i] ? 1 : 0;
+                }
+            }
+
+            @Override
+            void apply(double[] left, double right, double[] result) {
+                for (int i = 0; i < result.length; i++) {
+                    result[i] = left[i] >= right ? 1 : 0;
+                }
+            }
+        },
+        LT("<") {
+            @Override
+            void apply(double[] left, double[] right, double[] result) {
+                for (int i = 0; i < result.length; i++) {
+                    result[i] = left[i] < right[i] ? 1 : 0;
+                }
+            }
+
+            @Override
+            void apply(double[] left, double right, double[] result) {
+                for (int i = 0; i < result.length; i++) {
+                    result[i] = left[i] < right ? 1 : 0;
+                }
+            }
+        },
+        LTE("<=") {
+            @Override
+            void apply(double[] left, double[] right, double[] result) {
+                for (int i = 0; i < result.length; i++) {
+                    result[i] = left[i] <= right[i] ? 1 : 0;
+                }
+            }
+
+            @Override
+            void apply(double[] left, double right, double[] result) {
+                for (int i = 0; i < result.length; i++) {
+                    result[i] = left[i] <= right ? 1 : 0;
+                }
+            }
+        },
+        EQ("==") {
+            @Override
+            void apply(double[] left, double[] right, double[] result) {
+                for (int i = 0; i < result.length; i++) {
+                    result[i] = left[i] == right[i] ? 1 : 0;
+                }
+            }
+
+            @Override
+            void apply(double[] left, double right, double[] result) {
+                for (int i = 0; i < result.length; i++) {
+                    result[i] = left[i] == right ? 1 : 0;
+                }
+            }
+        },
+        NEQ("!=") {
+            @Override
+            void apply(double[] left, double[] right, double[] result) {
+                for (int i = 0; i < result.length; i++) {
+                    result[i] = left[i] != right[i] ? 1 : 0;
+                }
+            }
+
+            @Override
+            void apply(double[] left, double right, double[] result) {
+                for (int i = 0; i < result.length; i++) {
+                    result[i] = left[i] != right ? 1 : 0;
+                }
+            }
+        };
+
+        private final String symbol;
+
+        Operator(String symbol) {
+            this.symbol = symbol;
+        }
+
+        abstract void apply(double[] left, double[] right, double[] result);
+
+        abstract void apply(double[] left, double right, double[] result);
+    }
+
+    private final Operator operator;
+    private final Expr left;
+    private final Expr right;
+
+    ComparisonExpr(Operator operator, Expr left, Expr right) {
+        this.operator = operator;
+        this.left = left;
+        this.right = right;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isPredicate() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    int emit(ExprProgram program) {
+        double[] leftValues = program.buffer(left.emit(program));
+        if (right instanceof LiteralExpr literal) {
+            double value = literal.value();
+            int result = program.register();
+            double[] resultValues = program.buffer(result);
+            program.addStep((from, length) -> compare(operator, leftValues, value, resultValues));
+            return result;
+        }
+        double[] rightValues = program.buffer(right.emit(program));
+        int result = program.register();
+        double[] resultValues = program.buffer(result);
+        program.addStep((from, length) -> compare(operator, leftValues, rightValues, resultValues));
+        return result;
+    }
+
+    private static void compare(Operator operator, double[] left, double[] right, double[] result) {
+        operator.apply(left, right, result);
+        DoubleKernels.maskMissing(left, result);
+        DoubleKernels.maskMissing(right, result);
+    }
+
+    private static void compare(Operator operator, double[] left, double right, double[] result) {
+        if (Double.isNaN(right)) {
+            Arrays.fill(result, Double.NaN);
+            return;
+        }
+        operator.apply(left, right, result);
+        DoubleKernels.maskMissing(left, result);
+    }
+
+    @Override
+    public String toString() {
+        return "(" + left + " " + operator.symbol + " " + right + ")";
+    }
+}
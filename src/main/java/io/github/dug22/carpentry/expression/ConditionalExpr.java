@@ -0,0 +1,125 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.expression;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Selects, on each row, the value of the first branch whose condition is true, or the {@code otherwise} value if
+ * no condition is. A missing condition selects nothing. Like the other expressions it is computed batch by batch,
+ * so every branch is evaluated on every row before the selection is made.
+ */
+public final class ConditionalExpr extends Expr {
+
+    record Branch(Expr condition, Expr value) {
+    }
+
+    private final List<Branch> branches;
+    private final Expr otherwise;
+
+    ConditionalExpr(List<Branch> branches, Expr otherwise) {
+        this.branches = List.copyOf(branches);
+        this.otherwise = otherwise;
+    }
+
+    List<Branch> branches() {
+        return branches;
+    }
+
+    /**
+     * Adds another branch, tested after the existing ones
+     *
+     * @param condition the predicate selecting the rows of the branch
+     * @return the pending branch
+     */
+    public When elseWhen(Expr condition) {
+        return new When(this, condition);
+    }
+
+    /**
+     * Sets the value of the rows no branch selects
+     *
+     * @param value the fallback value
+     * @return the completed conditional expression
+     */
+    public Expr otherwise(Expr value) {
+        return new ConditionalExpr(branches, value);
+    }
+
+    /**
+     * Sets the value of the rows no branch selects to a constant
+     *
+     * @param value the fallback value
+     * @return the completed conditional expression
+     */
+    public Expr otherwise(double value) {
+        return otherwise(Expr.lit(value));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isPredicate() {
+        return branches.stream().allMatch(branch -> branch.value().isPredicate())
+                && (otherwise == null || otherwise.isPredicate());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    int emit(ExprProgram program) {
+        double[][] conditions = new double[branches.size()][];
+        double[][] values = new double[branches.size()][];
+        for (int index = 0; index < branches.size(); index++) {
+            conditions[index] = program.buffer(branches.get(index).condition().emit(program));
+            values[index] = program.buffer(branches.get(index).value().emit(program));
+        }
+        double[] fallback = otherwise == null ? null : program.buffer(otherwise.emit(program));
+        int result = program.register();
+        double[] resultValues = program.buffer(result);
+        program.addStep((from, length) -> {
+            if (fallback == null) {
+                Arrays.fill(resultValues, 0, length, Double.NaN);
+            } else {
+                System.arraycopy(fallback, 0, resultValues, 0, length);
+            }
+            for (int index = conditions.length - 1; index >= 0; index--) {
+                double[] condition = conditions[index];
+                double[] value = values[index];
+                for (int i = 0; i < length; i++) {
+                    if (isTrue(condition[i])) {
+                        resultValues[i] = value[i];
+                    }
+                }
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (Branch branch : branches) {
+            builder.append("when ").append(branch.condition()).append(" then ").append(branch.value()).append(' ');
+        }
+        return builder.append("otherwise ").append(otherwise).toString();
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.expression;
+
+import io.github.dug22.carpentry.DataFrameInterface;
+import io.github.dug22.carpentry.column.Column;
+import io.github.dug22.carpentry.column.transformations.DoubleKernels;
+
+/**
+ * A column expression, such as {@code col("a").plus(col("b")).times(col("c"))}. Expressions are immutable
+ * descriptions of a computation; {@link #compile(DataFrameInterface)} turns one into an {@link ExprProgram} that
+ * reads its input columns in a single pass and writes a single output column, without building a column for
+ * any intermediate result.
+ * <p>
+ * Every value is computed as a double. Missing values are {@link Double#NaN} and propagate through arithmetic
+ * and comparisons. Comparisons and logical operators produce predicates, whose values are 1 (true), 0 (false)
+ * or missing; a predicate is evaluated into a BooleanColumn.
+ */
+public abstract class Expr {
+
+    /**
+     * References a numeric or boolean column by name
+     *
+     * @param columnName the name of the column
+     * @return an expression reading the column
+     */
+    public static Expr col(String columnName) {
+        return new ColumnExpr(columnName);
+    }
+
+    /**
+     * Creates a constant
+     *
+     * @param value the value of the constant
+     * @return an expression holding the constant
+     */
+    public static Expr lit(double value) {
+        return new LiteralExpr(value);
+    }
+
+    /**
+     * Starts a conditional expression, completed with {@code then(...)} and optionally {@code otherwise(...)}
+     *
+     * @param condition the predicate selecting the rows of the first branch
+     * @return the pending branch
+     */
+    public static When when(Expr condition) {
+        return new When(null, condition);
+    }
+
+    public Expr plus(Expr other) {
+        return new ArithmeticExpr('+', this, other);
+    }
+
+    public Expr plus(double value) {
+        return plus(lit(value));
+    }
+
+    public Expr minus(Expr other) {
+        return new ArithmeticExpr('-', this, other);
+    }
+
+    public Expr minus(double value) {
+        return minus(lit(value));
+    }
+
+    public Expr times(Expr other) {
+        return new ArithmeticExpr('*', this, other);
+    }
+
+    public Expr times(double value) {
+        return times(lit(value));
+    }
+
+    public Expr divide(Expr other) {
+        return new ArithmeticExpr('/', this, other);
+    }
+
+    public Expr divide(double value) {
+        return divide(lit(value));
+    }
+
+    public Expr pow(Expr exponent) {
+        return new ArithmeticExpr('^', this, exponent);
+    }
+
+    public Expr pow(double exponent) {
+        return pow(lit(exponent));
+    }
+
+    public Expr negate() {
+        return new UnaryExpr("-", this, DoubleKernels::negate, false);
+    }
+
+    public Expr abs() {
+        return new UnaryExpr("abs", this, DoubleKernels::abs, false);
+    }
+
+    public Expr sqrt() {
+        return new UnaryExpr("sqrt", this, DoubleKernels::sqrt, false);
+    }
+
+    public Expr log() {
+        return new UnaryExpr("log", this, DoubleKernels::log, false);
+    }
+
+    public Expr log10() {
+        return new UnaryExpr("log10", this, DoubleKernels::log10, false);
+    }
+
+    public Expr round(int decimalPlaces) {
+        return new UnaryExpr("round", this, (values, result) -> DoubleKernels.round(values, decimalPlaces, result), false);
+    }
+
+    public Expr gt(Expr other) {
+        return new ComparisonExpr(ComparisonExpr.Operator.GT, this, other);
+    }
+
+    public Expr gt(double value) {
+        return gt(lit(value));
+    }
+
+    public Expr gte(Expr other) {
+        return new ComparisonExpr(ComparisonExpr.Operator.GTE, this, other);
+    }
+
+    public Expr gte(double value) {
+        return gte(lit(value));
+    }
+
+    public Expr lt(Expr other) {
+        return new ComparisonExpr(ComparisonExpr.Operator.LT, this, other);
+    }
+
+    public Expr lt(double value) {
+        return lt(lit(value));
+    }
+
+    public Expr lte(Expr other) {
+        return new ComparisonExpr(ComparisonExpr.Operator.LTE, this, other);
+    }
+
+    public Expr lte(double value) {
+        return lte(lit(value));
+    }
+
+    public Expr eq(Expr other) {
+        return new ComparisonExpr(ComparisonExpr.Operator.EQ, this, other);
+    }
+
+    public Expr eq(double value) {
+        return eq(lit(value));
+    }
+
+    public Expr neq(Expr other) {
+        return new ComparisonExpr(ComparisonExpr.Operator.NEQ, this, other);
+    }
+
+    public Expr neq(double value) {
+        return neq(lit(value));
+    }
+
+    /**
+     * Combines two predicates with three-valued logic: false if either side is false, otherwise missing if
+     * either side is missing
+     *
+     * @param other the other predicate
+     * @return the conjunction of both predicates
+     */
+    public Expr and(Expr other) {
+        return new LogicalExpr(true, this, other);
+    }
+
+    /**
+     * Combines two predicates with three-valued logic: true if either side is true, otherwise missing if
+     * either side is missing
+     *
+     * @param other the other predicate
+     * @return the disjunction of both predicates
+     */
+    public Expr or(Expr other) {
+        return new LogicalExpr(false, this, other);
+    }
+
+    /**
+     * Negates a predicate. Missing values stay missing.
+     *
+     * @return the negated predicate
+     */
+    public Expr not() {
+        return new UnaryExpr("not", this, Expr::not, true);
+    }
+
+    /**
+     * Checks each value for being missing. The result is never missing.
+     *
+     * @return a predicate that is true where this expression is missing
+     */
+    public Expr isNull() {
+        return new UnaryExpr("isNull", this, Expr::isNull, true);
+    }
+
+    /**
+     * Checks each value for being present. The result is never missing.
+     *
+     * @return a predicate that is true where this expression has a value
+     */
+    public Expr isNotNull() {
+        return isNull().not();
+    }
+
+    /**
+     * Replaces missing values with a constant
+     *
+     * @param value the replacement of missing values
+     * @return an expression without missing values
+     */
+    public Expr fillNull(double value) {
+        return new UnaryExpr("fillNull", this, (values, result) -> fillNull(values, value, result), isPredicate());
+    }
+
+    /**
+     * Checks to see if this expression produces a predicate, whose values are true, false or missing
+     *
+     * @return if this expression is a predicate
+     */
+    public boolean isPredicate() {
+        return false;
+    }
+
+    /**
+     * Compiles this expression against the columns of a DataFrame
+     *
+     * @param dataFrame the DataFrame whose columns are referenced
+     * @return the compiled program
+     * @throws io.github.dug22.carpentry.DataFrameException if a referenced column is missing or not numeric
+     */
+    public ExprProgram compile(DataFrameInterface dataFrame) {
+        return new ExprProgram(this, dataFrame);
+    }
+
+    /**
+     * Compiles and evaluates this expression against the columns of a DataFrame
+     *
+     * @param dataFrame  the DataFrame whose columns are referenced
+     * @param columnName the name of the resulting column
+     * @return a DoubleColumn, or a BooleanColumn if this expression is a predicate
+     */
+    public Column<?> evaluate(DataFrameInterface dataFrame, String columnName) {
+        return compile(dataFrame).evaluate(columnName);
+    }
+
+    /**
+     * Emits the steps computing this expression into a program
+     *
+     * @param program the program being compiled
+     * @return the register holding the values of this expression
+     */
+    abstract int emit(ExprProgram program);
+
+    /**
+     * Checks to see if a predicate value selects its row. Missing and false values do not.
+     */
+    static boolean isTrue(double value) {
+        return value != 0 && !Double.isNaN(value);
+    }
+
+    private static void not(double[] values, double[] result) {
+        for (int i = 0; i < result.length; i++) {
+            double value = values[i];
+            result[i] = Double.isNaN(value) ? Double.NaN : value == 0 ? 1 : 0;
+        }
+    }
+
+    private static void isNull(double[] values, double[] result) {
+        for (int i = 0; i < result.length; i++) {
+            result[i] = Double.isNaN(values[i]) ? 1 : 0;
+        }
+    }
+
+    private static void fillNull(double[] values, double value, double[] result) {
+        for (int i = 0; i < result.length; i++) {
+            result[i] = Double.isNaN(values[i]) ? value : values[i];
+        }
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.expression;
+
+import io.github.dug22.carpentry.DataFrameException;
+import io.github.dug22.carpentry.DataFrameInterface;
+import io.github.dug22.carpentry.column.Column;
+import io.github.dug22.carpentry.column.impl.BooleanColumn;
+import io.github.dug22.carpentry.column.impl.DoubleColumn;
+import io.github.dug22.carpentry.column.impl.NumericColumn;
+import io.github.dug22.carpentry.column.storage.BitStorage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An {@link Expr} compiled against the columns of a DataFrame. Compilation gives every node of the expression a
+ * register, a buffer holding one batch of its values, and a step filling that register from the registers of
+ * its operands. Evaluation walks the rows in batches: the input columns are read into their registers, the steps
+ * run in order, and the output register is copied into the result. The registers are small enough to stay in
+ * the CPU cache, so the whole expression is computed in a single pass over its inputs.
+ * <p>
+ * A program reuses its registers, so it must not be evaluated by several threads at once.
+ */
+public final class ExprProgram {
+
+    /**
+     * The number of rows computed by each pass of the steps
+     */
+    public static final int BATCH_SIZE = 1024;
+
+    /**
+     * Computes one batch of a register
+     */
+    @FunctionalInterface
+    interface Step {
+
+        void run(int from, int length);
+    }
+
+    @FunctionalInterface
+    private interface BatchConsumer {
+
+        void accept(int from, int length, double[] values);
+    }
+
+    private final DataFrameInterface dataFrame;
+    private final int rowCount;
+    private final int batchSize;
+    private final List<double[]> registers = new ArrayList<>();
+    private final List<Step> steps = new ArrayList<>();
+    private final Map<String, Integer> columnRegisters = new HashMap<>();
+    private final boolean predicate;
+    private final int output;
+
+    ExprProgram(Expr expression, DataFrameInterface dataFrame) {
+        this.dataFrame = dataFrame;
+        this.rowCount = dataFrame.getRowCount();
+        this.batchSize = Math.min(BATCH_SIZE, rowCount);
+        this.predicate = expression.isPredicate();
+        this.output = expression.emit(this);
+    }
+
+    /**
+     * Checks to see if this program computes a predicate
+     *
+     * @return if the result is a BooleanColumn
+     */
+    public boolean isPredicate() {
+        return predicate;
+    }
+
+    /**
+     * Gets the number of registers used by this program
+     *
+     * @return the number of registers
+     */
+    public int registerCount() {
+        return registers.size();
+    }
+
+    /**
+     * Evaluates this program into an array holding one value per row. Missing values are {@link Double#NaN};
+     * predicate values are 1 or 0.
+     *
+     * @return the values of the expression
+     */
+    public double[] evaluateToArray() {
+        double[] result = new double[rowCount];
+        run((from, length, values) -> System.arraycopy(values, 0, result, from, length));
+        return result;
+    }
+
+    /**
+     * Evaluates this program into a column
+     *
+     * @param columnName the name of the column
+     * @return a DoubleColumn, or a BooleanColumn if this program computes a predicate
+     */
+    public Column<?> evaluate(String columnName) {
+        if (!predicate) {
+            return DoubleColumn.create(columnName, evaluateToArray());
+        }
+        long[] words = new long[wordCount(rowCount)];
+        long[] validWords = new long[words.length];
+        run((from, length, values) -> {
+            for (int i = 0; i < length; i++) {
+                double value = values[i];
+                int row = from + i;
+                if (!Double.isNaN(value)) {
+                    validWords[row >>> 6] |= 1L << row;
+                    if (value != 0) {
+                        words[row >>> 6] |= 1L << row;
+                    }
+                }
+            }
+        });
+        return new BooleanColumn(columnName, BitStorage.fromWords(words, validWords, rowCount));
+    }
+
+    /**
+     * Runs the steps over every batch, handing each batch of the output register to a consumer
+     */
+    private void run(BatchConsumer consumer) {
+        double[] outputBuffer = buffer(output);
+        Step[] program = steps.toArray(new Step[0]);
+        for (int from = 0; from < rowCount; from += batchSize) {
+            int length = Math.min(batchSize, rowCount - from);
+            for (Step step : program) {
+                step.run(from, length);
+            }
+            consumer.accept(from, length, outputBuffer);
+        }
+    }
+
+    private static int wordCount(int slots) {
+        return (slots + 63) >>> 6;
+    }
+
+    /**
+     * Allocates a register. During a partial last batch the slots past its length hold stale values; steps may
+     * compute over them, but they are never copied into the result.
+     *
+     * @return the new register
+     */
+    int register() {
+        registers.add(new double[batchSize]);
+        return registers.size() - 1;
+    }
+
+    double[] buffer(int register) {
+        return registers.get(register);
+    }
+
+    void addStep(Step step) {
+        steps.add(step);
+    }
+
+    /**
+     * Allocates a register holding a constant in every slot
+     *
+     * @param value the constant
+     * @return the register
+     */
+    int constant(double value) {
+        int register = register();
+        Arrays.fill(buffer(register), value);
+        return register;
+    }
+
+    /**
+     * Gets the register reading a column, emitting its load step the first time the column is referenced
+     *
+     * @param columnName the name of the column
+     * @return the register
+     * @throws DataFrameException if the column is missing or is neither numeric nor boolean
+     */
+    int loadColumn(String columnName) {
+        Integer loaded = columnRegisters.get(columnName);
+        if (loaded != null) {
+            return loaded;
+        }
+        if (!dataFrame.containsColumn(columnName)) {
+            throw new DataFrameException("Column '" + columnName + "' does not exist");
+        }
+        int register = register();
+        double[] buffer = buffer(register);
+        switch (dataFrame.getColumn(columnName)) {
+            case NumericColumn<?> numericColumn -> addStep((from, length) -> {
+                for (int i = 0; i < length; i++) {
+                    buffer[i] = numericColumn.getDouble(from + i);
+                }
+            });
+            case BooleanColumn booleanColumn -> addStep((from, length) -> {
+                for (int i = 0; i < length; i++) {
+                    int row = from + i;
+                    buffer[i] = booleanColumn.isAbsent(row) ? Double.NaN : booleanColumn.getBoolean(row) ? 1 : 0;
+                }
+            });
+            default -> throw new DataFrameException("Column '" + columnName + "' is neither numeric nor boolean");
+        }
+        columnRegisters.put(columnName, register);
+        return register;
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.expression;
+
+/**
+ * A constant
+ */
+final class LiteralExpr extends Expr {
+
+    private final double value;
+
+    LiteralExpr(double value) {
+        this.value = value;
+    }
+
+    double value() {
+        return value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    int emit(ExprProgram program) {
+        return program.constant(value);
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(value);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.expression;
+
+/**
+ * Combines two predicates with three-valued logic. A false operand decides a conjunction and a true operand
+ * decides a disjunction, even if the other operand is missing.
+ */
+final class LogicalExpr extends Expr {
+
+    private final boolean conjunction;
+    private final Expr left;
+    private final Expr right;
+
+    LogicalExpr(boolean conjunction, Expr left, Expr right) {
+        this.conjunction = conjunction;
+        this.left = left;
+        this.right = right;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isPredicate() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    int emit(ExprProgram program) {
+        double[] leftValues = program.buffer(left.emit(program));
+        double[] rightValues = program.buffer(right.emit(program));
+        int result = program.register();
+        double[] resultValues = program.buffer(result);
+        if (conjunction) {
+            program.addStep((from, length) -> and(leftValues, rightValues, resultValues));
+        } else {
+            program.addStep((from, length) -> or(leftValues, rightValues, resultValues));
+        }
+        return result;
+    }
+
+    private static void and(double[] left, double[] right, double[] result) {
+        for (int i = 0; i < result.length; i++) {
+            double leftValue = left[i];
+            double rightValue = right[i];
+            result[i] = leftValue == 0 || rightValue == 0 ? 0
+                    : Double.isNaN(leftValue) || Double.isNaN(rightValue) ? Double.NaN : 1;
+        }
+    }
+
+    private static void or(double[] left, double[] right, double[] result) {
+        for (int i = 0; i < result.length; i++) {
+            double leftValue = left[i];
+            double rightValue = right[i];
+            result[i] = isTrue(leftValue) || isTrue(rightValue) ? 1
+                    : Double.isNaN(leftValue) || Double.isNaN(rightValue) ? Double.NaN : 0;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "(" + left + (conjunction ? " and " : " or ") + right + ")";
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.expression;
+
+import io.github.dug22.carpentry.column.transformations.DoubleKernels;
+
+/**
+ * A function of a single operand, applied batch by batch through an array kernel
+ */
+final class UnaryExpr extends Expr {
+
+    private final String name;
+    private final Expr operand;
+    private final DoubleKernels.ArrayKernel kernel;
+    private final boolean predicate;
+
+    UnaryExpr(String name, Expr operand, DoubleKernels.ArrayKernel kernel, boolean predicate) {
+        this.name = name;
+        this.operand = operand;
+        this.kernel = kernel;
+        this.predicate = predicate;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isPredicate() {
+        return predicate;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    int emit(ExprProgram program) {
+        double[] values = program.buffer(operand.emit(program));
+        int result = program.register();
+        double[] resultValues = program.buffer(result);
+        program.addStep((from, length) -> kernel.apply(values, resultValues));
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return name + "(" + operand + ")";
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.expression;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A pending branch of a conditional expression, waiting for the value it selects
+ */
+public final class When {
+
+    private final ConditionalExpr previous;
+    private final Expr condition;
+
+    When(ConditionalExpr previous, Expr condition) {
+        this.previous = previous;
+        this.condition = condition;
+    }
+
+    /**
+     * Completes the branch
+     *
+     * @param value the value of the rows selected by the condition
+     * @return the conditional expression, which is missing on the rows no branch selects
+     */
+    public ConditionalExpr then(Expr value) {
+        List<ConditionalExpr.Branch> branches = previous == null ? new ArrayList<>() : new ArrayList<>(previous.branches());
+        branches.add(new ConditionalExpr.Branch(condition, value));
+        return new ConditionalExpr(branches, null);
+    }
+
+    /**
+     * Completes the branch with a constant
+     *
+     * @param value the value of the rows selected by the condition
+     * @return the conditional expression, which is missing on the rows no branch selects
+     */
+    public ConditionalExpr then(double value) {
+        return then(Expr.lit(value));
+    }
+}
@@ -20,9 +20,6 @@ import io.github.dug22.carpentry.DataFrame;
 import io.github.dug22.carpentry.DataFrameFunction;
 import io.github.dug22.carpentry.column.Column;
 import io.github.dug22.carpentry.column.ColumnType;
-import io.github.dug22.carpentry.utils.Nulls;
-
-import java.util.stream.IntStream;
 
 /**
  * Fills null values in specified DataFrame columns
@@ -62,17 +59,14 @@ public class FillFunction extends DataFrameFunction {
             Column<T> column = (Column<T>) dataFrame.getColumn(columnName);
 
             if (column != null) {
-                IntStream.range(0, column.size()).forEach(index -> {
-                    T currentValue = column.get(index);
-                    ColumnType columnType = column.columnType();
-                    Class<?> columnTypeClazz = columnType.getClassType();
-                    Class<?> dataValueClazzType = dataValue.getClass();
+                ColumnType columnType = column.columnType();
+                Class<?> columnTypeClazz = columnType.getClassType();
+                Class<?> dataValueClazzType = dataValue.getClass();
 
-                    if (Nulls.isNull(currentValue) && columnTypeClazz.isAssignableFrom(dataValueClazzType)) {
-                        T typedFilledValue = (T) dataValue;
-                        column.set(index, typedFilledValue);
-                    }
-                });
+                if (columnTypeClazz.isAssignableFrom(dataValueClazzType)) {
+                    T typedFilledValue = (T) dataValue;
+                    column.fillAbsent(typedFilledValue);
+                }
             }
         }
 
@@ -17,16 +17,14 @@
 package io.github.dug22.carpentry.filter;
 
 import io.github.dug22.carpentry.DataFrame;
+import io.github.dug22.carpentry.DataFrameException;
 import io.github.dug22.carpentry.DataFrameFunction;
 import io.github.dug22.carpentry.column.Column;
-import io.github.dug22.carpentry.column.ColumnMap;
-import io.github.dug22.carpentry.column.ColumnType;
+import io.github.dug22.carpentry.column.impl.BooleanColumn;
+import io.github.dug22.carpentry.column.storage.ValidityMask;
 import io.github.dug22.carpentry.row.DataRow;
 
-import java.lang.reflect.Array;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
+import java.util.Arrays;
 
 public class FilterFunction extends DataFrameFunction {
 
@@ -37,34 +35,44 @@ public class FilterFunction extends DataFrameFunction {
 
     private DataFrame dataFrame = getDataFrame();
 
-    @SuppressWarnings("unchecked")
-    public <T> DataFrame filter(FilterPredicate filterPredicate) {
-        List<Integer> keptIndexes = new ArrayList<>();
-        ColumnMap columnMap = dataFrame.getColumnMap();
-        Collection<Column<?>> columnValues = columnMap.values();
-        int rowCount = dataFrame.getRowCount();
-        for (int index = 0; index < rowCount; index++) {
+    public DataFrame filter(FilterPredicate filterPredicate) {
+        int[] keptRows = new int[dataFrame.getRowCount()];
+        int keptCount = 0;
+        for (int index = 0; index < keptRows.length; index++) {
             DataRow dataRow = new DataRow(dataFrame, index);
             if (filterPredicate.test(dataRow)) {
-                keptIndexes.add(index);
+                keptRows[keptCount++] = index;
             }
         }
 
-        DataFrame newDataFrame = DataFrame.create();
-        int keptIndexesSize = keptIndexes.size();
-        for (Column<?> column : columnValues) {
-            ColumnType columnType = column.columnType();
-            Class<?> columnTypeClazz = columnType.getClassType();
-            T[] data = (T[]) column.getValues();
-            T[] newData = (T[]) Array.newInstance(columnTypeClazz, keptIndexesSize);
-            for (int index = 0; index < keptIndexesSize; index++) {
-                newData[index] = data[keptIndexes.get(index)];
-            }
-            Column<T> newColumn = (Column<T>) column.emptyCopy();
-            newColumn.setData(newData);
-            newDataFrame.addColumn(newColumn);
+        return createDataFrameWithKeptRows(Arrays.copyOf(keptRows, keptCount));
+    }
+
+    /**
+     * Keeps the rows selected by a mask, such as the one produced by {@link BooleanColumn#toSelection()}.
+     * Selected rows are found 64 at a time by scanning the words of the mask.
+     * @param selection the rows to keep
+     * @return a new DataFrame viewing the selected rows
+     */
+    public DataFrame filter(ValidityMask selection) {
+        int rowCount = dataFrame.getRowCount();
+        if (selection.size() != rowCount) {
+            throw new DataFrameException("The selection covers " + selection.size() + " rows but the DataFrame has " + rowCount + " rows!");
         }
 
+        int[] keptRows = new int[selection.countValid()];
+        int keptCount = 0;
+        for (int index = selection.nextValid(0); index >= 0; index = selection.nextValid(index + 1)) {
+            keptRows[keptCount++] = index;
+        }
+        return createDataFrameWithKeptRows(keptRows);
+    }
+
+    private DataFrame createDataFrameWithKeptRows(int[] keptRows) {
+        DataFrame newDataFrame = DataFrame.create();
+        for (Column<?> column : dataFrame.getColumnMap().values()) {
+            newDataFrame.addColumn(column.select(keptRows));
+        }
         return newDataFrame;
     }
-}
\ No newline at end of file
+}
@@ -16,8 +16,10 @@
 
 package io.github.dug22.carpentry.filter.predicates;
 
+import io.github.dug22.carpentry.column.Column;
 import io.github.dug22.carpentry.column.ColumnTypes;
 import io.github.dug22.carpentry.column.format.temporal.DateColumnFormatter;
+import io.github.dug22.carpentry.column.impl.DateColumn;
 import io.github.dug22.carpentry.column.parser.DateParser;
 import io.github.dug22.carpentry.filter.FilterPredicate;
 
@@ -25,6 +27,7 @@ import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.Month;
 import java.time.temporal.Temporal;
+import java.util.function.LongPredicate;
 
 public class DatePredicate {
 
@@ -38,100 +41,79 @@ public class DatePredicate {
     }
 
     public FilterPredicate isInMonth(Month month) {
-        return row -> {
-            Object value = row.get(columnName);
-            if (value == null) {
-                return false;
-            }
-            LocalDate date = getLocalDate(value);
-            return date != null && date.getMonth() == month;
-        };
+        return onEpochDay(epochDay -> LocalDate.ofEpochDay(epochDay).getMonth() == month);
     }
 
     public FilterPredicate isBefore(Temporal dateTime) {
-        return row -> {
-            Object value = row.get(columnName);
-            if (value == null || !(dateTime instanceof LocalDate)) {
-                return false;
-            }
-            LocalDate date = getLocalDate(value);
-            return date != null && date.isBefore((LocalDate) dateTime);
-        };
+        if (!(dateTime instanceof LocalDate date)) {
+            return row -> false;
+        }
+        long bound = date.toEpochDay();
+        return onEpochDay(epochDay -> epochDay < bound);
     }
 
     public FilterPredicate isAfter(Temporal dateTime) {
-        return row -> {
-            Object value = row.get(columnName);
-            if (value == null || !(dateTime instanceof LocalDate)) {
-                return false;
-            }
-            LocalDate date = getLocalDate(value);
-            return date != null && date.isAfter((LocalDate) dateTime);
-        };
+        if (!(dateTime instanceof LocalDate date)) {
+            return row -> false;
+        }
+        long bound = date.toEpochDay();
+        return onEpochDay(epochDay -> epochDay > bound);
     }
 
     public FilterPredicate isBetween(Temporal startDateTime, Temporal endDateTime) {
-        return row -> {
-            Object value = row.get(columnName);
-            if (value == null || !(startDateTime instanceof LocalDate) || !(endDateTime instanceof LocalDate)) {
-                return false;
-            }
-            LocalDate date = getLocalDate(value);
-            return date != null && !date.isBefore((LocalDate) startDateTime) && !date.isAfter((LocalDate) endDateTime);
-        };
+        if (!(startDateTime instanceof LocalDate startDate) || !(endDateTime instanceof LocalDate endDate)) {
+            return row -> false;
+        }
+        long lowerBound = startDate.toEpochDay();
+        long upperBound = endDate.toEpochDay();
+        return onEpochDay(epochDay -> epochDay >= lowerBound && epochDay <= upperBound);
     }
 
     public FilterPredicate isOnDay(DayOfWeek dayOfWeek) {
-        return row -> {
-            Object value = row.get(columnName);
-            if (value == null) {
-                return false;
-            }
-
-            LocalDate date = getLocalDate(value);
-            return date != null && date.getDayOfWeek() == dayOfWeek;
-        };
+        return onEpochDay(epochDay -> dayOfWeek(epochDay) == dayOfWeek);
     }
 
     public FilterPredicate isOnWeekday() {
-        return row -> {
-            Object value = row.get(columnName);
-            if (value == null) {
-                return false;
-            }
-
-            LocalDate date = getLocalDate(value);
-            assert date != null;
-            DayOfWeek dayOfWeek = date.getDayOfWeek();
-            return dayOfWeek == DayOfWeek.MONDAY || dayOfWeek == DayOfWeek.TUESDAY || dayOfWeek == DayOfWeek.WEDNESDAY || dayOfWeek == DayOfWeek.THURSDAY || dayOfWeek == DayOfWeek.FRIDAY;
-        };
+        return onEpochDay(epochDay -> dayOfWeek(epochDay).getValue() <= DayOfWeek.FRIDAY.getValue());
     }
 
     public FilterPredicate isOnWeekend() {
-        return row -> {
-            Object value = row.get(columnName);
-            if (value == null) {
-                return false;
-            }
-
-            LocalDate date = getLocalDate(value);
-            assert date != null;
-            return date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY;
-        };
+        return onEpochDay(epochDay -> dayOfWeek(epochDay).getValue() >= DayOfWeek.SATURDAY.getValue());
     }
 
     public FilterPredicate isInYear(int year) {
+        long firstDay = LocalDate.of(year, 1, 1).toEpochDay();
+        long lastDay = LocalDate.of(year, 12, 31).toEpochDay();
+        return onEpochDay(epochDay -> epochDay >= firstDay && epochDay <= lastDay);
+    }
+
+    /**
+     * Builds a predicate testing the day number of a row's value. Date columns are read as day numbers
+     * without creating a {@link LocalDate}; other columns are parsed first.
+     * @param epochDayTest the test to run on the number of days since 1970-01-01
+     * @return a predicate that is false for missing values
+     */
+    private FilterPredicate onEpochDay(LongPredicate epochDayTest) {
         return row -> {
-            Object value = row.get(columnName);
+            Column<?> column = row.getColumn(columnName);
+            int index = row.getIndex();
+            if (column instanceof DateColumn dateColumn) {
+                return !dateColumn.isAbsent(index) && epochDayTest.test(dateColumn.getEpochDay(index));
+            }
+
+            Object value = column.get(index);
             if (value == null) {
                 return false;
             }
-
             LocalDate date = getLocalDate(value);
-            return date != null && date.getYear() == year;
+            return date != null && epochDayTest.test(date.toEpochDay());
         };
     }
 
+    private static DayOfWeek dayOfWeek(long epochDay) {
+        return DayOfWeek.of(Math.floorMod(epochDay + 3, 7) + 1);
+    }
+
     private LocalDate getLocalDate(Object value) {
         if (value instanceof LocalDate localDate) {
             return localDate;
@@ -16,14 +16,18 @@
 
 package io.github.dug22.carpentry.filter.predicates;
 
+import io.github.dug22.carpentry.column.Column;
 import io.github.dug22.carpentry.column.ColumnTypes;
 import io.github.dug22.carpentry.column.format.temporal.DateTimeColumnFormatter;
+import io.github.dug22.carpentry.column.impl.DateTimeColumn;
 import io.github.dug22.carpentry.column.parser.DateTimeParser;
 import io.github.dug22.carpentry.filter.FilterPredicate;
 
 import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.Month;
+import java.time.ZoneOffset;
 import java.time.temporal.Temporal;
 
 public class DateTimePredicate {
@@ -38,100 +42,99 @@ public class DateTimePredicate {
     }
 
     public FilterPredicate isInMonth(Month month) {
-        return row -> {
-            Object value = row.get(columnName);
-            if (value == null) {
-                return false;
-            }
-            LocalDateTime dateTimeValue = getLocalDate(value);
-            return dateTimeValue != null && dateTimeValue.getMonth() == month;
-        };
+        return onEpochSecond((epochSecond, nano) -> LocalDate.ofEpochDay(epochDay(epochSecond)).getMonth() == month);
     }
 
     public FilterPredicate isBefore(Temporal dateTime) {
-        return row -> {
-            Object value = row.get(columnName);
-            if (value == null || !(dateTime instanceof LocalDateTime)) {
-                return false;
-            }
-            LocalDateTime dateTimeValue = getLocalDate(value);
-            return dateTimeValue != null && dateTimeValue.isBefore((LocalDateTime) dateTime);
-        };
+        if (!(dateTime instanceof LocalDateTime bound)) {
+            return row -> false;
+        }
+        long boundSecond = bound.toEpochSecond(ZoneOffset.UTC);
+        int boundNano = bound.getNano();
+        return onEpochSecond((epochSecond, nano) -> compare(epochSecond, nano, boundSecond, boundNano) < 0);
     }
 
     public FilterPredicate isAfter(Temporal dateTime) {
-        return row -> {
-            Object value = row.get(columnName);
-            if (value == null || !(dateTime instanceof LocalDateTime)) {
-                return false;
-            }
-            LocalDateTime dateTimeValue = getLocalDate(value);
-            return dateTimeValue != null && dateTimeValue.isAfter((LocalDateTime) dateTime);
-        };
+        if (!(dateTime instanceof LocalDateTime bound)) {
+            return row -> false;
+        }
+        long boundSecond = bound.toEpochSecond(ZoneOffset.UTC);
+        int boundNano = bound.getNano();
+        return onEpochSecond((epochSecond, nano) -> compare(epochSecond, nano, boundSecond, boundNano) > 0);
     }
 
     public FilterPredicate isBetween(Temporal startDateTime, Temporal endDateTime) {
-        return row -> {
-            Object value = row.get(columnName);
-            if (value == null || !(startDateTime instanceof LocalDateTime) || !(endDateTime instanceof LocalDateTime)) {
-                return false;
-            }
-            LocalDateTime dateTimeValue = getLocalDate(value);
-            return dateTimeValue != null && !dateTimeValue.isBefore((LocalDateTime) startDateTime) && !dateTimeValue.isAfter((LocalDateTime) endDateTime);
-        };
+        if (!(startDateTime instanceof LocalDateTime start) || !(endDateTime instanceof LocalDateTime end)) {
+            return row -> false;
+        }
+        long startSecond = start.toEpochSecond(ZoneOffset.UTC);
+        int startNano = start.getNano();
+        long endSecond = end.toEpochSecond(ZoneOffset.UTC);
+        int endNano = end.getNano();
+        return onEpochSecond((epochSecond, nano) -> compare(epochSecond, nano, startSecond, startNano) >= 0
+                && compare(epochSecond, nano, endSecond, endNano) <= 0);
     }
 
     public FilterPredicate isOnDay(DayOfWeek dayOfWeek) {
-        return row -> {
-            Object value = row.get(columnName);
-            if (value == null) {
-                return false;
-            }
-
-            LocalDateTime dateTimeValue = getLocalDate(value);
-            return dateTimeValue != null && dateTimeValue.getDayOfWeek() == dayOfWeek;
-        };
+        return onEpochSecond((epochSecond, nano) -> dayOfWeek(epochSecond) == dayOfWeek);
     }
 
     public FilterPredicate isOnWeekday() {
-        return row -> {
-            Object value = row.get(columnName);
-            if (value == null) {
-                return false;
-            }
-
-            LocalDateTime dateTimeValue = getLocalDate(value);
-            assert dateTimeValue != null;
-            DayOfWeek dayOfWeek = dateTimeValue.getDayOfWeek();
-            return dayOfWeek == DayOfWeek.MONDAY || dayOfWeek == DayOfWeek.TUESDAY || dayOfWeek == DayOfWeek.WEDNESDAY || dayOfWeek == DayOfWeek.THURSDAY || dayOfWeek == DayOfWeek.FRIDAY;
-        };
+        return onEpochSecond((epochSecond, nano) -> dayOfWeek(epochSecond).getValue() <= DayOfWeek.FRIDAY.getValue());
     }
 
     public FilterPredicate isOnWeekend() {
-        return row -> {
-            Object value = row.get(columnName);
-            if (value == null) {
-                return false;
-            }
-
-            LocalDateTime dateTimeValue = getLocalDate(value);
-            assert dateTimeValue != null;
-            return dateTimeValue.getDayOfWeek() == DayOfWeek.SATURDAY || dateTimeValue.getDayOfWeek() == DayOfWeek.SUNDAY;
-        };
+        return onEpochSecond((epochSecond, nano) -> dayOfWeek(epochSecond).getValue() >= DayOfWeek.SATURDAY.getValue());
     }
 
     public FilterPredicate isInYear(int year) {
+        long firstDay = LocalDate.of(year, 1, 1).toEpochDay();
+        long lastDay = LocalDate.of(year, 12, 31).toEpochDay();
+        return onEpochSecond((epochSecond, nano) -> epochDay(epochSecond) >= firstDay && epochDay(epochSecond) <= lastDay);
+    }
+
+    /**
+     * Builds a predicate testing the second count and nano-of-second of a row's value. Date-time columns are read
+     * without creating a {@link LocalDateTime}; other columns are parsed first.
+     * @param test the test to run on the number of seconds since 1970-01-01T00:00 and the nano-of-second
+     * @return a predicate that is false for missing values
+     */
+    private FilterPredicate onEpochSecond(EpochSecondPredicate test) {
         return row -> {
-            Object value = row.get(columnName);
+            Column<?> column = row.getColumn(columnName);
+            int index = row.getIndex();
+            if (column instanceof DateTimeColumn dateTimeColumn) {
+                return !dateTimeColumn.isAbsent(index) && test.test(dateTimeColumn.getEpochSecond(index), dateTimeColumn.getNano(index));
+            }
+
+            Object value = column.get(index);
             if (value == null) {
                 return false;
             }
-
             LocalDateTime dateTimeValue = getLocalDate(value);
-            return dateTimeValue != null && dateTimeValue.getYear() == year;
+            return dateTimeValue != null && test.test(dateTimeValue.toEpochSecond(ZoneOffset.UTC), dateTimeValue.getNano());
         };
     }
 
+    private static int compare(long epochSecond, int nano, long otherEpochSecond, int otherNano) {
+        int comparison = Long.compare(epochSecond, otherEpochSecond);
+        return comparison != 0 ? comparison : Integer.compare(nano, otherNano);
+    }
+
+    private static long epochDay(long epochSecond) {
+        return Math.floorDiv(epochSecond, 86_400);
+    }
+
+    private static DayOfWeek dayOfWeek(long epochSecond) {
+        return DayOfWeek.of(Math.floorMod(epochDay(epochSecond) + 3, 7) + 1);
+    }
+
+    @FunctionalInterface
+    private interface EpochSecondPredicate {
+
+        boolean test(long epochSecond, int nano);
+    }
+
     private LocalDateTime getLocalDate(Object value) {
         if (value instanceof LocalDateTime localDateTime) {
             return localDateTime;
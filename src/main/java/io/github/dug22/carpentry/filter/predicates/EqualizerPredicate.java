@@ -16,7 +16,15 @@
 
 package io.github.dug22.carpentry.filter.predicates;
 
+import io.github.dug22.carpentry.column.BaseColumn;
+import io.github.dug22.carpentry.column.Column;
+import io.github.dug22.carpentry.column.impl.StringColumn;
+import io.github.dug22.carpentry.column.storage.DictionaryStorage;
+import io.github.dug22.carpentry.column.storage.ValidityMask;
 import io.github.dug22.carpentry.filter.FilterPredicate;
+import io.github.dug22.carpentry.row.DataRow;
+
+import java.nio.charset.StandardCharsets;
 
 public class EqualizerPredicate {
 
@@ -27,10 +35,76 @@ public class EqualizerPredicate {
     }
 
     public FilterPredicate eq(Object value){
-        return row -> value.equals(row.get(columnName));
+        CodeMatcher matcher = new CodeMatcher(value);
+        return matcher::matches;
     }
 
     public FilterPredicate neq(Object value){
-        return row -> !value.equals(row.get(columnName));
+        CodeMatcher matcher = new CodeMatcher(value);
+        return row -> !matcher.matches(row);
+    }
+
+    /**
+     * Compares a row against a value. Dictionary-encoded string columns are compared by code: the code of the
+     * value is looked up once per column and every row is then checked with a single int comparison. UTF-8 encoded
+     * string columns are compared on their raw bytes against the value encoded once. Compressed and sparse columns
+     * select every matching row at once, from their encoded values or from the values they store, and each row is
+     * then looked up in the selection. Whatever is derived from a column is kept until the size or the
+     * modification count of the column changes.
+     */
+    private class CodeMatcher {
+
+        private final Object value;
+        private Column<?> cachedColumn;
+        private int cachedSize;
+        private int cachedModificationCount;
+        private int cachedCode;
+        private byte[] cachedBytes;
+        private ValidityMask cachedSelection;
+
+        private CodeMatcher(Object value) {
+            this.value = value;
+        }
+
+        private boolean matches(DataRow row) {
+            Column<?> column = row.getColumn(columnName);
+            if (column.isCompressed() || column.isSparse()) {
+                if (isStale(column) || cachedSelection == null) {
+                    cachedSelection = column.selectEqual(value);
+                }
+                return cachedSelection.isValid(row.getIndex());
+            }
+            if (column instanceof StringColumn stringColumn && stringColumn.isDictionaryEncoded()) {
+                if (isStale(column)) {
+                    cachedCode = stringColumn.codeOf(value);
+                }
+                return cachedCode != DictionaryStorage.NULL_CODE && stringColumn.getCode(row.getIndex()) == cachedCode;
+            }
+            if (column instanceof StringColumn stringColumn && stringColumn.isUtf8Encoded()) {
+                if (isStale(column)) {
+                    cachedBytes = value instanceof String string ? string.getBytes(StandardCharsets.UTF_8) : null;
+                }
+                return cachedBytes != null && stringColumn.getUtf8Storage().equalsBytes(row.getIndex(), cachedBytes);
+            }
+            return value.equals(column.get(row.getIndex()));
+        }
+
+        /**
+         * Checks if the values derived from the cached column are out of date for the given column, and if so
+         * records the given column as the cached one
+         */
+        private boolean isStale(Column<?> column) {
+            int size = column.size();
+            int modificationCount = column instanceof BaseColumn<?> baseColumn ? baseColumn.modificationCount() : -1;
+            if (column == cachedColumn && size == cachedSize && modificationCount == cachedModificationCount
+                    && modificationCount != -1) {
+                return false;
+            }
+            cachedColumn = column;
+            cachedSize = size;
+            cachedModificationCount = modificationCount;
+            cachedSelection = null;
+            return true;
+        }
     }
-}
\ No newline at end of file
+}
@@ -16,8 +16,14 @@
 
 package io.github.dug22.carpentry.filter.predicates;
 
+import io.github.dug22.carpentry.column.Column;
+import io.github.dug22.carpentry.column.impl.StringColumn;
+import io.github.dug22.carpentry.column.storage.Utf8Storage;
 import io.github.dug22.carpentry.filter.FilterPredicate;
+import io.github.dug22.carpentry.row.DataRow;
 
+import java.nio.charset.StandardCharsets;
+import java.util.function.BiPredicate;
 import java.util.regex.Pattern;
 
 public class StringPredicate {
@@ -31,24 +37,18 @@ public class StringPredicate {
     }
 
     public FilterPredicate startsWith() {
-        return row -> {
-            Object value = row.get(columnName);
-            return value instanceof String && ((String) value).startsWith(stringValue);
-        };
+        ByteMatcher matcher = new ByteMatcher(String::startsWith, Utf8Storage::startsWith);
+        return matcher::matches;
     }
 
     public FilterPredicate endsWith() {
-        return row -> {
-            Object value = row.get(columnName);
-            return value instanceof String && ((String) value).endsWith(stringValue);
-        };
+        ByteMatcher matcher = new ByteMatcher(String::endsWith, Utf8Storage::endsWith);
+        return matcher::matches;
     }
 
     public FilterPredicate contains() {
-        return row -> {
-            Object value = row.get(columnName);
-            return value instanceof String && ((String) value).contains(stringValue);
-        };
+        ByteMatcher matcher = new ByteMatcher(String::contains, Utf8Storage::contains);
+        return matcher::matches;
     }
 
     public FilterPredicate matches() {
@@ -58,4 +58,38 @@ public class StringPredicate {
             return value instanceof String && pattern.matcher((String) value).find();
         };
     }
-}
\ No newline at end of file
+
+    @FunctionalInterface
+    private interface BytePredicate {
+
+        boolean test(Utf8Storage storage, int index, byte[] bytes);
+    }
+
+    /**
+     * Matches a row against the string value. UTF-8 encoded columns are matched on their raw bytes against the
+     * value encoded once, so no string is decoded; other columns are matched on their string values.
+     */
+    private class ByteMatcher {
+
+        private final BiPredicate<String, String> stringTest;
+        private final BytePredicate byteTest;
+        private final byte[] bytes;
+
+        private ByteMatcher(BiPredicate<String, String> stringTest, BytePredicate byteTest) {
+            this.stringTest = stringTest;
+            this.byteTest = byteTest;
+            this.bytes = stringValue.getBytes(StandardCharsets.UTF_8);
+        }
+
+        private boolean matches(DataRow row) {
+            Column<?> column = row.getColumn(columnName);
+            if (column instanceof StringColumn stringColumn && stringColumn.isUtf8Encoded()) {
+                Utf8Storage storage = stringColumn.getUtf8Storage();
+                int index = row.getIndex();
+                return storage.byteLength(index) != Utf8Storage.NULL_LENGTH && byteTest.test(storage, index, bytes);
+            }
+            Object value = column.get(row.getIndex());
+            return value instanceof String && stringTest.test((String) value, stringValue);
+        }
+    }
+}
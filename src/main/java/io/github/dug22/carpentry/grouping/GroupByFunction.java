@@ -25,6 +25,7 @@ import io.github.dug22.carpentry.column.impl.BooleanColumn;
 import io.github.dug22.carpentry.column.impl.DoubleColumn;
 import io.github.dug22.carpentry.column.impl.IntegerColumn;
 import io.github.dug22.carpentry.column.impl.NumericColumn;
+import io.github.dug22.carpentry.column.storage.ValidityMask;
 
 import java.lang.reflect.Array;
 import java.util.Arrays;
@@ -61,6 +62,7 @@ public class GroupByFunction extends DataFrameFunction {
                 .map(entry -> {
                     String columnName = entry.columnName() + "_" + entry.type().getFunctionName();
                     if (entry.type() == AggregationType.COUNT ||
+                        entry.type() == AggregationType.APPROX_COUNT_DISTINCT ||
                         entry.type() == AggregationType.TRUE_COUNT ||
                         entry.type() == AggregationType.FALSE_COUNT) {
                         newDataFrame.addColumn(IntegerColumn.create(columnName));
@@ -117,14 +119,57 @@ public class GroupByFunction extends DataFrameFunction {
             int aggIndex = aggregationColumnNames.indexOf(columnName);
             if (aggIndex >= 0) {
                 AggregationEntry agg = aggregationEntries[aggIndex];
+                Column<?> source = dataFrame.getColumn(agg.columnName());
+                boolean countsBooleans = source instanceof BooleanColumn
+                        && (agg.type() == AggregationType.TRUE_COUNT || agg.type() == AggregationType.FALSE_COUNT);
                 for (int index = 0; index < groups.size(); index++) {
-                    values[index] = (T) agg.type().aggregate(groups.get(index).getColumnData(agg.columnName()));
+                    values[index] = countsBooleans
+                            ? (T) Integer.valueOf(countBooleans((BooleanColumn) source, groups.get(index), agg.type()))
+                            : (T) agg.type().aggregate(groups.get(index).getColumnData(agg.columnName()));
                 }
             }
         }
         ((Column<T>) column).setData(values);
     }
 
+    /**
+     * Computes TRUE_COUNT or FALSE_COUNT for a group straight from the bits of a boolean column.
+     * Groups covering at least one row in 64 are counted with {@link Long#bitCount(long)} over a row selection,
+     * smaller groups are counted row by row.
+     * @param column The boolean column to count
+     * @param group The group whose rows are counted
+     * @param type Either TRUE_COUNT or FALSE_COUNT
+     * @return The number of true or false values in the group
+     */
+    private static int countBooleans(BooleanColumn column, Group group, AggregationType type) {
+        List<Integer> rowIndexes = group.getRowIndexes();
+        int trueCount = 0;
+        int falseCount = 0;
+        if ((long) rowIndexes.size() * Long.SIZE >= column.size()) {
+            ValidityMask selection = new ValidityMask(column.size(), false);
+            for (int rowIndex : rowIndexes) {
+                selection.set(rowIndex, true);
+            }
+            trueCount = column.countTrue(selection);
+            falseCount = column.countFalse(selection);
+        } else {
+            for (int rowIndex : rowIndexes) {
+                if (column.isAbsent(rowIndex)) continue;
+                if (column.getBoolean(rowIndex)) {
+                    trueCount++;
+                } else {
+                    falseCount++;
+                }
+            }
+        }
+
+        int naCount = rowIndexes.size() - trueCount - falseCount;
+        if (naCount > 0) {
+            System.out.printf("%s() ignored %d NA values%n", type.getFunctionName(), naCount);
+        }
+        return type == AggregationType.TRUE_COUNT ? trueCount : falseCount;
+    }
+
     /**
      * Returns the grouped data resulting from the grouping operation.
      * @return The given grouped data.
@@ -18,6 +18,8 @@ package io.github.dug22.carpentry.grouping;
 
 import io.github.dug22.carpentry.DataFrame;
 import io.github.dug22.carpentry.column.Column;
+import io.github.dug22.carpentry.column.impl.StringColumn;
+import io.github.dug22.carpentry.column.storage.DictionaryStorage;
 import java.util.*;
 
 /**
@@ -42,18 +44,24 @@ public class GroupedData {
 
     /**
      * Groups the DataFrame rows based on the values in the specified columns, creating a Group for each unique key.
+     * Dictionary-encoded string columns contribute their int codes to the key, which are only decoded back into
+     * values once per group.
      * @param dataFrame The DataFrame to group
      * @param groupByColumns The names of the columns to group by
      */
     private void groupData(DataFrame dataFrame, String[] groupByColumns) {
+        Column<?>[] columns = new Column<?>[groupByColumns.length];
+        for (int i = 0; i < groupByColumns.length; i++) {
+            columns[i] = dataFrame.getColumn(groupByColumns[i]);
+        }
+
         Map<KeyWrapper, Group> groupMap = new LinkedHashMap<>();
         int rowCount = dataFrame.getRowCount();
         for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
-            Object[] key = new Object[groupByColumns.length];
+            Object[] key = new Object[columns.length];
             boolean isValid = true;
-            for (int i = 0; i < groupByColumns.length; i++) {
-                Column<?> column = dataFrame.getColumn(groupByColumns[i]);
-                key[i] = column.get(rowIndex);
+            for (int i = 0; i < columns.length; i++) {
+                key[i] = keyComponent(columns[i], rowIndex);
                 if (key[i] == null) {
                     isValid = false;
                     break;
@@ -64,7 +72,7 @@ public class GroupedData {
 
             KeyWrapper keyWrapper = new KeyWrapper(key);
             Group group = groupMap.computeIfAbsent(keyWrapper, k -> {
-                Group newGroup = new Group(k.key, dataFrame);
+                Group newGroup = new Group(decodeKey(columns, k.key), dataFrame);
                 groups.add(newGroup);
                 return newGroup;
             });
@@ -72,6 +80,36 @@ public class GroupedData {
         }
     }
 
+    /**
+     * Reads the part of a group key contributed by a single column.
+     * @param column The column to read from
+     * @param rowIndex The row to read
+     * @return The dictionary code for dictionary-encoded columns, the value otherwise, or null if the row has no value
+     */
+    private static Object keyComponent(Column<?> column, int rowIndex) {
+        if (column instanceof StringColumn stringColumn && stringColumn.isDictionaryEncoded()) {
+            int code = stringColumn.getCode(rowIndex);
+            return code == DictionaryStorage.NULL_CODE ? null : code;
+        }
+        return column.get(rowIndex);
+    }
+
+    /**
+     * Replaces the dictionary codes of a group key with the values they stand for.
+     * @param columns The columns the key was read from
+     * @param key The group key
+     * @return The group key made of values
+     */
+    private static Object[] decodeKey(Column<?>[] columns, Object[] key) {
+        Object[] values = key.clone();
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i] instanceof StringColumn stringColumn && stringColumn.isDictionaryEncoded()) {
+                values[i] = stringColumn.getDictionary().get((Integer) key[i]);
+            }
+        }
+        return values;
+    }
+
     /**
      * Returns the list of groups created from the DataFrame.
      * @return The list of groups
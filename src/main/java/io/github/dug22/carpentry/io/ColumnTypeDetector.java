@@ -47,6 +47,7 @@ public class ColumnTypeDetector {
             case BooleanColumnType booleanColumnType -> booleanColumnType.getParser().canParse(value);
             case IntegerColumnType integerColumnType -> integerColumnType.getParser().canParse(value);
             case DoubleColumnType doubleColumnType -> doubleColumnType.getParser().canParse(value);
+            case DecimalColumnType decimalColumnType -> decimalColumnType.getParser().canParse(value);
             case LongColumnType longColumnType -> longColumnType.getParser().canParse(value);
             case StringColumnType ignored ->  true;
             default -> throw new IllegalArgumentException("Invalid Column Type: " + columnType);
@@ -68,6 +69,7 @@ public class ColumnTypeDetector {
             case BooleanColumnType booleanColumnType -> (T) booleanColumnType.getParser().parse(value);
             case IntegerColumnType integerColumnType -> (T) integerColumnType.getParser().parse(value);
             case DoubleColumnType doubleColumnType -> (T) doubleColumnType.getParser().parse(value);
+            case DecimalColumnType decimalColumnType -> (T) decimalColumnType.getParser().parse(value);
             case LongColumnType longColumnType -> (T) longColumnType.getParser().parse(value);
             case StringColumnType ignored -> (T) value;
             default -> throw new IllegalArgumentException("Invalid Column Type: " + columnType);
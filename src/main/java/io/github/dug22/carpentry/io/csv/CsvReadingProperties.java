@@ -21,6 +21,7 @@ import io.github.dug22.carpentry.column.format.temporal.DateColumnFormatter;
 import io.github.dug22.carpentry.column.format.temporal.DateTimeColumnFormatter;
 import io.github.dug22.carpentry.column.parser.DateParser;
 import io.github.dug22.carpentry.column.parser.DateTimeParser;
+import io.github.dug22.carpentry.column.storage.DecimalStorage;
 import io.github.dug22.carpentry.io.AbstractDataSource;
 import io.github.dug22.carpentry.io.DataSource;
 import io.github.dug22.carpentry.io.ReadingProperties;
@@ -41,6 +42,10 @@ public class CsvReadingProperties implements ReadingProperties {
     private char delimiter = ',';
     private char quoteCharacter = '"';
     private char escapeCharacter = '\\';
+    private double dictionaryEncodingThreshold = 0;
+    private boolean offHeap = false;
+    private boolean utf8Strings = false;
+    private boolean optimizeTypes = false;
     private DateParser dateParser = ColumnTypes.DATE_COLUMN_TYPE.getParser();
     private DateColumnFormatter dateFormatter = DateColumnFormatter.getDefault();
     private DateTimeParser dateTimeParser = ColumnTypes.DATE_TIME_COLUMN_TYPE.getParser();
@@ -49,6 +54,7 @@ public class CsvReadingProperties implements ReadingProperties {
     private final Map<String, DateColumnFormatter> dateFormatters = new HashMap<>();
     private final Map<String, DateTimeParser> dateTimeParsers = new HashMap<>();
     private final Map<String, DateTimeColumnFormatter> dateTimeFormatters = new HashMap<>();
+    private final Map<String, Integer> decimalScales = new HashMap<>();
     public CsvReadingProperties() {
 
     }
@@ -108,6 +114,63 @@ public class CsvReadingProperties implements ReadingProperties {
         return this;
     }
 
+    /**
+     * Sets the maximum ratio of distinct values to rows for which a string column is loaded dictionary encoded.
+     * A ratio of 0, the default, disables dictionary encoding.
+     * @param dictionaryEncodingThreshold a ratio between 0 and 1
+     * @return these properties
+     */
+    public CsvReadingProperties setDictionaryEncodingThreshold(double dictionaryEncodingThreshold) {
+        if (dictionaryEncodingThreshold < 0 || dictionaryEncodingThreshold > 1) {
+            throw new CsvException("The dictionary encoding threshold must be between 0 and 1!");
+        }
+        this.dictionaryEncodingThreshold = dictionaryEncodingThreshold;
+        return this;
+    }
+
+    /**
+     * Sets whether numeric and date columns are loaded off-heap. An off-heap DataFrame should be closed
+     * once it is no longer needed.
+     * @param offHeap if numeric and date columns should be held outside of the Java heap
+     * @return these properties
+     */
+    public CsvReadingProperties setOffHeap(boolean offHeap) {
+        this.offHeap = offHeap;
+        return this;
+    }
+
+    /**
+     * Sets whether string columns that are not dictionary encoded are loaded as UTF-8 bytes in a single arena
+     * instead of one String object per value.
+     * @param utf8Strings if string columns should be UTF-8 encoded
+     * @return these properties
+     */
+    public CsvReadingProperties setUtf8Strings(boolean utf8Strings) {
+        this.utf8Strings = utf8Strings;
+        return this;
+    }
+
+    /**
+     * Sets whether numeric columns are narrowed to the smallest column type holding their values once loaded.
+     * @param optimizeTypes if numeric columns should be narrowed
+     * @return these properties
+     */
+    public CsvReadingProperties setOptimizeTypes(boolean optimizeTypes) {
+        this.optimizeTypes = optimizeTypes;
+        return this;
+    }
+
+    /**
+     * Loads the given column as a fixed-point DecimalColumn with the given scale. Its text is parsed straight into
+     * unscaled longs, rounding half-up any digits beyond the scale.
+     * @param columnName the name of the column
+     * @param scale the number of digits kept after the decimal point
+     * @return these properties
+     */
+    public CsvReadingProperties setDecimalScale(String columnName, int scale) {
+        decimalScales.put(columnName, DecimalStorage.checkScale(scale));
+        return this;
+    }
 
     // New setters for column-specific date parsers and formatters
     public CsvReadingProperties setDateParser(String columnName, DateParser parser) {
@@ -206,6 +269,27 @@ public class CsvReadingProperties implements ReadingProperties {
     public char getEscapeCharacter() {
         return escapeCharacter;
     }
+
+    public double getDictionaryEncodingThreshold() {
+        return dictionaryEncodingThreshold;
+    }
+
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
+    public boolean isUtf8Strings() {
+        return utf8Strings;
+    }
+
+    public boolean isOptimizeTypes() {
+        return optimizeTypes;
+    }
+
+    public Integer getDecimalScale(String columnName) {
+        return decimalScales.get(columnName);
+    }
+
     public DateParser getDateParser(String columnName) {
         return dateParsers.getOrDefault(columnName, dateParser);
     }
@@ -20,6 +20,7 @@ import io.github.dug22.carpentry.DataFrame;
 import io.github.dug22.carpentry.DataFrameInterface;
 import io.github.dug22.carpentry.column.*;
 import io.github.dug22.carpentry.column.impl.*;
+import io.github.dug22.carpentry.column.storage.DictionaryStorage;
 import io.github.dug22.carpentry.column.type.*;
 import io.github.dug22.carpentry.io.AbstractDataSource;
 import io.github.dug22.carpentry.io.ColumnTypeDetector;
@@ -60,7 +61,11 @@ public class CsvReadingUtil {
                     maxColumnCharacterLength, headers.length);
             ColumnType[] columnTypes = detectColumnTypes(rows, headers.length);
             List<Column<?>> columns = buildColumns(headers, columnTypes, rows, properties);
-            return DataFrame.create(columns);
+            DataFrame dataFrame = DataFrame.create(columns);
+            if (properties.isOptimizeTypes()) {
+                dataFrame.optimizeTypes();
+            }
+            return dataFrame;
         }
     }
 
@@ -231,7 +236,8 @@ public class CsvReadingUtil {
     private static List<Column<?>> buildColumns(String[] headers, ColumnType[] columnTypes, List<String[]> rows, CsvReadingProperties properties) {
         List<Column<?>> columns = new ArrayList<>();
         for (int i = 0; i < headers.length; i++) {
-            columns.add(buildColumn(headers[i], columnTypes[i], rows, i, properties));
+            ColumnType columnType = properties.getDecimalScale(headers[i]) != null ? ColumnTypes.DECIMAL_COLUMN_TYPE : columnTypes[i];
+            columns.add(buildColumn(headers[i], columnType, rows, i, properties));
         }
         return columns;
     }
@@ -252,7 +258,7 @@ public class CsvReadingUtil {
                         columnName, rows, columnIndex,
                         value -> ColumnTypeDetector.parseValue(value, columnType),
                         LocalDate[]::new,
-                        DateColumn::create
+                        properties.isOffHeap() ? DateColumn::createOffHeap : DateColumn::create
                 );
                 column.setParser(properties.getDateParser(columnName));
                 column.setOutputFormatter(properties.getDateFormatter(columnName));
@@ -280,29 +286,73 @@ public class CsvReadingUtil {
                     columnName, rows, columnIndex,
                     value -> ColumnTypeDetector.parseValue(value, columnType),
                     Integer[]::new,
-                    IntegerColumn::create
+                    properties.isOffHeap() ? IntegerColumn::createOffHeap : IntegerColumn::create
             );
             case DoubleColumnType ignored -> buildColumn(
                     columnName, rows, columnIndex,
                     value -> ColumnTypeDetector.parseValue(value, columnType),
                     Double[]::new,
-                    DoubleColumn::create
+                    properties.isOffHeap() ? DoubleColumn::createOffHeap : DoubleColumn::create
             );
             case LongColumnType ignored -> buildColumn(
                     columnName, rows, columnIndex,
                     value -> ColumnTypeDetector.parseValue(value, columnType),
                     Long[]::new,
-                    LongColumn::create
+                    properties.isOffHeap() ? LongColumn::createOffHeap : LongColumn::create
             );
+            case DecimalColumnType decimalColumnType ->
+                    buildDecimalColumn(columnName, rows, columnIndex, properties.getDecimalScale(columnName), decimalColumnType);
             default -> buildColumn(
                     columnName, rows, columnIndex,
                     value -> ColumnTypeDetector.parseValue(value, columnType),
                     String[]::new,
-                    StringColumn::create
+                    (name, data) -> buildStringColumn(name, data, properties)
             );
         };
     }
 
+    /**
+     * Builds a decimal column by parsing each value straight into an unscaled long, without creating a BigDecimal per value.
+     * @param columnName the column name
+     * @param rows the row data
+     * @param columnIndex index of the column in the row
+     * @param scale the number of digits kept after the decimal point
+     * @param columnType the decimal column type
+     * @return constructed column
+     */
+    private static DecimalColumn buildDecimalColumn(String columnName, List<String[]> rows, int columnIndex, int scale, DecimalColumnType columnType) {
+        long[] data = new long[rows.size()];
+        for (int index = 0; index < rows.size(); index++) {
+            String[] row = rows.get(index);
+            String value = columnIndex < row.length ? row[columnIndex] : null;
+            try {
+                data[index] = columnType.getParser().parseUnscaled(value, scale);
+            } catch (NumberFormatException | ArithmeticException e) {
+                throw new CsvException("Value " + value + " in column " + columnName + " is not a decimal of scale " + scale);
+            }
+        }
+        return DecimalColumn.createUnscaled(columnName, scale, data);
+    }
+
+    /**
+     * Builds a string column, dictionary encoded if it has few enough distinct values.
+     * The dictionary is built while counting the distinct values, and dropped as soon as the threshold is exceeded.
+     * @param columnName the column name
+     * @param data the parsed column values
+     * @param properties the reading properties holding the dictionary encoding threshold
+     * @return constructed column
+     */
+    private static StringColumn buildStringColumn(String columnName, String[] data, CsvReadingProperties properties) {
+        double threshold = properties.getDictionaryEncodingThreshold();
+        if (data.length > 0 && threshold > 0) {
+            DictionaryStorage encoded = DictionaryStorage.encode(data, (int) (data.length * threshold));
+            if (encoded != null) {
+                return new StringColumn(columnName, encoded);
+            }
+        }
+        return properties.isUtf8Strings() ? StringColumn.createUtf8(columnName, data) : StringColumn.create(columnName, data);
+    }
+
     /**
      * Builds a generic column of type T using parsing and factory functions.
      * @param columnName the column name
@@ -35,6 +35,7 @@ public interface JoinUtil {
             case CharacterColumn ignoredCharacterColumn -> CharacterColumn.create(newName);
             case DateColumn ignoredDateColumn -> DateColumn.create(newName);
             case DateTimeColumn ignoredDateTimeColumn -> DateTimeColumn.create(newName);
+            case DecimalColumn decimalColumn -> DecimalColumn.create(newName, decimalColumn.getScale());
             case DoubleColumn ignoredDoubleColumn -> DoubleColumn.create(newName);
             case FloatColumn ignoredFloatColumn -> FloatColumn.create(newName);
             case IntegerColumn ignoredIntegerColumn -> IntegerColumn.create(newName);
@@ -19,6 +19,8 @@ package io.github.dug22.carpentry.join.impl;
 import io.github.dug22.carpentry.DataFrame;
 import io.github.dug22.carpentry.DataFrameInterface;
 import io.github.dug22.carpentry.column.Column;
+import io.github.dug22.carpentry.column.impl.StringColumn;
+import io.github.dug22.carpentry.column.storage.DictionaryStorage;
 import io.github.dug22.carpentry.join.JoinColumn;
 import io.github.dug22.carpentry.join.JoinDetails;
 import io.github.dug22.carpentry.join.JoinUtil;
@@ -27,11 +29,14 @@ import io.github.dug22.carpentry.row.DataRow;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.IntStream;
 
 public class DefaultJoinUtil implements JoinUtil {
 
+    private final Map<JoinColumn, CodeTranslation> codeTranslations = new HashMap<>();
+
     /**
      * Creates a resulting joined DataFrame with the implemented join details
      * @param joinDetails set of details about what dataframe you wish to join with and what kind of join you would like to perform
@@ -69,6 +74,8 @@ public class DefaultJoinUtil implements JoinUtil {
 
     /**
      * Checks if two rows match based on the values in the specified join columns.
+     * When both join columns are dictionary encoded, the rows are compared by code through a translation table
+     * that is built once per column pair.
      * @param leftRow The row from the left DataFrame
      * @param rightRow The row from the right DataFrame
      * @param joinColumns The columns to compare for the join condition
@@ -77,8 +84,17 @@ public class DefaultJoinUtil implements JoinUtil {
     @Override
     public boolean rowsMatch(DataRow leftRow, DataRow rightRow, JoinColumn[] joinColumns) {
         for (JoinColumn joinColumn : joinColumns) {
-            Object leftValue = leftRow.get(joinColumn.leftColumn());
-            Object rightValue = rightRow.get(joinColumn.rightColumn());
+            Column<?> leftColumn = leftRow.getColumn(joinColumn.leftColumn());
+            Column<?> rightColumn = rightRow.getColumn(joinColumn.rightColumn());
+            if (leftColumn instanceof StringColumn left && left.isDictionaryEncoded()
+                    && rightColumn instanceof StringColumn right && right.isDictionaryEncoded()) {
+                if (!codesMatch(joinColumn, left, right, leftRow.getIndex(), rightRow.getIndex())) {
+                    return false;
+                }
+                continue;
+            }
+            Object leftValue = leftColumn.get(leftRow.getIndex());
+            Object rightValue = rightColumn.get(rightRow.getIndex());
             if (!leftValue.equals(rightValue)) {
                 return false;
             }
@@ -86,6 +102,55 @@ public class DefaultJoinUtil implements JoinUtil {
         return true;
     }
 
+    /**
+     * Compares two dictionary-encoded values by translating the code of the right value into the left dictionary.
+     * @param joinColumn The join column pair being compared
+     * @param left The left column
+     * @param right The right column
+     * @param leftIndex The row of the left value
+     * @param rightIndex The row of the right value
+     * @return true if both values are present and equal, false otherwise
+     */
+    private boolean codesMatch(JoinColumn joinColumn, StringColumn left, StringColumn right, int leftIndex, int rightIndex) {
+        int leftCode = left.getCode(leftIndex);
+        int rightCode = right.getCode(rightIndex);
+        if (leftCode == DictionaryStorage.NULL_CODE || rightCode == DictionaryStorage.NULL_CODE) {
+            return false;
+        }
+
+        CodeTranslation translation = codeTranslations.get(joinColumn);
+        if (translation == null || !translation.isFor(left, right)) {
+            translation = CodeTranslation.create(left, right);
+            codeTranslations.put(joinColumn, translation);
+        }
+        return translation.rightToLeft()[rightCode] == leftCode;
+    }
+
+    /**
+     * Maps the dictionary codes of a right join column onto the codes of a left join column.
+     * @param left The left column
+     * @param right The right column
+     * @param leftCardinality The size of the left dictionary when the table was built
+     * @param rightToLeft The left code of every right code, or {@link DictionaryStorage#NULL_CODE} if the value is absent on the left
+     */
+    private record CodeTranslation(StringColumn left, StringColumn right, int leftCardinality, int[] rightToLeft) {
+
+        private static CodeTranslation create(StringColumn left, StringColumn right) {
+            List<String> rightDictionary = right.getDictionary();
+            int[] rightToLeft = new int[rightDictionary.size()];
+            for (int code = 0; code < rightToLeft.length; code++) {
+                rightToLeft[code] = left.codeOf(rightDictionary.get(code));
+            }
+            return new CodeTranslation(left, right, left.getDictionary().size(), rightToLeft);
+        }
+
+        private boolean isFor(StringColumn left, StringColumn right) {
+            return this.left == left && this.right == right
+                    && leftCardinality == left.getDictionary().size()
+                    && rightToLeft.length == right.getDictionary().size();
+        }
+    }
+
     /**
      * Merges a row from the left and right DataFrames into the result DataFrame based on join details.
      * @param result The DataFrame to add the merged row to
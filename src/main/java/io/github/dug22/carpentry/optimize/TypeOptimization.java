@@ -0,0 +1,46 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.optimize;
+
+import io.github.dug22.carpentry.column.ColumnType;
+
+/**
+ * A column whose type was narrowed, with the bytes its values took before and after
+ *
+ * @param columnName  Name of the column
+ * @param fromType    Type of the column before it was narrowed
+ * @param toType      Type of the column after it was narrowed
+ * @param bytesBefore Bytes taken by the values of the column before it was narrowed
+ * @param bytesAfter  Bytes taken by the values of the column after it was narrowed
+ */
+public record TypeOptimization(String columnName, ColumnType fromType, ColumnType toType, long bytesBefore, long bytesAfter) {
+
+    /**
+     * Gets the number of bytes saved by narrowing the column
+     *
+     * @return the number of bytes saved
+     */
+    public long bytesSaved() {
+        return bytesBefore - bytesAfter;
+    }
+
+    @Override
+    public String toString() {
+        return columnName + ": " + fromType.getName() + " -> " + toType.getName() + " (" + bytesSaved() + " bytes saved)";
+    }
+}
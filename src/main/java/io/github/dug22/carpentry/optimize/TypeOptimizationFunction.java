@@ -0,0 +1,130 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.optimize;
+
+import io.github.dug22.carpentry.DataFrame;
+import io.github.dug22.carpentry.DataFrameFunction;
+import io.github.dug22.carpentry.column.Column;
+import io.github.dug22.carpentry.column.impl.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Narrows the numeric columns of a DataFrame to the smallest existing column type able to hold their values
+ */
+public final class TypeOptimizationFunction extends DataFrameFunction {
+
+    private final DataFrame dataFrame = getDataFrame();
+
+    /**
+     * Constructor
+     *
+     * @param dataFrame The DataFrame to operate on
+     */
+    public TypeOptimizationFunction(DataFrame dataFrame) {
+        super(dataFrame);
+    }
+
+    /**
+     * Replaces each integer, long, short and double column with the narrowest of ByteColumn, ShortColumn,
+     * IntegerColumn and FloatColumn that holds every one of its values exactly. Integral columns are narrowed from
+     * the minimum and maximum of their values; the smallest value of each type is its null sentinel, so it is never
+     * used for a value. Double columns become FloatColumns only if every value survives the round trip to float.
+     *
+     * @return the columns that were narrowed and the bytes each one saved
+     */
+    public List<TypeOptimization> optimizeTypes() {
+        List<TypeOptimization> optimizations = new ArrayList<>();
+        List<Column<?>> columns = new ArrayList<>(dataFrame.getColumns());
+        for (int position = 0; position < columns.size(); position++) {
+            Column<?> column = columns.get(position);
+            Column<?> narrowed = narrow(column);
+            if (narrowed != column) {
+                dataFrame.replaceColumn(position, narrowed);
+                optimizations.add(new TypeOptimization(column.name(), column.columnType(), narrowed.columnType(),
+                        bytesOf(column), bytesOf(narrowed)));
+            }
+        }
+        return optimizations;
+    }
+
+    /**
+     * Narrows a single column
+     *
+     * @param column the column to narrow
+     * @return the narrowed column, or the given column if no narrower type holds its values
+     */
+    public static Column<?> narrow(Column<?> column) {
+        return switch (column) {
+            case ShortColumn shortColumn -> fitsIn(shortColumn, Byte.MIN_VALUE, Byte.MAX_VALUE) ? shortColumn.asByteColumn() : shortColumn;
+            case IntegerColumn intColumn -> narrowIntegral(intColumn, intColumn::asByteColumn, intColumn::asShortColumn, () -> intColumn);
+            case LongColumn longColumn -> narrowIntegral(longColumn, longColumn::asByteColumn, longColumn::asShortColumn, longColumn::asIntegerColumn);
+            case DoubleColumn doubleColumn -> isFloatExact(doubleColumn) ? doubleColumn.asFloatColumn() : doubleColumn;
+            default -> column;
+        };
+    }
+
+    private static Column<?> narrowIntegral(NumberColumn<?> column, Supplier<Column<?>> asByte, Supplier<Column<?>> asShort, Supplier<Column<?>> asInteger) {
+        if (fitsIn(column, Byte.MIN_VALUE, Byte.MAX_VALUE)) {
+            return asByte.get();
+        }
+        if (fitsIn(column, Short.MIN_VALUE, Short.MAX_VALUE)) {
+            return asShort.get();
+        }
+        if (fitsIn(column, Integer.MIN_VALUE, Integer.MAX_VALUE)) {
+            return asInteger.get();
+        }
+        return column;
+    }
+
+    /**
+     * Checks if every value of a column lies strictly above the given minimum, which is the null sentinel
+     * of the narrower type, and at or below the given maximum
+     */
+    private static boolean fitsIn(NumberColumn<?> column, long sentinel, long max) {
+        for (int index = column.nextPresent(0); index >= 0; index = column.nextPresent(index + 1)) {
+            long value = column.get(index).longValue();
+            if (value <= sentinel || value > max) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isFloatExact(DoubleColumn column) {
+        for (int index = column.nextPresent(0); index >= 0; index = column.nextPresent(index + 1)) {
+            double value = column.getDouble(index);
+            if ((double) (float) value != value) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long bytesOf(Column<?> column) {
+        long valueBytes = switch (column.columnType().getID()) {
+            case Byte -> Byte.BYTES;
+            case Short -> Short.BYTES;
+            case Integer, Float -> Integer.BYTES;
+            default -> Long.BYTES;
+        };
+        return valueBytes * column.size();
+    }
+}
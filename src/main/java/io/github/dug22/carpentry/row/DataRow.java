@@ -51,6 +51,25 @@ public class DataRow implements Row {
         return get(columnName);
     }
 
+    /**
+     * Gets the column of the underlying data frame with the given name
+     *
+     * @param columnName the name of the column
+     * @return the column with the given name
+     */
+    public Column<?> getColumn(String columnName) {
+        return dataFrame.getColumn(columnName);
+    }
+
+    /**
+     * Gets the data frame this row belongs to
+     *
+     * @return the data frame this row belongs to
+     */
+    public DataFrame getDataFrame() {
+        return dataFrame;
+    }
+
     @Override
     public int getIndex() {
         return rowIndex;
@@ -18,6 +18,7 @@ package io.github.dug22.carpentry.sorting;
 
 import io.github.dug22.carpentry.row.DataRow;
 
+import java.math.BigDecimal;
 import java.util.Comparator;
 
 public class RowColumnComparator implements Comparator<DataRow> {
@@ -87,6 +88,7 @@ public class RowColumnComparator implements Comparator<DataRow> {
             case Boolean aBoolean when b instanceof Boolean -> Boolean.compare(aBoolean, (Boolean) b);
             case Byte aByte when b instanceof Byte -> Byte.compare(aByte, (Byte) b);
             case Character c when b instanceof Character -> Character.compare(c, (Character) b);
+            case BigDecimal decimal when b instanceof BigDecimal -> decimal.compareTo((BigDecimal) b);
             case Double v when b instanceof Double -> Double.compare(v, (Double) b);
             case Float v when b instanceof Float -> Float.compare(v, (Float) b);
             case Integer integer when b instanceof Integer -> Integer.compare(integer, (Integer) b);
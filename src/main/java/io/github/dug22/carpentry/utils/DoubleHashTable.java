@@ -0,0 +1,130 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+package io.github.dug22.carpentry.utils;
+
+import java.util.Arrays;
+
+/**
+ * An open-addressing hash table of primitive double keys, giving each distinct key a dense id and a count. Keys are
+ * compared by their bits like {@link Double#equals}: every NaN is the same key, and 0.0 and -0.0 are different keys.
+ */
+public final class DoubleHashTable extends HashTable {
+
+    private long[] keyBits;
+
+    private DoubleHashTable(int expectedSize) {
+        super(expectedSize);
+        keyBits = new long[Math.max(expectedSize, DEFAULT_EXPECTED_SIZE)];
+    }
+
+    /**
+     * Creates an empty table
+     *
+     * @return an empty table
+     */
+    public static DoubleHashTable create() {
+        return new DoubleHashTable(DEFAULT_EXPECTED_SIZE);
+    }
+
+    /**
+     * Creates an empty table sized to hold the given number of keys without growing
+     *
+     * @param expectedSize the expected number of distinct keys
+     * @return an empty table
+     */
+    public static DoubleHashTable create(int expectedSize) {
+        return new DoubleHashTable(expectedSize);
+    }
+
+    /**
+     * Adds an occurrence of a key, giving it the next id if it is new
+     *
+     * @param key the key to add
+     * @return the id of the key
+     */
+    public int add(double key) {
+        reserve();
+        long bits = Double.doubleToLongBits(key);
+        int slot = slotOf(Hashing.hashLong(bits));
+        for (int id = idAt(slot); id >= 0; id = idAt(slot)) {
+            if (keyBits[id] == bits) {
+                return increment(id);
+            }
+            slot = nextSlot(slot);
+        }
+        int id = insert(slot);
+        keyBits[id] = bits;
+        return id;
+    }
+
+    /**
+     * Finds the id of a key
+     *
+     * @param key the key to look for
+     * @return the id of the key, or -1 if it was never added
+     */
+    public int find(double key) {
+        long bits = Double.doubleToLongBits(key);
+        int slot = slotOf(Hashing.hashLong(bits));
+        for (int id = idAt(slot); id >= 0; id = idAt(slot)) {
+            if (keyBits[id] == bits) {
+                return id;
+            }
+            slot = nextSlot(slot);
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the key with the given id
+     *
+     * @param id the id of the key
+     * @return the key
+     */
+    public double key(int id) {
+        return Double.longBitsToDouble(keyBits[checkId(id)]);
+    }
+
+    /**
+     * Copies the distinct keys of this table
+     *
+     * @return the keys, in order of first appearance
+     */
+    public double[] keys() {
+        double[] keys = new double[size()];
+        for (int id = 0; id < keys.length; id++) {
+            keys[id] = Double.longBitsToDouble(keyBits[id]);
+        }
+        return keys;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected long hash(int id) {
+        return Hashing.hashLong(keyBits[id]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void resizeKeys(int capacity) {
+        keyBits = Arrays.copyOf(keyBits, capacity);
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+package io.github.dug22.carpentry.utils;
+
+import java.util.Arrays;
+
+/**
+ * The base of the primitive open-addressing hash tables. A table gives each distinct key a dense id, in the order the
+ * keys were first added, and counts how many times each key was added. The keys themselves live in a dense array of
+ * the subclass, indexed by id, so no key is ever boxed; the slots only hold ids and are probed linearly from the
+ * 64-bit hash of the key.
+ */
+public abstract class HashTable {
+
+    /**
+     * The number of keys a table is sized for when none is given
+     */
+    public static final int DEFAULT_EXPECTED_SIZE = 16;
+
+    private static final int MAX_SLOTS = 1 << 30;
+
+    private int[] slots;
+    private int mask;
+    private int threshold;
+    private int[] counts;
+    private int size;
+
+    protected HashTable(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("The expected size of a hash table must not be negative, got " + expectedSize);
+        }
+        int capacity = Math.max(expectedSize, DEFAULT_EXPECTED_SIZE);
+        allocateSlots(slotCount(capacity));
+        counts = new int[capacity];
+    }
+
+    /**
+     * Gets the number of distinct keys held by this table
+     *
+     * @return the number of distinct keys
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks to see if this table holds no key
+     *
+     * @return if this table is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets how many times the key with the given id was added
+     *
+     * @param id the id of the key
+     * @return the number of times the key was added
+     */
+    public int count(int id) {
+        return counts[checkId(id)];
+    }
+
+    /**
+     * Copies how many times each key was added, indexed by id
+     *
+     * @return the count of every key, in order of first appearance
+     */
+    public int[] counts() {
+        return Arrays.copyOf(counts, size);
+    }
+
+    /**
+     * Finds the id of the most frequent key. Ties go to the key added first.
+     *
+     * @return the id of the most frequent key, or -1 if the table is empty
+     */
+    public int mostFrequent() {
+        int best = -1;
+        for (int id = 0; id < size; id++) {
+            if (best < 0 || counts[id] > counts[best]) {
+                best = id;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Hashes the key with the given id, so the slots can be rebuilt when they grow
+     *
+     * @param id the id of the key
+     * @return the 64-bit hash of the key
+     */
+    protected abstract long hash(int id);
+
+    /**
+     * Grows the dense key array of the subclass
+     *
+     * @param capacity the new number of keys it must hold
+     */
+    protected abstract void resizeKeys(int capacity);
+
+    /**
+     * Makes room for one more key before a subclass probes for it
+     */
+    protected final void reserve() {
+        if (size >= threshold) {
+            if (slots.length == MAX_SLOTS) {
+                throw new IllegalStateException("A hash table cannot hold more than " + size + " keys");
+            }
+            allocateSlots(slots.length << 1);
+            for (int id = 0; id < size; id++) {
+                int slot = slotOf(hash(id));
+                while (slots[slot] != 0) {
+                    slot = nextSlot(slot);
+                }
+                slots[slot] = id + 1;
+            }
+        }
+        if (size == counts.length) {
+            int capacity = (int) Math.min((long) counts.length << 1, Integer.MAX_VALUE - 8);
+            counts = Arrays.copyOf(counts, capacity);
+            resizeKeys(capacity);
+        }
+    }
+
+    /**
+     * Gets the first slot probed for a hash
+     *
+     * @param hash the 64-bit hash of a key
+     * @return the first slot to probe
+     */
+    protected final int slotOf(long hash) {
+        return (int) hash & mask;
+    }
+
+    /**
+     * Gets the slot probed after the given one
+     *
+     * @param slot the current slot
+     * @return the next slot to probe
+     */
+    protected final int nextSlot(int slot) {
+        return (slot + 1) & mask;
+    }
+
+    /**
+     * Gets the id of the key held in a slot
+     *
+     * @param slot the slot
+     * @return the id of the key, or -1 if the slot is empty
+     */
+    protected final int idAt(int slot) {
+        return slots[slot] - 1;
+    }
+
+    /**
+     * Counts one more occurrence of an existing key
+     *
+     * @param id the id of the key
+     * @return the id of the key
+     */
+    protected final int increment(int id) {
+        counts[id]++;
+        return id;
+    }
+
+    /**
+     * Claims an empty slot for a new key. The subclass stores the key at the returned id.
+     *
+     * @param slot the empty slot the probe stopped at
+     * @return the id of the new key
+     */
+    protected final int insert(int slot) {
+        int id = size++;
+        slots[slot] = id + 1;
+        counts[id] = 1;
+        return id;
+    }
+
+    /**
+     * Checks that an id belongs to a key of this table
+     *
+     * @param id the id to check
+     * @return the id
+     */
+    protected final int checkId(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("Id " + id + " out of bounds for " + size + " keys");
+        }
+        return id;
+    }
+
+    private void allocateSlots(int slotCount) {
+        slots = new int[slotCount];
+        mask = slotCount - 1;
+        threshold = (int) Math.min(slotCount * 3L / 4, Integer.MAX_VALUE);
+    }
+
+    private static int slotCount(int capacity) {
+        long slots = Long.highestOneBit(Math.max(capacity * 4L / 3, 1) * 2 - 1);
+        return (int) Math.min(Math.max(slots, 2), MAX_SLOTS);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.utils;
+
+import java.time.LocalDate;
+
+/**
+ * 64-bit hashes of column values, computed from their primitive or byte representation. Every representation of a
+ * value hashes the same way: an int and the same long, a string and its UTF-8 bytes, a date and its epoch day.
+ * Storages can therefore hash their values without boxing them, and sketches built from different storages can be
+ * merged.
+ */
+public class Hashing {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private Hashing() {
+    }
+
+    /**
+     * Hashes an integral value with the SplitMix64 finalizer
+     *
+     * @param value the value to hash
+     * @return the hash of the value
+     */
+    public static long hashLong(long value) {
+        long hash = value + 0x9e3779b97f4a7c15L;
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+
+    /**
+     * Hashes a floating point value by its bits, so that values are told apart exactly like {@link Double#equals}
+     *
+     * @param value the value to hash
+     * @return the hash of the value
+     */
+    public static long hashDouble(double value) {
+        return hashLong(Double.doubleToLongBits(value));
+    }
+
+    /**
+     * Hashes a range of UTF-8 bytes
+     *
+     * @param bytes  the bytes to hash
+     * @param offset the start of the range
+     * @param length the number of bytes to hash
+     * @return the hash of the bytes
+     */
+    public static long hashBytes(byte[] bytes, int offset, int length) {
+        long hash = FNV_OFFSET;
+        for (int index = offset; index < offset + length; index++) {
+            hash = (hash ^ (bytes[index] & 0xff)) * FNV_PRIME;
+        }
+        return hashLong(hash);
+    }
+
+    /**
+     * Hashes a string as its UTF-8 bytes, encoding them on the fly instead of allocating them
+     *
+     * @param value the string to hash
+     * @return the hash of the string, equal to the hash of its UTF-8 bytes
+     */
+    public static long hashString(String value) {
+        long hash = FNV_OFFSET;
+        int length = value.length();
+        for (int index = 0; index < length; index++) {
+            char c = value.charAt(index);
+            if (c < 0x80) {
+                hash = (hash ^ c) * FNV_PRIME;
+            } else if (c < 0x800) {
+                hash = (hash ^ (0xc0 | (c >> 6))) * FNV_PRIME;
+                hash = (hash ^ (0x80 | (c & 0x3f))) * FNV_PRIME;
+            } else if (Character.isHighSurrogate(c) && index + 1 < length && Character.isLowSurrogate(value.charAt(index + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++index));
+                hash = (hash ^ (0xf0 | (codePoint >> 18))) * FNV_PRIME;
+                hash = (hash ^ (0x80 | ((codePoint >> 12) & 0x3f))) * FNV_PRIME;
+                hash = (hash ^ (0x80 | ((codePoint >> 6) & 0x3f))) * FNV_PRIME;
+                hash = (hash ^ (0x80 | (codePoint & 0x3f))) * FNV_PRIME;
+            } else if (Character.isSurrogate(c)) {
+                hash = (hash ^ '?') * FNV_PRIME;
+            } else {
+                hash = (hash ^ (0xe0 | (c >> 12))) * FNV_PRIME;
+                hash = (hash ^ (0x80 | ((c >> 6) & 0x3f))) * FNV_PRIME;
+                hash = (hash ^ (0x80 | (c & 0x3f))) * FNV_PRIME;
+            }
+        }
+        return hashLong(hash);
+    }
+
+    /**
+     * Hashes a boxed value the same way as its primitive or byte representation
+     *
+     * @param value the value to hash, which must not be null
+     * @return the hash of the value
+     */
+    public static long hashObject(Object value) {
+        if (value instanceof String string) {
+            return hashString(string);
+        } else if (value instanceof Double || value instanceof Float) {
+            return hashDouble(((Number) value).doubleValue());
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return hashLong(((Number) value).longValue());
+        } else if (value instanceof Boolean bool) {
+            return hashLong(bool ? 1 : 0);
+        } else if (value instanceof LocalDate date) {
+            return hashLong(date.toEpochDay());
+        }
+        return hashLong(value.hashCode());
+    }
+}
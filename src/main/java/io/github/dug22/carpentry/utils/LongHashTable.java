@@ -0,0 +1,123 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+package io.github.dug22.carpentry.utils;
+
+import java.util.Arrays;
+
+/**
+ * An open-addressing hash table of primitive long keys, giving each distinct key a dense id and a count
+ */
+public final class LongHashTable extends HashTable {
+
+    private long[] keys;
+
+    private LongHashTable(int expectedSize) {
+        super(expectedSize);
+        keys = new long[Math.max(expectedSize, DEFAULT_EXPECTED_SIZE)];
+    }
+
+    /**
+     * Creates an empty table
+     *
+     * @return an empty table
+     */
+    public static LongHashTable create() {
+        return new LongHashTable(DEFAULT_EXPECTED_SIZE);
+    }
+
+    /**
+     * Creates an empty table sized to hold the given number of keys without growing
+     *
+     * @param expectedSize the expected number of distinct keys
+     * @return an empty table
+     */
+    public static LongHashTable create(int expectedSize) {
+        return new LongHashTable(expectedSize);
+    }
+
+    /**
+     * Adds an occurrence of a key, giving it the next id if it is new
+     *
+     * @param key the key to add
+     * @return the id of the key
+     */
+    public int add(long key) {
+        reserve();
+        int slot = slotOf(Hashing.hashLong(key));
+        for (int id = idAt(slot); id >= 0; id = idAt(slot)) {
+            if (keys[id] == key) {
+                return increment(id);
+            }
+            slot = nextSlot(slot);
+        }
+        int id = insert(slot);
+        keys[id] = key;
+        return id;
+    }
+
+    /**
+     * Finds the id of a key
+     *
+     * @param key the key to look for
+     * @return the id of the key, or -1 if it was never added
+     */
+    public int find(long key) {
+        int slot = slotOf(Hashing.hashLong(key));
+        for (int id = idAt(slot); id >= 0; id = idAt(slot)) {
+            if (keys[id] == key) {
+                return id;
+            }
+            slot = nextSlot(slot);
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the key with the given id
+     *
+     * @param id the id of the key
+     * @return the key
+     */
+    public long key(int id) {
+        return keys[checkId(id)];
+    }
+
+    /**
+     * Copies the distinct keys of this table
+     *
+     * @return the keys, in order of first appearance
+     */
+    public long[] keys() {
+        return Arrays.copyOf(keys, size());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected long hash(int id) {
+        return Hashing.hashLong(keys[id]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void resizeKeys(int capacity) {
+        keys = Arrays.copyOf(keys, capacity);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.utils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Estimates the heap footprint of column buffers and values. The estimates assume a 64-bit JVM with compressed
+ * object pointers: 12 byte object headers, 16 byte array headers, 4 byte references and 8 byte alignment.
+ */
+public class MemoryEstimator {
+
+    public static final int OBJECT_HEADER = 12;
+    public static final int ARRAY_HEADER = 16;
+    public static final int REFERENCE = 4;
+
+    private static final long BOXED_INT = align(OBJECT_HEADER + Integer.BYTES);
+    private static final long BOXED_LONG = align(OBJECT_HEADER + Long.BYTES);
+    private static final long STRING = align(OBJECT_HEADER + REFERENCE + Integer.BYTES + 2);
+    private static final long LOCAL_DATE = align(OBJECT_HEADER + Integer.BYTES + 2 * Short.BYTES);
+    private static final long LOCAL_TIME = align(OBJECT_HEADER + 3 + Integer.BYTES);
+    private static final long LOCAL_DATE_TIME = align(OBJECT_HEADER + 2 * REFERENCE) + LOCAL_DATE + LOCAL_TIME;
+    private static final long HASH_MAP = align(OBJECT_HEADER + 4 * REFERENCE + 4 * Integer.BYTES);
+    private static final long HASH_MAP_ENTRY = align(OBJECT_HEADER + Integer.BYTES + 3 * REFERENCE);
+    private static final long BIG_DECIMAL = align(OBJECT_HEADER + 2 * REFERENCE + 2 * Integer.BYTES + Long.BYTES);
+
+    private MemoryEstimator() {
+    }
+
+    /**
+     * Rounds a size up to the 8 byte alignment of heap objects
+     *
+     * @param bytes the unaligned size
+     * @return the aligned size
+     */
+    public static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    /**
+     * Estimates the size of a primitive array
+     *
+     * @param length       the length of the array
+     * @param elementBytes the size of one element
+     * @return the estimated size of the array in bytes
+     */
+    public static long array(long length, int elementBytes) {
+        return align(ARRAY_HEADER + length * elementBytes);
+    }
+
+    /**
+     * Estimates the size of an array of references, not counting the objects it references
+     *
+     * @param length the length of the array
+     * @return the estimated size of the array in bytes
+     */
+    public static long referenceArray(long length) {
+        return array(length, REFERENCE);
+    }
+
+    /**
+     * Estimates the size of a HashMap's table and entries, not counting its keys and values
+     *
+     * @param entries the number of entries in the map
+     * @return the estimated size of the map in bytes
+     */
+    public static long hashMap(int entries) {
+        long tableLength = entries == 0 ? 0 : Integer.highestOneBit(Math.max((int) (entries / 0.75f), 1) - 1) << 1;
+        return HASH_MAP + referenceArray(Math.max(tableLength, 16)) + entries * HASH_MAP_ENTRY;
+    }
+
+    /**
+     * Estimates the size of a String, including its character payload
+     *
+     * @param value the string to measure
+     * @return the estimated size of the string in bytes
+     */
+    public static long string(String value) {
+        int bytesPerChar = 1;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0xFF) {
+                bytesPerChar = 2;
+                break;
+            }
+        }
+        return STRING + array(value.length(), bytesPerChar);
+    }
+
+    /**
+     * Estimates the size of a value held by a column, including the objects it references.
+     * Booleans are shared by the JVM, so they are free, as are missing values.
+     *
+     * @param value the value to measure, or {@code null}
+     * @return the estimated size of the value in bytes
+     */
+    public static long sizeOf(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        return switch (value) {
+            case Boolean ignored -> 0;
+            case String string -> string(string);
+            case Long ignored -> BOXED_LONG;
+            case Double ignored -> BOXED_LONG;
+            case LocalDate ignored -> LOCAL_DATE;
+            case LocalDateTime ignored -> LOCAL_DATE_TIME;
+            case BigDecimal ignored -> BIG_DECIMAL;
+            case Number ignored -> BOXED_INT;
+            case Character ignored -> BOXED_INT;
+            default -> align(OBJECT_HEADER);
+        };
+    }
+}
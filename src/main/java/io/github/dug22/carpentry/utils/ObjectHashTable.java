@@ -0,0 +1,120 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+package io.github.dug22.carpentry.utils;
+
+import java.util.Arrays;
+
+/**
+ * An open-addressing hash table of object keys, giving each distinct key a dense id and a count. Keys are hashed with
+ * {@link Hashing#hashObject(Object)} and compared with {@link Object#equals}, and must not be null.
+ *
+ * @param <K> the type of the keys
+ */
+public final class ObjectHashTable<K> extends HashTable {
+
+    private Object[] keys;
+
+    private ObjectHashTable(int expectedSize) {
+        super(expectedSize);
+        keys = new Object[Math.max(expectedSize, DEFAULT_EXPECTED_SIZE)];
+    }
+
+    /**
+     * Creates an empty table
+     *
+     * @param <K> the type of the keys
+     * @return an empty table
+     */
+    public static <K> ObjectHashTable<K> create() {
+        return new ObjectHashTable<>(DEFAULT_EXPECTED_SIZE);
+    }
+
+    /**
+     * Creates an empty table sized to hold the given number of keys without growing
+     *
+     * @param expectedSize the expected number of distinct keys
+     * @param <K>          the type of the keys
+     * @return an empty table
+     */
+    public static <K> ObjectHashTable<K> create(int expectedSize) {
+        return new ObjectHashTable<>(expectedSize);
+    }
+
+    /**
+     * Adds an occurrence of a key, giving it the next id if it is new
+     *
+     * @param key the key to add, which must not be null
+     * @return the id of the key
+     */
+    public int add(K key) {
+        reserve();
+        int slot = slotOf(Hashing.hashObject(key));
+        for (int id = idAt(slot); id >= 0; id = idAt(slot)) {
+            if (key.equals(keys[id])) {
+                return increment(id);
+            }
+            slot = nextSlot(slot);
+        }
+        int id = insert(slot);
+        keys[id] = key;
+        return id;
+    }
+
+    /**
+     * Finds the id of a key
+     *
+     * @param key the key to look for, which must not be null
+     * @return the id of the key, or -1 if it was never added
+     */
+    public int find(K key) {
+        int slot = slotOf(Hashing.hashObject(key));
+        for (int id = idAt(slot); id >= 0; id = idAt(slot)) {
+            if (key.equals(keys[id])) {
+                return id;
+            }
+            slot = nextSlot(slot);
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the key with the given id
+     *
+     * @param id the id of the key
+     * @return the key
+     */
+    @SuppressWarnings("unchecked")
+    public K key(int id) {
+        return (K) keys[checkId(id)];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected long hash(int id) {
+        return Hashing.hashObject(keys[id]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void resizeKeys(int capacity) {
+        keys = Arrays.copyOf(keys, capacity);
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+package io.github.dug22.carpentry.benchmarks;
+
+import io.github.dug22.carpentry.DataFrame;
+import io.github.dug22.carpentry.column.impl.DoubleColumn;
+
+import java.util.Random;
+
+import static io.github.dug22.carpentry.expression.Expr.col;
+
+public class ExpressionBenchmark {
+
+    private static final int SIZE = 5_000_000;
+
+    public static void main(String[] args) {
+        SimpleBenchmark bench = SimpleBenchmark.create()
+                .warmups(10)
+                .measurements(10);
+
+        Random random = new Random(42);
+        double[] a = new double[SIZE];
+        double[] b = new double[SIZE];
+        double[] c = new double[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            a[i] = random.nextInt(100) == 0 ? Double.NaN : random.nextDouble() * 1000;
+            b[i] = random.nextDouble() * 1000;
+            c[i] = random.nextDouble() * 10;
+        }
+        DataFrame dataFrame = DataFrame.create(DoubleColumn.create("A", a), DoubleColumn.create("B", b), DoubleColumn.create("C", c));
+        DoubleColumn columnA = dataFrame.doubleColumn("A");
+        DoubleColumn columnB = dataFrame.doubleColumn("B");
+        DoubleColumn columnC = dataFrame.doubleColumn("C");
+
+        bench.measure("Chained transformations", () -> columnA.plus(columnB).times(columnC).divide(2).sqrt());
+        bench.measure("Fused expression", () -> col("A").plus(col("B")).times(col("C")).divide(2).sqrt().evaluate(dataFrame, "D"));
+        bench.measure("Fused predicate", () -> col("A").gt(col("B")).and(col("C").lt(5)).evaluate(dataFrame, "P"));
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+
+package io.github.dug22.carpentry.benchmarks;
+
+import io.github.dug22.carpentry.column.ColumnBiFunction;
+import io.github.dug22.carpentry.column.impl.DoubleColumn;
+import io.github.dug22.carpentry.column.transformations.DoubleKernels;
+import io.github.dug22.carpentry.utils.Nulls;
+
+import java.util.Random;
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * Compares the column arithmetic with the paths it replaced, then times each kernel on its own. Run it once with
+ * {@code --add-modules jdk.incubator.vector} and once without to compare the vector kernels with the scalar fallback.
+ */
+public class NumberTransformationsBenchmark {
+
+    private static final int SIZE = 5_000_000;
+
+    public static void main(String[] args) {
+        SimpleBenchmark bench = SimpleBenchmark.create()
+                .warmups(10)
+                .measurements(10);
+
+        Random random = new Random(42);
+        double[] leftValues = new double[SIZE];
+        double[] rightValues = new double[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            leftValues[i] = random.nextInt(100) == 0 ? Double.NaN : random.nextDouble() * 1000;
+            rightValues[i] = random.nextDouble() * 1000 + 1;
+        }
+        DoubleColumn left = DoubleColumn.create("Left", leftValues);
+        DoubleColumn right = DoubleColumn.create("Right", rightValues);
+
+        System.out.println("Vector kernels: " + DoubleKernels.isVectorized());
+        bench.measure("Boxed element-wise plus", () -> boxedOperation(left, right, Double::sum));
+        bench.measure("Per-element operator plus", () -> operatorOperation(left, right, Double::sum));
+        bench.measure("Column plus", () -> left.plus(right));
+        bench.measure("Column multiply by constant", () -> left.multiply(1.5));
+        bench.measure("Column sqrt", left::sqrt);
+        bench.measure("Column round", () -> left.round(2));
+
+        double[] result = new double[SIZE];
+        bench.measure("Kernel add", () -> DoubleKernels.add(leftValues, rightValues, result));
+        bench.measure("Kernel subtract", () -> DoubleKernels.subtract(leftValues, rightValues, result));
+        bench.measure("Kernel multiply by constant", () -> DoubleKernels.multiply(leftValues, 1.5, result));
+        bench.measure("Kernel divide", () -> DoubleKernels.divide(leftValues, rightValues, result));
+        bench.measure("Kernel sqrt", () -> DoubleKernels.sqrt(leftValues, result));
+        bench.measure("Kernel abs", () -> DoubleKernels.abs(leftValues, result));
+        bench.measure("Kernel negate", () -> DoubleKernels.negate(leftValues, result));
+        bench.measure("Two-pass round", () -> twoPassRound(leftValues, result));
+        bench.measure("Kernel round", () -> DoubleKernels.round(leftValues, 2, result));
+    }
+
+    /**
+     * The original path: every operand and result is boxed and written into a {@code Double[]}
+     */
+    private static DoubleColumn boxedOperation(DoubleColumn left, DoubleColumn right, ColumnBiFunction<Double, Double, Double> operation) {
+        Double[] resultData = new Double[left.size()];
+        for (int index = 0; index < resultData.length; index++) {
+            if (left.isAbsent(index) || right.isAbsent(index)) {
+                resultData[index] = Nulls.getDefaultNullValue(Double.class);
+            } else {
+                resultData[index] = operation.apply(left.get(index), right.get(index));
+            }
+        }
+        return DoubleColumn.create("Boxed", resultData);
+    }
+
+    /**
+     * The unboxed path the kernels replace: a null check and an operator call for every element
+     */
+    private static DoubleColumn operatorOperation(DoubleColumn left, DoubleColumn right, DoubleBinaryOperator operation) {
+        double[] resultData = new double[left.size()];
+        for (int index = 0; index < resultData.length; index++) {
+            if (left.isAbsent(index) || right.isAbsent(index)) {
+                resultData[index] = Double.NaN;
+            } else {
+                resultData[index] = operation.applyAsDouble(left.getDouble(index), right.getDouble(index));
+            }
+        }
+        return DoubleColumn.create("Operator", resultData);
+    }
+
+    /**
+     * The first round kernel: a rounding pass, then a pass restoring the missing values
+     */
+    private static void twoPassRound(double[] values, double[] result) {
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (double) Math.round(values[i] * 100) / 100;
+        }
+        DoubleKernels.maskMissing(values, result);
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ *
+ */
+
+
+package io.github.dug22.carpentry.benchmarks;
+
+import io.github.dug22.carpentry.DataFrame;
+import io.github.dug22.carpentry.column.impl.DoubleColumn;
+import io.github.dug22.carpentry.column.other.SkewnessFormula;
+
+import java.util.Random;
+
+public class StatisticsBenchmark {
+
+    private static final int SIZE = 10_000_000;
+
+    public static void main(String[] args) {
+        SimpleBenchmark bench = SimpleBenchmark.create()
+                .warmups(5)
+                .measurements(10);
+
+        Random random = new Random(42);
+        double[] a = new double[SIZE];
+        double[] b = new double[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            a[i] = random.nextGaussian() * 100;
+            b[i] = random.nextDouble() * 1000;
+        }
+        DataFrame dataFrame = DataFrame.create(DoubleColumn.create("A", a), DoubleColumn.create("B", b));
+        DoubleColumn columnA = dataFrame.doubleColumn("A");
+
+        bench.measure("Sum", columnA::sum);
+        bench.measure("Standard deviation", columnA::std);
+        bench.measure("Skewness", () -> columnA.skew(SkewnessFormula.FISHER_PEARSON));
+        bench.measure("Describe", dataFrame::describe);
+    }
+}
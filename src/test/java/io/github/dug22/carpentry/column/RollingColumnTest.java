@@ -2,12 +2,15 @@ package io.github.dug22.carpentry.column;
 
 import io.github.dug22.carpentry.aggregation.AggregationType;
 import io.github.dug22.carpentry.column.impl.BooleanColumn;
+import io.github.dug22.carpentry.column.impl.DoubleColumn;
 import io.github.dug22.carpentry.column.impl.IntegerColumn;
+import io.github.dug22.carpentry.column.impl.StringColumn;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
+import java.util.Random;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class RollingColumnTest {
 
@@ -19,4 +22,62 @@ public class RollingColumnTest {
         result.show();
         assertEquals(Arrays.asList(-2147483648, 1, 1, 1, 1), Arrays.stream(result.getValues()).toList());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void incrementalAggregationTest() {
+        DoubleColumn column = DoubleColumn.create("Values", new Double[]{4.0, 1.0, null, 3.0, 3.0, 3.0, 8.0});
+        assertAll(
+                () -> assertArrayEquals(new Double[]{Double.NaN, Double.NaN, 2.5, 2.0, 3.0, 3.0, 14.0 / 3},
+                        column.rolling(3).calc(AggregationType.MEAN).getValues()),
+                () -> assertArrayEquals(new Double[]{Double.NaN, Double.NaN, 4.0, 3.0, 3.0, 3.0, 8.0},
+                        column.rolling(3).calc(AggregationType.MAX).getValues()),
+                () -> assertArrayEquals(new Double[]{Double.NaN, Double.NaN, 1.0, 1.0, 3.0, 3.0, 3.0},
+                        column.rolling(3).calc(AggregationType.MIN).getValues()),
+                () -> assertEquals(0.0, column.rolling(3).calc(AggregationType.STD).get(5)),
+                () -> assertEquals(Math.sqrt(12.5), (Double) column.rolling(2).calc(AggregationType.STD).get(6), 1e-12),
+                () -> assertArrayEquals(new Double[]{Double.NaN, Double.NaN, 2.5, 2.0, 3.0, 3.0, 3.0},
+                        column.rolling(3).median().getValues()),
+                () -> assertEquals(5.0, column.rolling(4).quantile(0.8).get(6), 1e-12)
+        );
+    }
+
+    @Test
+    public void windowOptionsTest() {
+        DoubleColumn column = DoubleColumn.create("Values", new Double[]{1.0, 2.0, null, 4.0, 5.0});
+        StringColumn strings = StringColumn.create("Strings", new String[]{"a", "b", "a", null, "c"});
+        assertAll(
+                () -> assertArrayEquals(new Double[]{1.0, 3.0, 3.0, 6.0, 9.0},
+                        column.rolling(3).minPeriods(1).calc(AggregationType.SUM).getValues()),
+                () -> assertArrayEquals(new Double[]{3.0, 3.0, 6.0, 9.0, 9.0},
+                        column.rolling(3).minPeriods(2).center().calc(AggregationType.SUM).getValues()),
+                () -> assertArrayEquals(new Double[]{Double.NaN, 3.0, 6.0, 9.0, Double.NaN},
+                        column.rolling(3).center().calc(AggregationType.SUM).getValues()),
+                () -> assertEquals(Arrays.asList(-2147483648, -2147483648, 2, 2, 2),
+                        Arrays.asList(strings.rolling(3).calc(AggregationType.APPROX_COUNT_DISTINCT).getValues())),
+                () -> assertEquals(4, column.rolling(5).calc(AggregationType.COUNT).get(4)),
+                () -> assertThrows(IllegalArgumentException.class, () -> column.rolling(0)),
+                () -> assertThrows(IllegalArgumentException.class, () -> column.rolling(2).minPeriods(3)),
+                () -> assertThrows(IllegalArgumentException.class, () -> strings.rolling(2).calc(AggregationType.MEAN))
+        );
+    }
+
+    @Test
+    public void parallelTest() {
+        Random random = new Random(7);
+        double[] values = new double[300_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextGaussian() * 1_000;
+        }
+        DoubleColumn column = DoubleColumn.create("Values", values);
+        for (AggregationType aggregationType : new AggregationType[]{AggregationType.MEAN, AggregationType.STD, AggregationType.MAX}) {
+            assertArrayEquals(column.rolling(500).calc(aggregationType).getValues(),
+                    column.rolling(500).parallel().calc(aggregationType).getValues());
+        }
+        Object[] means = column.rolling(500).calc(AggregationType.MEAN).getValues();
+        double expected = 0;
+        for (int i = values.length - 500; i < values.length; i++) {
+            expected += values[i];
+        }
+        assertEquals(expected / 500, (Double) means[values.length - 1], 1e-9);
+    }
+}
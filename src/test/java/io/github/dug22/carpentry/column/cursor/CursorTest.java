@@ -0,0 +1,91 @@
+package io.github.dug22.carpentry.column.cursor;
+
+import io.github.dug22.carpentry.column.impl.DoubleColumn;
+import io.github.dug22.carpentry.column.impl.IntegerColumn;
+import io.github.dug22.carpentry.column.impl.StringColumn;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CursorTest {
+
+    private IntegerColumn integerColumn;
+
+    @BeforeEach
+    public void setup() {
+        integerColumn = IntegerColumn.create("Numbers", new Integer[]{1000, null, 3});
+    }
+
+    @Test
+    public void intCursorTest() {
+        IntCursor cursor = integerColumn.intCursor();
+        int sum = 0;
+        int nullCount = 0;
+        while (cursor.hasNext()) {
+            int value = cursor.next();
+            if (cursor.isNull()) {
+                nullCount++;
+            } else {
+                sum += value;
+            }
+        }
+        int expectedSum = sum;
+        int expectedNullCount = nullCount;
+        assertAll(
+                () -> assertEquals(1003, expectedSum),
+                () -> assertEquals(1, expectedNullCount),
+                () -> assertEquals(2, cursor.position()),
+                () -> assertThrows(NoSuchElementException.class, cursor::next)
+        );
+    }
+
+    @Test
+    public void doubleCursorTest() {
+        DoubleCursor cursor = DoubleColumn.create("Doubles", new double[]{1.5, Double.NaN}).doubleCursor();
+        assertAll(
+                () -> assertEquals(1.5, cursor.next()),
+                () -> assertFalse(cursor.isNull()),
+                () -> assertTrue(Double.isNaN(cursor.next())),
+                () -> assertTrue(cursor.isNull()),
+                () -> assertFalse(cursor.hasNext())
+        );
+    }
+
+    @Test
+    public void objCursorTest() {
+        ObjCursor<Integer> cursor = integerColumn.slice(1, 3).cursor();
+        assertAll(
+                () -> assertEquals(-1, cursor.position()),
+                () -> assertNull(cursor.next()),
+                () -> assertEquals(3, cursor.next()),
+                () -> assertFalse(cursor.hasNext())
+        );
+    }
+
+    @Test
+    public void containsTest() {
+        StringColumn stringColumn = StringColumn.create("Names", new String[]{"a", "b", null});
+        assertAll(
+                () -> assertTrue(integerColumn.contains(1000)),
+                () -> assertTrue(integerColumn.contains(null)),
+                () -> assertTrue(integerColumn.containsAll(List.of(3, 1000))),
+                () -> assertFalse(integerColumn.containsAll(List.of(3, 4))),
+                () -> assertTrue(stringColumn.contains(new String("b")))
+        );
+    }
+
+    @Test
+    public void replaceTest() {
+        integerColumn.replace(new Integer[]{1000, null}, 7);
+        int count = 0;
+        for (Integer value : integerColumn) {
+            assertTrue(value == 7 || value == 3);
+            count++;
+        }
+        assertEquals(3, count);
+    }
+}
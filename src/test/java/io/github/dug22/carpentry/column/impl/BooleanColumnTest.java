@@ -1,6 +1,8 @@
 package io.github.dug22.carpentry.column.impl;
 
+import io.github.dug22.carpentry.DataFrame;
 import io.github.dug22.carpentry.column.parser.BooleanParser;
+import io.github.dug22.carpentry.column.storage.ValidityMask;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -110,4 +112,36 @@ public class BooleanColumnTest {
             assertEquals(false, parser.parse(falseResult));
         }
     }
+
+    @Test
+    public void countTest() {
+        booleanColumn.appendNull();
+        booleanColumn.appendBoolean(true);
+        ValidityMask selection = new ValidityMask(booleanColumn.size(), false);
+        selection.set(0, true);
+        selection.set(1, true);
+        selection.set(4, true);
+        assertAll(
+                () -> assertEquals(3, booleanColumn.countTrue()),
+                () -> assertEquals(2, booleanColumn.countFalse()),
+                () -> assertEquals(1, booleanColumn.countTrue(selection)),
+                () -> assertEquals(1, booleanColumn.countFalse(selection)),
+                () -> assertTrue(booleanColumn.getBoolean(5)),
+                () -> assertFalse(booleanColumn.getBoolean(4))
+        );
+    }
+
+    @Test
+    public void selectionTest() {
+        booleanColumn.appendNull();
+        DataFrame dataFrame = DataFrame.create(IntegerColumn.create("Ids", new Integer[]{1, 2, 3, 4, 5}), booleanColumn);
+        ValidityMask selection = booleanColumn.toSelection();
+        DataFrame filtered = dataFrame.filter(booleanColumn);
+        assertAll(
+                () -> assertEquals(2, selection.countValid()),
+                () -> assertEquals(2, selection.nextValid(1)),
+                () -> assertEquals(2, filtered.getRowCount()),
+                () -> assertArrayEquals(new Integer[]{1, 3}, filtered.intColumn("Ids").getValues())
+        );
+    }
 }
@@ -2,6 +2,7 @@ package io.github.dug22.carpentry.column.impl;
 
 import io.github.dug22.carpentry.column.format.temporal.DateColumnFormatter;
 import io.github.dug22.carpentry.column.parser.DateParser;
+import io.github.dug22.carpentry.column.storage.DateStorage;
 import io.github.dug22.carpentry.utils.Nulls;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -136,6 +137,32 @@ public class DateColumnTest {
         assertArrayEquals(expectedValues, dateColumn.getValues());
     }
 
+    @Test
+    public void epochDayTest() {
+        dateColumn.appendEpochDay(0);
+        dateColumn.appendNull();
+        assertAll(
+                () -> assertEquals(LocalDate.of(2022, 5, 5).toEpochDay(), dateColumn.getEpochDay(0)),
+                () -> assertEquals(LocalDate.of(1970, 1, 1), dateColumn.get(4)),
+                () -> assertTrue(dateColumn.isAbsent(5)),
+                () -> assertEquals(Nulls.getDefaultNullValue(LocalDate.class).toEpochDay(), dateColumn.getEpochDay(5))
+        );
+    }
+
+    @Test
+    public void dateRangeTest() {
+        dateColumn.append(DateStorage.MAX_DATE);
+        dateColumn.append(DateStorage.MIN_DATE);
+        assertAll(
+                () -> assertEquals(DateStorage.MAX_DATE, dateColumn.get(4)),
+                () -> assertEquals(DateStorage.MIN_DATE, dateColumn.get(5)),
+                () -> assertThrows(IllegalArgumentException.class, () -> dateColumn.append(LocalDate.MAX)),
+                () -> assertThrows(IllegalArgumentException.class, () -> dateColumn.set(0, LocalDate.MIN)),
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> DateColumn.createOffHeap("Dates", new LocalDate[]{LocalDate.MAX}))
+        );
+    }
+
     @Test
     public void parserTest() {
         dateColumn.setOutputFormatter(DateColumnFormatter.getDefault().withPattern("MM/dd/yyyy"));
@@ -0,0 +1,125 @@
+package io.github.dug22.carpentry.column.impl;
+
+import io.github.dug22.carpentry.DataFrame;
+import io.github.dug22.carpentry.aggregation.AggregationEntry;
+import io.github.dug22.carpentry.aggregation.AggregationType;
+import io.github.dug22.carpentry.column.ColumnException;
+import io.github.dug22.carpentry.column.parser.DecimalParser;
+import io.github.dug22.carpentry.column.storage.DecimalStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DecimalColumnTest {
+
+    private DecimalColumn decimalColumn;
+
+    @BeforeEach
+    public void setup() {
+        decimalColumn = DecimalColumn.create("Prices", 2, new BigDecimal[]{
+                new BigDecimal("1.10"), new BigDecimal("2.255"), null, new BigDecimal("-0.5")});
+    }
+
+    @Test
+    public void storageTest() {
+        assertAll(
+                () -> assertEquals(2, decimalColumn.getScale()),
+                () -> assertArrayEquals(new BigDecimal[]{new BigDecimal("1.10"), new BigDecimal("2.26"), null, new BigDecimal("-0.50")}, decimalColumn.getValues()),
+                () -> assertArrayEquals(new long[]{110, 226, DecimalStorage.NULL_VALUE, -50}, decimalColumn.toUnscaledArray()),
+                () -> assertEquals(1, decimalColumn.countNull()),
+                () -> assertTrue(decimalColumn.isAbsent(2)),
+                () -> assertEquals(2.26, decimalColumn.getDouble(1))
+        );
+    }
+
+    @Test
+    public void viewTest() {
+        DecimalColumn slice = (DecimalColumn) decimalColumn.slice(1, 4);
+        BigDecimal sum = slice.sumDecimal();
+        long[] unscaled = slice.toUnscaledArray();
+        double min = slice.min();
+        double max = slice.max();
+        DecimalColumn negated = slice.negate();
+        assertAll(
+                () -> assertTrue(slice.isView()),
+                () -> assertEquals(new BigDecimal("1.76"), sum),
+                () -> assertArrayEquals(new long[]{226, DecimalStorage.NULL_VALUE, -50}, unscaled),
+                () -> assertEquals(226, slice.getUnscaled(0)),
+                () -> assertEquals(-0.5, min),
+                () -> assertEquals(2.26, max),
+                () -> assertArrayEquals(new BigDecimal[]{new BigDecimal("-2.26"), null, new BigDecimal("0.50")}, negated.getValues()),
+                () -> assertArrayEquals(new BigDecimal[]{new BigDecimal("4.52"), null, new BigDecimal("-1.00")}, slice.plus(slice).getValues()),
+                () -> assertTrue(slice.isView())
+        );
+    }
+
+    @Test
+    public void exactSumTest() {
+        DecimalColumn tenths = DecimalColumn.create("Tenths", 1);
+        for (int i = 0; i < 1000; i++) {
+            tenths.appendUnscaled(1);
+        }
+        DecimalColumn large = DecimalColumn.createUnscaled("Large", 0, new long[]{Long.MAX_VALUE, Long.MAX_VALUE, 1});
+        assertAll(
+                () -> assertEquals(new BigDecimal("100.0"), tenths.sumDecimal()),
+                () -> assertEquals(100.0, tenths.sum()),
+                () -> assertEquals(0.1, tenths.mean()),
+                () -> assertEquals(new BigDecimal("18446744073709551615"), large.sumDecimal()),
+                () -> assertEquals(new BigDecimal("2.86"), decimalColumn.sumDecimal()),
+                () -> assertEquals(-0.5, decimalColumn.min()),
+                () -> assertEquals(2.26, decimalColumn.max())
+        );
+    }
+
+    @Test
+    public void arithmeticTest() {
+        DecimalColumn rates = DecimalColumn.create("Rates", 3, new BigDecimal[]{
+                new BigDecimal("0.125"), new BigDecimal("1"), new BigDecimal("2"), new BigDecimal("0.001")});
+        DecimalColumn plus = decimalColumn.plus(rates);
+        DecimalColumn times = decimalColumn.times(rates);
+        assertAll(
+                () -> assertEquals(3, plus.getScale()),
+                () -> assertArrayEquals(new BigDecimal[]{new BigDecimal("1.225"), new BigDecimal("3.260"), null, new BigDecimal("-0.499")}, plus.getValues()),
+                () -> assertArrayEquals(new BigDecimal[]{new BigDecimal("0.13750"), new BigDecimal("2.26000"), null, new BigDecimal("-0.00050")}, times.getValues()),
+                () -> assertArrayEquals(new BigDecimal[]{new BigDecimal("1.00"), new BigDecimal("2.16"), null, new BigDecimal("-0.60")}, decimalColumn.subtract(new BigDecimal("0.1")).getValues()),
+                () -> assertArrayEquals(new BigDecimal[]{new BigDecimal("1.1"), new BigDecimal("2.3"), null, new BigDecimal("-0.5")}, decimalColumn.rescale(1).getValues()),
+                () -> assertArrayEquals(new BigDecimal[]{new BigDecimal("-1.10"), new BigDecimal("-2.26"), null, new BigDecimal("0.50")}, decimalColumn.negate().getValues()),
+                () -> assertThrows(ColumnException.class, () -> decimalColumn.plus(DecimalColumn.create("Short", 2, new BigDecimal[]{BigDecimal.ONE, BigDecimal.ONE}))),
+                () -> assertThrows(ArithmeticException.class, () -> DecimalColumn.createUnscaled("Max", 0, new long[]{Long.MAX_VALUE}).add(BigDecimal.ONE))
+        );
+    }
+
+    @Test
+    public void parseUnscaledTest() {
+        DecimalParser parser = new DecimalParser();
+        assertAll(
+                () -> assertEquals(12345, parser.parseUnscaled("123.45", 2)),
+                () -> assertEquals(123450, parser.parseUnscaled("1,234.5", 2)),
+                () -> assertEquals(-13, parser.parseUnscaled("-0.125", 2)),
+                () -> assertEquals(700, parser.parseUnscaled("7", 2)),
+                () -> assertEquals(150, parser.parseUnscaled("1.5e0", 2)),
+                () -> assertEquals(DecimalStorage.NULL_VALUE, parser.parseUnscaled("NA", 2)),
+                () -> assertThrows(NumberFormatException.class, () -> parser.parseUnscaled("12a", 2)),
+                () -> assertThrows(ArithmeticException.class, () -> parser.parseUnscaled("99999999999999999999", 2))
+        );
+    }
+
+    @Test
+    public void aggregationTest() {
+        DataFrame dataFrame = DataFrame.create(
+                StringColumn.create("Group", new String[]{"a", "a", "b", "b"}),
+                decimalColumn.copy());
+        DataFrame grouped = dataFrame.groupBy("Group").aggregate(
+                new AggregationEntry("Prices", AggregationType.SUM),
+                new AggregationEntry("Prices", AggregationType.MEAN));
+        assertAll(
+                () -> assertEquals(3.36, grouped.getColumn("Prices_sum").get(0)),
+                () -> assertEquals(-0.5, grouped.getColumn("Prices_sum").get(1)),
+                () -> assertEquals(1.68, grouped.getColumn("Prices_mean").get(0)),
+                () -> assertSame(decimalColumn, DataFrame.create(decimalColumn).decimalColumn("Prices"))
+        );
+    }
+}
@@ -95,4 +95,18 @@ public class DoubleColumnTest {
         String doubleValueThree = "1,200,002.50";
         assertEquals(1_200_002.50, parser.parse(doubleValueThree));
     }
+
+    @Test
+    public void primitiveAccessTest(){
+        DoubleColumn primitiveColumn = DoubleColumn.create("Primitives", new double[]{1.5, 2.5});
+        primitiveColumn.appendDouble(3.5);
+        primitiveColumn.append(null);
+        assertAll(
+                () -> assertEquals(4, primitiveColumn.size()),
+                () -> assertEquals(3.5, primitiveColumn.getDouble(2)),
+                () -> assertNull(primitiveColumn.get(3)),
+                () -> assertTrue(primitiveColumn.isAbsent(3)),
+                () -> assertArrayEquals(new double[]{20.2, 30.3, 20.2, 25.7}, doubleColumn.toDoubleArray())
+        );
+    }
 }
@@ -1,6 +1,7 @@
 package io.github.dug22.carpentry.column.impl;
 
 import io.github.dug22.carpentry.column.parser.IntegerParser;
+import io.github.dug22.carpentry.column.storage.IntStorage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -79,6 +80,28 @@ public class IntegerColumnTest {
         );
     }
 
+    @Test
+    public void sortMinValueTest() {
+        IntegerColumn column = IntegerColumn.create("Numbers", new int[]{5, Integer.MIN_VALUE, 3});
+        column.append(null);
+        column.appendNull();
+        column.sortAscending();
+        assertAll(
+                () -> assertEquals(2, column.countNull()),
+                () -> assertArrayEquals(new Integer[]{Integer.MIN_VALUE, 3, 5, null, Integer.MIN_VALUE}, column.getValues()),
+                () -> assertEquals(0, column.slice(0, 1).countNull()),
+                () -> assertEquals(1, column.slice(3, 4).countNull()),
+                () -> assertEquals(1, column.slice(4, 5).countNull())
+        );
+        column.sortDescending();
+        assertAll(
+                () -> assertEquals(2, column.countNull()),
+                () -> assertArrayEquals(new Integer[]{null, Integer.MIN_VALUE, 5, 3, Integer.MIN_VALUE}, column.getValues()),
+                () -> assertEquals(1, column.slice(1, 2).countNull()),
+                () -> assertEquals(0, column.slice(4, 5).countNull())
+        );
+    }
+
     @Test
     public void replaceTest() {
         integerColumn.replace(new Integer[]{10}, 11);
@@ -95,4 +118,38 @@ public class IntegerColumnTest {
         String intValueThree = "1,200,000";
         assertEquals(1_200_000, parser.parse(intValueThree));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void primitiveAccessTest() {
+        IntegerColumn primitiveColumn = IntegerColumn.create("Primitives", new int[]{1, 2, 3});
+        primitiveColumn.appendInt(4);
+        primitiveColumn.appendNull();
+        assertAll(
+                () -> assertEquals(5, primitiveColumn.size()),
+                () -> assertEquals(4, primitiveColumn.getInt(3)),
+                () -> assertTrue(Double.isNaN(primitiveColumn.getDouble(4))),
+                () -> assertTrue(primitiveColumn.isAbsent(4)),
+                () -> assertArrayEquals(new int[]{4, 10, 8, 10}, integerColumn.toIntArray()),
+                () -> assertArrayEquals(new Integer[]{1, 2, 3, 4, -2147483648}, primitiveColumn.getValues())
+        );
+    }
+
+    @Test
+    public void capacityTest() {
+        IntStorage storage = new IntStorage();
+        IntegerColumn growingColumn = new IntegerColumn("Growing", storage);
+        for (int i = 0; i < 100_000; i++) {
+            growingColumn.appendInt(i);
+        }
+        growingColumn.ensureCapacity(200_000);
+        int capacity = storage.capacity();
+        growingColumn.trimToSize();
+        assertAll(
+                () -> assertEquals(100_000, growingColumn.size()),
+                () -> assertTrue(capacity >= 200_000),
+                () -> assertEquals(100_000, storage.capacity()),
+                () -> assertEquals(99_999, growingColumn.getInt(99_999)),
+                () -> assertThrows(IndexOutOfBoundsException.class, () -> growingColumn.get(100_000))
+        );
+    }
+}
@@ -26,6 +26,18 @@ public class LongColumnTest {
         );
     }
 
+    @Test
+    public void fillAbsentTest() {
+        longColumn.appendLong(Long.MIN_VALUE);
+        longColumn.appendNull();
+        longColumn.fillAbsent(0L);
+        assertAll(
+                () -> assertEquals(Long.MIN_VALUE, longColumn.get(4)),
+                () -> assertEquals(0L, longColumn.get(5)),
+                () -> assertEquals(0, longColumn.countNull())
+        );
+    }
+
     @Test
     public void copyTest() {
         LongColumn copy = longColumn.copy();
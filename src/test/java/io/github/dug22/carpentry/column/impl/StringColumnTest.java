@@ -1,8 +1,11 @@
 package io.github.dug22.carpentry.column.impl;
 
+import io.github.dug22.carpentry.column.storage.DictionaryStorage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class StringColumnTest {
@@ -84,4 +87,36 @@ public class StringColumnTest {
         stringColumn.replace(new String[]{"Cat"}, "Dog");
         assertArrayEquals(new String[]{"Dog", "Dog", "Fish", "Dog"}, stringColumn.getValues());
     }
+
+    @Test
+    public void dictionaryEncodingTest(){
+        StringColumn encoded = stringColumn.dictionaryEncode();
+        encoded.appendNull();
+        encoded.append(null);
+        assertAll(
+                () -> assertTrue(encoded.isDictionaryEncoded()),
+                () -> assertFalse(stringColumn.isDictionaryEncoded()),
+                () -> assertEquals(List.of("Cat", "Dog", "Fish", "NA"), encoded.getDictionary()),
+                () -> assertArrayEquals(new int[]{0, 1, 2, 0}, new int[]{encoded.getCode(0), encoded.getCode(1), encoded.getCode(2), encoded.getCode(3)}),
+                () -> assertEquals(1, encoded.codeOf("Dog")),
+                () -> assertEquals(-1, encoded.codeOf("Lizard")),
+                () -> assertEquals(2, encoded.countNull()),
+                () -> assertArrayEquals(new String[]{"Cat", "Dog", "Fish", "NA", null}, encoded.unique().getValues()),
+                () -> assertTrue(encoded.copy().isDictionaryEncoded()),
+                () -> assertTrue(encoded.filter(word -> word != null && word.startsWith("C")).isDictionaryEncoded())
+        );
+        encoded.sortAscending();
+        assertArrayEquals(new String[]{null, "Cat", "Cat", "Dog", "Fish", "NA"}, encoded.getValues());
+    }
+
+    @Test
+    public void dictionaryLimitTest(){
+        String[] values = {"Cat", "Dog", "Cat", "Fish", "Cat"};
+        DictionaryStorage encoded = DictionaryStorage.encode(values, 3);
+        assertAll(
+                () -> assertNotNull(encoded),
+                () -> assertArrayEquals(values, encoded.toArray()),
+                () -> assertNull(DictionaryStorage.encode(values, 2))
+        );
+    }
 }
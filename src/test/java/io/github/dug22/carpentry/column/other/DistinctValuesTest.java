@@ -0,0 +1,88 @@
+package io.github.dug22.carpentry.column.other;
+
+import io.github.dug22.carpentry.DataFrame;
+import io.github.dug22.carpentry.column.impl.DateColumn;
+import io.github.dug22.carpentry.column.impl.DoubleColumn;
+import io.github.dug22.carpentry.column.impl.IntegerColumn;
+import io.github.dug22.carpentry.column.impl.StringColumn;
+import io.github.dug22.carpentry.utils.DoubleHashTable;
+import io.github.dug22.carpentry.utils.LongHashTable;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DistinctValuesTest {
+
+    @Test
+    public void hashTableTest() {
+        LongHashTable table = LongHashTable.create();
+        for (long i = 0; i < 200_000; i++) {
+            table.add(i % 50_000 * 1_000_003L);
+        }
+        assertAll(
+                () -> assertEquals(50_000, table.size()),
+                () -> assertEquals(4, table.count(table.find(49_999 * 1_000_003L))),
+                () -> assertEquals(-1, table.find(7)),
+                () -> assertEquals(1_000_003L, table.key(1))
+        );
+
+        DoubleHashTable doubles = DoubleHashTable.create();
+        doubles.add(0.0);
+        doubles.add(-0.0);
+        doubles.add(Double.NaN);
+        doubles.add(0.0 / 0.0);
+        assertAll(
+                () -> assertEquals(3, doubles.size()),
+                () -> assertEquals(2, doubles.count(doubles.find(Double.NaN))),
+                () -> assertEquals(2, doubles.mostFrequent())
+        );
+    }
+
+    @Test
+    public void uniqueTest() {
+        IntegerColumn ints = IntegerColumn.create("Ints", new Integer[]{3, 1, 3, null, 2, 1, null});
+        StringColumn strings = StringColumn.create("Strings", new String[]{"b", "a", null, "b", "c"});
+        DateColumn dates = DateColumn.create("Dates", new LocalDate[]{LocalDate.of(2024, 1, 2), LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 2)});
+        assertAll(
+                () -> assertArrayEquals(new Integer[]{3, 1, null, 2}, ints.unique().getValues()),
+                () -> assertEquals("Ints (unique)", ints.unique().name()),
+                () -> assertEquals(3, ints.nunique()),
+                () -> assertArrayEquals(new String[]{"b", "a", null, "c"}, strings.unique().getValues()),
+                () -> assertEquals(3, strings.nunique()),
+                () -> assertArrayEquals(new LocalDate[]{LocalDate.of(2024, 1, 2), LocalDate.of(2024, 1, 1)}, dates.unique().getValues())
+        );
+    }
+
+    @Test
+    public void valueCountsTest() {
+        DoubleColumn column = DoubleColumn.create("Values", new Double[]{1.5, 2.5, null, 2.5, 3.5, 1.5, 2.5});
+        DataFrame counts = column.valueCounts();
+        assertAll(
+                () -> assertEquals(3, counts.getRowCount()),
+                () -> assertArrayEquals(new Double[]{2.5, 1.5, 3.5}, counts.getColumn("Values").getValues()),
+                () -> assertArrayEquals(new Integer[]{3, 2, 1}, counts.getColumn("count").getValues()),
+                () -> assertEquals(2.5, column.mode()),
+                () -> assertEquals(-1, DoubleColumn.create("Empty", new Double[]{null}).mode())
+        );
+    }
+
+    @Test
+    public void largeColumnTest() {
+        int size = 1_000_000;
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = (int) ((long) i * 7919 % 100_000);
+        }
+        IntegerColumn column = IntegerColumn.create("Values", values);
+        DataFrame counts = column.valueCounts();
+        assertAll(
+                () -> assertEquals(100_000, column.nunique()),
+                () -> assertEquals(100_000, column.unique().size()),
+                () -> assertEquals(0, column.unique().get(0)),
+                () -> assertEquals(10, counts.getColumn("count").get(0)),
+                () -> assertEquals(100_000, counts.getRowCount())
+        );
+    }
+}
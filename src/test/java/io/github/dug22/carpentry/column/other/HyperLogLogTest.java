@@ -0,0 +1,80 @@
+package io.github.dug22.carpentry.column.other;
+
+import io.github.dug22.carpentry.DataFrame;
+import io.github.dug22.carpentry.aggregation.AggregationEntry;
+import io.github.dug22.carpentry.aggregation.AggregationType;
+import io.github.dug22.carpentry.column.impl.IntegerColumn;
+import io.github.dug22.carpentry.column.impl.StringColumn;
+import io.github.dug22.carpentry.utils.Hashing;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HyperLogLogTest {
+
+    @Test
+    public void estimateTest() {
+        int size = 1_000_000;
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = (int) ((long) i * 7919 % 100_000);
+        }
+        IntegerColumn column = IntegerColumn.create("Values", values);
+        column.set(5, null);
+        long estimate = column.approxCountDistinct();
+        assertAll(
+                () -> assertEquals(100_000, estimate, 3_000),
+                () -> assertEquals(3, IntegerColumn.create("Small", new Integer[]{1, 2, 2, null, 3}).approxCountDistinct())
+        );
+    }
+
+    @Test
+    public void representationsTest() {
+        String[] values = {"a", "b", "a", "été", "日本", "😀", null, "b"};
+        long plain = StringColumn.create("Plain", values).approxCountDistinct();
+        long dictionary = StringColumn.createDictionaryEncoded("Dictionary", values).approxCountDistinct();
+        long utf8 = StringColumn.createUtf8("Utf8", values).approxCountDistinct();
+        assertAll(
+                () -> assertEquals(5, plain),
+                () -> assertEquals(plain, dictionary),
+                () -> assertEquals(plain, utf8),
+                () -> assertEquals(Hashing.hashLong(42), Hashing.hashObject(42)),
+                () -> assertEquals(Hashing.hashObject(42), Hashing.hashObject(42L)),
+                () -> assertEquals(Hashing.hashDouble(1.5), Hashing.hashObject(1.5f))
+        );
+        for (String value : new String[]{"plain", "été", "日本", "😀", "\ud83d", "a\ude00b"}) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            assertEquals(Hashing.hashBytes(bytes, 0, bytes.length), Hashing.hashString(value));
+        }
+    }
+
+    @Test
+    public void mergeTest() {
+        HyperLogLog left = HyperLogLog.create(12);
+        HyperLogLog right = HyperLogLog.create(12);
+        HyperLogLog whole = HyperLogLog.create(12);
+        for (long i = 0; i < 50_000; i++) {
+            left.addHash(Hashing.hashLong(i));
+            right.addHash(Hashing.hashLong(i + 25_000));
+            whole.addHash(Hashing.hashLong(i));
+            whole.addHash(Hashing.hashLong(i + 25_000));
+        }
+        assertAll(
+                () -> assertEquals(whole.estimate(), left.merge(right).estimate()),
+                () -> assertEquals(75_000, whole.estimate(), 75_000 * 0.05),
+                () -> assertThrows(IllegalArgumentException.class, () -> left.merge(HyperLogLog.create())),
+                () -> assertThrows(IllegalArgumentException.class, () -> HyperLogLog.create(30))
+        );
+    }
+
+    @Test
+    public void approxCountDistinctAggregationTest() {
+        DataFrame dataFrame = DataFrame.create(
+                StringColumn.create("Group", new String[]{"a", "a", "a", "b", "b"}),
+                StringColumn.create("Values", new String[]{"x", "y", "x", "z", null}));
+        DataFrame result = dataFrame.groupBy("Group").aggregate(new AggregationEntry("Values", AggregationType.APPROX_COUNT_DISTINCT));
+        assertArrayEquals(new Integer[]{2, 1}, result.getColumn("Values_approx_count_distinct").getValues());
+    }
+}
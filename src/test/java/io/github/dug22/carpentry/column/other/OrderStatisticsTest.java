@@ -0,0 +1,68 @@
+package io.github.dug22.carpentry.column.other;
+
+import io.github.dug22.carpentry.column.impl.DoubleColumn;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OrderStatisticsTest {
+
+    @Test
+    public void selectTest() {
+        Random random = new Random(3);
+        for (int size : new int[]{1, 2, 15, 16, 17, 1000, 10_001}) {
+            double[] values = new double[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = random.nextInt(size / 4 + 1);
+            }
+            double[] sorted = values.clone();
+            Arrays.sort(sorted);
+            for (int rank : new int[]{0, size / 3, size / 2, size - 1}) {
+                assertEquals(sorted[rank], OrderStatistics.select(values.clone(), 0, size, rank));
+            }
+            double[] percentiles = OrderStatistics.percentiles(values.clone(), size, 10, 25, 50, 75, 90);
+            double[] sortedCopy = values.clone();
+            OrderStatistics.sort(sortedCopy, null, 0, size);
+            assertArrayEquals(sorted, sortedCopy);
+            SortedOrder order = SortedOrder.of(DoubleColumn.create("Values", values.clone()));
+            assertArrayEquals(new double[]{order.percentile(10), order.percentile(25), order.percentile(50),
+                    order.percentile(75), order.percentile(90)}, percentiles);
+        }
+    }
+
+    @Test
+    public void sortedOrderTest() {
+        DoubleColumn column = DoubleColumn.create("Values", new Double[]{4.0, 1.0, null, 3.0, 2.0});
+        SortedOrder order = column.sortedOrder();
+        assertAll(
+                () -> assertEquals(4, order.size()),
+                () -> assertArrayEquals(new int[]{1, 4, 3, 0}, new int[]{order.row(0), order.row(1), order.row(2), order.row(3)}),
+                () -> assertEquals(1, order.value(0)),
+                () -> assertEquals(2.5, order.quantile(0.5)),
+                () -> assertSame(order, column.cachedSortedOrder()),
+                () -> assertEquals(2.5, column.median())
+        );
+    }
+
+    @Test
+    public void cachedOrderInvalidationTest() {
+        DoubleColumn column = DoubleColumn.create("Values", new Double[]{4.0, 1.0, 3.0, 2.0});
+        column.sortedOrder();
+        column.set(0, 10.0);
+        assertNull(column.cachedSortedOrder());
+        assertEquals(2.5, column.median());
+
+        column.sortedOrder();
+        column.appendDouble(20.0);
+        assertNull(column.cachedSortedOrder());
+        assertEquals(3, column.median());
+
+        column.sortedOrder();
+        column.sortDescending();
+        assertNull(column.cachedSortedOrder());
+        assertEquals(0, column.sortedOrder().row(4));
+    }
+}
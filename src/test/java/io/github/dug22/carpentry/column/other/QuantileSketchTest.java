@@ -0,0 +1,87 @@
+package io.github.dug22.carpentry.column.other;
+
+import io.github.dug22.carpentry.DataFrame;
+import io.github.dug22.carpentry.aggregation.AggregationEntry;
+import io.github.dug22.carpentry.aggregation.AggregationType;
+import io.github.dug22.carpentry.column.impl.DoubleColumn;
+import io.github.dug22.carpentry.column.impl.StringColumn;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QuantileSketchTest {
+
+    @Test
+    public void exactWhileSmallTest() {
+        DoubleColumn column = DoubleColumn.create("Values", new Double[]{4.0, 1.0, null, 3.0, 2.0, 10.0});
+        assertAll(
+                () -> assertEquals(column.median(), column.approxMedian()),
+                () -> assertEquals(column.quantile1(), column.approxQuantile(0.25)),
+                () -> assertEquals(1, column.approxQuantile(0)),
+                () -> assertEquals(10, column.approxQuantile(1)),
+                () -> assertThrows(IllegalArgumentException.class, () -> column.approxQuantile(1.5))
+        );
+    }
+
+    @Test
+    public void rankErrorTest() {
+        int size = 1_000_000;
+        double[] values = new double[size];
+        Random random = new Random(7);
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextDouble();
+        }
+        QuantileSketch sketch = DoubleColumn.create("Values", values).quantileSketch();
+        assertAll(
+                () -> assertEquals(size, sketch.count()),
+                () -> assertTrue(sketch.retained() < 2_000),
+                () -> assertEquals(0.1, sketch.quantile(0.1), 0.02),
+                () -> assertEquals(0.5, sketch.quantile(0.5), 0.02),
+                () -> assertEquals(0.9, sketch.quantile(0.9), 0.02)
+        );
+    }
+
+    @Test
+    public void mergeAndSerializeTest() throws IOException, ClassNotFoundException {
+        QuantileSketch left = QuantileSketch.create(100);
+        QuantileSketch right = QuantileSketch.create(100);
+        for (int i = 0; i < 50_000; i++) {
+            left.update(i);
+            right.update(50_000 + i);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(right);
+        }
+        QuantileSketch copy;
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = (QuantileSketch) input.readObject();
+        }
+
+        QuantileSketch merged = left.merge(copy);
+        assertAll(
+                () -> assertEquals(100_000, merged.count()),
+                () -> assertEquals(0, merged.min()),
+                () -> assertEquals(99_999, merged.max()),
+                () -> assertEquals(50_000, merged.quantile(0.5), 4_000),
+                () -> assertEquals(right.quantile(0.5), copy.quantile(0.5))
+        );
+    }
+
+    @Test
+    public void approxMedianAggregationTest() {
+        DataFrame dataFrame = DataFrame.create(
+                StringColumn.create("Group", new String[]{"a", "a", "a", "b", "b"}),
+                DoubleColumn.create("Values", new Double[]{1.0, 5.0, 3.0, 2.0, null}));
+        DataFrame result = dataFrame.groupBy("Group").aggregate(new AggregationEntry("Values", AggregationType.APPROX_MEDIAN));
+        assertArrayEquals(new Double[]{3.0, 2.0}, result.getColumn("Values_approx_median").getValues());
+    }
+}
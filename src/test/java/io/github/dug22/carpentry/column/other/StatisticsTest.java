@@ -0,0 +1,88 @@
+package io.github.dug22.carpentry.column.other;
+
+import io.github.dug22.carpentry.DataFrame;
+import io.github.dug22.carpentry.column.impl.DoubleColumn;
+import io.github.dug22.carpentry.column.impl.IntegerColumn;
+import io.github.dug22.carpentry.column.impl.StringColumn;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StatisticsTest {
+
+    @Test
+    public void parallelReductionTest() {
+        int size = Moments.PARALLEL_THRESHOLD * 3 + 17;
+        double[] values = new double[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = i;
+        }
+        DoubleColumn column = DoubleColumn.create("Values", values);
+        double n = size;
+        assertAll(
+                () -> assertEquals(n * (n - 1) / 2, column.sum()),
+                () -> assertEquals((n - 1) / 2, column.mean(), 1e-9),
+                () -> assertEquals(Math.sqrt(n * (n + 1) / 12), column.std(), 1e-6),
+                () -> assertEquals(0, column.min()),
+                () -> assertEquals(n - 1, column.max()),
+                () -> assertEquals(0, column.skew(SkewnessFormula.FISHER_PEARSON), 1e-9),
+                () -> assertEquals(column.std(), column.std())
+        );
+    }
+
+    @Test
+    public void compensatedSumTest() {
+        double[] values = new double[10_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i % 2 == 0 ? 1e16 : 1;
+        }
+        values[values.length - 2] = -1e16 * (values.length / 2 - 1);
+        DoubleColumn column = DoubleColumn.create("Values", values);
+        assertEquals(values.length / 2, column.sum());
+    }
+
+    @Test
+    public void zeroMeanTest() {
+        DoubleColumn column = DoubleColumn.create("Values", new Double[]{-1.0, null, 1.0});
+        assertAll(
+                () -> assertEquals(0, column.mean()),
+                () -> assertEquals(Math.sqrt(2), column.std(), 1e-12),
+                () -> assertEquals(1, column.populationSTD(), 1e-12)
+        );
+    }
+
+    @Test
+    public void describeTest() {
+        DoubleColumn column = DoubleColumn.create("Values", new Double[]{4.0, 1.0, null, 3.0, 2.0, 10.0});
+        ColumnSummary summary = column.describe();
+        assertAll(
+                () -> assertEquals(5, summary.count()),
+                () -> assertEquals(1, summary.nullCount()),
+                () -> assertEquals(4, summary.mean(), 1e-12),
+                () -> assertEquals(column.std(), summary.std(), 1e-12),
+                () -> assertEquals(1, summary.min()),
+                () -> assertEquals(2, summary.quantile1()),
+                () -> assertEquals(3, summary.median()),
+                () -> assertEquals(4, summary.quantile3()),
+                () -> assertEquals(10, summary.max()),
+                () -> assertEquals(column.skew(SkewnessFormula.FISHER_PEARSON), summary.skew(), 1e-12)
+        );
+    }
+
+    @Test
+    public void dataFrameDescribeTest() {
+        DataFrame dataFrame = DataFrame.create(
+                StringColumn.create("Names", new String[]{"a", "b", "c"}),
+                IntegerColumn.create("Ages", new Integer[]{20, 30, 40}),
+                DoubleColumn.create("Scores", new Double[]{1.5, null, 2.5}));
+        DataFrame description = dataFrame.describe();
+        assertAll(
+                () -> assertEquals(3, description.getColumnCount()),
+                () -> assertEquals(ColumnSummary.STATISTICS.length, description.getRowCount()),
+                () -> assertArrayEquals(ColumnSummary.STATISTICS, description.stringColumn("Statistic").getValues()),
+                () -> assertEquals(30, description.doubleColumn("Ages").get(2)),
+                () -> assertEquals(1, description.doubleColumn("Scores").get(1)),
+                () -> assertEquals(2, description.doubleColumn("Scores").get(6))
+        );
+    }
+}
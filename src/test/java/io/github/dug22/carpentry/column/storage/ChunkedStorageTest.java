@@ -0,0 +1,119 @@
+package io.github.dug22.carpentry.column.storage;
+
+import io.github.dug22.carpentry.DataFrame;
+import io.github.dug22.carpentry.DataFrameException;
+import io.github.dug22.carpentry.column.Column;
+import io.github.dug22.carpentry.column.ColumnException;
+import io.github.dug22.carpentry.column.impl.BooleanColumn;
+import io.github.dug22.carpentry.column.impl.DoubleColumn;
+import io.github.dug22.carpentry.column.impl.IntegerColumn;
+import io.github.dug22.carpentry.column.impl.StringColumn;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChunkedStorageTest {
+
+    @Test
+    public void appendTest() {
+        ChunkedStorage<Integer> storage = new ChunkedStorage<>(new IntStorage(), 4);
+        for (int i = 0; i < 10; i++) {
+            storage.appendInt(i * 10);
+        }
+        storage.append(null);
+        storage.set(5, null);
+        assertAll(
+                () -> assertEquals(3, storage.chunks().size()),
+                () -> assertEquals(11L, storage.longSize()),
+                () -> assertEquals(90, storage.get(9L)),
+                () -> assertEquals(40, storage.getInt(4)),
+                () -> assertTrue(storage.isNull(5L)),
+                () -> assertEquals(2, storage.countNull()),
+                () -> assertArrayEquals(new Integer[]{0, 10, 20, 30, 40, null, 60, 70, 80, 90, null}, storage.toArray()),
+                () -> assertThrows(IndexOutOfBoundsException.class, () -> storage.get(11L))
+        );
+    }
+
+    @Test
+    public void sortTest() {
+        ChunkedStorage<Integer> storage = new ChunkedStorage<>(new IntStorage(), 2);
+        storage.appendAll(new Integer[]{5, 3, 7, 9, 1});
+        storage.sortAscending();
+        storage.append(0);
+        assertArrayEquals(new Integer[]{1, 3, 5, 7, 9, 0}, storage.toArray());
+    }
+
+    @Test
+    public void concatTest() {
+        IntegerColumn first = IntegerColumn.create("Numbers", new Integer[]{1, 2, null});
+        IntegerColumn second = IntegerColumn.create("Numbers", new Integer[]{4, 5});
+        Column<Integer> concatenated = first.concat(second);
+        Column<Integer> twice = concatenated.concat(concatenated);
+        assertAll(
+                () -> assertArrayEquals(new Integer[]{1, 2, null, 4, 5}, concatenated.getValues()),
+                () -> assertEquals(5L, concatenated.longSize()),
+                () -> assertEquals(4, twice.get(8L)),
+                () -> assertEquals(2, twice.countNull()),
+                () -> assertEquals(3.0, ((IntegerColumn) concatenated).mean()),
+                () -> assertThrows(ColumnException.class, () -> DataFrame.create(first).concat(DataFrame.create(DoubleColumn.create("Numbers", new Double[]{1.0}))))
+        );
+    }
+
+    @Test
+    public void compactSentinelTest() {
+        IntegerColumn first = IntegerColumn.create("Numbers");
+        first.appendInt(Integer.MIN_VALUE);
+        first.appendInt(3);
+        IntegerColumn second = IntegerColumn.create("Numbers");
+        second.appendNull();
+        second.appendInt(1);
+        Column<Integer> concatenated = first.concat(second);
+        ColumnStorage<Integer> compact = ChunkedStorage.concat(new IntStorage(new int[]{Integer.MIN_VALUE}),
+                new IntStorage(new int[]{2})).compact();
+        concatenated.sortAscending();
+        assertAll(
+                () -> assertEquals(0, compact.countNull()),
+                () -> assertEquals(Integer.MIN_VALUE, compact.getInt(0)),
+                () -> assertEquals(1, concatenated.countNull()),
+                () -> assertEquals(Integer.MIN_VALUE, concatenated.get(0)),
+                () -> assertFalse(concatenated.isAbsent(0)),
+                () -> assertTrue(concatenated.isAbsent(3))
+        );
+    }
+
+    @Test
+    public void isolationTest() {
+        IntegerColumn first = IntegerColumn.create("Numbers", new Integer[]{1, 2, 3});
+        IntegerColumn second = IntegerColumn.create("Numbers", new Integer[]{4, 5});
+        Column<Integer> concatenated = first.concat(second);
+        first.set(0, 100);
+        first.append(6);
+        second.sortDescending();
+        concatenated.set(4, 50);
+        concatenated.append(60);
+        assertAll(
+                () -> assertArrayEquals(new Integer[]{1, 2, 3, 4, 50, 60}, concatenated.getValues()),
+                () -> assertArrayEquals(new Integer[]{100, 2, 3, 6}, first.getValues()),
+                () -> assertArrayEquals(new Integer[]{5, 4}, second.getValues())
+        );
+    }
+
+    @Test
+    public void dataFrameTest() {
+        DataFrame first = DataFrame.create(IntegerColumn.create("ID", new Integer[]{1, 2}),
+                StringColumn.createDictionaryEncoded("Name", new String[]{"a", "b"}),
+                BooleanColumn.create("Flag", new Boolean[]{true, false}));
+        DataFrame second = DataFrame.create(IntegerColumn.create("ID", new Integer[]{3}),
+                StringColumn.createDictionaryEncoded("Name", new String[]{"a"}),
+                BooleanColumn.create("Flag", new Boolean[]{true}));
+        DataFrame concatenated = first.concat(second);
+        assertAll(
+                () -> assertEquals(3, concatenated.getRowCount()),
+                () -> assertArrayEquals(new Integer[]{1, 2, 3}, concatenated.intColumn("ID").getValues()),
+                () -> assertArrayEquals(new String[]{"a", "b", "a"}, concatenated.stringColumn("Name").getValues()),
+                () -> assertTrue(concatenated.stringColumn("Name").isDictionaryEncoded()),
+                () -> assertEquals(2, concatenated.booleanColumn("Flag").countTrue()),
+                () -> assertThrows(DataFrameException.class, () -> first.concat(DataFrame.create(IntegerColumn.create("ID", new Integer[]{3}))))
+        );
+    }
+}
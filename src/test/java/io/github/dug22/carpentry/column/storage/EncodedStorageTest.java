@@ -0,0 +1,172 @@
+package io.github.dug22.carpentry.column.storage;
+
+import io.github.dug22.carpentry.DataFrame;
+import io.github.dug22.carpentry.column.impl.DateColumn;
+import io.github.dug22.carpentry.column.impl.IntegerColumn;
+import io.github.dug22.carpentry.column.impl.LongColumn;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EncodedStorageTest {
+
+    @Test
+    public void runLengthTest() {
+        Integer[] values = new Integer[1000];
+        for (int i = 0; i < 900; i++) {
+            values[i] = i < 400 ? 7 : 3;
+        }
+        IntegerColumn column = IntegerColumn.create("Runs", values);
+        IntegerColumn compressed = column.compress();
+        assertAll(
+                () -> assertTrue(compressed.isCompressed()),
+                () -> assertArrayEquals(column.getValues(), compressed.getValues()),
+                () -> assertEquals(column.sum(), compressed.sum()),
+                () -> assertEquals(column.mean(), compressed.mean()),
+                () -> assertEquals(3.0, compressed.min()),
+                () -> assertEquals(7.0, compressed.max()),
+                () -> assertEquals(100, compressed.countNull()),
+                () -> assertEquals(500, compressed.selectEqual(3).countValid()),
+                () -> assertEquals(0, compressed.selectEqual(3L).countValid())
+        );
+    }
+
+    @Test
+    public void deltaTest() {
+        long[] values = new long[500];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 1_700_000_000_000L + i * 1000L + i % 3;
+        }
+        LongColumn column = LongColumn.create("Timestamps", values);
+        column.set(10, null);
+        LongColumn compressed = column.compress();
+        assertAll(
+                () -> assertTrue(compressed.isCompressed()),
+                () -> assertArrayEquals(column.getValues(), compressed.getValues()),
+                () -> assertEquals(column.sum(), compressed.sum()),
+                () -> assertEquals(column.max(), compressed.max()),
+                () -> assertEquals(1, compressed.selectEqual(values[321]).countValid()),
+                () -> assertTrue(compressed.selectEqual(values[321]).isValid(321))
+        );
+    }
+
+    @Test
+    public void deltaExtremeValuesTest() {
+        LongColumn rising = LongColumn.create("Rising", new long[]{Long.MIN_VALUE + 1, Long.MAX_VALUE}).compress();
+        LongColumn falling = LongColumn.create("Falling", new long[]{Long.MAX_VALUE - 1, Long.MIN_VALUE}).compress();
+        long[] values = new long[100];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Long.MIN_VALUE + (i / 40) * (Long.MAX_VALUE / 2);
+        }
+        LongColumn steps = LongColumn.create("Steps", values).compress();
+        assertAll(
+                () -> assertTrue(rising.isCompressed()),
+                () -> assertEquals(Long.MAX_VALUE, rising.get(1)),
+                () -> assertTrue(rising.selectEqual(Long.MAX_VALUE).isValid(1)),
+                () -> assertTrue(rising.selectEqual(Long.MIN_VALUE + 1).isValid(0)),
+                () -> assertTrue(falling.isCompressed()),
+                () -> assertEquals(Long.MIN_VALUE, falling.get(1)),
+                () -> assertTrue(falling.selectEqual(Long.MIN_VALUE).isValid(1)),
+                () -> assertTrue(steps.isCompressed()),
+                () -> assertEquals(20, steps.selectEqual(values[99]).countValid()),
+                () -> assertEquals(40, steps.selectEqual(Long.MIN_VALUE).countValid())
+        );
+    }
+
+    @Test
+    public void exactSumTest() {
+        Long[] values = new Long[3000];
+        for (int i = 0; i < values.length; i++) {
+            if (i % 3 != 2) {
+                values[i] = i < 1500 ? (1L << 52) + 1 : -(1L << 52) + 3;
+            }
+        }
+        LongColumn column = LongColumn.create("Large", values);
+        LongColumn compressed = column.compress();
+        assertAll(
+                () -> assertTrue(compressed.isCompressed()),
+                () -> assertEquals(4000.0, compressed.sum()),
+                () -> assertEquals(column.sum(), compressed.sum()),
+                () -> assertEquals(2.0, compressed.mean()),
+                () -> assertEquals(column.mean(), compressed.mean())
+        );
+    }
+
+    @Test
+    public void frameOfReferenceTest() {
+        int[] values = new int[300];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 1_000_000 + (i * 37) % 16;
+        }
+        IntegerColumn column = IntegerColumn.create("Codes", values);
+        IntegerColumn compressed = column.compress();
+        DataFrame dataFrame = DataFrame.create(compressed);
+        assertAll(
+                () -> assertTrue(compressed.isCompressed()),
+                () -> assertArrayEquals(column.getValues(), compressed.getValues()),
+                () -> assertEquals(column.min(), compressed.min()),
+                () -> assertEquals(column.filter(value -> value == 1_000_005).size(),
+                        dataFrame.filter(dataFrame.column("Codes").objEq(1_000_005)).getRowCount())
+        );
+    }
+
+    @Test
+    public void encodingSelectionTest() {
+        IntStorage runs = new IntStorage();
+        IntStorage codes = new IntStorage();
+        LongStorage timestamps = new LongStorage();
+        IntStorage noise = new IntStorage();
+        for (int i = 0; i < 256; i++) {
+            runs.appendInt(i / 64);
+            codes.appendInt(5_000 + (i * 7) % 8);
+            timestamps.appendLong(1_000_000_000L + i * 60L);
+            noise.appendInt(i % 2 == 0 ? Integer.MAX_VALUE - i : -i * 7919);
+        }
+        ColumnStorage<Integer> runLength = EncodedStorage.compress(runs, value -> (int) value, true);
+        ColumnStorage<Integer> frameOfReference = EncodedStorage.compress(codes, value -> (int) value, true);
+        ColumnStorage<Long> delta = EncodedStorage.compress(timestamps, Long::valueOf, false);
+        assertAll(
+                () -> assertEquals(4, ((RunLengthStorage<Integer>) runLength).runCount()),
+                () -> assertEquals(3, ((FrameOfReferenceStorage<Integer>) frameOfReference).bitWidth()),
+                () -> assertEquals(0, ((DeltaStorage<Long>) delta).bitWidth()),
+                () -> assertArrayEquals(runs.toArray(), runLength.toArray()),
+                () -> assertArrayEquals(codes.toArray(), frameOfReference.toArray()),
+                () -> assertArrayEquals(timestamps.toArray(), delta.toArray()),
+                () -> assertFalse(EncodedStorage.compress(noise, value -> (int) value, true) instanceof EncodedStorage)
+        );
+    }
+
+    @Test
+    public void writeTest() {
+        IntegerColumn compressed = IntegerColumn.create("Runs", new Integer[]{1, 1, 1, 1, 2, 2, 2, 2, 2, 2, 2, 2}).compress();
+        IntegerColumn copy = compressed.copy();
+        compressed.set(0, 5);
+        compressed.append(9);
+        assertAll(
+                () -> assertFalse(compressed.isCompressed()),
+                () -> assertArrayEquals(new Integer[]{5, 1, 1, 1, 2, 2, 2, 2, 2, 2, 2, 2, 9}, compressed.getValues()),
+                () -> assertEquals(33.0, compressed.sum()),
+                () -> assertTrue(copy.isCompressed()),
+                () -> assertEquals(1, copy.get(0))
+        );
+    }
+
+    @Test
+    public void dateTest() {
+        LocalDate[] dates = new LocalDate[100];
+        for (int i = 0; i < dates.length; i++) {
+            dates[i] = LocalDate.of(2024, 1, 1).plusDays(i / 10);
+        }
+        dates[50] = null;
+        DateColumn column = DateColumn.create("Dates", dates);
+        DateColumn compressed = column.compress();
+        assertAll(
+                () -> assertTrue(compressed.isCompressed()),
+                () -> assertArrayEquals(column.getValues(), compressed.getValues()),
+                () -> assertEquals(10, compressed.selectEqual(LocalDate.of(2024, 1, 3)).countValid()),
+                () -> assertEquals(1, compressed.countNull())
+        );
+    }
+}
@@ -0,0 +1,79 @@
+package io.github.dug22.carpentry.column.storage;
+
+import io.github.dug22.carpentry.DataFrame;
+import io.github.dug22.carpentry.column.impl.DoubleColumn;
+import io.github.dug22.carpentry.column.impl.IntegerColumn;
+import io.github.dug22.carpentry.column.impl.StringColumn;
+import io.github.dug22.carpentry.utils.MemoryEstimator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MemoryUsageTest {
+
+    @Test
+    public void estimatorTest() {
+        assertAll(
+                () -> assertEquals(24, MemoryEstimator.array(2, Integer.BYTES)),
+                () -> assertEquals(48, MemoryEstimator.string("abc")),
+                () -> assertEquals(64, MemoryEstimator.string("€€€€€€€€€")),
+                () -> assertEquals(16, MemoryEstimator.sizeOf(7)),
+                () -> assertEquals(24, MemoryEstimator.sizeOf(7.0)),
+                () -> assertEquals(0, MemoryEstimator.sizeOf(true)),
+                () -> assertEquals(0, MemoryEstimator.sizeOf(null))
+        );
+    }
+
+    @Test
+    public void primitiveColumnTest() {
+        IntegerColumn column = IntegerColumn.create("Ints", new int[1000]);
+        assertAll(
+                () -> assertEquals(column.memoryUsage(false), column.memoryUsage(true)),
+                () -> assertEquals(MemoryEstimator.array(1000, Integer.BYTES) + MemoryEstimator.array(16, Long.BYTES), column.memoryUsage(true))
+        );
+    }
+
+    @Test
+    public void stringColumnTest() {
+        String[] values = new String[1000];
+        Arrays.fill(values, "Adelie penguin");
+        StringColumn plain = StringColumn.create("Plain", values);
+        StringColumn dictionary = StringColumn.createDictionaryEncoded("Dictionary", values);
+        StringColumn utf8 = StringColumn.createUtf8("Utf8", values);
+        assertAll(
+                () -> assertEquals(plain.memoryUsage(false) + 1000 * MemoryEstimator.string("Adelie penguin"), plain.memoryUsage(true)),
+                () -> assertTrue(dictionary.memoryUsage(true) < plain.memoryUsage(true) / 5),
+                () -> assertEquals(utf8.memoryUsage(false), utf8.memoryUsage(true)),
+                () -> assertTrue(utf8.memoryUsage(true) < plain.memoryUsage(true))
+        );
+    }
+
+    @Test
+    public void sparseAndViewTest() {
+        Double[] values = new Double[1000];
+        Arrays.fill(values, Double.NaN);
+        values[10] = 1.5;
+        DoubleColumn dense = DoubleColumn.create("Dense", values);
+        assertAll(
+                () -> assertTrue(dense.toSparse().memoryUsage(true) < dense.memoryUsage(true) / 10),
+                () -> assertEquals(MemoryEstimator.array(3, Integer.BYTES), dense.select(new int[]{1, 2, 3}).memoryUsage(true))
+        );
+    }
+
+    @Test
+    public void dataFrameTest() {
+        DataFrame dataFrame = DataFrame.create(
+                IntegerColumn.create("Ints", new Integer[]{1, 2, 3}),
+                StringColumn.create("Names", new String[]{"a", "b", "c"}));
+        DataFrame usage = dataFrame.memoryUsage();
+        assertAll(
+                () -> assertEquals("[2,3]", usage.shape()),
+                () -> assertEquals("Names", usage.getColumn("Column").get(1)),
+                () -> assertEquals(dataFrame.getColumn("Names").memoryUsage(true), usage.getColumn("Deep Bytes").get(1)),
+                () -> assertEquals(dataFrame.getColumn("Ints").memoryUsage(false) + dataFrame.getColumn("Names").memoryUsage(false),
+                        dataFrame.memoryUsage(false))
+        );
+    }
+}
@@ -0,0 +1,125 @@
+package io.github.dug22.carpentry.column.storage;
+
+import io.github.dug22.carpentry.DataFrame;
+import io.github.dug22.carpentry.column.impl.DateColumn;
+import io.github.dug22.carpentry.column.impl.DoubleColumn;
+import io.github.dug22.carpentry.column.impl.IntegerColumn;
+import io.github.dug22.carpentry.utils.Nulls;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OffHeapStorageTest {
+
+    private IntegerColumn integerColumn;
+
+    @BeforeEach
+    public void setup() {
+        integerColumn = IntegerColumn.createOffHeap("Numbers", new Integer[]{5, null, 3, 1});
+    }
+
+    @Test
+    public void appendTest() {
+        for (int i = 0; i < 100; i++) {
+            integerColumn.appendInt(i);
+        }
+        integerColumn.appendNull();
+        assertAll(
+                () -> assertTrue(integerColumn.isOffHeap()),
+                () -> assertEquals(105, integerColumn.size()),
+                () -> assertEquals(5, integerColumn.get(0)),
+                () -> assertNull(integerColumn.get(1)),
+                () -> assertEquals(99, integerColumn.get(103)),
+                () -> assertEquals(Nulls.getDefaultNullValue(Integer.class), integerColumn.get(104)),
+                () -> assertEquals(2, integerColumn.countNull())
+        );
+    }
+
+    @Test
+    public void sortTest() {
+        integerColumn.sortAscending();
+        assertArrayEquals(new Integer[]{1, 3, 5, null}, integerColumn.getValues());
+        integerColumn.sortDescending();
+        assertArrayEquals(new Integer[]{null, 5, 3, 1}, integerColumn.getValues());
+        assertEquals(1, integerColumn.countNull());
+    }
+
+    @Test
+    public void copyTest() {
+        IntegerColumn copy = integerColumn.copy();
+        integerColumn.set(0, 10);
+        assertAll(
+                () -> assertTrue(copy.isOffHeap()),
+                () -> assertArrayEquals(new Integer[]{5, null, 3, 1}, copy.getValues()),
+                () -> assertTrue(integerColumn.emptyCopy().isOffHeap())
+        );
+    }
+
+    @Test
+    public void closeTest() {
+        integerColumn.close();
+        assertThrows(IllegalStateException.class, () -> integerColumn.get(0));
+    }
+
+    @Test
+    public void dataFrameTest() {
+        DoubleColumn doubleColumn = DoubleColumn.createOffHeap("Doubles", new double[]{1.5, 0.5, 2.5, 4.0});
+        DateColumn dateColumn = DateColumn.createOffHeap("Dates", new LocalDate[]{
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 2), null, LocalDate.of(2024, 1, 4)
+        });
+        try (DataFrame dataFrame = DataFrame.create(integerColumn, doubleColumn, dateColumn)) {
+            DataFrame filtered = dataFrame.filter(dataFrame.column("Doubles").gt(2.0));
+            assertAll(
+                    () -> assertEquals(2, filtered.getRowCount()),
+                    () -> assertTrue(filtered.getColumn("Doubles").isOffHeap()),
+                    () -> assertEquals(LocalDate.of(2024, 1, 4), filtered.getColumn("Dates").get(1)),
+                    () -> assertEquals(2.125, doubleColumn.mean())
+            );
+            filtered.close();
+        }
+        assertThrows(IllegalStateException.class, () -> doubleColumn.getDouble(0));
+    }
+
+    @Test
+    public void tryWithResourcesColumnTest() {
+        DoubleColumn closed;
+        try (DoubleColumn doubleColumn = DoubleColumn.createOffHeap("Doubles", new double[]{1.0, 2.0})) {
+            assertEquals(3.0, doubleColumn.sum());
+            closed = doubleColumn;
+        }
+        assertThrows(IllegalStateException.class, () -> closed.getDouble(0));
+    }
+
+    @Test
+    public void chunkTest() {
+        OffHeapIntStorage storage = new OffHeapIntStorage(0, 64);
+        for (int i = 0; i < 100; i++) {
+            storage.appendInt(i * 3);
+        }
+        storage.setNull(40);
+        OffHeapIntStorage copy = storage.copy();
+        storage.trimToSize();
+        assertAll(
+                () -> assertEquals(100, storage.size()),
+                () -> assertEquals(100, storage.capacity()),
+                () -> assertEquals(15, storage.getInt(5)),
+                () -> assertEquals(48, storage.getInt(16)),
+                () -> assertEquals(297, storage.getInt(99)),
+                () -> assertTrue(storage.isNull(40)),
+                () -> assertEquals(100, copy.size()),
+                () -> assertEquals(297, copy.getInt(99)),
+                () -> assertTrue(copy.isNull(40))
+        );
+        storage.sortDescending();
+        assertEquals(297, storage.getInt(1));
+        storage.clear();
+        storage.appendInt(7);
+        assertEquals(7, storage.getInt(0));
+        storage.close();
+        assertTrue(storage.isClosed());
+        storage.close();
+    }
+}
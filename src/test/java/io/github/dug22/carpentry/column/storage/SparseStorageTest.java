@@ -0,0 +1,134 @@
+package io.github.dug22.carpentry.column.storage;
+
+import io.github.dug22.carpentry.DataFrame;
+import io.github.dug22.carpentry.column.Column;
+import io.github.dug22.carpentry.column.impl.DoubleColumn;
+import io.github.dug22.carpentry.column.impl.IntegerColumn;
+import io.github.dug22.carpentry.column.impl.StringColumn;
+import io.github.dug22.carpentry.fill.FillColumnValuePair;
+import io.github.dug22.carpentry.filter.FilterPredicate;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SparseStorageTest {
+
+    @Test
+    public void conversionTest() {
+        Integer[] values = new Integer[1000];
+        values[3] = 30;
+        values[500] = 5000;
+        values[999] = -1;
+        IntegerColumn dense = IntegerColumn.create("Events", values);
+        Column<Integer> sparse = dense.toSparse();
+        SparseStorage<Integer> storage = SparseStorage.of(new IntStorage(values));
+        assertAll(
+                () -> assertTrue(sparse.isSparse()),
+                () -> assertFalse(dense.isSparse()),
+                () -> assertEquals(3, storage.explicitCount()),
+                () -> assertEquals(500, storage.explicitPosition(1)),
+                () -> assertArrayEquals(values, sparse.getValues()),
+                () -> assertEquals(997, sparse.countNull()),
+                () -> assertNull(sparse.get(4)),
+                () -> assertEquals(5000, sparse.get(500)),
+                () -> assertFalse(sparse.toDense().isSparse()),
+                () -> assertArrayEquals(values, sparse.toDense().getValues())
+        );
+    }
+
+    @Test
+    public void sentinelTest() {
+        IntStorage dense = new IntStorage();
+        dense.appendNull();
+        dense.appendInt(Integer.MIN_VALUE);
+        dense.appendNull();
+        SparseStorage<Integer> sparse = SparseStorage.of(dense);
+        ColumnStorage<Integer> roundTrip = sparse.toDense();
+        assertAll(
+                () -> assertEquals(2, sparse.countNull()),
+                () -> assertFalse(sparse.isNull(1)),
+                () -> assertEquals(2, roundTrip.countNull()),
+                () -> assertEquals(Integer.MIN_VALUE, roundTrip.getInt(1))
+        );
+    }
+
+    @Test
+    public void writeTest() {
+        SparseStorage<Integer> storage = new SparseStorage<>(new IntStorage());
+        storage.appendAll(new Integer[]{null, 2, null, null, 5});
+        storage.set(2, 3);
+        storage.set(1, null);
+        storage.appendNull();
+        storage.append(7);
+        assertAll(
+                () -> assertEquals(7, storage.size()),
+                () -> assertEquals(3, storage.explicitCount()),
+                () -> assertArrayEquals(new Integer[]{null, null, 3, null, 5, null, 7}, storage.toArray()),
+                () -> assertEquals(2, storage.nextValid(0)),
+                () -> assertEquals(6, storage.nextValid(5)),
+                () -> assertEquals(-1, storage.nextValid(7)),
+                () -> assertEquals(4, storage.getValidity().countInvalid())
+        );
+    }
+
+    @Test
+    public void statisticsTest() {
+        Double[] values = new Double[200];
+        for (int i = 0; i < values.length; i += 20) {
+            values[i] = (double) i;
+        }
+        DoubleColumn dense = DoubleColumn.create("Latency", values);
+        DoubleColumn sparse = (DoubleColumn) dense.toSparse();
+        assertAll(
+                () -> assertEquals(dense.sum(), sparse.sum()),
+                () -> assertEquals(dense.mean(), sparse.mean()),
+                () -> assertEquals(dense.std(), sparse.std()),
+                () -> assertEquals(dense.median(), sparse.median()),
+                () -> assertEquals(180.0, sparse.max()),
+                () -> assertEquals(0.0, sparse.min()),
+                () -> assertEquals(20, sparse.nextPresent(1))
+        );
+    }
+
+    @Test
+    public void fillTest() {
+        StringColumn sparse = (StringColumn) StringColumn.create("Referrer", new String[]{"NA", "search", "NA", "NA", "mail"}).toSparse();
+        DataFrame dataFrame = DataFrame.create(sparse);
+        dataFrame.fillNa(new FillColumnValuePair[]{new FillColumnValuePair("Referrer", "direct")});
+        sparse.append("NA");
+        assertAll(
+                () -> assertTrue(sparse.isSparse()),
+                () -> assertArrayEquals(new String[]{"direct", "search", "direct", "direct", "mail", "NA"}, sparse.getValues()),
+                () -> assertEquals(1, sparse.countNull()),
+                () -> assertEquals(3, sparse.selectEqual("direct").countValid())
+        );
+    }
+
+    @Test
+    public void filterTest() {
+        Integer[] values = new Integer[100];
+        values[10] = 4;
+        values[20] = 8;
+        values[30] = 15;
+        IntegerColumn sparse = (IntegerColumn) IntegerColumn.create("Clicks", values).toSparse();
+        DataFrame dataFrame = DataFrame.create(sparse);
+        assertAll(
+                () -> assertArrayEquals(new Integer[]{8, 15}, sparse.filter(value -> value > 5).getValues()),
+                () -> assertEquals(1, dataFrame.filter(dataFrame.column("Clicks").objEq(8)).getRowCount()),
+                () -> assertEquals(99, dataFrame.filter(dataFrame.column("Clicks").objNotEq(8)).getRowCount()),
+                () -> assertTrue(sparse.isSparse())
+        );
+    }
+
+    @Test
+    public void reusedPredicateTest() {
+        IntegerColumn sparse = (IntegerColumn) IntegerColumn.create("Clicks", new Integer[]{null, 5, null, null, 7}).toSparse();
+        DataFrame dataFrame = DataFrame.create(sparse);
+        FilterPredicate equalsFive = dataFrame.column("Clicks").objEq(5);
+        assertEquals(1, dataFrame.filter(equalsFive).getRowCount());
+        sparse.set(4, 5);
+        assertEquals(2, dataFrame.filter(equalsFive).getRowCount());
+        sparse.append(5);
+        assertEquals(3, dataFrame.filter(equalsFive).getRowCount());
+    }
+}
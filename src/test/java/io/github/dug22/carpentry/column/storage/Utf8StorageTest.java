@@ -0,0 +1,79 @@
+package io.github.dug22.carpentry.column.storage;
+
+import io.github.dug22.carpentry.DataFrame;
+import io.github.dug22.carpentry.column.impl.IntegerColumn;
+import io.github.dug22.carpentry.column.impl.StringColumn;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class Utf8StorageTest {
+
+    @Test
+    public void storageTest() {
+        Utf8Storage storage = new Utf8Storage(new String[]{"apple", null, "NA", "crème brûlée", "apple"});
+        assertAll(
+                () -> assertEquals("crème brûlée", storage.get(3)),
+                () -> assertNull(storage.get(1)),
+                () -> assertEquals("NA", storage.get(2)),
+                () -> assertEquals(2, storage.countNull()),
+                () -> assertEquals(15, storage.byteLength(3)),
+                () -> assertTrue(storage.equalsAt(0, 4)),
+                () -> assertEquals(storage.hash(0), storage.hash(4)),
+                () -> assertTrue(storage.equalsBytes(0, "apple".getBytes(StandardCharsets.UTF_8))),
+                () -> assertTrue(storage.startsWith(3, "crè".getBytes(StandardCharsets.UTF_8))),
+                () -> assertTrue(storage.endsWith(3, "lée".getBytes(StandardCharsets.UTF_8))),
+                () -> assertTrue(storage.contains(3, "e b".getBytes(StandardCharsets.UTF_8))),
+                () -> assertFalse(storage.contains(0, "pie".getBytes(StandardCharsets.UTF_8)))
+        );
+    }
+
+    @Test
+    public void setTest() {
+        Utf8Storage storage = new Utf8Storage(new String[]{"aaaa", "bbbb", "cccc"});
+        for (int i = 0; i < 10; i++) {
+            storage.set(1, "value" + i);
+        }
+        storage.set(2, null);
+        storage.trimToSize();
+        assertAll(
+                () -> assertArrayEquals(new String[]{"aaaa", "value9", null}, storage.toArray()),
+                () -> assertEquals(10, storage.arenaSize()),
+                () -> assertEquals(1, storage.countNull())
+        );
+    }
+
+    @Test
+    public void sortTest() {
+        Utf8Storage storage = new Utf8Storage(new String[]{"pear", null, "apple", "NA", "fig"});
+        storage.sortAscending();
+        assertArrayEquals(new String[]{null, "NA", "apple", "fig", "pear"}, storage.toArray());
+        assertTrue(storage.isNull(1));
+        storage.sortDescending();
+        assertAll(
+                () -> assertArrayEquals(new String[]{"pear", "fig", "apple", "NA", null}, storage.toArray()),
+                () -> assertTrue(storage.isNull(3)),
+                () -> assertFalse(storage.isNull(0))
+        );
+    }
+
+    @Test
+    public void columnTest() {
+        StringColumn names = StringColumn.createUtf8("Names", new String[]{"alpha", "beta", "alpha", null, "gamma", "beta"});
+        DataFrame dataFrame = DataFrame.create(IntegerColumn.create("ID", new Integer[]{1, 2, 3, 4, 5, 6}), names);
+        assertAll(
+                () -> assertTrue(names.isUtf8Encoded()),
+                () -> assertArrayEquals(new String[]{"alpha", "beta", null, "gamma"}, names.unique().getValues()),
+                () -> assertEquals(2, dataFrame.filter(dataFrame.column("Names").objEq("alpha")).getRowCount()),
+                () -> assertEquals(2, dataFrame.filter(dataFrame.column("Names").startsWith("be")).getRowCount()),
+                () -> assertEquals(5, dataFrame.filter(dataFrame.column("Names").endsWith("a")).getRowCount()),
+                () -> assertEquals(1, dataFrame.filter(dataFrame.column("Names").contains("mm")).getRowCount()),
+                () -> assertArrayEquals(new String[]{"ALPHA", "BETA", "ALPHA", null, "GAMMA", "BETA"},
+                        names.apply(String::toUpperCase).getValues()),
+                () -> assertFalse(StringColumn.create("Names", new String[]{"a"}).isUtf8Encoded()),
+                () -> assertTrue(StringColumn.create("Names", new String[]{"a"}).utf8Encode().isUtf8Encoded())
+        );
+    }
+}
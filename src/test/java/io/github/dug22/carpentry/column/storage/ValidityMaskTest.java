@@ -0,0 +1,101 @@
+package io.github.dug22.carpentry.column.storage;
+
+import io.github.dug22.carpentry.column.impl.IntegerColumn;
+import io.github.dug22.carpentry.column.impl.StringColumn;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ValidityMaskTest {
+
+    private ValidityMask validityMask;
+
+    @BeforeEach
+    public void setup() {
+        validityMask = new ValidityMask(130, true);
+        validityMask.set(3, false);
+        validityMask.set(64, false);
+        validityMask.set(129, false);
+    }
+
+    @Test
+    public void countTest() {
+        assertAll(
+                () -> assertEquals(130, validityMask.size()),
+                () -> assertEquals(127, validityMask.countValid()),
+                () -> assertEquals(3, validityMask.countInvalid())
+        );
+    }
+
+    @Test
+    public void nextTest() {
+        assertAll(
+                () -> assertEquals(3, validityMask.nextInvalid(0)),
+                () -> assertEquals(64, validityMask.nextInvalid(4)),
+                () -> assertEquals(129, validityMask.nextInvalid(65)),
+                () -> assertEquals(-1, validityMask.nextInvalid(130)),
+                () -> assertEquals(65, validityMask.nextValid(64)),
+                () -> assertEquals(-1, validityMask.nextValid(129))
+        );
+    }
+
+    @Test
+    public void resizeTest() {
+        validityMask.resize(70, false);
+        validityMask.resize(200, false);
+        validityMask.append(true);
+        assertAll(
+                () -> assertEquals(201, validityMask.size()),
+                () -> assertEquals(69, validityMask.countValid()),
+                () -> assertTrue(validityMask.isValid(200)),
+                () -> assertFalse(validityMask.isValid(150))
+        );
+    }
+
+    @Test
+    public void columnTest() {
+        IntegerColumn integerColumn = IntegerColumn.create("Integers", new Integer[]{1, null, 3});
+        integerColumn.appendNull();
+        integerColumn.appendInt(Integer.MIN_VALUE);
+        StringColumn stringColumn = StringColumn.create("Strings", new String[]{"a", "NA", "b"});
+        stringColumn.setAbsent(0);
+        assertAll(
+                () -> assertEquals(2, integerColumn.countNull()),
+                () -> assertFalse(integerColumn.isAbsent(4)),
+                () -> assertEquals(2, stringColumn.countNull()),
+                () -> assertTrue(stringColumn.isAbsent(0))
+        );
+    }
+
+    @Test
+    public void appendFromTest() {
+        IntStorage ints = new IntStorage();
+        ints.appendInt(Integer.MIN_VALUE);
+        ints.appendNull();
+        ints.append(null);
+        DateStorage dates = new DateStorage();
+        dates.appendInt((int) LocalDate.of(1900, 1, 1).toEpochDay());
+        dates.appendNull();
+        IntStorage intCopy = ints.emptyCopy();
+        DateStorage dateCopy = dates.emptyCopy();
+        for (int i = 0; i < ints.size(); i++) {
+            intCopy.appendFrom(ints, i);
+        }
+        for (int i = 0; i < dates.size(); i++) {
+            dateCopy.appendFrom(dates, i);
+        }
+        assertAll(
+                () -> assertFalse(intCopy.isNull(0)),
+                () -> assertEquals(Integer.MIN_VALUE, intCopy.getInt(0)),
+                () -> assertTrue(intCopy.isNull(1)),
+                () -> assertNull(intCopy.get(2)),
+                () -> assertEquals(2, intCopy.countNull()),
+                () -> assertFalse(dateCopy.isNull(0)),
+                () -> assertEquals(LocalDate.of(1900, 1, 1), dateCopy.get(0)),
+                () -> assertTrue(dateCopy.isNull(1))
+        );
+    }
+}
@@ -0,0 +1,110 @@
+package io.github.dug22.carpentry.column.storage;
+
+import io.github.dug22.carpentry.DataFrame;
+import io.github.dug22.carpentry.column.Column;
+import io.github.dug22.carpentry.column.impl.BooleanColumn;
+import io.github.dug22.carpentry.column.impl.IntegerColumn;
+import io.github.dug22.carpentry.column.impl.StringColumn;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ViewStorageTest {
+
+    private IntegerColumn integerColumn;
+
+    @BeforeEach
+    public void setup() {
+        integerColumn = IntegerColumn.create("Numbers", new Integer[]{10, 20, null, 40, 50, 60});
+    }
+
+    @Test
+    public void sliceTest() {
+        Column<Integer> slice = integerColumn.slice(1, 5);
+        Column<Integer> nestedSlice = slice.slice(1, 3);
+        assertAll(
+                () -> assertTrue(slice.isView()),
+                () -> assertArrayEquals(new Integer[]{20, null, 40, 50}, slice.getValues()),
+                () -> assertArrayEquals(new Integer[]{null, 40}, nestedSlice.getValues()),
+                () -> assertEquals(1, slice.countNull()),
+                () -> assertThrows(IndexOutOfBoundsException.class, () -> integerColumn.slice(4, 7))
+        );
+    }
+
+    @Test
+    public void selectTest() {
+        Column<Integer> selection = integerColumn.select(new int[]{5, 3, 0});
+        Column<Integer> nestedSelection = selection.select(new int[]{2, 0});
+        assertAll(
+                () -> assertArrayEquals(new Integer[]{60, 40, 10}, selection.getValues()),
+                () -> assertArrayEquals(new Integer[]{10, 60}, nestedSelection.getValues()),
+                () -> assertArrayEquals(new Integer[]{30, 40}, integerColumn.filter(value -> value > 25 && value < 55)
+                        .apply(value -> value - 10).getValues())
+        );
+    }
+
+    @Test
+    public void writeTest() {
+        Column<Integer> slice = integerColumn.slice(0, 3);
+        slice.set(0, 99);
+        slice.append(100);
+        integerColumn.sortDescending();
+        Column<Integer> materialized = integerColumn.select(new int[]{1, 2}).materialize();
+        assertAll(
+                () -> assertFalse(slice.isView()),
+                () -> assertArrayEquals(new Integer[]{99, 20, null, 100}, slice.getValues()),
+                () -> assertNull(integerColumn.get(0)),
+                () -> assertEquals(60, integerColumn.get(1)),
+                () -> assertFalse(materialized.isView()),
+                () -> assertArrayEquals(new Integer[]{60, 50}, materialized.getValues())
+        );
+    }
+
+    @Test
+    public void materializeSentinelTest() {
+        IntegerColumn column = IntegerColumn.create("Numbers");
+        column.appendInt(1);
+        column.appendInt(Integer.MIN_VALUE);
+        column.appendNull();
+        Column<Integer> slice = column.slice(0, 3).materialize();
+        Column<Integer> filtered = column.filter(value -> value < 0).materialize();
+        assertAll(
+                () -> assertEquals(1, column.countNull()),
+                () -> assertEquals(1, slice.countNull()),
+                () -> assertFalse(slice.isAbsent(1)),
+                () -> assertTrue(slice.isAbsent(2)),
+                () -> assertEquals(0, filtered.countNull()),
+                () -> assertEquals(Integer.MIN_VALUE, filtered.get(0))
+        );
+    }
+
+    @Test
+    public void viewIsolationTest() {
+        Column<Integer> slice = integerColumn.slice(0, 2);
+        integerColumn.sortDescending();
+        integerColumn.set(5, 0);
+        assertArrayEquals(new Integer[]{10, 20}, slice.getValues());
+    }
+
+    @Test
+    public void dataFrameTest() {
+        StringColumn names = StringColumn.createDictionaryEncoded("Names", new String[]{"a", "b", "a", "c", "b", "a"});
+        BooleanColumn flags = BooleanColumn.create("Flags", new Boolean[]{true, false, true, true, false, true});
+        DataFrame dataFrame = DataFrame.create(integerColumn, names, flags);
+        DataFrame filtered = dataFrame.filter(dataFrame.column("Numbers").gt(15))
+                .filter(dataFrame.column("Names").objNotEq("c"));
+        DataFrame slice = dataFrame.slice(2, 4);
+        StringColumn filteredNames = filtered.stringColumn("Names");
+        assertAll(
+                () -> assertEquals(3, filtered.getRowCount()),
+                () -> assertArrayEquals(new Integer[]{20, 50, 60}, filtered.intColumn("Numbers").getValues()),
+                () -> assertTrue(filteredNames.isDictionaryEncoded()),
+                () -> assertEquals(filteredNames.codeOf("a"), filteredNames.getCode(2)),
+                () -> assertEquals(1, filtered.booleanColumn("Flags").countTrue()),
+                () -> assertEquals(2, slice.getRowCount()),
+                () -> assertEquals("c", slice.stringColumn("Names").get(1)),
+                () -> assertFalse(slice.materialize().getColumn("Numbers").isView())
+        );
+    }
+}
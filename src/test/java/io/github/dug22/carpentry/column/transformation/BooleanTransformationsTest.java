@@ -1,5 +1,6 @@
 package io.github.dug22.carpentry.column.transformation;
 
+import io.github.dug22.carpentry.column.ColumnException;
 import io.github.dug22.carpentry.column.impl.BooleanColumn;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -63,4 +64,39 @@ public class BooleanTransformationsTest {
                 () -> assertArrayEquals(new Boolean[]{false, true, false, true}, flip.getValues())
         );
     }
+
+    @Test
+    public void multiWordTest(){
+        Boolean[] left = new Boolean[130];
+        Boolean[] right = new Boolean[130];
+        for (int i = 0; i < left.length; i++) {
+            left[i] = i % 2 == 0;
+            right[i] = i % 3 == 0;
+        }
+        left[64] = null;
+        right[129] = null;
+        BooleanColumn leftColumn = BooleanColumn.create("Left", left);
+        BooleanColumn rightColumn = BooleanColumn.create("Right", right);
+        BooleanColumn and = leftColumn.and(rightColumn);
+        BooleanColumn xor = leftColumn.xor(rightColumn);
+        BooleanColumn flip = leftColumn.flip();
+        assertAll(
+                () -> assertEquals(130, and.size()),
+                () -> assertEquals(2, and.countNull()),
+                () -> assertNull(and.get(64)),
+                () -> assertNull(xor.get(129)),
+                () -> assertEquals(true, and.get(126)),
+                () -> assertEquals(false, and.get(128)),
+                () -> assertEquals(true, xor.get(128)),
+                () -> assertNull(flip.get(64)),
+                () -> assertEquals(true, flip.get(127)),
+                () -> assertEquals(65, flip.countTrue())
+        );
+    }
+
+    @Test
+    public void sizeMismatchTest(){
+        BooleanColumn shorter = BooleanColumn.create("Booleans", new Boolean[]{true});
+        assertThrows(ColumnException.class, () -> booleanColumn.and(shorter));
+    }
 }
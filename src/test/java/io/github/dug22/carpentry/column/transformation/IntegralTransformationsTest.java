@@ -0,0 +1,98 @@
+package io.github.dug22.carpentry.column.transformation;
+
+import io.github.dug22.carpentry.column.ColumnException;
+import io.github.dug22.carpentry.column.impl.IntegerColumn;
+import io.github.dug22.carpentry.column.impl.LongColumn;
+import io.github.dug22.carpentry.column.impl.ShortColumn;
+import io.github.dug22.carpentry.column.transformations.OverflowMode;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntegralTransformationsTest {
+
+    @Test
+    public void arithmeticKeepsTypeTest() {
+        IntegerColumn ints = IntegerColumn.create("Ints", new Integer[]{1, 2, null, 7});
+        IntegerColumn others = IntegerColumn.create("Others", new Integer[]{3, 0, 4, -2});
+        IntegerColumn sum = ints.plus(others, OverflowMode.CHECKED);
+        IntegerColumn quotient = ints.intDivide(others, OverflowMode.CHECKED);
+        assertAll(
+                () -> assertArrayEquals(new Integer[]{4, 2, null, 5}, sum.getValues()),
+                () -> assertEquals("Ints + Others", sum.name()),
+                () -> assertArrayEquals(new Integer[]{-2, 2, null, 9}, ints.minus(others, OverflowMode.CHECKED).getValues()),
+                () -> assertArrayEquals(new Integer[]{3, 0, null, -14}, ints.times(others, OverflowMode.CHECKED).getValues()),
+                () -> assertArrayEquals(new Integer[]{0, null, null, -3}, quotient.getValues()),
+                () -> assertArrayEquals(new Integer[]{1, null, null, 1}, ints.mod(others).getValues()),
+                () -> assertArrayEquals(new Integer[]{11, 12, null, 17}, ints.add(10, OverflowMode.CHECKED).getValues()),
+                () -> assertArrayEquals(new Integer[]{null, null, null, null}, ints.intDivide(0, OverflowMode.CHECKED).getValues()),
+                () -> assertArrayEquals(new Integer[]{1, 0, null, 1}, ints.bitAnd(1).getValues()),
+                () -> assertArrayEquals(new Integer[]{2, 2, null, 1}, ints.bitXor(others).bitAnd(7).getValues()),
+                () -> assertArrayEquals(new Integer[]{-2, -3, null, -8}, ints.bitNot().getValues()),
+                () -> assertArrayEquals(new Integer[]{8, 16, null, 56}, ints.shiftLeft(3).getValues()),
+                () -> assertArrayEquals(new Integer[]{0, 1, null, 3}, ints.shiftRight(1).getValues()),
+                () -> assertThrows(IllegalArgumentException.class, () -> ints.shiftLeft(32)),
+                () -> assertThrows(ColumnException.class, () -> ints.plus(IntegerColumn.create("Short", new Integer[]{1}), OverflowMode.CHECKED))
+        );
+    }
+
+    @Test
+    public void overflowTest() {
+        IntegerColumn ints = IntegerColumn.create("Ints", new Integer[]{Integer.MAX_VALUE, null, 1});
+        ArithmeticException exception = assertThrows(ArithmeticException.class, () -> ints.add(1, OverflowMode.CHECKED));
+        assertAll(
+                () -> assertTrue(exception.getMessage().contains("row 0")),
+                () -> assertArrayEquals(new Integer[]{Integer.MIN_VALUE, null, 2}, ints.add(1, OverflowMode.WRAPPING).getValues()),
+                () -> assertThrows(ArithmeticException.class, () -> ints.multiply(2, OverflowMode.CHECKED)),
+                () -> assertArrayEquals(new Integer[]{-2, null, 2}, ints.multiply(2, OverflowMode.WRAPPING).getValues())
+        );
+
+        ShortColumn shorts = ShortColumn.create("Shorts", new Short[]{Short.MAX_VALUE, 5});
+        assertAll(
+                () -> assertThrows(ArithmeticException.class, () -> shorts.add(1, OverflowMode.CHECKED)),
+                () -> assertArrayEquals(new Short[]{Short.MIN_VALUE, 6}, shorts.add(1, OverflowMode.WRAPPING).getValues()),
+                () -> assertArrayEquals(new Short[]{(short) (Short.MAX_VALUE * 3), 15}, shorts.multiply(3, OverflowMode.WRAPPING).getValues())
+        );
+
+        LongColumn longs = LongColumn.create("Longs", new Long[]{Long.MAX_VALUE, Long.MIN_VALUE + 1, null});
+        LongColumn minimum = LongColumn.create("Minimum", new Long[]{Long.MIN_VALUE + 1, 0L, 0L}).subtract(1, OverflowMode.CHECKED);
+        assertAll(
+                () -> assertThrows(ArithmeticException.class, () -> longs.add(1, OverflowMode.CHECKED)),
+                () -> assertThrows(ArithmeticException.class, () -> longs.times(longs, OverflowMode.CHECKED)),
+                () -> assertThrows(ArithmeticException.class, () -> minimum.intDivide(-1, OverflowMode.CHECKED)),
+                () -> assertEquals(Long.MIN_VALUE, longs.add(1, OverflowMode.WRAPPING).getLong(0)),
+                () -> assertTrue(longs.add(1, OverflowMode.WRAPPING).isAbsent(2))
+        );
+    }
+
+    @Test
+    public void largeConstantTest() {
+        IntegerColumn ints = IntegerColumn.create("Ints", new Integer[]{1 << 24, 3});
+        ShortColumn shorts = ShortColumn.create("Shorts", new Short[]{5, null});
+        IntegerColumn negative = IntegerColumn.create("Negative", new Integer[]{null, -5});
+        ArithmeticException exception = assertThrows(ArithmeticException.class, () -> ints.multiply(1L << 40, OverflowMode.CHECKED));
+        assertAll(
+                () -> assertTrue(exception.getMessage().contains("row 0")),
+                () -> assertArrayEquals(new Integer[]{0, 0}, ints.multiply(1L << 40, OverflowMode.WRAPPING).getValues()),
+                () -> assertThrows(ArithmeticException.class, () -> shorts.multiply(Long.MIN_VALUE, OverflowMode.CHECKED)),
+                () -> assertThrows(ArithmeticException.class, () -> shorts.add(Long.MAX_VALUE, OverflowMode.CHECKED)),
+                () -> assertThrows(ArithmeticException.class, () -> ints.subtract(Long.MIN_VALUE, OverflowMode.CHECKED)),
+                () -> assertArrayEquals(new Short[]{0, null}, shorts.intDivide(Long.MIN_VALUE, OverflowMode.CHECKED).getValues()),
+                () -> assertArrayEquals(new Integer[]{null, Integer.MAX_VALUE - 5 + 1},
+                        negative.add(Integer.MAX_VALUE + 1L, OverflowMode.CHECKED).getValues())
+        );
+    }
+
+    @Test
+    public void longPrecisionTest() {
+        long large = (1L << 53) + 1;
+        LongColumn longs = LongColumn.create("Longs", new Long[]{large, large * 3});
+        LongColumn sum = longs.plus(longs, OverflowMode.CHECKED);
+        assertAll(
+                () -> assertEquals(large * 2, sum.getLong(0)),
+                () -> assertEquals(large * 6, sum.getLong(1)),
+                () -> assertEquals(large * 3 - 1, longs.subtract(1, OverflowMode.CHECKED).getLong(1)),
+                () -> assertEquals(large % 1000, longs.mod(1000).getLong(0))
+        );
+    }
+}
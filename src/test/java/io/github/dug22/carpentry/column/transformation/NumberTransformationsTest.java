@@ -1,13 +1,15 @@
 package io.github.dug22.carpentry.column.transformation;
 
 import io.github.dug22.carpentry.column.impl.DoubleColumn;
+import io.github.dug22.carpentry.column.impl.IntegerColumn;
 import io.github.dug22.carpentry.column.impl.NumericColumn;
+import io.github.dug22.carpentry.column.transformations.DoubleKernels;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
 
-import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class NumberTransformationsTest {
 
@@ -202,4 +204,65 @@ public class NumberTransformationsTest {
         DoubleColumn resultingColumn = doubleColumn.round(2);
         assertArrayEquals(new Double[]{1.23D, 2.35D, 3.46D}, resultingColumn.getValues());
     }
+
+    @Test
+    public void missingValuesTest() {
+        IntegerColumn integerColumn = IntegerColumn.create("Integers", new Integer[]{4, null, 9, 16});
+        DoubleColumn withMissing = DoubleColumn.create("Doubles", new Double[]{1D, 2D, null, 4D});
+        assertAll(
+                () -> assertArrayEquals(new Double[]{5D, Double.NaN, Double.NaN, 20D}, withMissing.plus(integerColumn).getValues()),
+                () -> assertArrayEquals(new Double[]{2D, Double.NaN, 3D, 4D}, integerColumn.sqrt().getValues()),
+                () -> assertArrayEquals(new Double[]{1D, Double.NaN, 1D, 1D}, integerColumn.pow(0).getValues()),
+                () -> assertArrayEquals(new Double[]{1D, 1D, Double.NaN, 1D}, withMissing.pow(DoubleColumn.create("Zeros", new double[4])).getValues()),
+                () -> assertArrayEquals(new Double[]{1D, 2D, Double.NaN, 4D}, withMissing.round(0).getValues()),
+                () -> assertArrayEquals(new Double[]{-1D, -2D, Double.NaN, -4D}, withMissing.negative().getValues())
+        );
+    }
+
+    @Test
+    public void kernelTest() {
+        double[] values = {1, 4, Double.NaN, -9};
+        double[] result = new double[values.length];
+        DoubleKernels.apply('*', values, new double[]{2, 2, 2, 2}, result);
+        assertArrayEquals(new double[]{2, 8, Double.NaN, -18}, result);
+        DoubleKernels.abs(values, result);
+        assertArrayEquals(new double[]{1, 4, Double.NaN, 9}, result);
+        DoubleKernels.pow(values, 0.5, values);
+        assertArrayEquals(new double[]{1, 2, Double.NaN, Double.NaN}, values);
+        assertThrows(IllegalArgumentException.class, () -> DoubleKernels.apply('%', values, 2, values));
+    }
+
+    @Test
+    public void kernelTailTest() {
+        for (int length = 0; length <= 37; length++) {
+            double[] left = new double[length + 3];
+            double[] right = new double[length + 3];
+            for (int i = 0; i < left.length; i++) {
+                left[i] = i % 7 == 3 ? Double.NaN : i * 1.5 - 10;
+                right[i] = i % 5 + 0.25;
+            }
+            double[] result = new double[length];
+            double[] expected = new double[length];
+            DoubleKernels.subtract(left, right, result);
+            for (int i = 0; i < length; i++) {
+                expected[i] = left[i] - right[i];
+            }
+            assertArrayEquals(expected, result);
+            DoubleKernels.divide(left, 3.0, result);
+            for (int i = 0; i < length; i++) {
+                expected[i] = left[i] / 3.0;
+            }
+            assertArrayEquals(expected, result);
+            DoubleKernels.sqrt(left, result);
+            for (int i = 0; i < length; i++) {
+                expected[i] = Math.sqrt(left[i]);
+            }
+            assertArrayEquals(expected, result);
+            DoubleKernels.round(left, 0, result);
+            for (int i = 0; i < length; i++) {
+                expected[i] = Double.isNaN(left[i]) ? Double.NaN : Math.round(left[i]);
+            }
+            assertArrayEquals(expected, result);
+        }
+    }
 }
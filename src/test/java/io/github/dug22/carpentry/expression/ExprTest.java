@@ -0,0 +1,105 @@
+package io.github.dug22.carpentry.expression;
+
+import io.github.dug22.carpentry.DataFrame;
+import io.github.dug22.carpentry.DataFrameException;
+import io.github.dug22.carpentry.column.impl.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static io.github.dug22.carpentry.expression.Expr.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExprTest {
+
+    private DataFrame createDataFrame() {
+        return DataFrame.create(
+                DoubleColumn.create("A", new Double[]{1.0, 4.0, null, 9.0, 16.0}),
+                IntegerColumn.create("B", new Integer[]{3, null, 2, 1, 0}),
+                BooleanColumn.create("Flag", new Boolean[]{true, false, true, null, false}),
+                StringColumn.create("Name", new String[]{"a", "b", "c", "d", "e"})
+        );
+    }
+
+    @Test
+    public void arithmeticTest() {
+        DataFrame dataFrame = createDataFrame();
+        dataFrame.withColumn("C", col("A").plus(col("B")).times(col("A")).divide(2).sqrt());
+        DoubleColumn result = dataFrame.doubleColumn("C");
+        DoubleColumn expected = dataFrame.doubleColumn("A").plus(dataFrame.intColumn("B"))
+                .times(dataFrame.doubleColumn("A")).divide(2).sqrt();
+        assertEquals(5, dataFrame.getColumnCount());
+        for (int i = 0; i < result.size(); i++) {
+            assertEquals(expected.getDouble(i), result.getDouble(i), 1e-12);
+        }
+        assertAll(
+                () -> assertEquals(Math.sqrt(2.0), result.get(0), 1e-12),
+                () -> assertTrue(result.isAbsent(1)),
+                () -> assertTrue(result.isAbsent(2)),
+                () -> assertEquals(Math.sqrt(128.0), result.get(4), 1e-12)
+        );
+    }
+
+    @Test
+    public void predicateTest() {
+        DataFrame dataFrame = createDataFrame();
+        BooleanColumn greater = (BooleanColumn) col("A").gt(col("B")).evaluate(dataFrame, "Greater");
+        BooleanColumn either = (BooleanColumn) col("A").lt(5).or(col("Flag")).evaluate(dataFrame, "Either");
+        BooleanColumn both = (BooleanColumn) col("A").lt(5).and(col("Flag")).evaluate(dataFrame, "Both");
+        assertAll(
+                () -> assertEquals(false, greater.get(0)),
+                () -> assertTrue(greater.isAbsent(1)),
+                () -> assertTrue(greater.isAbsent(2)),
+                () -> assertEquals(true, greater.get(3)),
+                () -> assertEquals(true, either.get(2)),
+                () -> assertTrue(either.isAbsent(3)),
+                () -> assertEquals(false, either.get(4)),
+                () -> assertEquals(true, both.get(0)),
+                () -> assertTrue(both.isAbsent(2)),
+                () -> assertEquals(false, both.get(3)),
+                () -> assertEquals(true, col("A").isNull().evaluate(dataFrame, "Null").get(2)),
+                () -> assertEquals(2, dataFrame.filter(col("A").gte(4).and(col("B").isNotNull())).getRowCount()),
+                () -> assertThrows(IllegalArgumentException.class, () -> dataFrame.filter(col("A").plus(1)))
+        );
+    }
+
+    @Test
+    public void conditionalTest() {
+        DataFrame dataFrame = createDataFrame();
+        dataFrame.withColumn("A", when(col("A").gt(8)).then(col("A").negate())
+                .elseWhen(col("Flag")).then(0)
+                .otherwise(col("A").fillNull(-1)));
+        DoubleColumn result = dataFrame.doubleColumn("A");
+        assertAll(
+                () -> assertEquals("A", dataFrame.getColumn(0).name()),
+                () -> assertArrayEquals(new Double[]{0.0, 4.0, 0.0, -9.0, -16.0}, result.getValues()),
+                () -> assertTrue(when(col("B").eq(1)).then(5).evaluate(dataFrame, "D").isAbsent(0))
+        );
+    }
+
+    @Test
+    public void batchBoundaryTest() {
+        int size = ExprProgram.BATCH_SIZE * 3 + 17;
+        double[] left = new double[size];
+        double[] right = new double[size];
+        Random random = new Random(7);
+        for (int i = 0; i < size; i++) {
+            left[i] = random.nextInt(10) == 0 ? Double.NaN : random.nextDouble();
+            right[i] = random.nextDouble() + 1;
+        }
+        DataFrame dataFrame = DataFrame.create(DoubleColumn.create("L", left), DoubleColumn.create("R", right));
+        ExprProgram program = col("L").times(col("R")).plus(col("L")).compile(dataFrame);
+        double[] result = program.evaluateToArray();
+        assertEquals(4, program.registerCount());
+        for (int i = 0; i < size; i++) {
+            assertEquals(left[i] * right[i] + left[i], result[i]);
+        }
+    }
+
+    @Test
+    public void invalidColumnTest() {
+        DataFrame dataFrame = createDataFrame();
+        assertThrows(DataFrameException.class, () -> col("Missing").plus(1).evaluate(dataFrame, "X"));
+        assertThrows(DataFrameException.class, () -> col("Name").plus(1).evaluate(dataFrame, "X"));
+    }
+}
@@ -0,0 +1,45 @@
+package io.github.dug22.carpentry.optimize;
+
+import io.github.dug22.carpentry.DataFrame;
+import io.github.dug22.carpentry.column.impl.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DataFrameTypeOptimizationTest {
+
+    @Test
+    public void optimizeTypesTest() {
+        DataFrame dataFrame = DataFrame.create(
+                IntegerColumn.create("Score", new Integer[]{0, 55, 100, null}),
+                IntegerColumn.create("Elevation", new Integer[]{-400, 8848, 1200, 3}),
+                IntegerColumn.create("Sentinel", new Integer[]{-128, 0, 1, 2}),
+                LongColumn.create("Population", new Long[]{8_000_000_000L, 1L, 2L, 3L}),
+                LongColumn.create("Views", new Long[]{1_000_000L, 2L, 3L, 4L}),
+                DoubleColumn.create("Price", new Double[]{0.5, 1.25, 2.0, null}),
+                DoubleColumn.create("Ratio", new Double[]{0.1, 0.2, 0.3, 0.4}),
+                StringColumn.create("Name", new String[]{"a", "b", "c", "d"})
+        );
+        List<TypeOptimization> optimizations = dataFrame.optimizeTypes();
+        assertAll(
+                () -> assertEquals(5, optimizations.size()),
+                () -> assertTrue(dataFrame.getColumn("Score") instanceof ByteColumn),
+                () -> assertTrue(dataFrame.getColumn("Elevation") instanceof ShortColumn),
+                () -> assertTrue(dataFrame.getColumn("Sentinel") instanceof ShortColumn),
+                () -> assertTrue(dataFrame.getColumn("Population") instanceof LongColumn),
+                () -> assertTrue(dataFrame.getColumn("Views") instanceof IntegerColumn),
+                () -> assertTrue(dataFrame.getColumn("Price") instanceof FloatColumn),
+                () -> assertTrue(dataFrame.getColumn("Ratio") instanceof DoubleColumn),
+                () -> assertEquals("Score", optimizations.get(0).columnName()),
+                () -> assertEquals(12, optimizations.get(0).bytesSaved()),
+                () -> assertEquals(16, optimizations.get(3).bytesSaved()),
+                () -> assertTrue(dataFrame.getColumn("Score").isAbsent(3)),
+                () -> assertEquals((byte) 100, dataFrame.getColumn("Score").get(2)),
+                () -> assertEquals(1.25f, dataFrame.getColumn("Price").get(1)),
+                () -> assertEquals("Elevation", new ArrayList<>(dataFrame.getColumns()).get(1).name())
+        );
+    }
+}